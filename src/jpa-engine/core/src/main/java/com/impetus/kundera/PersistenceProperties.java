@@ -90,4 +90,55 @@ public interface PersistenceProperties
     public static final String KUNDERA_TRANSACTION_RESOURCE = "kundera.transaction.resource.class";
 
     public static final String KUNDERA_INDEXER_CLASS = "kundera.indexer.class";
+
+    /** Maximum number of parsed query plans cached per factory, 0 disables. */
+    public static final String KUNDERA_QUERY_PLAN_CACHE_SIZE = "kundera.query.plan.cache.size";
+
+    /** Read mode of find operations, "copy" (default) or "direct". */
+    public static final String KUNDERA_READ_MODE = "kundera.read.mode";
+
+    /** Number of threads running asynchronous operations of blocking clients. */
+    public static final String KUNDERA_ASYNC_POOL_SIZE = "kundera.async.pool.size";
+
+    /**
+     * Maximum number of index operations queued for asynchronous indexing, 0
+     * (default) indexes inline with each write. Indexing lag is reported by
+     * the configured metrics recorder.
+     */
+    public static final String KUNDERA_INDEX_ASYNC_QUEUE_SIZE = "kundera.index.async.queue.size";
+
+    /**
+     * Number of uninitialized lazy proxies of one entity class loaded together
+     * when one of them is initialized, 1 (default) loads them one by one.
+     */
+    public static final String KUNDERA_BATCH_FETCH_SIZE = "kundera.batch.fetch.size";
+
+    /**
+     * If "true", transaction commit, prepare and rollback are run on all
+     * persistence units in parallel, on a dedicated transaction executor.
+     * Entity callbacks (e.g. PostPersist) are then invoked on its threads.
+     * Default is "false".
+     */
+    public static final String KUNDERA_TRANSACTION_PARALLEL = "kundera.transaction.parallel";
+
+    /**
+     * Query hint, or persistence unit property. If "true", results of
+     * select queries are cached, otherwise only those of {@link javax.persistence.Cacheable}
+     * entities are.
+     */
+    public static final String KUNDERA_QUERY_CACHE = "kundera.query.cache";
+
+    /** Maximum number of query results cached per factory, default is 1000. */
+    public static final String KUNDERA_QUERY_CACHE_SIZE = "kundera.query.cache.size";
+
+    /** Time to live of cached query results in seconds, default is 300. */
+    public static final String KUNDERA_QUERY_CACHE_TTL = "kundera.query.cache.ttl";
+
+    /**
+     * Class name of {@link com.impetus.kundera.metrics.MetricsRecorder}
+     * measurements of datastore operations are recorded by, e.g.
+     * com.impetus.kundera.metrics.JmxMetricsRecorder. Nothing is recorded by
+     * default.
+     */
+    public static final String KUNDERA_METRICS_RECORDER_CLASS = "kundera.metrics.recorder.class";
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed size store of serialized values in a direct {@link ByteBuffer},
+ * outside of java heap. Values are appended one after another and buffer is
+ * reused from its start once full, evicting oldest values in the way (FIFO).
+ * Not thread safe, callers synchronize.
+ */
+final class OffHeapArena
+{
+    private final ByteBuffer buffer;
+
+    /** Slots by key, in order of writing, i.e. oldest first. */
+    private final LinkedHashMap<Object, Slot> slots = new LinkedHashMap<Object, Slot>();
+
+    /** Next write position. */
+    private int position;
+
+    private long evictedCount;
+
+    /**
+     * @param capacity
+     *            size of buffer, in bytes.
+     */
+    OffHeapArena(int capacity)
+    {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Stores value of given key, replacing previous one.
+     *
+     * @return false, if value is bigger than arena.
+     */
+    boolean put(Object key, byte[] value)
+    {
+        remove(key);
+        int capacity = buffer.capacity();
+        if (value.length > capacity)
+        {
+            return false;
+        }
+        if (position + value.length > capacity)
+        {
+            evict(position, capacity);
+            position = 0;
+        }
+        evict(position, position + value.length);
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(position);
+        target.put(value);
+        slots.put(key, new Slot(position, value.length));
+        position += value.length;
+        return true;
+    }
+
+    /**
+     * @return stored value, null if there is none.
+     */
+    byte[] get(Object key)
+    {
+        Slot slot = slots.get(key);
+        if (slot == null)
+        {
+            return null;
+        }
+        byte[] value = new byte[slot.length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(slot.offset);
+        source.get(value);
+        return value;
+    }
+
+    /**
+     * @return true, if value was stored.
+     */
+    boolean remove(Object key)
+    {
+        return slots.remove(key) != null;
+    }
+
+    boolean contains(Object key)
+    {
+        return slots.containsKey(key);
+    }
+
+    Iterator<Object> keys()
+    {
+        return slots.keySet().iterator();
+    }
+
+    int size()
+    {
+        return slots.size();
+    }
+
+    /**
+     * @return number of values overwritten by newer ones, for want of space.
+     */
+    long getEvictedCount()
+    {
+        return evictedCount;
+    }
+
+    void clear()
+    {
+        slots.clear();
+        position = 0;
+    }
+
+    /**
+     * Evicts oldest values while they overlap given range. Since buffer is
+     * written sequentially, those are the only ones stored in it.
+     */
+    private void evict(int start, int end)
+    {
+        Iterator<Map.Entry<Object, Slot>> iter = slots.entrySet().iterator();
+        while (iter.hasNext())
+        {
+            Slot slot = iter.next().getValue();
+            if (slot.offset >= end || slot.offset + slot.length <= start)
+            {
+                return;
+            }
+            iter.remove();
+            evictedCount++;
+        }
+    }
+
+    private static final class Slot
+    {
+        private final int offset;
+
+        private final int length;
+
+        private Slot(int offset, int length)
+        {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
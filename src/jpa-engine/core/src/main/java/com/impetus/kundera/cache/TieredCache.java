@@ -0,0 +1,358 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.Constants;
+
+/**
+ * Two tier {@link Cache}. Recently used values are held on java heap, in LRU
+ * order. Values evicted from heap are serialized into an {@link OffHeapArena},
+ * and moved back to heap once read again. Values which are not
+ * {@link Serializable} are only held on heap.
+ * <p>
+ * Keys are spread over segments, each one guarded by its own lock.
+ */
+public class TieredCache implements Cache
+{
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(TieredCache.class);
+
+    private final Segment[] segments;
+
+    /**
+     * @param heapSize
+     *            maximum number of values held on heap.
+     * @param offHeapSize
+     *            size of off heap tier in bytes, 0 to disable it.
+     * @param segmentCount
+     *            number of segments.
+     */
+    public TieredCache(int heapSize, long offHeapSize, int segmentCount)
+    {
+        if (heapSize <= 0 || offHeapSize < 0 || segmentCount <= 0)
+        {
+            throw new IllegalArgumentException("Heap size and segments must be > 0, off heap size must be >= 0");
+        }
+        long arenaSize = offHeapSize / segmentCount;
+        if (arenaSize > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Off heap size per segment must be <= " + Integer.MAX_VALUE
+                    + " bytes, increase number of segments");
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+        {
+            segments[i] = new Segment(Math.max(1, heapSize / segmentCount), (int) arenaSize);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.Cache#size()
+     */
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                size += segment.heap.size() + (segment.arena != null ? segment.arena.size() : 0);
+            }
+        }
+        return size;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.Cache#get(java.lang.Object)
+     */
+    @Override
+    public Object get(Object key)
+    {
+        Segment segment = segmentFor(key);
+        byte[] bytes;
+        synchronized (segment)
+        {
+            Object value = segment.heap.get(key);
+            if (value != null || segment.arena == null)
+            {
+                return value;
+            }
+            bytes = segment.arena.get(key);
+        }
+        if (bytes == null)
+        {
+            return null;
+        }
+
+        // deserialized out of lock, moved to heap unless replaced meanwhile.
+        Object value = deserialize(bytes);
+        synchronized (segment)
+        {
+            if (value == null)
+            {
+                segment.arena.remove(key);
+            }
+            else if (!segment.heap.containsKey(key) && segment.arena.remove(key))
+            {
+                segment.heap.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.Cache#put(java.lang.Object,
+     * java.lang.Object)
+     */
+    @Override
+    public void put(Object key, Object value)
+    {
+        if (value == null)
+        {
+            evict(null, key);
+            return;
+        }
+        Segment segment = segmentFor(key);
+        synchronized (segment)
+        {
+            if (segment.arena != null)
+            {
+                segment.arena.remove(key);
+            }
+            segment.heap.put(key, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see javax.persistence.Cache#contains(java.lang.Class, java.lang.Object)
+     */
+    @Override
+    public boolean contains(Class paramClass, Object paramObject)
+    {
+        Segment segment = segmentFor(paramObject);
+        synchronized (segment)
+        {
+            return segment.heap.containsKey(paramObject)
+                    || (segment.arena != null && segment.arena.contains(paramObject));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see javax.persistence.Cache#evict(java.lang.Class, java.lang.Object)
+     */
+    @Override
+    public void evict(Class paramClass, Object paramObject)
+    {
+        Segment segment = segmentFor(paramObject);
+        synchronized (segment)
+        {
+            segment.heap.remove(paramObject);
+            if (segment.arena != null)
+            {
+                segment.arena.remove(paramObject);
+            }
+        }
+    }
+
+    /**
+     * Evicts all entities of given class, i.e. all keys prefixed with class
+     * name, as node ids are.
+     *
+     * @see javax.persistence.Cache#evict(java.lang.Class)
+     */
+    @Override
+    public void evict(Class paramClass)
+    {
+        String prefix = paramClass.getName() + Constants.NODE_ID_SEPARATOR;
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                removeMatching(segment.heap.keySet().iterator(), prefix);
+                if (segment.arena != null)
+                {
+                    removeMatching(segment.arena.keys(), prefix);
+                }
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see javax.persistence.Cache#evictAll()
+     */
+    @Override
+    public void evictAll()
+    {
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                segment.heap.clear();
+                if (segment.arena != null)
+                {
+                    segment.arena.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of values dropped, either from heap as they couldn't be
+     *         moved off heap or from off heap tier for want of space.
+     */
+    public long getEvictedCount()
+    {
+        long count = 0;
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                count += segment.droppedCount + (segment.arena != null ? segment.arena.getEvictedCount() : 0);
+            }
+        }
+        return count;
+    }
+
+    private Segment segmentFor(Object key)
+    {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private static void removeMatching(Iterator<?> keys, String prefix)
+    {
+        while (keys.hasNext())
+        {
+            if (keys.next().toString().startsWith(prefix))
+            {
+                keys.remove();
+            }
+        }
+    }
+
+    private static byte[] serialize(Object value)
+    {
+        if (!(value instanceof Serializable))
+        {
+            return null;
+        }
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(value);
+            out.close();
+            return bytes.toByteArray();
+        }
+        catch (IOException e)
+        {
+            log.debug("Value of type {} can't be moved off heap, Caused by: {}.", value.getClass(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Object deserialize(byte[] bytes)
+    {
+        try
+        {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            try
+            {
+                return in.readObject();
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch (Exception e)
+        {
+            log.warn("Error while reading value from off heap cache, Caused by: {}.", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Part of cache, guarded by its own monitor.
+     */
+    private static final class Segment
+    {
+        private final LinkedHashMap<Object, Object> heap;
+
+        private final OffHeapArena arena;
+
+        private long droppedCount;
+
+        private Segment(final int heapSize, int arenaSize)
+        {
+            this.arena = arenaSize > 0 ? new OffHeapArena(arenaSize) : null;
+            this.heap = new LinkedHashMap<Object, Object>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest)
+                {
+                    if (size() > heapSize)
+                    {
+                        onEvict(eldest.getKey(), eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Moves value evicted from heap off heap, if possible.
+         */
+        private void onEvict(Object key, Object value)
+        {
+            byte[] bytes = arena != null ? serialize(value) : null;
+            if (bytes == null || !arena.put(key, bytes))
+            {
+                droppedCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.Cache;
+
+/**
+ * Built in {@link CacheProvider} of {@link TieredCache}s, with an on heap LRU
+ * tier backed by an off heap tier. Configured through a properties file on
+ * classpath, given as "kundera.cache.config.resource", or through properties
+ * map:
+ * <ul>
+ * <li>kundera.cache.heap.size: maximum number of values on heap, default
+ * 10000.</li>
+ * <li>kundera.cache.offheap.size: size of off heap tier in bytes, with an
+ * optional k, m or g suffix, default 64m. 0 disables it.</li>
+ * <li>kundera.cache.offheap.segments: number of independently locked
+ * segments, default 16.</li>
+ * </ul>
+ */
+public class TieredCacheProvider implements CacheProvider
+{
+    /** Maximum number of values held on heap. */
+    public static final String HEAP_SIZE = "kundera.cache.heap.size";
+
+    /** Size of off heap tier in bytes, with optional k, m or g suffix. */
+    public static final String OFFHEAP_SIZE = "kundera.cache.offheap.size";
+
+    /** Number of cache segments. */
+    public static final String OFFHEAP_SEGMENTS = "kundera.cache.offheap.segments";
+
+    private static final int DEFAULT_HEAP_SIZE = 10000;
+
+    private static final long DEFAULT_OFFHEAP_SIZE = 64L * 1024 * 1024;
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<String, TieredCache>();
+
+    private int heapSize = DEFAULT_HEAP_SIZE;
+
+    private long offHeapSize = DEFAULT_OFFHEAP_SIZE;
+
+    private int segments = DEFAULT_SEGMENTS;
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.CacheProvider#init(java.util.Map)
+     */
+    @Override
+    public void init(Map<?, ?> properties)
+    {
+        if (properties == null)
+        {
+            return;
+        }
+        try
+        {
+            Object value = properties.get(HEAP_SIZE);
+            if (value != null)
+            {
+                heapSize = Integer.parseInt(value.toString().trim());
+            }
+            value = properties.get(OFFHEAP_SIZE);
+            if (value != null)
+            {
+                offHeapSize = parseSize(value.toString().trim());
+            }
+            value = properties.get(OFFHEAP_SEGMENTS);
+            if (value != null)
+            {
+                segments = Integer.parseInt(value.toString().trim());
+            }
+        }
+        catch (RuntimeException e)
+        {
+            throw new CacheException("Invalid cache configuration " + properties, e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.CacheProvider#init(java.lang.String)
+     */
+    @Override
+    public void init(String cacheResourceName)
+    {
+        if (cacheResourceName == null || cacheResourceName.length() == 0)
+        {
+            init(new HashMap<Object, Object>());
+            return;
+        }
+        String resource = cacheResourceName.startsWith("/") ? cacheResourceName : "/" + cacheResourceName;
+        InputStream in = TieredCacheProvider.class.getResourceAsStream(resource);
+        if (in == null)
+        {
+            throw new CacheException("Could not find cache configuration " + cacheResourceName + " on classpath");
+        }
+        try
+        {
+            Properties properties = new Properties();
+            properties.load(in);
+            init(properties);
+        }
+        catch (IOException e)
+        {
+            throw new CacheException("Could not read cache configuration " + cacheResourceName, e);
+        }
+        finally
+        {
+            try
+            {
+                in.close();
+            }
+            catch (IOException e)
+            {
+                // nothing to do.
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * com.impetus.kundera.cache.CacheProvider#createCache(java.lang.String)
+     */
+    @Override
+    public synchronized Cache createCache(String name)
+    {
+        TieredCache cache = caches.get(name);
+        if (cache == null)
+        {
+            try
+            {
+                cache = new TieredCache(heapSize, offHeapSize, segments);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new CacheException("Could not create cache: " + name, e);
+            }
+            caches.put(name, cache);
+        }
+        return cache;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.CacheProvider#getCache(java.lang.String)
+     */
+    @Override
+    public Cache getCache(String name)
+    {
+        Cache cache = caches.get(name);
+        return cache != null ? cache : createCache(name);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.cache.CacheProvider#shutdown()
+     */
+    @Override
+    public synchronized void shutdown()
+    {
+        for (TieredCache cache : caches.values())
+        {
+            cache.evictAll();
+        }
+        caches.clear();
+    }
+
+    private static long parseSize(String size)
+    {
+        long unit = 1;
+        char suffix = Character.toLowerCase(size.charAt(size.length() - 1));
+        if (suffix == 'k' || suffix == 'm' || suffix == 'g')
+        {
+            unit = suffix == 'k' ? 1024L : suffix == 'm' ? 1024L * 1024 : 1024L * 1024 * 1024;
+            size = size.substring(0, size.length() - 1).trim();
+        }
+        return Long.parseLong(size) * unit;
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client;
+
+import java.util.concurrent.Future;
+
+/**
+ * Optional SPI for clients whose datastore driver offers a native
+ * asynchronous API. Clients implementing it alongside {@link Client} serve
+ * asynchronous reads of {@link com.impetus.kundera.persistence.AsyncEntityManager}
+ * without occupying a thread while waiting on datastore, others are run on a
+ * bounded executor of entity manager factory.
+ */
+public interface AsyncClient
+{
+    /**
+     * Retrieves an entity from datastore asynchronously.
+     * 
+     * @param entityClass
+     *            the entity class
+     * @param key
+     *            The key of the row
+     * @param onCompletion
+     *            run once by driver as soon as find has completed, failed or
+     *            been cancelled, not run if this method throws.
+     * @return future of whatever {@link Client#find(Class, Object)} would
+     *         return, i.e. entity, {@link EnhanceEntity} or null.
+     */
+    Future<Object> findAsync(Class entityClass, Object key, Runnable onCompletion);
+}
@@ -17,8 +17,14 @@ package com.impetus.kundera.client;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
 
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.graph.Node;
@@ -29,8 +35,12 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -52,6 +62,9 @@ public abstract class ClientBase
 
     protected boolean isUpdate;
 
+    /** Fields modified on update, null if entity is to be written as a whole. */
+    protected Set<String> modifiedFields;
+
     protected ClientMetadata clientMetadata;
 
     protected final KunderaMetadata kunderaMetadata;
@@ -92,8 +105,17 @@ public abstract class ClientBase
         Object id = node.getEntityId();
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,  node.getDataClass());
         isUpdate = node.isUpdate();
+        modifiedFields = isUpdate ? node.getModifiedFields() : null;
         List<RelationHolder> relationHolders = getRelationHolders(node);
+        MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
         onPersist(metadata, entity, id, relationHolders);
+        if (metrics.isEnabled())
+        {
+            metrics.recordLatency(Operation.PERSIST, metadata.getPersistenceUnit(), node.getDataClass(),
+                    System.nanoTime() - start);
+            metrics.recordCount(Operation.PERSIST, metadata.getPersistenceUnit(), node.getDataClass(), 1);
+        }
         id = PropertyAccessorHelper.getId(entity, metadata);
         node.setEntityId(id);
         indexNode(node, metadata);
@@ -212,6 +234,39 @@ public abstract class ClientBase
         }
     }
 
+    /**
+     * Returns column names of attributes which are not modified, and hence
+     * need not be written again, while updating an entity. Id and association
+     * columns are always written.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @return unmodified columns, empty if entity is to be written as a whole.
+     */
+    protected Set<String> getUnmodifiedColumns(EntityMetadata entityMetadata)
+    {
+        if (!isUpdate || modifiedFields == null)
+        {
+            return Collections.emptySet();
+        }
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        String idName = entityMetadata.getIdAttribute().getName();
+
+        Set<String> columns = new HashSet<String>();
+        for (Attribute attribute : (Set<Attribute>) entityType.getAttributes())
+        {
+            if (!attribute.isAssociation() && !attribute.getName().equals(idName)
+                    && !modifiedFields.contains(attribute.getName()))
+            {
+                columns.add(((AbstractAttribute) attribute).getJPAColumnName());
+            }
+        }
+        return columns;
+    }
+
     /**
      * Method to be implemented by inherited classes. On receiving persist event
      * specific client need to implement this method.
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.client;
+
+/**
+ * Optional marker for clients whose
+ * {@link Client#findAll(Class, String[], Object...)} is a faithful multi-get,
+ * i.e. returns whatever {@link Client#find(Class, Object)} would for each of
+ * keys, leaving out missing ones. Multi-key finds of persistence context are
+ * read with one findAll call only from such clients, and only for entities
+ * without an embedded id, others are read key by key.
+ */
+public interface MultiGetClient
+{
+}
@@ -367,6 +367,7 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
                                 {
                                     entityMetadataMap.put(clazz.getName(), metadata);
                                     mapClazztoPu(clazz, persistenceUnit, clazzToPuMap);
+                                    onCreateProxyClass(metadata);
                                     processGeneratedValueAnnotation(clazz, persistenceUnit, metadata,
                                             entityNameToKeyDiscriptorMap);
                                 }
@@ -462,7 +463,22 @@ public class MetamodelConfiguration extends AbstractSchemaConfiguration implemen
 
         return clazzToPuMap;
     }
-    
+
+    /**
+     * Generates lazy proxy class of entity.
+     * 
+     * @param metadata
+     *            entity metadata.
+     */
+    private void onCreateProxyClass(EntityMetadata metadata)
+    {
+        if (kunderaMetadata.getCoreMetadata() != null
+                && kunderaMetadata.getCoreMetadata().getLazyInitializerFactory() != null)
+        {
+            kunderaMetadata.getCoreMetadata().getLazyInitializerFactory().createProxyClass(metadata);
+        }
+    }
+
     private void processGeneratedValueAnnotation(Class<?> clazz, String persistenceUnit, EntityMetadata m,
             Map<String, IdDiscriptor> entityNameToKeyDiscriptorMap)
     {
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.generator;
+
+/**
+ * Marker interface for {@link TableGenerator} and {@link SequenceGenerator}
+ * clients, whose generated value is a hi value times allocation size (or
+ * initial value on first call). Such a value reserves all ids up to next
+ * multiple of allocation size, which are then handed out in memory without
+ * calling the client again.
+ */
+public interface HiLoGenerator extends Generator
+{
+
+}
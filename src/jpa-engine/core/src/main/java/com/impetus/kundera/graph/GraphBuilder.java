@@ -35,7 +35,6 @@ import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.persistence.context.PersistenceCache;
 import com.impetus.kundera.proxy.ProxyHelper;
-import com.impetus.kundera.utils.DeepEquals;
 
 /**
  * Assign head node set relational node: 1. check for proxy 2. graph status of
@@ -324,7 +323,8 @@ public class GraphBuilder
         private NodeBuilder buildNode(Object entity, PersistenceDelegator pd, Object entityId, String nodeId)
         {
 
-            Node nodeInPersistenceCache = pd.getPersistenceCache().getMainCache().getNodeFromCache(nodeId, pd);
+            Node nodeInPersistenceCache = pd.getPersistenceCache().getMainCache()
+                    .getNodeFromCache(nodeId, entity.getClass(), pd);
 
             EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(),
                     entity.getClass());
@@ -369,7 +369,7 @@ public class GraphBuilder
         {
             if (!node.isInState(TransientState.class))
             {
-                if (!DeepEquals.deepEquals(node.getData(), entity))
+                if (node.isModified(entity))
                 {
                     node.setDirty(true);
                 }
@@ -17,6 +17,7 @@ package com.impetus.kundera.graph;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.PostLoad;
 import javax.persistence.PostPersist;
@@ -30,8 +31,10 @@ import org.apache.commons.lang.builder.HashCodeBuilder;
 
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.graph.NodeLink.LinkProperty;
 import com.impetus.kundera.lifecycle.NodeStateContext;
+import com.impetus.kundera.lifecycle.states.ManagedState;
 import com.impetus.kundera.lifecycle.states.NodeState;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.lifecycle.states.TransientState;
@@ -39,8 +42,10 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation.ForeignKey;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.persistence.context.PersistenceCache;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
+import com.impetus.kundera.utils.DeepEquals;
 import com.impetus.kundera.utils.ObjectUtils;
 
 /**
@@ -81,6 +86,10 @@ public class Node implements NodeStateContext
     // Whether this node for update.
     private boolean isUpdate;
 
+    // Whether this node is inserted by persist of a transient entity, until
+    // written.
+    private boolean isInserted;
+
     /** Client for this node */
     private Client client;
 
@@ -94,6 +103,15 @@ public class Node implements NodeStateContext
 
     private Node originalNode;
 
+    // Snapshot of data as loaded or last flushed.
+    private EntitySnapshot snapshot;
+
+    // Whether original node is to be rebuilt out of snapshot.
+    private boolean isOriginalInSnapshot;
+
+    // Fields modified since snapshot, null if not known.
+    private Set<String> modifiedFields;
+
     private boolean isProcessed;
 
     private EntityEventDispatcher eventDispatcher = new EntityEventDispatcher();
@@ -504,6 +522,21 @@ public class Node implements NodeStateContext
         onPostEvent(metadata, EntityEvent.FIND);
     }
 
+    /**
+     * Populates this node out of an entity already fetched by client, e.g. as
+     * part of a multi key find.
+     * 
+     * @param enhanceEntity
+     *            entity fetched by client.
+     */
+    public void find(EnhanceEntity enhanceEntity)
+    {
+        ((ManagedState) getCurrentNodeState()).handleFind(this, enhanceEntity);
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(), this.getDataClass());
+        onPostEvent(metadata, EntityEvent.FIND);
+    }
+
     @Override
     public void getReference()
     {
@@ -530,10 +563,47 @@ public class Node implements NodeStateContext
             handlePreEvent();
             getCurrentNodeState().handleFlush(this);
             handlePostEvent();
-            this.isProcessed = true;
+            onProcessed();
         }
 
-        // Update Link value for all nodes attached to this one
+        updateLinks();
+    }
+
+    /**
+     * Marks node as written to database by a client batch, i.e. does what
+     * {@link #flush()} does after writing.
+     */
+    public void onBatchFlushed()
+    {
+        setDirty(false);
+        if (isInState(RemovedState.class))
+        {
+            getPersistenceCache().getMainCache().removeNodeFromCache(this);
+        }
+        onProcessed();
+    }
+
+    private void onProcessed()
+    {
+        this.isProcessed = true;
+        this.isInserted = false;
+
+        if (isInState(ManagedState.class))
+        {
+            // Keep loaded state for rollback, further changes are
+            // compared against flushed state.
+            getOriginalNode();
+            isOriginalInSnapshot = false;
+            snapshot = EntitySnapshot.capture(getData(), pd.getKunderaMetadata());
+        }
+        modifiedFields = null;
+    }
+
+    /**
+     * Updates link value of all nodes attached to this one.
+     */
+    public void updateLinks()
+    {
         Map<NodeLink, Node> parents = this.getParents();
         Map<NodeLink, Node> children = this.getChildren();
 
@@ -599,6 +669,15 @@ public class Node implements NodeStateContext
      */
     public Node getOriginalNode()
     {
+        if (originalNode == null && isOriginalInSnapshot && snapshot != null)
+        {
+            // Rebuild original state only when it is actually needed.
+            originalNode = new Node(this.nodeId, snapshot.restore(), this.persistenceCache, this.entityId, this.pd);
+            originalNode.setChildren(this.children);
+            originalNode.setParents(this.parents);
+            originalNode.setDataClass(this.dataClass);
+            originalNode.setTraversed(this.traversed);
+        }
         return originalNode;
     }
 
@@ -611,6 +690,70 @@ public class Node implements NodeStateContext
         this.originalNode = originalNode;
     }
 
+    /**
+     * @return the snapshot
+     */
+    public EntitySnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot
+     *            the snapshot to set
+     */
+    public void setSnapshot(EntitySnapshot snapshot)
+    {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Sets snapshot of data as loaded from database, which also serves as
+     * original node in case of rollback.
+     * 
+     * @param snapshot
+     *            snapshot of loaded data.
+     */
+    public void setLoadedSnapshot(EntitySnapshot snapshot)
+    {
+        this.snapshot = snapshot;
+        this.originalNode = null;
+        this.isOriginalInSnapshot = snapshot != null;
+    }
+
+    /**
+     * Checks whether given entity differs from data of this node. If a
+     * snapshot is available, entity is compared against it field by field
+     * and modified fields are kept for client to write only those (see
+     * {@link #getModifiedFields()}).
+     * 
+     * @param entity
+     *            entity to compare.
+     * @return true, if entity is modified.
+     */
+    public boolean isModified(Object entity)
+    {
+        if (snapshot != null)
+        {
+            modifiedFields = snapshot.getModifiedFields(entity);
+            return modifiedFields == null || !modifiedFields.isEmpty();
+        }
+        modifiedFields = null;
+        return !DeepEquals.deepEquals(getData(), entity);
+    }
+
+    /**
+     * Returns names of fields modified since entity was loaded or last
+     * flushed, as found by last {@link #isModified(Object)} check.
+     * 
+     * @return modified fields, null if not known and hence entity is to be
+     *         written as a whole.
+     */
+    public Set<String> getModifiedFields()
+    {
+        return modifiedFields;
+    }
+
     /**
      * @return the isProcessed
      */
@@ -636,6 +779,24 @@ public class Node implements NodeStateContext
         this.isUpdate = isUpdate;
     }
 
+    /**
+     * @return true if node is inserted by persist of a transient entity and
+     *         not written yet.
+     */
+    public boolean isInserted()
+    {
+        return isInserted;
+    }
+
+    /**
+     * @param isInserted
+     *            the isInserted to set
+     */
+    public void setInserted(boolean isInserted)
+    {
+        this.isInserted = isInserted;
+    }
+
     @Override
     public Node clone()
     {
@@ -18,6 +18,7 @@ package com.impetus.kundera.graph;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.lang.builder.EqualsBuilder;
 
 import com.impetus.kundera.metadata.model.Relation;
@@ -146,7 +147,12 @@ public class NodeLink
             linkProperties = new HashMap<NodeLink.LinkProperty, Object>();
         }
 
-        linkProperties.put(name, propertyValue);
+        // values already set are not written again, links may be read
+        // concurrently while persistence units are committed in parallel.
+        if (!linkProperties.containsKey(name) || !ObjectUtils.equals(linkProperties.get(name), propertyValue))
+        {
+            linkProperties.put(name, propertyValue);
+        }
     }
 
     @Override
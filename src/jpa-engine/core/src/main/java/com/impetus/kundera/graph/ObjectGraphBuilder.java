@@ -41,7 +41,6 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.KunderaProxy;
 import com.impetus.kundera.proxy.ProxyHelper;
 import com.impetus.kundera.proxy.collection.ProxyCollection;
-import com.impetus.kundera.utils.DeepEquals;
 
 /**
  * Responsible for generating {@link ObjectGraph} of nodes from a given entity
@@ -139,7 +138,7 @@ public class ObjectGraphBuilder
 
         // Construct this Node first, if one not already there in Persistence
         // Cache
-        Node nodeInPersistenceCache = persistenceCache.getMainCache().getNodeFromCache(nodeId, pd);
+        Node nodeInPersistenceCache = persistenceCache.getMainCache().getNodeFromCache(nodeId, entity.getClass(), pd);
 
         // Make a deep copy of entity data
 
@@ -155,7 +154,7 @@ public class ObjectGraphBuilder
             // Determine whether this node is dirty based on comparison between
             // Node data and entity data
             // If dirty, set the entity data into node and mark it as dirty
-            if (!DeepEquals.deepEquals(node.getData(), entity))
+            if (node.isModified(entity))
             {
                 node.setDirty(true);
             }
@@ -242,7 +241,7 @@ public class ObjectGraphBuilder
         Object childId = PropertyAccessorHelper.getId(childObj, metadata);
         String childNodeId = ObjectGraphUtils.getNodeId(childId, childObj.getClass());
 
-        Node childNodeInCache = persistenceCache.getMainCache().getNodeFromCache(childNodeId, pd);
+        Node childNodeInCache = persistenceCache.getMainCache().getNodeFromCache(childNodeId, childObj.getClass(), pd);
 
         return childNodeInCache != null ? childNodeInCache.getCurrentNodeState() : new TransientState();
     }
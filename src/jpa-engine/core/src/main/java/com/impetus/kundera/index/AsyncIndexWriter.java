@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies index operations of {@link IndexManager} in background. Operations
+ * are held in a bounded queue, coalesced per index document (last write wins)
+ * and applied in batches by a single worker thread. Callers block while queue
+ * is full.
+ */
+class AsyncIndexWriter
+{
+    /** log for this class. */
+    private static Logger log = LoggerFactory.getLogger(AsyncIndexWriter.class);
+
+    /** Maximum number of operations applied per batch. */
+    static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Indexer indexer;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    /** pending operations, by document key in order of submission. */
+    private final LinkedHashMap<String, Operation> pending = new LinkedHashMap<String, Operation>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final Condition drained = lock.newCondition();
+
+    /** submission time of oldest operation in batch being applied. */
+    private long inFlightSince;
+
+    private int inFlight;
+
+    private long appliedCount;
+
+    private long coalescedCount;
+
+    private RuntimeException failure;
+
+    private boolean closed;
+
+    private final Thread worker;
+
+    /**
+     * @param indexer
+     *            indexer, to begin and end bulk with, if it is a
+     *            {@link BulkIndexer}.
+     * @param capacity
+     *            maximum number of pending operations.
+     * @param batchSize
+     *            maximum number of operations applied per batch.
+     */
+    AsyncIndexWriter(Indexer indexer, int capacity, int batchSize)
+    {
+        if (capacity <= 0 || batchSize <= 0)
+        {
+            throw new IllegalArgumentException("Queue capacity and batch size must be > 0");
+        }
+        this.indexer = indexer;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.worker = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                work();
+            }
+        }, "kundera-index-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues an index operation. Pending operation with same key is replaced
+     * by given one. Blocks while queue is full.
+     *
+     * @param key
+     *            key of index document, operation applies to.
+     * @param operation
+     *            index operation.
+     */
+    void submit(String key, Runnable operation)
+    {
+        lock.lock();
+        try
+        {
+            if (closed)
+            {
+                throw new IndexingException("Index writer is closed");
+            }
+            Operation replaced = pending.remove(key);
+            if (replaced != null)
+            {
+                coalescedCount++;
+            }
+            else
+            {
+                while (pending.size() >= capacity)
+                {
+                    notFull.await();
+                }
+            }
+            pending.put(key, new Operation(operation));
+            notEmpty.signal();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Interrupted while waiting to queue index operation", e);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits till all pending operations are applied.
+     */
+    void await()
+    {
+        lock.lock();
+        try
+        {
+            while (!pending.isEmpty() || inFlight > 0)
+            {
+                drained.await();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Interrupted while waiting for index operations", e);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits till all pending operations are applied and reports failure of
+     * any, since last flush.
+     *
+     * @throws IndexingException
+     *             if any operation has failed.
+     */
+    void flush()
+    {
+        await();
+        lock.lock();
+        try
+        {
+            if (failure != null)
+            {
+                RuntimeException cause = failure;
+                failure = null;
+                throw new IndexingException("Error while applying index operations", cause);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies pending operations and stops worker.
+     */
+    void close()
+    {
+        try
+        {
+            flush();
+        }
+        finally
+        {
+            lock.lock();
+            try
+            {
+                closed = true;
+                notEmpty.signal();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return number of operations waiting to be applied.
+     */
+    int getPendingCount()
+    {
+        lock.lock();
+        try
+        {
+            return pending.size() + inFlight;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of applied operations.
+     */
+    long getAppliedCount()
+    {
+        lock.lock();
+        try
+        {
+            return appliedCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of operations replaced by a later one on same document.
+     */
+    long getCoalescedCount()
+    {
+        lock.lock();
+        try
+        {
+            return coalescedCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns indexing lag, i.e. age of oldest operation not yet applied.
+     *
+     * @return lag in milliseconds, 0 if nothing is pending.
+     */
+    long getLag()
+    {
+        lock.lock();
+        try
+        {
+            long since = inFlight > 0 ? inFlightSince : 0;
+            if (since == 0 && !pending.isEmpty())
+            {
+                since = pending.values().iterator().next().submittedAt;
+            }
+            return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void work()
+    {
+        while (true)
+        {
+            List<Operation> batch = take();
+            if (batch == null)
+            {
+                return;
+            }
+            RuntimeException error = apply(batch);
+
+            lock.lock();
+            try
+            {
+                inFlight = 0;
+                appliedCount += batch.size();
+                if (error != null)
+                {
+                    failure = error;
+                }
+                if (pending.isEmpty())
+                {
+                    drained.signalAll();
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Takes next batch out of queue, waiting for one if queue is empty.
+     *
+     * @return batch of operations, or null if writer is closed.
+     */
+    private List<Operation> take()
+    {
+        lock.lock();
+        try
+        {
+            while (pending.isEmpty())
+            {
+                if (closed)
+                {
+                    return null;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+            List<Operation> batch = new ArrayList<Operation>(Math.min(batchSize, pending.size()));
+            Iterator<Map.Entry<String, Operation>> iter = pending.entrySet().iterator();
+            while (iter.hasNext() && batch.size() < batchSize)
+            {
+                batch.add(iter.next().getValue());
+                iter.remove();
+            }
+            inFlight = batch.size();
+            inFlightSince = batch.get(0).submittedAt;
+            notFull.signalAll();
+            return batch;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies batch of operations, in bulk if supported by indexer.
+     *
+     * @return last error, if any.
+     */
+    private RuntimeException apply(List<Operation> batch)
+    {
+        RuntimeException error = null;
+        boolean bulk = indexer instanceof BulkIndexer;
+        if (bulk)
+        {
+            ((BulkIndexer) indexer).beginBulk();
+        }
+        try
+        {
+            for (Operation operation : batch)
+            {
+                try
+                {
+                    operation.task.run();
+                }
+                catch (RuntimeException e)
+                {
+                    log.error("Error while applying index operation, Caused by: ", e);
+                    error = e;
+                }
+            }
+        }
+        finally
+        {
+            if (bulk)
+            {
+                try
+                {
+                    ((BulkIndexer) indexer).endBulk();
+                }
+                catch (RuntimeException e)
+                {
+                    log.error("Error while sending bulk index request, Caused by: ", e);
+                    error = e;
+                }
+            }
+        }
+        return error;
+    }
+
+    /**
+     * Queued index operation.
+     */
+    private static final class Operation
+    {
+        private final Runnable task;
+
+        private final long submittedAt;
+
+        private Operation(Runnable task)
+        {
+            this.task = task;
+            this.submittedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+/**
+ * Optional interface for {@link Indexer} implementations, capable of sending
+ * many index requests in one round trip. Asynchronous index writer of
+ * {@link IndexManager} wraps each batch of index operations within
+ * {@link #beginBulk()} and {@link #endBulk()}.
+ */
+public interface BulkIndexer
+{
+    /**
+     * Starts collecting index and unindex requests issued by calling thread,
+     * instead of sending them one by one.
+     */
+    void beginBulk();
+
+    /**
+     * Sends requests collected since {@link #beginBulk()} as one bulk request
+     * and stops collecting.
+     *
+     * @throws IndexingException
+     *             if bulk request has failed, wholly or partially.
+     */
+    void endBulk();
+}
@@ -31,7 +31,10 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PropertyIndex;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -49,6 +52,9 @@ public class IndexManager
 
     private KunderaMetadata kunderaMetadata;
 
+    /** Applies index operations in background, null if indexing inline. */
+    private AsyncIndexWriter asyncWriter;
+
     /**
      * The Constructor.
      * 
@@ -62,6 +68,26 @@ public class IndexManager
         this.kunderaMetadata = kunderaMetadata;
     }
 
+    /**
+     * Constructor for index manager applying index operations asynchronously.
+     * 
+     * @param indexer
+     *            the indexer
+     * @param kunderaMetadata
+     *            kundera metadata
+     * @param asyncQueueSize
+     *            maximum number of index operations waiting to be applied, 0
+     *            to index inline with each write.
+     */
+    public IndexManager(Indexer indexer, final KunderaMetadata kunderaMetadata, int asyncQueueSize)
+    {
+        this(indexer, kunderaMetadata);
+        if (indexer != null && asyncQueueSize > 0)
+        {
+            this.asyncWriter = new AsyncIndexWriter(indexer, asyncQueueSize, AsyncIndexWriter.DEFAULT_BATCH_SIZE);
+        }
+    }
+
     /**
      * @return the indexer
      */
@@ -80,10 +106,31 @@ public class IndexManager
      * @param key
      *            the key
      */
-    public final void remove(EntityMetadata metadata, Object entity, String key)
+    public final void remove(final EntityMetadata metadata, final Object entity, final String key)
+    {
+        if (isQueued(metadata))
+        {
+            final Object copy = copyOf(entity);
+            asyncWriter.submit(getDocumentKey("remove", metadata, key, null, null), new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    onRemove(metadata, copy, key);
+                }
+            });
+        }
+        else
+        {
+            onRemove(metadata, entity, key);
+        }
+    }
+
+    private void onRemove(EntityMetadata metadata, Object entity, String key)
     {
         if (indexer != null)
         {
+            long start = startIndexWrite();
             if (indexer.getClass().getName().equals(IndexingConstants.LUCENE_INDEXER))
             {
                 ((com.impetus.kundera.index.lucene.Indexer) indexer).unindex(metadata, key);
@@ -93,6 +140,7 @@ public class IndexManager
                 indexer.unIndex(metadata.getEntityClazz(), entity, metadata, (MetamodelImpl) kunderaMetadata
                         .getApplicationMetadata().getMetamodel(metadata.getPersistenceUnit()));
             }
+            onIndexWrite(metadata, start);
         }
     }
 
@@ -104,12 +152,35 @@ public class IndexManager
      * @param entity
      *            the entity
      */
-    public final void update(EntityMetadata metadata, Object entity, Object parentId, Class<?> clazz)
+    public final void update(final EntityMetadata metadata, final Object entity, final Object parentId,
+            final Class<?> clazz)
+    {
+        if (isQueued(metadata))
+        {
+            final Object copy = copyOf(entity);
+            asyncWriter.submit(getDocumentKey("update", metadata, getId(metadata, entity), parentId, clazz),
+                    new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            onUpdate(metadata, copy, parentId, clazz);
+                        }
+                    });
+        }
+        else
+        {
+            onUpdate(metadata, entity, parentId, clazz);
+        }
+    }
+
+    private void onUpdate(EntityMetadata metadata, Object entity, Object parentId, Class<?> clazz)
     {
         try
         {
             if (indexer != null)
             {
+                long start = startIndexWrite();
                 if (indexer.getClass().getName().equals(IndexingConstants.LUCENE_INDEXER))
                 {
                     MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
@@ -164,6 +235,7 @@ public class IndexManager
                     onEmbeddable(entity, metadata.getEntityClazz(), metaModel, indexCollection);
                     indexer.index(metadata.getEntityClazz(), metadata, indexCollection, parentId, clazz);
                 }
+                onIndexWrite(metadata, start);
             }
         }
         catch (PropertyAccessException e)
@@ -225,13 +297,35 @@ public class IndexManager
      * @param entity
      *            the entity
      */
-    public final void write(EntityMetadata metadata, Object entity)
+    public final void write(final EntityMetadata metadata, final Object entity)
+    {
+        if (isQueued(metadata))
+        {
+            final Object copy = copyOf(entity);
+            asyncWriter.submit(getDocumentKey("write", metadata, getId(metadata, entity), null, null), new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    onWrite(metadata, copy);
+                }
+            });
+        }
+        else
+        {
+            onWrite(metadata, entity);
+        }
+    }
+
+    private void onWrite(EntityMetadata metadata, Object entity)
     {
         if (indexer != null)
         {
+            long start = startIndexWrite();
             MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                     metadata.getPersistenceUnit());
             ((com.impetus.kundera.index.lucene.Indexer) indexer).index(metadata, metamodel, entity);
+            onIndexWrite(metadata, start);
         }
     }
 
@@ -247,13 +341,114 @@ public class IndexManager
      * @param clazz
      *            class name
      */
-    public final void write(EntityMetadata metadata, Object entity, String parentId, Class<?> clazz)
+    public final void write(final EntityMetadata metadata, final Object entity, final String parentId,
+            final Class<?> clazz)
+    {
+        if (isQueued(metadata))
+        {
+            final Object copy = copyOf(entity);
+            asyncWriter.submit(getDocumentKey("write", metadata, getId(metadata, entity), parentId, clazz),
+                    new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            onWrite(metadata, copy, parentId, clazz);
+                        }
+                    });
+        }
+        else
+        {
+            onWrite(metadata, entity, parentId, clazz);
+        }
+    }
+
+    private void onWrite(EntityMetadata metadata, Object entity, String parentId, Class<?> clazz)
     {
         if (indexer != null)
         {
+            long start = startIndexWrite();
             MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                     metadata.getPersistenceUnit());
             ((com.impetus.kundera.index.lucene.Indexer) indexer).index(metadata, metamodel, entity, parentId, clazz);
+            onIndexWrite(metadata, start);
+        }
+    }
+
+    /**
+     * @return start time of index write, if metrics are recorded.
+     */
+    private long startIndexWrite()
+    {
+        return kunderaMetadata != null && kunderaMetadata.getMetricsRecorder().isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records duration of index write started at given time.
+     */
+    private void onIndexWrite(EntityMetadata metadata, long start)
+    {
+        MetricsRecorder metrics = kunderaMetadata != null ? kunderaMetadata.getMetricsRecorder() : null;
+        if (metrics != null && metrics.isEnabled())
+        {
+            metrics.recordLatency(Operation.INDEX_WRITE, metadata.getPersistenceUnit(), metadata.getEntityClazz(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns key of index document, operations are coalesced on. Operations
+     * of different kinds are never coalesced, to keep unindex followed by
+     * index in order.
+     */
+    private String getDocumentKey(String operation, EntityMetadata metadata, Object id, Object parentId,
+            Class<?> parentClazz)
+    {
+        return operation + "|" + metadata.getEntityClazz().getName() + "|" + id + "|"
+                + (parentClazz != null ? parentClazz.getName() : null) + "|" + parentId;
+    }
+
+    /**
+     * Checks whether index operations on entity are queued. Documents of super
+     * column families are named after identity of element collection objects
+     * and are indexed inline.
+     */
+    private boolean isQueued(EntityMetadata metadata)
+    {
+        return asyncWriter != null && !EntityMetadata.Type.SUPER_COLUMN_FAMILY.equals(metadata.getType());
+    }
+
+    /**
+     * Copies entity as of now, so that a queued operation indexes it as it was
+     * when submitted, even if it is modified or reused meanwhile. Column
+     * values and embedded objects are copied, associations are kept by
+     * reference.
+     */
+    private Object copyOf(Object entity)
+    {
+        return entity != null ? EntitySnapshot.capture(entity, kunderaMetadata).restore() : null;
+    }
+
+    private Object getId(EntityMetadata metadata, Object entity)
+    {
+        try
+        {
+            return PropertyAccessorHelper.getId(entity, metadata);
+        }
+        catch (PropertyAccessException e)
+        {
+            throw new IndexingException("Can't access ID from entity class " + metadata.getEntityClazz(), e);
+        }
+    }
+
+    /**
+     * Waits for queued index operations, so that search sees them.
+     */
+    private void awaitPendingWrites()
+    {
+        if (asyncWriter != null)
+        {
+            asyncWriter.await();
         }
     }
 
@@ -280,6 +475,8 @@ public class IndexManager
         if (indexer == null)
             return null;
 
+        awaitPendingWrites();
+
         // Ideally it should be interface driven and should be handled by
         // fallback-impl.
 
@@ -353,6 +550,7 @@ public class IndexManager
     {
         if (indexer != null)
         {
+            awaitPendingWrites();
             if (indexer != null && indexer.getClass().getName().equals(IndexingConstants.LUCENE_INDEXER))
             {
                 return indexer != null ? ((com.impetus.kundera.index.lucene.Indexer) indexer).search(query, start,
@@ -384,6 +582,7 @@ public class IndexManager
     {
         if (indexer != null)
         {
+            awaitPendingWrites();
             if (indexer.getClass().getName().equals(IndexingConstants.LUCENE_INDEXER))
             {
                 return indexer != null ? ((com.impetus.kundera.index.lucene.Indexer) indexer).search(query, start,
@@ -399,13 +598,18 @@ public class IndexManager
     }
 
     /**
-     * Flushes out the indexes, keeping RAM directory open.
+     * Flushes out the indexes, keeping index writer open. Queued index
+     * operations are applied first.
      */
     public void flush() throws IndexingException
     {
-        if (indexer != null)
+        if (asyncWriter != null)
+        {
+            asyncWriter.flush();
+        }
+        if (indexer != null && indexer.getClass().getName().equals(IndexingConstants.LUCENE_INDEXER))
         {
-            // ((Indexer) indexer).close();
+            ((com.impetus.kundera.index.lucene.Indexer) indexer).flush();
         }
     }
 
@@ -414,9 +618,46 @@ public class IndexManager
      */
     public void close() throws IndexingException
     {
+        if (asyncWriter != null)
+        {
+            try
+            {
+                asyncWriter.close();
+            }
+            finally
+            {
+                asyncWriter = null;
+            }
+        }
         if (indexer != null)
         {
             indexer.close();
         }
     }
+
+    /**
+     * @return true, if index operations are applied asynchronously.
+     */
+    public boolean isAsynchronous()
+    {
+        return asyncWriter != null;
+    }
+
+    /**
+     * Returns indexing lag, i.e. age of oldest queued index operation.
+     * 
+     * @return lag in milliseconds, 0 if indexing inline or nothing is queued.
+     */
+    public long getIndexingLag()
+    {
+        return asyncWriter != null ? asyncWriter.getLag() : 0;
+    }
+
+    /**
+     * @return number of queued index operations, 0 if indexing inline.
+     */
+    public int getPendingIndexOperations()
+    {
+        return asyncWriter != null ? asyncWriter.getPendingCount() : 0;
+    }
 }
@@ -24,6 +24,7 @@ import com.impetus.kundera.lifecycle.NodeStateContext;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.persistence.EntityReader;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 
 /**
  * @author amresh
@@ -122,8 +123,6 @@ public class ManagedState extends NodeState
         EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(nodeStateContext.getPersistenceDelegator().getKunderaMetadata(), nodeDataClass);
         Object entityId = nodeStateContext.getEntityId();
 
-        Object nodeData = null; // Node data
-
         EntityReader reader = client.getReader();
         if (reader == null)
         {
@@ -131,6 +130,27 @@ public class ManagedState extends NodeState
         }
 
         EnhanceEntity ee = reader.findById(entityId, entityMetadata, client);
+        handleFind(nodeStateContext, ee);
+    }
+
+    /**
+     * Populates node out of an entity already read from client, e.g. as part
+     * of a multi key fetch.
+     * 
+     * @param nodeStateContext
+     *            node.
+     * @param ee
+     *            entity read from client.
+     */
+    public void handleFind(NodeStateContext nodeStateContext, EnhanceEntity ee)
+    {
+        Class<?> nodeDataClass = nodeStateContext.getDataClass();
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(nodeStateContext
+                .getPersistenceDelegator().getKunderaMetadata(), nodeDataClass);
+        EntityReader reader = nodeStateContext.getClient().getReader();
+
+        Object nodeData = null; // Node data
+
         // Recursively retrieve relationship entities (if there are any)
         if (ee != null && ee.getEntity() != null)
         {
@@ -161,9 +181,10 @@ public class ManagedState extends NodeState
 
             // This node is fresh and hence NOT dirty
             nodeStateContext.setDirty(false);
-            // One time set as required for rollback.
-            Object original = ((Node) nodeStateContext).clone();
-            ((Node) nodeStateContext).setOriginalNode((Node) original);
+            // Changes are detected against snapshot, original node for
+            // rollback is rebuilt out of it if ever needed.
+            ((Node) nodeStateContext).setLoadedSnapshot(EntitySnapshot.capture(nodeData, nodeStateContext
+                    .getPersistenceDelegator().getKunderaMetadata()));
         }
 
         // No state change, Node to remain in Managed state
@@ -39,6 +39,7 @@ public class TransientState extends NodeState
 
         // Mark this entity for saving in database
         nodeStateContext.setDirty(true);
+        ((Node) nodeStateContext).setInserted(true);
 
         // Add this node into persistence cache
         nodeStateContext.getPersistenceCache().getMainCache().addNodeToCache((Node) nodeStateContext);
@@ -117,6 +117,11 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
         // Construct Pool
         logger.info("Constructing pool for persistence unit : " + persistenceUnit);
         connectionPoolOrConnection = createPoolOrConnection();
+
+        if (indexManager.isAsynchronous())
+        {
+            kunderaMetadata.getMetricsRecorder().registerIndexManager(persistenceUnit, indexManager);
+        }
     }
 
     /**
@@ -160,7 +165,7 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
                         String.class);
 
                 Indexer indexer = (Indexer) method.invoke(null, luceneDirectoryPath);
-                indexManager = new IndexManager(indexer, kunderaMetadata);
+                indexManager = new IndexManager(indexer, kunderaMetadata, getIndexQueueSize(puProperties));
             }
             catch (Exception e)
             {
@@ -180,7 +185,7 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
             {
                 Class<?> indexerClazz = Class.forName(indexerClass);
                 Indexer indexer = (Indexer) indexerClazz.newInstance();
-                indexManager = new IndexManager(indexer, kunderaMetadata);
+                indexManager = new IndexManager(indexer, kunderaMetadata, getIndexQueueSize(puProperties));
                 clientMetadata.setIndexImplementor(indexerClass);
             }
             catch (Exception cnfex)
@@ -203,6 +208,43 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
         // }
     }
 
+    /**
+     * Returns size of asynchronous index operation queue, 0 if indexing is
+     * inline.
+     * 
+     * @param puProperties
+     * @return queue size.
+     */
+    private int getIndexQueueSize(Map<String, Object> puProperties)
+    {
+        Object queueSize = puProperties != null ? puProperties.get(PersistenceProperties.KUNDERA_INDEX_ASYNC_QUEUE_SIZE)
+                : null;
+        if (queueSize == null)
+        {
+            queueSize = kunderaMetadata.getApplicationMetadata().getPersistenceUnitMetadata(persistenceUnit)
+                    .getProperty(PersistenceProperties.KUNDERA_INDEX_ASYNC_QUEUE_SIZE);
+        }
+        if (queueSize == null || StringUtils.isBlank(queueSize.toString()))
+        {
+            return 0;
+        }
+        try
+        {
+            int size = Integer.parseInt(queueSize.toString().trim());
+            if (size < 0)
+            {
+                throw new InvalidConfigurationException(PersistenceProperties.KUNDERA_INDEX_ASYNC_QUEUE_SIZE
+                        + " must be >= 0");
+            }
+            return size;
+        }
+        catch (NumberFormatException nfex)
+        {
+            throw new InvalidConfigurationException(PersistenceProperties.KUNDERA_INDEX_ASYNC_QUEUE_SIZE
+                    + " must be a number, but was " + queueSize, nfex);
+        }
+    }
+
     /**
      * Initialize client.
      * 
@@ -352,23 +394,19 @@ public abstract class GenericClientFactory implements ClientFactory, ClientLifeC
 
     protected enum LoadBalancer
     {
-        ROUNDROBIN, LEASTACTIVE;
+        ROUNDROBIN, LEASTACTIVE, LATENCYAWARE, TOKENAWARE;
 
         public static LoadBalancer getValue(String loadBalancename)
         {
-            if (loadBalancename != null && loadBalancename.equalsIgnoreCase(ROUNDROBIN.name()))
-            {
-                return ROUNDROBIN;
-            }
-            else if (loadBalancename != null && loadBalancename.equalsIgnoreCase(LEASTACTIVE.name()))
-            {
-                return LEASTACTIVE;
-            }
-            else
+            for (LoadBalancer loadBalancer : values())
             {
-                logger.info("Using default load balancer {} . " + ROUNDROBIN.name());
-                return ROUNDROBIN;
+                if (loadBalancer.name().equalsIgnoreCase(loadBalancename))
+                {
+                    return loadBalancer;
+                }
             }
+            logger.info("Using default load balancer {} . " + ROUNDROBIN.name());
+            return ROUNDROBIN;
         }
     }
 }
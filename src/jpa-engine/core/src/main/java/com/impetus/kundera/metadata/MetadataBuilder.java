@@ -36,6 +36,7 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.processor.CacheableAnnotationProcessor;
 import com.impetus.kundera.metadata.processor.EntityListenersProcessor;
+import com.impetus.kundera.metadata.processor.FieldAccessorProcessor;
 import com.impetus.kundera.metadata.processor.IndexProcessor;
 import com.impetus.kundera.metadata.processor.TableProcessor;
 import com.impetus.kundera.metadata.validator.EntityValidator;
@@ -92,6 +93,7 @@ public class MetadataBuilder
         this.metadataProcessors.add(new CacheableAnnotationProcessor());
         this.metadataProcessors.add(new IndexProcessor(kunderaMetadata));
         this.metadataProcessors.add(new EntityListenersProcessor());
+        this.metadataProcessors.add(new FieldAccessorProcessor());
         
     }
 
@@ -17,6 +17,7 @@ package com.impetus.kundera.metadata.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -291,6 +292,16 @@ public class ApplicationMetadata
         return wrapper != null ? wrapper.getMappedClazz() : null;
     }
 
+    /**
+     * Returns names of all named and named native queries.
+     * 
+     * @return query names.
+     */
+    public Set<String> getQueryNames()
+    {
+        return namedNativeQueries != null ? namedNativeQueries.keySet() : new HashSet<String>();
+    }
+
     
     /**
      * Handler error and log statements.
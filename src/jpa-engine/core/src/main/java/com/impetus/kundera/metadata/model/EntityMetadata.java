@@ -33,6 +33,7 @@ import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.event.CallbackMethod;
+import com.impetus.kundera.proxy.KunderaProxy;
 
 /**
  * Holds metadata for entities.
@@ -102,6 +103,12 @@ public final class EntityMetadata
 
     private EntityType entityType;
 
+    /**
+     * Instance of lazy proxy class generated for this entity, new proxies are
+     * created out of it. Null if entity can't be proxied.
+     */
+    private KunderaProxy proxyPrototype;
+
     /**
      * The Enum Type.
      */
@@ -738,4 +745,25 @@ public final class EntityMetadata
         }
     }
 
+    /**
+     * Gets instance of lazy proxy class generated for this entity.
+     * 
+     * @return the proxyPrototype
+     */
+    public KunderaProxy getProxyPrototype()
+    {
+        return proxyPrototype;
+    }
+
+    /**
+     * Sets instance of lazy proxy class generated for this entity.
+     * 
+     * @param proxyPrototype
+     *            the proxyPrototype to set
+     */
+    public void setProxyPrototype(KunderaProxy proxyPrototype)
+    {
+        this.proxyPrototype = proxyPrototype;
+    }
+
 }
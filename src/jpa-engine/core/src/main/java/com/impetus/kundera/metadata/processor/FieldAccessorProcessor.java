@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metadata.processor;
+
+import java.lang.reflect.Field;
+
+import javax.persistence.Embedded;
+import javax.persistence.EmbeddedId;
+
+import com.impetus.kundera.metadata.MetadataProcessor;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.property.FieldAccessorFactory;
+
+/**
+ * The MetadataProcessor implementation to build field accessors and
+ * instantiators of an entity (and its embedded/embedded id classes) while
+ * loading metamodel, so that first read or write does not pay for it.
+ */
+public class FieldAccessorProcessor implements MetadataProcessor
+{
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.metadata.MetadataProcessor#process(java.lang.Class,
+     * com.impetus.kundera.metadata.model.EntityMetadata)
+     */
+    @Override
+    public void process(Class<?> clazz, EntityMetadata metadata)
+    {
+        FieldAccessorFactory.register(clazz);
+        for (Class<?> c = clazz; c != null && !c.equals(Object.class); c = c.getSuperclass())
+        {
+            for (Field field : c.getDeclaredFields())
+            {
+                if (field.isAnnotationPresent(Embedded.class) || field.isAnnotationPresent(EmbeddedId.class))
+                {
+                    FieldAccessorFactory.register(field.getType());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import com.impetus.kundera.index.IndexManager;
+
+/**
+ * Backlog of asynchronous index operations of one persistence unit, read from
+ * its {@link IndexManager} on each access.
+ */
+public class IndexingStats implements IndexingStatsMBean
+{
+    private final IndexManager indexManager;
+
+    IndexingStats(IndexManager indexManager)
+    {
+        this.indexManager = indexManager;
+    }
+
+    @Override
+    public long getIndexingLagMillis()
+    {
+        return indexManager.getIndexingLag();
+    }
+
+    @Override
+    public int getPendingIndexOperations()
+    {
+        return indexManager.getPendingIndexOperations();
+    }
+}
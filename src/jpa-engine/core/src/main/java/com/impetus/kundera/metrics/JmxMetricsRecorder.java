@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.index.IndexManager;
+
+/**
+ * {@link MetricsRecorder} keeping {@link MetricsStats} per persistence unit,
+ * entity class and operation or cache, each one registered as MBean named
+ * "com.impetus.kundera:type=Metrics,persistenceUnit=..,entity=..,operation=..".
+ * Backlog of asynchronous indexing is registered as {@link IndexingStats}, with
+ * entity "all" and operation "Indexing".
+ * <p>
+ * If stats of an other entity manager factory are registered under same name
+ * already, stats are still kept but not registered.
+ */
+public class JmxMetricsRecorder implements MetricsRecorder
+{
+    /** Domain of registered MBeans. */
+    public static final String DOMAIN = "com.impetus.kundera";
+
+    /** Operation name of indexing stats. */
+    private static final String INDEXING = "Indexing";
+
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(JmxMetricsRecorder.class);
+
+    private final MBeanServer mbeanServer;
+
+    private final ConcurrentMap<StatsKey, MetricsStats> stats = new ConcurrentHashMap<StatsKey, MetricsStats>();
+
+    private final ConcurrentMap<String, IndexingStats> indexingStats = new ConcurrentHashMap<String, IndexingStats>();
+
+    private final ConcurrentMap<ObjectName, Boolean> registered = new ConcurrentHashMap<ObjectName, Boolean>();
+
+    /**
+     * Instantiates recorder registering on platform MBean server.
+     */
+    public JmxMetricsRecorder()
+    {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * @param mbeanServer
+     *            server to register stats on.
+     */
+    public JmxMetricsRecorder(MBeanServer mbeanServer)
+    {
+        this.mbeanServer = mbeanServer;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void recordLatency(Operation operation, String persistenceUnit, Class<?> entityClass, long nanos)
+    {
+        getOrCreate(operation.name(), persistenceUnit, entityClass).recordLatency(nanos);
+    }
+
+    @Override
+    public void recordCount(Operation operation, String persistenceUnit, Class<?> entityClass, long count)
+    {
+        getOrCreate(operation.name(), persistenceUnit, entityClass).recordCount(count);
+    }
+
+    @Override
+    public void recordCacheAccess(String cacheName, String persistenceUnit, Class<?> entityClass, boolean hit)
+    {
+        getOrCreate(cacheName + "Cache", persistenceUnit, entityClass).recordCacheAccess(hit);
+    }
+
+    @Override
+    public void registerIndexManager(String persistenceUnit, IndexManager indexManager)
+    {
+        IndexingStats created = new IndexingStats(indexManager);
+        if (indexingStats.putIfAbsent(persistenceUnit, created) == null)
+        {
+            register(getObjectName(INDEXING, persistenceUnit, null), created);
+        }
+    }
+
+    /**
+     * Returns stats of given operation.
+     * 
+     * @param operation
+     *            operation.
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class, null if not specific to one.
+     * @return stats, null if nothing was recorded.
+     */
+    public MetricsStats getStats(Operation operation, String persistenceUnit, Class<?> entityClass)
+    {
+        return stats.get(new StatsKey(operation.name(), persistenceUnit, entityClass));
+    }
+
+    /**
+     * Returns stats of given cache.
+     * 
+     * @param cacheName
+     *            name of cache.
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class.
+     * @return stats, null if nothing was recorded.
+     */
+    public MetricsStats getCacheStats(String cacheName, String persistenceUnit, Class<?> entityClass)
+    {
+        return stats.get(new StatsKey(cacheName + "Cache", persistenceUnit, entityClass));
+    }
+
+    /**
+     * Returns indexing backlog of given persistence unit.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @return stats, null if persistence unit does not index asynchronously.
+     */
+    public IndexingStats getIndexingStats(String persistenceUnit)
+    {
+        return indexingStats.get(persistenceUnit);
+    }
+
+    /**
+     * Unregisters all stats.
+     */
+    @Override
+    public void close()
+    {
+        for (ObjectName name : registered.keySet())
+        {
+            try
+            {
+                mbeanServer.unregisterMBean(name);
+            }
+            catch (JMException e)
+            {
+                log.warn("Error while unregistering {}, Caused by: {}.", name, e.getMessage());
+            }
+        }
+        registered.clear();
+        stats.clear();
+        indexingStats.clear();
+    }
+
+    private MetricsStats getOrCreate(String operation, String persistenceUnit, Class<?> entityClass)
+    {
+        StatsKey key = new StatsKey(operation, persistenceUnit, entityClass);
+        MetricsStats operationStats = stats.get(key);
+        if (operationStats == null)
+        {
+            MetricsStats created = new MetricsStats();
+            operationStats = stats.putIfAbsent(key, created);
+            if (operationStats == null)
+            {
+                operationStats = created;
+                register(getObjectName(operation, persistenceUnit, entityClass), created);
+            }
+        }
+        return operationStats;
+    }
+
+    private void register(ObjectName name, Object mbean)
+    {
+        try
+        {
+            mbeanServer.registerMBean(mbean, name);
+            registered.put(name, Boolean.TRUE);
+        }
+        catch (InstanceAlreadyExistsException e)
+        {
+            log.debug("Stats {} are registered already, by other entity manager factory.", name);
+        }
+        catch (JMException e)
+        {
+            log.warn("Error while registering {}, Caused by: {}.", name, e.getMessage());
+        }
+    }
+
+    private static ObjectName getObjectName(String operation, String persistenceUnit, Class<?> entityClass)
+    {
+        StringBuilder name = new StringBuilder(DOMAIN);
+        name.append(":type=Metrics,persistenceUnit=");
+        name.append(ObjectName.quote(String.valueOf(persistenceUnit)));
+        name.append(",entity=");
+        name.append(entityClass != null ? entityClass.getName() : "all");
+        name.append(",operation=");
+        name.append(operation);
+        try
+        {
+            return new ObjectName(name.toString());
+        }
+        catch (JMException e)
+        {
+            throw new IllegalArgumentException("Invalid metrics name " + name, e);
+        }
+    }
+
+    /**
+     * Key of stats, cheaper to build than its object name.
+     */
+    private static final class StatsKey
+    {
+        private final String operation;
+
+        private final String persistenceUnit;
+
+        private final Class<?> entityClass;
+
+        StatsKey(String operation, String persistenceUnit, Class<?> entityClass)
+        {
+            this.operation = operation;
+            this.persistenceUnit = persistenceUnit;
+            this.entityClass = entityClass;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = operation.hashCode();
+            hash = 31 * hash + (persistenceUnit != null ? persistenceUnit.hashCode() : 0);
+            return 31 * hash + (entityClass != null ? entityClass.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof StatsKey))
+            {
+                return false;
+            }
+            StatsKey other = (StatsKey) obj;
+            return operation.equals(other.operation)
+                    && (persistenceUnit != null ? persistenceUnit.equals(other.persistenceUnit)
+                            : other.persistenceUnit == null) && entityClass == other.entityClass;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import com.impetus.kundera.index.IndexManager;
+
+/**
+ * Receives measurements of datastore operations, one instance per entity
+ * manager factory, configured through
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_METRICS_RECORDER_CLASS}.
+ * Implementations must be thread safe and have a no argument constructor.
+ * <p>
+ * Callers check {@link #isEnabled()} before taking any measurement, so that a
+ * disabled recorder costs no clock reads.
+ */
+public interface MetricsRecorder
+{
+    /** Name of second level cache, for {@link #recordCacheAccess}. */
+    String SECOND_LEVEL_CACHE = "l2";
+
+    /** Name of query result cache, for {@link #recordCacheAccess}. */
+    String QUERY_RESULT_CACHE = "query";
+
+    /**
+     * Measured operations.
+     */
+    enum Operation
+    {
+        /** Find of one entity by primary key. */
+        FIND,
+
+        /** Find of many entities by primary keys. */
+        FIND_ALL,
+
+        /** Insert or update of one entity. */
+        PERSIST,
+
+        /** Delete of one entity. */
+        DELETE,
+
+        /** Execution of client batch, count is batch size. */
+        EXECUTE_BATCH,
+
+        /** Query execution, count is rows read. */
+        QUERY,
+
+        /** Fetch of associated entities. */
+        RELATION_FETCH,
+
+        /** Write or removal of index document. */
+        INDEX_WRITE,
+
+        /** Wait for connection out of pool. */
+        CONNECTION_WAIT;
+    }
+
+    /**
+     * @return true, if measurements are to be recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Records time taken by an operation.
+     * 
+     * @param operation
+     *            operation.
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class, null if not specific to one.
+     * @param nanos
+     *            elapsed time in nanoseconds.
+     */
+    void recordLatency(Operation operation, String persistenceUnit, Class<?> entityClass, long nanos);
+
+    /**
+     * Records number of rows read or written by an operation, or size of
+     * executed batch.
+     * 
+     * @param operation
+     *            operation.
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class, null if not specific to one.
+     * @param count
+     *            number of rows.
+     */
+    void recordCount(Operation operation, String persistenceUnit, Class<?> entityClass, long count);
+
+    /**
+     * Records cache lookup.
+     * 
+     * @param cacheName
+     *            name of cache, e.g. {@link #SECOND_LEVEL_CACHE}.
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param entityClass
+     *            entity class.
+     * @param hit
+     *            true, if lookup was served from cache.
+     */
+    void recordCacheAccess(String cacheName, String persistenceUnit, Class<?> entityClass, boolean hit);
+
+    /**
+     * Registers index manager applying index operations asynchronously, whose
+     * indexing lag and pending operations are to be reported.
+     * 
+     * @param persistenceUnit
+     *            persistence unit.
+     * @param indexManager
+     *            index manager of persistence unit.
+     */
+    void registerIndexManager(String persistenceUnit, IndexManager indexManager);
+
+    /**
+     * Releases resources held by recorder, on entity manager factory close.
+     */
+    void close();
+}
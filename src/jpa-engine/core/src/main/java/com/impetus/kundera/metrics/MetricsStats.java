@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measurements of one operation, of one entity class in one persistence unit.
+ * Latencies are kept in a histogram of power of two nanosecond buckets, so
+ * percentiles are approximate, within factor 2.
+ */
+public class MetricsStats implements MetricsStatsMBean
+{
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+    private final AtomicLong operationCount = new AtomicLong();
+
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /** Bucket i counts latencies in [2^(i-1), 2^i) nanoseconds. */
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(Long.SIZE + 1);
+
+    private final AtomicLong countSamples = new AtomicLong();
+
+    private final AtomicLong rowCount = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    void recordLatency(long nanos)
+    {
+        nanos = Math.max(0, nanos);
+        operationCount.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        latencyBuckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nanos));
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos))
+        {
+            max = maxNanos.get();
+        }
+    }
+
+    void recordCount(long count)
+    {
+        countSamples.incrementAndGet();
+        rowCount.addAndGet(count);
+    }
+
+    void recordCacheAccess(boolean hit)
+    {
+        (hit ? hitCount : missCount).incrementAndGet();
+    }
+
+    @Override
+    public long getOperationCount()
+    {
+        return operationCount.get();
+    }
+
+    @Override
+    public double getMeanLatencyMillis()
+    {
+        long count = operationCount.get();
+        return count > 0 ? totalNanos.get() / NANOS_PER_MILLI / count : 0;
+    }
+
+    @Override
+    public double getMaxLatencyMillis()
+    {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatency50thPercentileMillis()
+    {
+        return getLatencyPercentile(0.5);
+    }
+
+    @Override
+    public double getLatency99thPercentileMillis()
+    {
+        return getLatencyPercentile(0.99);
+    }
+
+    @Override
+    public long getRowCount()
+    {
+        return rowCount.get();
+    }
+
+    @Override
+    public double getMeanRowCount()
+    {
+        long samples = countSamples.get();
+        return samples > 0 ? (double) rowCount.get() / samples : 0;
+    }
+
+    @Override
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    @Override
+    public double getHitRatio()
+    {
+        long hits = hitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+
+    /**
+     * @return upper bound of bucket holding given percentile of latencies, in
+     *         milliseconds, but never more than maximum latency.
+     */
+    private double getLatencyPercentile(double percentile)
+    {
+        long total = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++)
+        {
+            total += latencyBuckets.get(i);
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length() && total > 0; i++)
+        {
+            seen += latencyBuckets.get(i);
+            if (seen >= rank)
+            {
+                double upperBound = i < Long.SIZE - 1 ? (double) (1L << i) : Long.MAX_VALUE;
+                return Math.min(upperBound, maxNanos.get()) / NANOS_PER_MILLI;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("MetricsStats [operations=");
+        builder.append(operationCount.get());
+        builder.append(", meanMillis=");
+        builder.append(getMeanLatencyMillis());
+        builder.append(", maxMillis=");
+        builder.append(getMaxLatencyMillis());
+        builder.append(", rows=");
+        builder.append(rowCount.get());
+        builder.append(", hits=");
+        builder.append(hitCount.get());
+        builder.append(", misses=");
+        builder.append(missCount.get());
+        builder.append("]");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+/**
+ * Management interface of {@link MetricsStats}.
+ */
+public interface MetricsStatsMBean
+{
+    /**
+     * @return number of timed operations.
+     */
+    long getOperationCount();
+
+    /**
+     * @return mean latency in milliseconds.
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * @return maximum latency in milliseconds.
+     */
+    double getMaxLatencyMillis();
+
+    /**
+     * @return latency in milliseconds, 50% of operations took at most.
+     */
+    double getLatency50thPercentileMillis();
+
+    /**
+     * @return latency in milliseconds, 99% of operations took at most.
+     */
+    double getLatency99thPercentileMillis();
+
+    /**
+     * @return total number of rows read or written, or of batched operations.
+     */
+    long getRowCount();
+
+    /**
+     * @return mean number of rows per operation, or mean batch size.
+     */
+    double getMeanRowCount();
+
+    /**
+     * @return number of lookups served from cache.
+     */
+    long getHitCount();
+
+    /**
+     * @return number of lookups not served from cache.
+     */
+    long getMissCount();
+
+    /**
+     * @return ratio of lookups served from cache, 0 if there was none.
+     */
+    double getHitRatio();
+}
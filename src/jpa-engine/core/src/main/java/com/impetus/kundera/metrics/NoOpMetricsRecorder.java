@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import com.impetus.kundera.index.IndexManager;
+
+/**
+ * Default {@link MetricsRecorder}, records nothing.
+ */
+public final class NoOpMetricsRecorder implements MetricsRecorder
+{
+    /** Shared instance. */
+    public static final NoOpMetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public void recordLatency(Operation operation, String persistenceUnit, Class<?> entityClass, long nanos)
+    {
+        // nothing to do.
+    }
+
+    @Override
+    public void recordCount(Operation operation, String persistenceUnit, Class<?> entityClass, long count)
+    {
+        // nothing to do.
+    }
+
+    @Override
+    public void recordCacheAccess(String cacheName, String persistenceUnit, Class<?> entityClass, boolean hit)
+    {
+        // nothing to do.
+    }
+
+    @Override
+    public void registerIndexManager(String persistenceUnit, IndexManager indexManager)
+    {
+        // nothing to do.
+    }
+
+    @Override
+    public void close()
+    {
+        // nothing to do.
+    }
+}
@@ -18,7 +18,9 @@ package com.impetus.kundera.persistence;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +45,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.ProxyHelper;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.ObjectUtils;
 
 /**
  * The Class AbstractEntityReader.
@@ -60,7 +63,13 @@ public class AbstractEntityReader
     protected KunderaQuery kunderaQuery;
 
     protected KunderaMetadata kunderaMetadata;
-    
+
+    /**
+     * Relation entities fetched ahead for result set being resolved by calling
+     * thread, by target entity class and key.
+     */
+    private final ThreadLocal<Map<Class<?>, Map<String, PrefetchedRelation>>> prefetchedRelations = new ThreadLocal<Map<Class<?>, Map<String, PrefetchedRelation>>>();
+
     public AbstractEntityReader(final KunderaMetadata kunderaMetadata)
     {
        this.kunderaMetadata = kunderaMetadata;
@@ -383,9 +392,14 @@ public class AbstractEntityReader
 
         if ((relationValue != null && relation.isUnary()) || (relation.isJoinedByPrimaryKey()))
         {
-            // Call it
-            Object relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(),
-                    relationValue != null ? relationValue : entityId);
+            Object relationEntity = getPrefetchedRelation(relation.getTargetEntity(), relationValue != null ? relationValue
+                    : entityId);
+            if (relationEntity == null)
+            {
+                // Call it
+                relationEntity = pd.getClient(targetEntityMetadata).find(relation.getTargetEntity(),
+                        relationValue != null ? relationValue : entityId);
+            }
             if (relationEntity != null)
             {
                 relationalEntities.add(relationEntity);
@@ -431,6 +445,152 @@ public class AbstractEntityReader
 
     }
 
+    /**
+     * Recursively fetches associated entities for a list of entities. Foreign
+     * keys of unary relations are collected across all entities first and each
+     * target entity is fetched with one multi key find per relation, instead of
+     * one find per entity.
+     * 
+     * @param entities
+     *            enhance entities
+     * @param m
+     *            entity metadata
+     * @param pd
+     *            persistence delegator
+     * @param lazilyLoaded
+     *            true if invoked over lazily fetched object.
+     * @return list of entities, with relations populated.
+     */
+    public List<Object> recursivelyFindEntities(List<EnhanceEntity> entities, EntityMetadata m,
+            PersistenceDelegator pd, boolean lazilyLoaded)
+    {
+        List<Object> results = new ArrayList<Object>(entities.size());
+
+        Map<Class<?>, Map<String, PrefetchedRelation>> prefetched = prefetchedRelations.get();
+        boolean outermost = prefetched == null;
+        if (outermost)
+        {
+            prefetched = new HashMap<Class<?>, Map<String, PrefetchedRelation>>();
+            prefetchedRelations.set(prefetched);
+        }
+
+        try
+        {
+            prefetchRelations(entities, m, pd, lazilyLoaded, prefetched);
+            for (EnhanceEntity ee : entities)
+            {
+                results.add(handleAssociation(ee.getEntity(), ee.getRelations(), m, pd, lazilyLoaded));
+            }
+        }
+        finally
+        {
+            if (outermost)
+            {
+                prefetchedRelations.remove();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Collects foreign keys of unary relations across given entities, and
+     * fetches target entities of each relation with one multi key find on
+     * target entity's client.
+     */
+    private void prefetchRelations(List<EnhanceEntity> entities, EntityMetadata m, PersistenceDelegator pd,
+            boolean lazilyLoaded, Map<Class<?>, Map<String, PrefetchedRelation>> prefetched)
+    {
+        for (Relation relation : m.getRelations())
+        {
+            if (!relation.isUnary() || (!lazilyLoaded && relation.getFetchType().equals(FetchType.LAZY)))
+            {
+                continue;
+            }
+
+            Map<String, PrefetchedRelation> fetched = prefetched.get(relation.getTargetEntity());
+            String joinColumnName = relation.getJoinColumnName(kunderaMetadata);
+
+            // distinct keys, not fetched yet.
+            Map<String, Object> keys = new LinkedHashMap<String, Object>();
+            for (EnhanceEntity ee : entities)
+            {
+                Object relationalObject = PropertyAccessorHelper.getObject(ee.getEntity(), relation.getProperty());
+                if (!KunderaCoreUtils.isEmptyOrNull(relationalObject)
+                        && !ProxyHelper.isProxyOrCollection(relationalObject))
+                {
+                    continue;
+                }
+
+                Object key = ee.getRelations() != null ? ee.getRelations().get(joinColumnName) : null;
+                if (key == null && relation.isJoinedByPrimaryKey())
+                {
+                    key = PropertyAccessorHelper.getId(ee.getEntity(), m);
+                }
+                if (key != null && (fetched == null || !fetched.containsKey(String.valueOf(key))))
+                {
+                    keys.put(String.valueOf(key), key);
+                }
+            }
+
+            // nothing to save over a single find.
+            if (keys.size() > 1)
+            {
+                EntityMetadata targetEntityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                        relation.getTargetEntity());
+                List relationEntities = pd.getClient(targetEntityMetadata).findAll(relation.getTargetEntity(), null,
+                        keys.values().toArray());
+
+                if (fetched == null)
+                {
+                    fetched = new HashMap<String, PrefetchedRelation>();
+                    prefetched.put(relation.getTargetEntity(), fetched);
+                }
+                if (relationEntities != null)
+                {
+                    for (Object relationEntity : relationEntities)
+                    {
+                        if (relationEntity != null)
+                        {
+                            Object id = PropertyAccessorHelper.getId(getEntity(relationEntity), targetEntityMetadata);
+                            fetched.put(String.valueOf(id), new PrefetchedRelation(relationEntity));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns relation entity fetched ahead for given key, if any. Fetched
+     * instance is handed out once, copies of it afterwards, as every owning
+     * entity gets its own instance when found one by one.
+     * 
+     * @param targetEntity
+     *            target entity class
+     * @param key
+     *            foreign key
+     * @return relation entity, or null if not fetched ahead.
+     */
+    private Object getPrefetchedRelation(Class<?> targetEntity, Object key)
+    {
+        Map<Class<?>, Map<String, PrefetchedRelation>> prefetched = prefetchedRelations.get();
+        Map<String, PrefetchedRelation> fetched = prefetched != null ? prefetched.get(targetEntity) : null;
+        PrefetchedRelation relation = fetched != null ? fetched.get(String.valueOf(key)) : null;
+        if (relation == null)
+        {
+            return null;
+        }
+        if (!relation.used)
+        {
+            relation.used = true;
+            return relation.entity;
+        }
+
+        Object entity = ObjectUtils.deepCopy(getEntity(relation.entity), kunderaMetadata);
+        return relation.entity instanceof EnhanceEntity ? new EnhanceEntity(entity,
+                ((EnhanceEntity) relation.entity).getEntityId(), getPersistedRelations(relation.entity)) : entity;
+    }
+
     /**
      * Returns wrapped relations.
      * 
@@ -584,4 +744,19 @@ public class AbstractEntityReader
         return this.associationBuilder;
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Relation entity fetched ahead of resolution.
+     */
+    private static final class PrefetchedRelation
+    {
+        private final Object entity;
+
+        private boolean used;
+
+        private PrefetchedRelation(Object entity)
+        {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Asynchronous facade of an {@link EntityManager}, obtained via
+ * <code>entityManager.unwrap(AsyncEntityManager.class)</code>. Operations
+ * return immediately with a {@link Future} of their outcome.
+ * 
+ * Reads of clients implementing {@link com.impetus.kundera.client.AsyncClient}
+ * are served by datastore's native asynchronous API, everything else runs on
+ * a bounded executor of entity manager factory, sized by
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_ASYNC_POOL_SIZE}.
+ * Asynchronous operations of an entity manager are executed one at a time,
+ * entity manager itself must not be used (nor closed) while any of them is
+ * pending, native reads included, it throws {@link IllegalStateException} if
+ * it is.
+ */
+public interface AsyncEntityManager
+{
+    /**
+     * Finds entity by primary key.
+     * 
+     * @param entityClass
+     *            entity class.
+     * @param primaryKey
+     *            primary key.
+     * @return future of found entity, null if not found.
+     * @see EntityManager#find(Class, Object)
+     */
+    <T> Future<T> findAsync(Class<T> entityClass, Object primaryKey);
+
+    /**
+     * Makes an entity instance managed and persistent.
+     * 
+     * @param entity
+     *            entity instance.
+     * @return future completing once entity is persisted.
+     * @see EntityManager#persist(Object)
+     */
+    Future<Void> persistAsync(Object entity);
+
+    /**
+     * Removes entity instance.
+     * 
+     * @param entity
+     *            entity instance.
+     * @return future completing once entity is removed.
+     * @see EntityManager#remove(Object)
+     */
+    Future<Void> removeAsync(Object entity);
+
+    /**
+     * Executes a select query created out of same entity manager.
+     * 
+     * @param query
+     *            query to execute.
+     * @return future of query results.
+     * @see Query#getResultList()
+     */
+    <T> Future<List<T>> getResultListAsync(Query query);
+}
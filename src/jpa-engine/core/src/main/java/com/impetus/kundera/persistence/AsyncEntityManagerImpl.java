@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.Query;
+
+/**
+ * Default {@link AsyncEntityManager}, runs operations of an
+ * {@link EntityManagerImpl} on executor of its factory unless client can
+ * serve them natively.
+ */
+class AsyncEntityManagerImpl implements AsyncEntityManager
+{
+    private final EntityManagerImpl em;
+
+    private final ExecutorService executor;
+
+    AsyncEntityManagerImpl(EntityManagerImpl em, ExecutorService executor)
+    {
+        this.em = em;
+        this.executor = executor;
+    }
+
+    /**
+     * Looks up persistence cache as any other asynchronous operation. If
+     * entity is to be fetched by native asynchronous API of client, its find
+     * is held as pending operation until driver completes it.
+     */
+    @Override
+    public <T> Future<T> findAsync(final Class<T> entityClass, final Object primaryKey)
+    {
+        if (primaryKey == null)
+        {
+            throw new IllegalArgumentException("PrimaryKey value must not be null for object you want to find.");
+        }
+        return new ChainedFuture<T>(submit(new Callable<Future<T>>()
+        {
+            @Override
+            public Future<T> call()
+            {
+                Runnable onCompletion = new Runnable()
+                {
+                    private final AtomicBoolean completed = new AtomicBoolean();
+
+                    @Override
+                    public void run()
+                    {
+                        if (completed.compareAndSet(false, true))
+                        {
+                            em.onAsyncOperationCompleted();
+                        }
+                    }
+                };
+                em.onAsyncOperationSubmitted();
+                Future<T> future = null;
+                try
+                {
+                    future = em.getPersistenceDelegator().findAsync(entityClass, primaryKey, onCompletion);
+                }
+                finally
+                {
+                    if (future == null)
+                    {
+                        onCompletion.run();
+                    }
+                }
+                return future != null ? future : new CompletedFuture<T>(em.find(entityClass, primaryKey));
+            }
+        }));
+    }
+
+    @Override
+    public Future<Void> persistAsync(final Object entity)
+    {
+        return submit(new Callable<Void>()
+        {
+            @Override
+            public Void call()
+            {
+                em.persist(entity);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public Future<Void> removeAsync(final Object entity)
+    {
+        return submit(new Callable<Void>()
+        {
+            @Override
+            public Void call()
+            {
+                em.remove(entity);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<List<T>> getResultListAsync(final Query query)
+    {
+        return submit(new Callable<List<T>>()
+        {
+            @Override
+            public List<T> call()
+            {
+                return query.getResultList();
+            }
+        });
+    }
+
+    /**
+     * Submits operation to executor, serialized with other operations on same
+     * persistence context. Entity manager rejects synchronous use until
+     * operation has run, or has been cancelled before it started.
+     */
+    private <T> Future<T> submit(final Callable<T> operation)
+    {
+        checkOpen();
+        // 0 queued, 1 running, 2 completed.
+        final AtomicInteger state = new AtomicInteger();
+        FutureTask<T> task = new FutureTask<T>(new Callable<T>()
+        {
+            @Override
+            public T call() throws Exception
+            {
+                if (!state.compareAndSet(0, 1))
+                {
+                    // cancelled meanwhile.
+                    return null;
+                }
+                try
+                {
+                    return em.runAsyncOperation(operation);
+                }
+                finally
+                {
+                    // before outcome is published, so that caller of get()
+                    // can use entity manager right away.
+                    state.set(2);
+                    em.onAsyncOperationCompleted();
+                }
+            }
+        })
+        {
+            @Override
+            protected void done()
+            {
+                if (state.compareAndSet(0, 2))
+                {
+                    em.onAsyncOperationCompleted();
+                }
+            }
+        };
+
+        em.onAsyncOperationSubmitted();
+        try
+        {
+            executor.execute(task);
+        }
+        catch (RejectedExecutionException e)
+        {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    private void checkOpen()
+    {
+        if (!em.isOpen())
+        {
+            throw new IllegalStateException("EntityManager has been closed.");
+        }
+    }
+
+    /**
+     * Future of outcome of a future, itself outcome of an operation.
+     */
+    private static final class ChainedFuture<T> implements Future<T>
+    {
+        private final Future<Future<T>> operation;
+
+        ChainedFuture(Future<Future<T>> operation)
+        {
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            if (operation.cancel(mayInterruptIfRunning))
+            {
+                return true;
+            }
+            Future<T> outcome = getOutcome();
+            return outcome != null && outcome.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            if (operation.isCancelled())
+            {
+                return true;
+            }
+            Future<T> outcome = getOutcome();
+            return outcome != null && outcome.isCancelled();
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            if (!operation.isDone())
+            {
+                return false;
+            }
+            Future<T> outcome = getOutcome();
+            return outcome == null || outcome.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException
+        {
+            return operation.get().get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            Future<T> outcome = operation.get(timeout, unit);
+            return outcome.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns future of completed operation, null if operation is not
+         * done yet, has failed or has been cancelled.
+         */
+        private Future<T> getOutcome()
+        {
+            if (!operation.isDone() || operation.isCancelled())
+            {
+                return null;
+            }
+            try
+            {
+                return operation.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            catch (ExecutionException e)
+            {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Future of an outcome known already.
+     */
+    private static final class CompletedFuture<T> implements Future<T>
+    {
+        private final T outcome;
+
+        CompletedFuture(T outcome)
+        {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return true;
+        }
+
+        @Override
+        public T get()
+        {
+            return outcome;
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit)
+        {
+            return outcome;
+        }
+    }
+}
@@ -16,8 +16,18 @@
 
 package com.impetus.kundera.persistence;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.persistence.KunderaEntityTransaction.TxAction;
 import com.impetus.kundera.persistence.TransactionResource.Response;
@@ -28,15 +38,35 @@ import com.impetus.kundera.persistence.TransactionResource.Response;
  */
 class Coordinator
 {
+    /** the log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(Coordinator.class);
 
     // private List<TransactionResource> txResources = new
     // ArrayList<TransactionResource>();
 
-    private Map<String, TransactionResource> txResources = new HashMap<String, TransactionResource>();
+    private Map<String, TransactionResource> txResources = new LinkedHashMap<String, TransactionResource>();
+
+    /** Executor to run commit, prepare and rollback on, null runs serially. */
+    private final ExecutorService executor;
+
+    /** Time taken by each persistence unit on last action, in milliseconds. */
+    private final Map<String, Long> timings = new ConcurrentHashMap<String, Long>();
 
     public Coordinator()
     {
+        this(null);
+    }
 
+    /**
+     * @param executor
+     *            executor to run commit, prepare and rollback of all
+     *            persistence units on in parallel, or null to run them one by
+     *            one. It must not queue tasks behind others which may wait on
+     *            this transaction, i.e. it should not be the async executor.
+     */
+    Coordinator(ExecutorService executor)
+    {
+        this.executor = executor;
     }
 
     void addResource(TransactionResource resource, final String pu)
@@ -66,26 +96,23 @@ class Coordinator
             // TODO:: need to handle case of two phase commit, in case of
             // polyglot persistence.
 
-            for (TransactionResource res : txResources.values())
-            {
-                res.prepare();
-            }
-            break;
-
         case COMMIT:
-
-            for (TransactionResource res : txResources.values())
+        case ROLLBACK:
+            timings.clear();
+            if (executor != null && txResources.size() > 1)
             {
-                res.onCommit();
+                response = coordinateInParallel(action);
             }
-            break;
-
-        case ROLLBACK:
-            for (TransactionResource res : txResources.values())
+            else
             {
-                res.onRollback();
+                for (Map.Entry<String, TransactionResource> entry : txResources.entrySet())
+                {
+                    if (apply(action, entry.getKey(), entry.getValue()) == Response.NO)
+                    {
+                        response = Response.NO;
+                    }
+                }
             }
-
             break;
 
         default:
@@ -107,4 +134,174 @@ class Coordinator
         }
         return false;
     }
+
+    /**
+     * Returns time taken by each persistence unit on last commit, prepare or
+     * rollback, in order of registration.
+     * 
+     * @return time in milliseconds, by persistence unit.
+     */
+    Map<String, Long> getTimings()
+    {
+        Map<String, Long> ordered = new LinkedHashMap<String, Long>();
+        for (String pu : txResources.keySet())
+        {
+            Long elapsed = timings.get(pu);
+            if (elapsed != null)
+            {
+                ordered.put(pu, elapsed);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Runs action on all resources in parallel and waits for all of them.
+     * Failures are reported in order of registration, independent of order of
+     * completion. If commit fails on any of resources, all of them are rolled
+     * back in reverse order of registration. This is best effort, resources
+     * which have already written to their datastore can only discard what
+     * they still hold, same as on rollback after a failed serial commit.
+     * Entity callbacks of each resource run on the thread committing it.
+     */
+    private Response coordinateInParallel(final TxAction action)
+    {
+        if (action == TxAction.COMMIT)
+        {
+            // nodes of different persistence units share links, set them all
+            // up on calling thread so that parallel writes only read them.
+            for (TransactionResource res : txResources.values())
+            {
+                if (res instanceof DefaultTransactionResource)
+                {
+                    ((DefaultTransactionResource) res).updateLinks();
+                }
+            }
+        }
+
+        List<String> pus = new ArrayList<String>(txResources.keySet());
+        List<Future<Response>> futures = new ArrayList<Future<Response>>(pus.size());
+
+        // first one runs on calling thread.
+        for (final String pu : pus.subList(1, pus.size()))
+        {
+            final TransactionResource res = txResources.get(pu);
+            futures.add(executor.submit(new Callable<Response>()
+            {
+                @Override
+                public Response call() throws Exception
+                {
+                    return apply(action, pu, res);
+                }
+            }));
+        }
+
+        Response response = Response.YES;
+        Map<String, Throwable> failures = new LinkedHashMap<String, Throwable>();
+        try
+        {
+            response = apply(action, pus.get(0), txResources.get(pus.get(0)));
+        }
+        catch (RuntimeException e)
+        {
+            failures.put(pus.get(0), e);
+        }
+
+        for (int i = 1; i < pus.size(); i++)
+        {
+            try
+            {
+                if (futures.get(i - 1).get() == Response.NO)
+                {
+                    response = Response.NO;
+                }
+            }
+            catch (ExecutionException e)
+            {
+                failures.put(pus.get(i), e.getCause());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                failures.put(pus.get(i), e);
+            }
+        }
+
+        if (!failures.isEmpty())
+        {
+            if (action == TxAction.COMMIT)
+            {
+                for (int i = pus.size() - 1; i >= 0; i--)
+                {
+                    rollback(pus.get(i));
+                }
+            }
+            throw onFailure(action, failures);
+        }
+        return response;
+    }
+
+    private Response apply(TxAction action, String pu, TransactionResource res)
+    {
+        long start = System.currentTimeMillis();
+        try
+        {
+            switch (action)
+            {
+            case PREPARE:
+                return res.prepare();
+
+            case COMMIT:
+                res.onCommit();
+                return Response.YES;
+
+            default:
+                res.onRollback();
+                return Response.YES;
+            }
+        }
+        finally
+        {
+            long elapsed = System.currentTimeMillis() - start;
+            timings.put(pu, elapsed);
+            if (log.isDebugEnabled())
+            {
+                log.debug("{} of persistence unit {} took {} ms.", new Object[] { action, pu, elapsed });
+            }
+        }
+    }
+
+    private void rollback(String pu)
+    {
+        try
+        {
+            txResources.get(pu).onRollback();
+        }
+        catch (RuntimeException e)
+        {
+            log.error("Error while rolling back persistence unit " + pu + " after failed commit, Caused by: ", e);
+        }
+    }
+
+    /**
+     * Builds exception for failed persistence units, caused by failure of
+     * first of them. Failures of others are logged.
+     */
+    private KunderaTransactionException onFailure(TxAction action, Map<String, Throwable> failures)
+    {
+        Throwable cause = null;
+        for (Map.Entry<String, Throwable> failure : failures.entrySet())
+        {
+            if (cause == null)
+            {
+                cause = failure.getValue();
+            }
+            else
+            {
+                log.error("Error on " + action + " of persistence unit " + failure.getKey() + ", Caused by: ",
+                        failure.getValue());
+            }
+        }
+        return new KunderaTransactionException(action + " failed for persistence units " + failures.keySet(), cause);
+    }
 }
@@ -17,13 +17,20 @@
 package com.impetus.kundera.persistence;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.persistence.api.Batcher;
 
 /**
@@ -44,6 +51,12 @@ public class DefaultTransactionResource implements TransactionResource
 
     private List<Node> nodes = new ArrayList<Node>();
 
+    /** Ids of queued nodes. */
+    private Set<String> queuedNodeIds = new HashSet<String>();
+
+    /** Ids of queued nodes, whose first queued operation is a persist of a new entity. */
+    private Set<String> insertedNodeIds = new HashSet<String>();
+
     public DefaultTransactionResource(Client client)
     {
         this.client = client;
@@ -73,6 +86,8 @@ public class DefaultTransactionResource implements TransactionResource
         nodes.clear();
         nodes = null;
         nodes = new ArrayList<Node>();
+        queuedNodeIds.clear();
+        insertedNodeIds.clear();
         isActive = false;
     }
 
@@ -83,11 +98,120 @@ public class DefaultTransactionResource implements TransactionResource
      */
     public void onFlush()
     {
-        for (Node node : nodes)
+        List<Node> superseded = new ArrayList<Node>();
+        Collection<Node> latest = coalesce(superseded);
+
+        // written one by one, as latest node of same entity would not write
+        // all of their changes.
+        for (Node node : superseded)
         {
             node.flush();
         }
 
+        // batching is opt in, as with non transactional flush.
+        if (client instanceof Batcher && ((Batcher) client).getBatchSize() > 0)
+        {
+            flushBatch((Batcher) client, latest);
+        }
+        else
+        {
+            for (Node node : latest)
+            {
+                node.flush();
+            }
+        }
+
+        nodes = new ArrayList<Node>();
+        queuedNodeIds.clear();
+        insertedNodeIds.clear();
+    }
+
+    /**
+     * Collapses queued nodes per node id, latest one wins. Entities inserted
+     * and removed within same transaction are not written at all.
+     * 
+     * @param superseded
+     *            collects superseded nodes, which still have to be written
+     *            before latest ones.
+     * @return latest node per node id, in order of queuing.
+     */
+    private Collection<Node> coalesce(List<Node> superseded)
+    {
+        Map<String, Node> latest = new LinkedHashMap<String, Node>();
+        for (Node node : nodes)
+        {
+            Node previous = latest.remove(node.getNodeId());
+            if (previous != null && previous != node && !covers(node, previous))
+            {
+                superseded.add(previous);
+            }
+            latest.put(node.getNodeId(), node);
+        }
+
+        Iterator<Node> iter = latest.values().iterator();
+        while (iter.hasNext())
+        {
+            Node node = iter.next();
+            if (node.isInState(RemovedState.class) && insertedNodeIds.contains(node.getNodeId()))
+            {
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Skipping write of {}, inserted and removed within transaction.", node.getNodeId());
+                }
+                node.onBatchFlushed();
+                iter.remove();
+            }
+        }
+        return latest.values();
+    }
+
+    /**
+     * Returns true if writing node writes all changes of previous one, on
+     * same entity.
+     */
+    private boolean covers(Node node, Node previous)
+    {
+        if (node.isInState(RemovedState.class) || node.getModifiedFields() == null)
+        {
+            return true;
+        }
+        return previous.getModifiedFields() != null
+                && node.getModifiedFields().containsAll(previous.getModifiedFields());
+    }
+
+    /**
+     * Writes nodes with one batch call of client.
+     */
+    private void flushBatch(Batcher batcher, Collection<Node> latest)
+    {
+        List<Node> dirtyNodes = new ArrayList<Node>(latest.size());
+        for (Node node : latest)
+        {
+            // link values are read while executing batch, so set all of them
+            // up front.
+            node.updateLinks();
+            if (node.isDirty())
+            {
+                dirtyNodes.add(node);
+                batcher.addBatch(node);
+            }
+        }
+
+        if (!dirtyNodes.isEmpty())
+        {
+            try
+            {
+                batcher.executeBatch();
+            }
+            finally
+            {
+                batcher.clear();
+            }
+            for (Node node : dirtyNodes)
+            {
+                node.onBatchFlushed();
+            }
+        }
     }
 
     /*
@@ -103,6 +227,8 @@ public class DefaultTransactionResource implements TransactionResource
         nodes.clear();
         nodes = null;
         nodes = new ArrayList<Node>();
+        queuedNodeIds.clear();
+        insertedNodeIds.clear();
         isActive = false;
     }
 
@@ -117,6 +243,19 @@ public class DefaultTransactionResource implements TransactionResource
         return Response.YES;
     }
 
+    /**
+     * Sets up links of all queued nodes. Called before resources are
+     * committed in parallel, as links are shared with nodes of other
+     * persistence units.
+     */
+    void updateLinks()
+    {
+        for (Node node : nodes)
+        {
+            node.updateLinks();
+        }
+    }
+
     /**
      * 
      * @param node
@@ -124,6 +263,10 @@ public class DefaultTransactionResource implements TransactionResource
      */
     void syncNode(Node node)
     {
+        if (queuedNodeIds.add(node.getNodeId()) && node.isInserted())
+        {
+            insertedNodeIds.add(node.getNodeId());
+        }
         nodes.add(node);
     }
 
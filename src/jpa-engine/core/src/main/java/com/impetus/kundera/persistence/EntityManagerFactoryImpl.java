@@ -20,6 +20,12 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.Cache;
 import javax.persistence.EntityManager;
@@ -27,6 +33,7 @@ import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContextType;
 import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.Metamodel;
 import javax.persistence.spi.LoadState;
 import javax.persistence.spi.PersistenceUnitInfo;
@@ -56,7 +63,15 @@ import com.impetus.kundera.metadata.model.CoreMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.property.FieldAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.NoOpMetricsRecorder;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
+import com.impetus.kundera.query.QueryPlanCache;
+import com.impetus.kundera.query.QueryResultCache;
+import com.impetus.kundera.query.QueryResolver;
+import com.impetus.kundera.utils.KunderaThreadFactory;
 
 /**
  * Implementation class for {@link EntityManagerFactory}
@@ -153,6 +168,9 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         // Configure metamodel.
         new MetamodelConfiguration(properties, kunderaMetadata, persistenceUnits).configure();
 
+        // Client factories record metrics while loading.
+        configureMetricsRecorder();
+
         // configure client factories
         configureClientFactories();
 
@@ -173,6 +191,13 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
             }
         }
 
+        configureQueryPlanCache();
+        configureReadMode();
+        configureAsyncPoolSize();
+        configureBatchFetchSize();
+        configureParallelTransaction();
+        configureQueryResultCache();
+
         if (txTypes.size() != 1)
         {
             throw new IllegalArgumentException(
@@ -213,6 +238,10 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
                 cacheProvider.shutdown();
             }
 
+            kunderaMetadata.shutdownAsyncExecutor();
+            kunderaMetadata.getMetricsRecorder().close();
+            releaseEntityClasses();
+
             for (String pu : persistenceUnits)
             {
                 ((ClientLifeCycleManager) clientFactories.get(pu)).destroy();
@@ -228,6 +257,37 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         }
     }
 
+    /**
+     * Discards field accessors and snapshot layouts of entity and embeddable
+     * classes of this factory, so that they do not pin entity classes once it
+     * is closed.
+     */
+    private void releaseEntityClasses()
+    {
+        for (String pu : persistenceUnits)
+        {
+            MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(pu);
+            if (metamodel == null)
+            {
+                continue;
+            }
+            for (EntityMetadata metadata : metamodel.getEntityMetadataMap().values())
+            {
+                FieldAccessorFactory.unregister(metadata.getEntityClazz());
+                EntitySnapshot.unregister(metadata.getEntityClazz());
+            }
+            Set<EmbeddableType<?>> embeddables = metamodel.getEmbeddables();
+            if (embeddables != null)
+            {
+                for (EmbeddableType<?> embeddable : embeddables)
+                {
+                    FieldAccessorFactory.unregister(embeddable.getJavaType());
+                    EntitySnapshot.unregister(embeddable.getJavaType());
+                }
+            }
+        }
+    }
+
     /**
      * Create a new application-managed EntityManager. This method returns a new
      * EntityManager instance each time it is invoked. The isOpen method will
@@ -453,6 +513,157 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         return cacheProvider;
     }
 
+    /**
+     * Initializes query plan cache and compiles named queries into it.
+     */
+    private void configureQueryPlanCache()
+    {
+        kunderaMetadata.setQueryPlanCache(new QueryPlanCache(getIntProperty(
+                PersistenceProperties.KUNDERA_QUERY_PLAN_CACHE_SIZE, QueryPlanCache.DEFAULT_MAX_SIZE)));
+        new QueryResolver().compileNamedQueries(kunderaMetadata);
+    }
+
+    /**
+     * Sets default read mode of find operations.
+     */
+    private void configureReadMode()
+    {
+        kunderaMetadata.setReadMode(ReadMode.getReadMode(getProperty(PersistenceProperties.KUNDERA_READ_MODE),
+                ReadMode.COPY));
+    }
+
+    /**
+     * Sets number of threads running asynchronous operations of blocking
+     * clients.
+     */
+    private void configureAsyncPoolSize()
+    {
+        kunderaMetadata.setAsyncPoolSize(getIntProperty(PersistenceProperties.KUNDERA_ASYNC_POOL_SIZE,
+                KunderaMetadata.DEFAULT_ASYNC_POOL_SIZE));
+    }
+
+    /**
+     * Sets number of lazy proxies initialized together.
+     */
+    private void configureBatchFetchSize()
+    {
+        kunderaMetadata.setBatchFetchSize(getIntProperty(PersistenceProperties.KUNDERA_BATCH_FETCH_SIZE, 1));
+    }
+
+    /**
+     * Sets whether transaction actions run on all persistence units in
+     * parallel.
+     */
+    private void configureParallelTransaction()
+    {
+        kunderaMetadata.setParallelTransaction(Boolean.parseBoolean(getProperty(
+                PersistenceProperties.KUNDERA_TRANSACTION_PARALLEL)));
+    }
+
+    /**
+     * Initializes query result cache, with configured size and time to live.
+     */
+    private void configureQueryResultCache()
+    {
+        int maxSize = getIntProperty(PersistenceProperties.KUNDERA_QUERY_CACHE_SIZE, QueryResultCache.DEFAULT_MAX_SIZE);
+        long timeToLive = getLongProperty(PersistenceProperties.KUNDERA_QUERY_CACHE_TTL, QueryResultCache.DEFAULT_TTL);
+        if (maxSize < 0 || timeToLive <= 0)
+        {
+            throw new IllegalArgumentException(PersistenceProperties.KUNDERA_QUERY_CACHE_SIZE + " must be >= 0 and "
+                    + PersistenceProperties.KUNDERA_QUERY_CACHE_TTL + " must be > 0");
+        }
+
+        kunderaMetadata.setQueryResultCache(new QueryResultCache(maxSize, timeToLive));
+        kunderaMetadata.setQueryCacheEnabled(Boolean.parseBoolean(getProperty(
+                PersistenceProperties.KUNDERA_QUERY_CACHE)));
+    }
+
+    /**
+     * Instantiates configured metrics recorder.
+     */
+    private void configureMetricsRecorder()
+    {
+        String recorderClass = getProperty(PersistenceProperties.KUNDERA_METRICS_RECORDER_CLASS);
+        if (recorderClass != null && !recorderClass.isEmpty())
+        {
+            try
+            {
+                kunderaMetadata.setMetricsRecorder((MetricsRecorder) Class.forName(recorderClass).newInstance());
+            }
+            catch (Exception e)
+            {
+                throw new IllegalArgumentException(PersistenceProperties.KUNDERA_METRICS_RECORDER_CLASS
+                        + " property must name a MetricsRecorder with no argument constructor", e);
+            }
+        }
+    }
+
+    /**
+     * Returns value of given property, as passed while creating factory or
+     * else as defined in persistence unit.
+     * 
+     * @param name
+     *            property name.
+     * @return trimmed property value, null if not set.
+     */
+    private String getProperty(String name)
+    {
+        Object value = getProperties().get(name);
+
+        value = value != null ? value : KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                persistenceUnits[0]).getProperty(name);
+
+        return value != null ? value.toString().trim() : null;
+    }
+
+    /**
+     * Returns numeric value of given property.
+     * 
+     * @param name
+     *            property name.
+     * @param defaultValue
+     *            value returned if property is not set.
+     * @return property value.
+     * @throws IllegalArgumentException
+     *             if property value is not numeric.
+     */
+    private int getIntProperty(String name, int defaultValue)
+    {
+        String value = getProperty(name);
+        try
+        {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(name + " property must be numeric", e);
+        }
+    }
+
+    /**
+     * Returns numeric value of given property.
+     * 
+     * @param name
+     *            property name.
+     * @param defaultValue
+     *            value returned if property is not set.
+     * @return property value.
+     * @throws IllegalArgumentException
+     *             if property value is not numeric.
+     */
+    private long getLongProperty(String name, long defaultValue)
+    {
+        String value = getProperty(name);
+        try
+        {
+            return value != null ? Long.parseLong(value) : defaultValue;
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(name + " property must be numeric", e);
+        }
+    }
+
     /**
      * Gets the persistence units.
      * 
@@ -503,6 +714,45 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         /** The application metadata. */
         private ApplicationMetadata applicationMetadata;
 
+        /** Parsed query plans. */
+        private QueryPlanCache queryPlanCache;
+
+        /** Default read mode of find operations. */
+        private ReadMode readMode = ReadMode.COPY;
+
+        /** Number of threads of async executor. */
+        private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+
+        /** Number of lazy proxies of one entity class initialized together. */
+        private int batchFetchSize = 1;
+
+        /** Whether transaction actions run on persistence units in parallel. */
+        private boolean parallelTransaction;
+
+        /** Cached query results. */
+        private QueryResultCache queryResultCache;
+
+        /** Whether results of all select queries are cached. */
+        private boolean queryCacheEnabled;
+
+        /** Recorder of datastore operation measurements. */
+        private MetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
+        /** Id allocators of pooled table and sequence generators. */
+        private final ConcurrentMap<Object, PooledIdAllocator> idAllocators = new ConcurrentHashMap<Object, PooledIdAllocator>();
+
+        /** Executor of asynchronous operations, created on first use. */
+        private ExecutorService asyncExecutor;
+
+        /** Executor of parallel transaction actions, created on first use. */
+        private ExecutorService transactionExecutor;
+
+        /** Default number of threads of async executor. */
+        public static final int DEFAULT_ASYNC_POOL_SIZE = 10;
+
+        /** Pending operations allowed per async executor thread. */
+        private static final int ASYNC_QUEUE_SIZE_PER_THREAD = 100;
+
         /**
          * Instantiates a new kundera metadata.
          */
@@ -556,6 +806,272 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory
         {
             this.coreMetadata = coreMetadata;
         }
+
+        /**
+         * Gets the query plan cache.
+         * 
+         * @return the queryPlanCache
+         */
+        public QueryPlanCache getQueryPlanCache()
+        {
+            if (queryPlanCache == null)
+            {
+                queryPlanCache = new QueryPlanCache(QueryPlanCache.DEFAULT_MAX_SIZE);
+            }
+            return queryPlanCache;
+        }
+
+        /**
+         * Sets the query plan cache.
+         * 
+         * @param queryPlanCache
+         *            the queryPlanCache to set
+         */
+        public void setQueryPlanCache(QueryPlanCache queryPlanCache)
+        {
+            this.queryPlanCache = queryPlanCache;
+        }
+
+        /**
+         * Gets the default read mode.
+         * 
+         * @return the readMode
+         */
+        public ReadMode getReadMode()
+        {
+            return readMode;
+        }
+
+        /**
+         * Sets the default read mode.
+         * 
+         * @param readMode
+         *            the readMode to set
+         */
+        public void setReadMode(ReadMode readMode)
+        {
+            this.readMode = readMode;
+        }
+
+        /**
+         * Sets number of threads of async executor.
+         * 
+         * @param asyncPoolSize
+         *            the asyncPoolSize to set
+         */
+        public void setAsyncPoolSize(int asyncPoolSize)
+        {
+            if (asyncPoolSize <= 0)
+            {
+                throw new IllegalArgumentException(PersistenceProperties.KUNDERA_ASYNC_POOL_SIZE + " must be > 0");
+            }
+            this.asyncPoolSize = asyncPoolSize;
+        }
+
+        /**
+         * Gets number of lazy proxies of one entity class initialized
+         * together.
+         * 
+         * @return the batchFetchSize
+         */
+        public int getBatchFetchSize()
+        {
+            return batchFetchSize;
+        }
+
+        /**
+         * Sets number of lazy proxies of one entity class initialized
+         * together.
+         * 
+         * @param batchFetchSize
+         *            the batchFetchSize to set
+         */
+        public void setBatchFetchSize(int batchFetchSize)
+        {
+            if (batchFetchSize <= 0)
+            {
+                throw new IllegalArgumentException(PersistenceProperties.KUNDERA_BATCH_FETCH_SIZE + " must be > 0");
+            }
+            this.batchFetchSize = batchFetchSize;
+        }
+
+        /**
+         * Returns true, if transaction commit, prepare and rollback run on all
+         * persistence units in parallel.
+         * 
+         * @return the parallelTransaction
+         */
+        public boolean isParallelTransaction()
+        {
+            return parallelTransaction;
+        }
+
+        /**
+         * Sets whether transaction commit, prepare and rollback run on all
+         * persistence units in parallel.
+         * 
+         * @param parallelTransaction
+         *            the parallelTransaction to set
+         */
+        public void setParallelTransaction(boolean parallelTransaction)
+        {
+            this.parallelTransaction = parallelTransaction;
+        }
+
+        /**
+         * Gets the query result cache.
+         * 
+         * @return the queryResultCache
+         */
+        public QueryResultCache getQueryResultCache()
+        {
+            if (queryResultCache == null)
+            {
+                queryResultCache = new QueryResultCache(QueryResultCache.DEFAULT_MAX_SIZE,
+                        QueryResultCache.DEFAULT_TTL);
+            }
+            return queryResultCache;
+        }
+
+        /**
+         * Sets the query result cache.
+         * 
+         * @param queryResultCache
+         *            the queryResultCache to set
+         */
+        public void setQueryResultCache(QueryResultCache queryResultCache)
+        {
+            this.queryResultCache = queryResultCache;
+        }
+
+        /**
+         * Returns true, if results of all select queries are cached, not only
+         * those of cacheable entities or queries with cache hint.
+         * 
+         * @return the queryCacheEnabled
+         */
+        public boolean isQueryCacheEnabled()
+        {
+            return queryCacheEnabled;
+        }
+
+        /**
+         * Sets whether results of all select queries are cached.
+         * 
+         * @param queryCacheEnabled
+         *            the queryCacheEnabled to set
+         */
+        public void setQueryCacheEnabled(boolean queryCacheEnabled)
+        {
+            this.queryCacheEnabled = queryCacheEnabled;
+        }
+
+        /**
+         * Gets the metrics recorder, {@link NoOpMetricsRecorder} unless
+         * configured.
+         * 
+         * @return the metricsRecorder
+         */
+        public MetricsRecorder getMetricsRecorder()
+        {
+            return metricsRecorder;
+        }
+
+        /**
+         * Sets the metrics recorder.
+         * 
+         * @param metricsRecorder
+         *            the metricsRecorder to set
+         */
+        public void setMetricsRecorder(MetricsRecorder metricsRecorder)
+        {
+            if (metricsRecorder == null)
+            {
+                throw new IllegalArgumentException(PersistenceProperties.KUNDERA_METRICS_RECORDER_CLASS
+                        + " must not be null");
+            }
+            this.metricsRecorder = metricsRecorder;
+        }
+
+        /**
+         * Gets executor of asynchronous operations. It is bounded, once its
+         * queue is full operations are run by submitting thread.
+         * 
+         * @return the asyncExecutor
+         */
+        public synchronized ExecutorService getAsyncExecutor()
+        {
+            if (asyncExecutor == null)
+            {
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncPoolSize, asyncPoolSize, 60L,
+                        TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(asyncPoolSize
+                                * ASYNC_QUEUE_SIZE_PER_THREAD), new KunderaThreadFactory("kundera-async"),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.allowCoreThreadTimeOut(true);
+                asyncExecutor = executor;
+            }
+            return asyncExecutor;
+        }
+
+        /**
+         * Gets executor to commit, prepare and rollback persistence units of a
+         * transaction in parallel. It is kept apart from async executor and is
+         * not bounded, so that a transaction committed from an async operation
+         * never waits on tasks queued behind it.
+         * 
+         * @return the transactionExecutor
+         */
+        public synchronized ExecutorService getTransactionExecutor()
+        {
+            if (transactionExecutor == null)
+            {
+                transactionExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                        new SynchronousQueue<Runnable>(), new KunderaThreadFactory("kundera-tx"));
+            }
+            return transactionExecutor;
+        }
+
+        /**
+         * Gets id allocator of a table or sequence generator, shared by all
+         * entity managers of this factory.
+         * 
+         * @param discriptor
+         *            generator discriptor.
+         * @param allocationSize
+         *            allocation size of generator.
+         * @return id allocator.
+         */
+        PooledIdAllocator getIdAllocator(Object discriptor, int allocationSize)
+        {
+            PooledIdAllocator allocator = idAllocators.get(discriptor);
+            if (allocator == null)
+            {
+                PooledIdAllocator newAllocator = new PooledIdAllocator(allocationSize);
+                allocator = idAllocators.putIfAbsent(discriptor, newAllocator);
+                if (allocator == null)
+                {
+                    allocator = newAllocator;
+                }
+            }
+            return allocator;
+        }
+
+        /**
+         * Shuts async and transaction executors down, if created.
+         */
+        synchronized void shutdownAsyncExecutor()
+        {
+            if (asyncExecutor != null)
+            {
+                asyncExecutor.shutdown();
+                asyncExecutor = null;
+            }
+            if (transactionExecutor != null)
+            {
+                transactionExecutor.shutdown();
+                transactionExecutor = null;
+            }
+        }
     }
 
     /**
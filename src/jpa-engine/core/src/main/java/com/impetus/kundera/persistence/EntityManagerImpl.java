@@ -17,6 +17,8 @@ package com.impetus.kundera.persistence;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -44,6 +46,7 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.cache.Cache;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientResolverException;
@@ -91,6 +94,12 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
 
     private EntityTransaction entityTransaction;
 
+    /** Asynchronous operations submitted and not yet completed. */
+    private final AtomicInteger pendingAsyncOperations = new AtomicInteger();
+
+    /** Thread running an asynchronous operation, they run one at a time. */
+    private volatile Thread asyncOperationThread;
+
     /**
      * Instantiates a new entity manager impl.
      * 
@@ -288,7 +297,9 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
 
         // Populate properties in client
         getPersistenceDelegator().populateClientProperties(properties);
-        T result = find(entityClass, primaryKey);
+        ReadMode readMode = properties != null ? ReadMode.getReadMode(
+                properties.get(PersistenceProperties.KUNDERA_READ_MODE), null) : null;
+        T result = getPersistenceDelegator().findById(entityClass, primaryKey, readMode);
 
         // Reset Client properties
         getPersistenceDelegator().populateClientProperties(currentProperties);
@@ -740,6 +751,11 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
     public <T> T unwrap(Class<T> paramClass)
     {
         checkClosed();
+        if (AsyncEntityManager.class.equals(paramClass))
+        {
+            return (T) new AsyncEntityManagerImpl(this, ((EntityManagerFactoryImpl) factory)
+                    .getKunderaMetadataInstance().getAsyncExecutor());
+        }
         throw new NotImplementedException("Unwrap currently not supported by Kundera");
     }
 
@@ -821,6 +837,53 @@ public class EntityManagerImpl implements EntityManager, ResourceManager
         {
             throw new IllegalStateException("EntityManager has already been closed.");
         }
+        if (pendingAsyncOperations.get() > 0 && asyncOperationThread != Thread.currentThread())
+        {
+            throw new IllegalStateException(
+                    "EntityManager must not be used while its asynchronous operations are pending.");
+        }
+    }
+
+    /**
+     * Marks an asynchronous operation as submitted, entity manager can not be
+     * used until it is completed.
+     */
+    void onAsyncOperationSubmitted()
+    {
+        pendingAsyncOperations.incrementAndGet();
+    }
+
+    /**
+     * Marks a submitted asynchronous operation as completed, or cancelled.
+     */
+    void onAsyncOperationCompleted()
+    {
+        pendingAsyncOperations.decrementAndGet();
+    }
+
+    /**
+     * Runs a submitted asynchronous operation, serialized with other
+     * asynchronous operations on same persistence context.
+     * 
+     * @param operation
+     *            operation to run.
+     * @return outcome of operation.
+     */
+    <T> T runAsyncOperation(Callable<T> operation) throws Exception
+    {
+        synchronized (getPersistenceDelegator())
+        {
+            Thread previous = asyncOperationThread;
+            asyncOperationThread = Thread.currentThread();
+            try
+            {
+                return operation.call();
+            }
+            finally
+            {
+                asyncOperationThread = previous;
+            }
+        }
     }
 
     private void checkTransactionNeeded()
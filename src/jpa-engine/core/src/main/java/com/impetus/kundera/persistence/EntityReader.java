@@ -73,6 +73,23 @@ public interface EntityReader
     Object recursivelyFindEntities(Object entity, Map<String, Object> relationsMap, EntityMetadata m,
             PersistenceDelegator pd, boolean lazilyLoaded);
 
+    /**
+     * Returns populated entities along with all relational values. Relations
+     * of all entities are fetched together, one multi key find per relation.
+     * 
+     * @param entities
+     *            enhance entities
+     * @param m
+     *            entity meta data
+     * @param pd
+     *            persistence delegator.
+     * @param lazilyLoaded
+     *            true if invoked over lazily fetched object.
+     * @return populated entities.
+     */
+    List<Object> recursivelyFindEntities(List<EnhanceEntity> entities, EntityMetadata m, PersistenceDelegator pd,
+            boolean lazilyLoaded);
+
     /**
      * Find by id.
      * 
@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.impetus.kundera.persistence;
 
+import java.util.concurrent.Callable;
+
 import javax.persistence.GenerationType;
 import javax.persistence.metamodel.Metamodel;
 
@@ -24,12 +26,15 @@ import org.slf4j.LoggerFactory;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.generator.AutoGenerator;
+import com.impetus.kundera.generator.HiLoGenerator;
 import com.impetus.kundera.generator.SequenceGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.IdDiscriptor;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.SequenceGeneratorDiscriptor;
+import com.impetus.kundera.metadata.model.TableGeneratorDiscriptor;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
@@ -69,9 +74,9 @@ public class IdGenerator
                     switch (type)
                     {
                     case TABLE:
-                        return onTableGenerator(m, client, keyValue, e);
+                        return onTableGenerator(m, client, keyValue, e, kunderaMetadata);
                     case SEQUENCE:
-                        return onSequenceGenerator(m, client, keyValue, e);
+                        return onSequenceGenerator(m, client, keyValue, e, kunderaMetadata);
                     case AUTO:
                         return onAutoGenerator(m, client, e);
                     case IDENTITY:
@@ -129,12 +134,31 @@ public class IdGenerator
      * @param client
      * @param keyValue
      * @param e
+     * @param kunderaMetadata
      */
-    private Object onSequenceGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e)
+    private Object onSequenceGenerator(EntityMetadata m, final Client<?> client, IdDiscriptor keyValue, Object e,
+            final KunderaMetadata kunderaMetadata)
     {
         if (client instanceof SequenceGenerator)
         {
-            Object generatedId = ((SequenceGenerator) client).generate(keyValue.getSequenceDiscriptor());
+            final SequenceGeneratorDiscriptor discriptor = keyValue.getSequenceDiscriptor();
+            Object generatedId;
+            if (client instanceof HiLoGenerator && discriptor.getAllocationSize() > 1)
+            {
+                generatedId = kunderaMetadata.getIdAllocator(discriptor, discriptor.getAllocationSize()).next(
+                        new Callable<Long>()
+                        {
+                            @Override
+                            public Long call()
+                            {
+                                return toLong(((SequenceGenerator) client).generate(discriptor));
+                            }
+                        });
+            }
+            else
+            {
+                generatedId = ((SequenceGenerator) client).generate(discriptor);
+            }
             try
             {
                 generatedId = PropertyAccessorHelper.fromSourceToTargetClass(m.getIdAttribute().getJavaType(),
@@ -160,12 +184,31 @@ public class IdGenerator
      * @param client
      * @param keyValue
      * @param e
+     * @param kunderaMetadata
      */
-    private Object onTableGenerator(EntityMetadata m, Client<?> client, IdDiscriptor keyValue, Object e)
+    private Object onTableGenerator(EntityMetadata m, final Client<?> client, IdDiscriptor keyValue, Object e,
+            final KunderaMetadata kunderaMetadata)
     {
         if (client instanceof TableGenerator)
         {
-            Object generatedId = ((TableGenerator) client).generate(keyValue.getTableDiscriptor());
+            final TableGeneratorDiscriptor discriptor = keyValue.getTableDiscriptor();
+            Object generatedId;
+            if (client instanceof HiLoGenerator && discriptor.getAllocationSize() > 1)
+            {
+                generatedId = kunderaMetadata.getIdAllocator(discriptor, discriptor.getAllocationSize()).next(
+                        new Callable<Long>()
+                        {
+                            @Override
+                            public Long call()
+                            {
+                                return toLong(((TableGenerator) client).generate(discriptor));
+                            }
+                        });
+            }
+            else
+            {
+                generatedId = ((TableGenerator) client).generate(discriptor);
+            }
             try
             {
                 generatedId = PropertyAccessorHelper.fromSourceToTargetClass(m.getIdAttribute().getJavaType(),
@@ -183,4 +226,16 @@ public class IdGenerator
         throw new IllegalArgumentException(GenerationType.class.getSimpleName() + "." + GenerationType.TABLE
                 + " Strategy not supported by this client :" + client.getClass().getName());
     }
+
+    /**
+     * Converts value generated by a {@link HiLoGenerator} client to long.
+     */
+    private static Long toLong(Object generated)
+    {
+        if (!(generated instanceof Number))
+        {
+            throw new KunderaException("Generator has returned non numeric value: " + generated);
+        }
+        return ((Number) generated).longValue();
+    }
 }
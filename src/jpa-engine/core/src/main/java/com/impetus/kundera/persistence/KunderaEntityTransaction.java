@@ -75,7 +75,20 @@ public class KunderaEntityTransaction implements EntityTransaction
     {
         if (!getRollbackOnly())
         {
-            onTransaction(TxAction.COMMIT);
+            try
+            {
+                onTransaction(TxAction.COMMIT);
+            }
+            catch (RuntimeException e)
+            {
+                // resources are already rolled back, if committed in
+                // parallel.
+                if (!isActive())
+                {
+                    ((EntityManagerImpl) entityManager).getPersistenceDelegator().rollback();
+                }
+                throw e;
+            }
             ((EntityManagerImpl) entityManager).getPersistenceDelegator().commit();
         }
     }
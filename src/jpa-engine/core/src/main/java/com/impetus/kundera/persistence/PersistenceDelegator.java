@@ -21,9 +21,12 @@ import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.persistence.FlushModeType;
@@ -34,22 +37,30 @@ import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.AsyncClient;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.ClientResolverException;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.client.MultiGetClient;
 import com.impetus.kundera.graph.GraphGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
+import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.lifecycle.states.ManagedState;
 import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.api.Batcher;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
 import com.impetus.kundera.persistence.context.FlushManager;
 import com.impetus.kundera.persistence.context.MainCache;
@@ -57,9 +68,11 @@ import com.impetus.kundera.persistence.context.PersistenceCache;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData.OPERATION;
 import com.impetus.kundera.persistence.event.EntityEventDispatcher;
+import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.proxy.LazyInitializerFactory;
 import com.impetus.kundera.query.QueryResolver;
 import com.impetus.kundera.utils.ObjectUtils;
+import com.impetus.kundera.utils.TransformedFuture;
 
 /**
  * The Class PersistenceDelegator.
@@ -98,6 +111,12 @@ public final class PersistenceDelegator
 
     private KunderaMetadata kunderaMetadata;
 
+    /** Entity classes added to client batches, not executed yet. */
+    private final Set<Class<?>> batchedClasses = new HashSet<Class<?>>();
+
+    /** Primary keys of uninitialized lazy proxies, by entity class. */
+    private final Map<Class<?>, Set<Object>> pendingProxyKeys = new HashMap<Class<?>, Set<Object>>();
+
     /**
      * Instantiates a new persistence delegator.
      * 
@@ -179,7 +198,22 @@ public final class PersistenceDelegator
      */
     public <E> E findById(Class<E> entityClass, Object primaryKey)
     {
-        E e = find(entityClass, primaryKey);
+        return findById(entityClass, primaryKey, null);
+    }
+
+    /**
+     * Find object based on primary key either form persistence cache or from
+     * database, using given read mode.
+     * 
+     * @param entityClass
+     * @param primaryKey
+     * @param readMode
+     *            read mode, null for persistence unit's default.
+     * @return
+     */
+    public <E> E findById(Class<E> entityClass, Object primaryKey, ReadMode readMode)
+    {
+        E e = find(entityClass, primaryKey, readMode);
         if (e == null)
             return null;
 
@@ -202,6 +236,11 @@ public final class PersistenceDelegator
      * 
      */
     <E> E find(Class<E> entityClass, Object primaryKey)
+    {
+        return find(entityClass, primaryKey, null);
+    }
+
+    private <E> E find(Class<E> entityClass, Object primaryKey, ReadMode readMode)
     {
         if (primaryKey == null)
         {
@@ -215,46 +254,58 @@ public final class PersistenceDelegator
 
         // TODO all the scrap should go from here.
         MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
-        Node node = mainCache.getNodeFromCache(nodeId, this);
+        Node node = mainCache.getNodeFromCache(nodeId, entityClass, this);
 
         // if node is not in persistence cache or is dirty, fetch from database
         if (node == null || node.isDirty())
         {
-            node = new Node(nodeId, entityClass, new ManagedState(), getPersistenceCache(), primaryKey, this);
-            node.setClient(getClient(entityMetadata));
-            // TODO ManagedState.java require serious attention.
-            node.setPersistenceDelegator(this);
-
-            try
-            {
-                lock.readLock().lock();
-                node.find();
-            }
-            finally
-            {
-                lock.readLock().unlock();
-            }
+            node = fetchNode(entityClass, entityMetadata, nodeId, primaryKey);
         }
         else
         {
             node.setPersistenceDelegator(this);
 
         }
-        Object nodeData = node.getData();
-        if (nodeData == null)
+        if (node.getData() == null)
         {
             return null;
         }
         else
         {
-            E e = (E) ObjectUtils.deepCopy(nodeData, getKunderaMetadata());
-
-            onSetProxyOwners(entityMetadata, e);
-            return e;
+            return (E) getEntity(node, entityMetadata, readMode);
         }
 
     }
 
+    /**
+     * Fetches node of given primary key from database.
+     */
+    private Node fetchNode(Class<?> entityClass, EntityMetadata entityMetadata, String nodeId, Object primaryKey)
+    {
+        Node node = new Node(nodeId, entityClass, new ManagedState(), getPersistenceCache(), primaryKey, this);
+        node.setClient(getClient(entityMetadata));
+        // TODO ManagedState.java require serious attention.
+        node.setPersistenceDelegator(this);
+
+        MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        try
+        {
+            lock.readLock().lock();
+            node.find();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+        if (metrics.isEnabled())
+        {
+            metrics.recordLatency(Operation.FIND, entityMetadata.getPersistenceUnit(), entityClass,
+                    System.nanoTime() - start);
+        }
+        return node;
+    }
+
     /**
      * Retrieves a {@link List} of Entities for given Primary Keys
      * 
@@ -265,24 +316,344 @@ public final class PersistenceDelegator
      * @see {@link PersistenceDelegator#find(Class, Object)}
      * @return List of found entities
      */
-    // TODO Is it possible to pass all primary keys directly to database client.
     public <E> List<E> find(Class<E> entityClass, Object... primaryKeys)
+    {
+        return find(entityClass, primaryKeys, null);
+    }
+
+    /**
+     * Retrieves a {@link List} of Entities for given Primary Keys, using given
+     * read mode.
+     * 
+     * @param entityClass
+     *            Entity Class
+     * @param primaryKeys
+     *            Array of Primary Keys
+     * @param readMode
+     *            read mode, null for persistence unit's default.
+     * @return List of found entities
+     */
+    public <E> List<E> find(Class<E> entityClass, Object[] primaryKeys, ReadMode readMode)
     {
         List<E> entities = new ArrayList<E>();
         if (primaryKeys == null)
         {
             return entities;
         }
-        Set<Object> pKeys = new HashSet<Object>(Arrays.asList(primaryKeys));
+
+        EntityMetadata entityMetadata = getMetadata(entityClass);
+
+        Set<Object> pKeys = new LinkedHashSet<Object>(Arrays.asList(primaryKeys));
+        pKeys.remove(null);
+
+        Map<String, Node> found = findNodes(entityClass, entityMetadata, pKeys);
         for (Object primaryKey : pKeys)
         {
-            E e = find(entityClass, primaryKey);
-            if (e != null)
-                entities.add(e);
+            Node node = found.get(ObjectGraphUtils.getNodeId(primaryKey, entityClass));
+            if (node != null && node.getData() != null)
+            {
+                entities.add((E) getEntity(node, entityMetadata, readMode));
+            }
         }
         return entities;
     }
 
+    /**
+     * Finds nodes of given primary keys, out of persistence cache or else out
+     * of database, with one multi key find where client supports it.
+     * 
+     * @param entityClass
+     *            entity class.
+     * @param entityMetadata
+     *            entity metadata.
+     * @param pKeys
+     *            primary keys.
+     * @return found nodes, by node id.
+     */
+    private Map<String, Node> findNodes(Class<?> entityClass, EntityMetadata entityMetadata, Set<Object> pKeys)
+    {
+        MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
+
+        // Serve whatever is available in persistence cache, collect rest of
+        // keys to fetch them from database in one go.
+        Map<String, Node> found = new HashMap<String, Node>();
+        List<Object> missingKeys = new ArrayList<Object>();
+        for (Object primaryKey : pKeys)
+        {
+            String nodeId = ObjectGraphUtils.getNodeId(primaryKey, entityClass);
+            Node node = mainCache.getNodeFromCache(nodeId, entityClass, this);
+            if (node == null || node.isDirty())
+            {
+                missingKeys.add(primaryKey);
+            }
+            else
+            {
+                node.setPersistenceDelegator(this);
+                found.put(nodeId, node);
+            }
+        }
+
+        Client client = getClient(entityMetadata);
+        if (!missingKeys.isEmpty() && !isMultiGet(client, entityMetadata))
+        {
+            // read one by one, same as find of a single key.
+            for (Object primaryKey : missingKeys)
+            {
+                String nodeId = ObjectGraphUtils.getNodeId(primaryKey, entityClass);
+                Node node = fetchNode(entityClass, entityMetadata, nodeId, primaryKey);
+                if (node.getData() != null)
+                {
+                    found.put(nodeId, node);
+                }
+            }
+        }
+        else if (!missingKeys.isEmpty())
+        {
+            MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            try
+            {
+                lock.readLock().lock();
+                List results = client.findAll(entityClass, null, missingKeys.toArray());
+                if (metrics.isEnabled())
+                {
+                    metrics.recordLatency(Operation.FIND_ALL, entityMetadata.getPersistenceUnit(), entityClass,
+                            System.nanoTime() - start);
+                    metrics.recordCount(Operation.FIND_ALL, entityMetadata.getPersistenceUnit(), entityClass,
+                            results != null ? results.size() : 0);
+                }
+                if (results != null)
+                {
+                    for (Object result : results)
+                    {
+                        Node node = onFound(entityClass, entityMetadata, client, result);
+                        if (node != null && node.getData() != null)
+                        {
+                            found.put(node.getNodeId(), node);
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns true if entities of given metadata can be read from client with
+     * one findAll call. Compound keys are left out, as findAll
+     * implementations query on plain key values.
+     */
+    private boolean isMultiGet(Client client, EntityMetadata entityMetadata)
+    {
+        if (!(client instanceof MultiGetClient) || client.getReader() == null)
+        {
+            return false;
+        }
+        MetamodelImpl metamodel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        return !metamodel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType());
+    }
+
+    /**
+     * Records primary key of an uninitialized lazy proxy, to be initialized
+     * along with other proxies of same entity class.
+     * 
+     * @param entityClass
+     *            entity class of proxy.
+     * @param primaryKey
+     *            primary key of proxied entity.
+     */
+    public void addPendingProxy(Class<?> entityClass, Object primaryKey)
+    {
+        if (primaryKey == null || kunderaMetadata.getBatchFetchSize() <= 1)
+        {
+            return;
+        }
+        synchronized (pendingProxyKeys)
+        {
+            Set<Object> keys = pendingProxyKeys.get(entityClass);
+            if (keys == null)
+            {
+                keys = new LinkedHashSet<Object>();
+                pendingProxyKeys.put(entityClass, keys);
+            }
+            keys.add(primaryKey);
+        }
+    }
+
+    /**
+     * Loads entity of a lazy proxy being initialized. Up to batch fetch size
+     * minus one other pending proxies of same entity class are fetched with it
+     * in one multi key find, so that their initialization is served out of
+     * persistence cache.
+     * 
+     * @param entityClass
+     *            entity class of proxy.
+     * @param primaryKey
+     *            primary key of proxied entity.
+     * @return entity.
+     */
+    public <E> E initializeProxy(Class<E> entityClass, Object primaryKey)
+    {
+        Set<Object> batch = null;
+        synchronized (pendingProxyKeys)
+        {
+            Set<Object> keys = pendingProxyKeys.get(entityClass);
+            if (keys != null)
+            {
+                keys.remove(primaryKey);
+                int batchSize = kunderaMetadata.getBatchFetchSize();
+                if (batchSize > 1 && !keys.isEmpty())
+                {
+                    batch = new LinkedHashSet<Object>();
+                    batch.add(primaryKey);
+                    Iterator<Object> iter = keys.iterator();
+                    while (iter.hasNext() && batch.size() < batchSize)
+                    {
+                        batch.add(iter.next());
+                        iter.remove();
+                    }
+                }
+                if (keys.isEmpty())
+                {
+                    pendingProxyKeys.remove(entityClass);
+                }
+            }
+        }
+
+        if (batch != null)
+        {
+            findNodes(entityClass, getMetadata(entityClass), batch);
+        }
+        return findById(entityClass, primaryKey);
+    }
+
+    /**
+     * Finds an entity using native asynchronous API of client, if it
+     * implements {@link AsyncClient} and entity is not in persistence cache.
+     * Reads persistence cache, so it is to be run as an asynchronous operation
+     * of entity manager.
+     * 
+     * @param entityClass
+     *            Entity Class
+     * @param primaryKey
+     *            Primary Key
+     * @param onCompletion
+     *            run once native find has completed, see
+     *            {@link AsyncClient#findAsync(Class, Object, Runnable)}.
+     * @return future of found entity, null if it is to be found by a blocking
+     *         find instead.
+     */
+    <E> Future<E> findAsync(final Class<E> entityClass, final Object primaryKey, Runnable onCompletion)
+    {
+        if (primaryKey == null)
+        {
+            throw new IllegalArgumentException("PrimaryKey value must not be null for object you want to find.");
+        }
+
+        final EntityMetadata entityMetadata = getMetadata(entityClass);
+        final Client client = getClient(entityMetadata);
+
+        MainCache mainCache = (MainCache) getPersistenceCache().getMainCache();
+        Node node = mainCache.getNodeFromCache(ObjectGraphUtils.getNodeId(primaryKey, entityClass), entityClass,
+                this);
+
+        if ((node == null || node.isDirty()) && client instanceof AsyncClient && client.getReader() != null)
+        {
+            return new TransformedFuture<Object, E>(((AsyncClient) client).findAsync(entityClass, primaryKey,
+                    onCompletion))
+            {
+                @Override
+                protected E transform(Object result)
+                {
+                    synchronized (PersistenceDelegator.this)
+                    {
+                        try
+                        {
+                            lock.readLock().lock();
+                            Node found = onFound(entityClass, entityMetadata, client, result);
+                            return found != null && found.getData() != null ? (E) getEntity(found, entityMetadata,
+                                    null) : null;
+                        }
+                        finally
+                        {
+                            lock.readLock().unlock();
+                        }
+                    }
+                }
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Populates a managed node out of an entity fetched by client, e.g. as
+     * part of a multi key find.
+     * 
+     * @param entityClass
+     *            Entity Class
+     * @param entityMetadata
+     *            entity metadata.
+     * @param client
+     *            client entity was fetched by.
+     * @param result
+     *            entity or {@link EnhanceEntity} returned by client.
+     * @return populated node, null if nothing was found.
+     */
+    private Node onFound(Class entityClass, EntityMetadata entityMetadata, Client client, Object result)
+    {
+        if (result == null)
+        {
+            return null;
+        }
+
+        EnhanceEntity ee = result instanceof EnhanceEntity ? (EnhanceEntity) result : new EnhanceEntity(result,
+                PropertyAccessorHelper.getId(result, entityMetadata), null);
+        String nodeId = ObjectGraphUtils.getNodeId(ee.getEntityId(), entityClass);
+        Node node = new Node(nodeId, entityClass, new ManagedState(), getPersistenceCache(), ee.getEntityId(), this);
+        node.setClient(client);
+        node.setPersistenceDelegator(this);
+        node.find(ee);
+        return node;
+    }
+
+    /**
+     * Returns entity to be handed out for a found node, i.e. a deep copy of
+     * node data or node data itself in case of {@link ReadMode#DIRECT}.
+     * 
+     * @param node
+     *            found node.
+     * @param entityMetadata
+     *            entity metadata.
+     * @param readMode
+     *            read mode, null for persistence unit's default.
+     * @return entity.
+     */
+    private Object getEntity(Node node, EntityMetadata entityMetadata, ReadMode readMode)
+    {
+        Object e;
+        if (ReadMode.DIRECT.equals(readMode != null ? readMode : kunderaMetadata.getReadMode()))
+        {
+            // node data is shared with application from now on, changes are
+            // detected against snapshot.
+            if (node.getSnapshot() == null)
+            {
+                node.setSnapshot(EntitySnapshot.capture(node.getData(), kunderaMetadata));
+            }
+            e = node.getData();
+        }
+        else
+        {
+            e = ObjectUtils.deepCopy(node.getData(), getKunderaMetadata());
+        }
+        onSetProxyOwners(entityMetadata, e);
+        return e;
+    }
+
     /**
      * Retrieves {@link List} of entities for a given {@link Map} of embedded
      * column values. Purpose of this method is to provide functionality of
@@ -380,6 +751,9 @@ public final class PersistenceDelegator
         if (fs != null)
         {
             boolean isBatch = false;
+            Set<DefaultTransactionResource> syncedResources = new LinkedHashSet<DefaultTransactionResource>();
+            Set<Class<?>> writtenClasses = new HashSet<Class<?>>();
+            MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
             while (!fs.isEmpty())
             {
                 Node node = fs.pop();
@@ -396,21 +770,50 @@ public final class PersistenceDelegator
                     {
                         isBatch = true;
                         ((Batcher) (node.getClient())).addBatch(node);
+                        // written once batch limit is reached or on
+                        // execute, invalidated now and again on execute.
+                        writtenClasses.add(node.getDataClass());
+                        batchedClasses.add(node.getDataClass());
                     }
                     else if (isTransactionInProgress
                             && MetadataUtils
                                     .defaultTransactionSupported(metadata.getPersistenceUnit(), kunderaMetadata))
                     {
-                        onSynchronization(node, metadata);
+                        syncedResources.add(onSynchronization(node, metadata));
+                    }
+                    else if (node.isInState(RemovedState.class) && metrics.isEnabled())
+                    {
+                        long start = System.nanoTime();
+                        node.flush();
+                        metrics.recordLatency(Operation.DELETE, metadata.getPersistenceUnit(), node.getDataClass(),
+                                System.nanoTime() - start);
+                        writtenClasses.add(node.getDataClass());
                     }
                     else
                     {
                         node.flush();
+                        writtenClasses.add(node.getDataClass());
                     }
                 }
 
             }
 
+            // writes not deferred to transaction commit are done by now,
+            // invalidate cached query results right away.
+            for (Class<?> entityClass : writtenClasses)
+            {
+                kunderaMetadata.getQueryResultCache().invalidate(entityClass);
+            }
+
+            // explicit flush within transaction writes queued nodes now.
+            if (enableFlush)
+            {
+                for (DefaultTransactionResource resource : syncedResources)
+                {
+                    resource.onFlush();
+                }
+            }
+
             if (!isBatch)
             {
                 // TODO : This needs to be look for different
@@ -598,6 +1001,11 @@ public final class PersistenceDelegator
 
     private void onClearProxy()
     {
+        synchronized (pendingProxyKeys)
+        {
+            pendingProxyKeys.clear();
+        }
+
         if (kunderaMetadata.getCoreMetadata() != null)
         {
             LazyInitializerFactory lazyInitializerrFactory = kunderaMetadata.getCoreMetadata()
@@ -729,8 +1137,9 @@ public final class PersistenceDelegator
     {
         enableFlush = true;
         execute();
-        flushManager.commit();
+        flushManager.commit(this);
         flushManager.clearFlushStack();
+        flushIndexes();
         isTransactionInProgress = false;
         enableFlush = false;
     }
@@ -744,7 +1153,7 @@ public final class PersistenceDelegator
         flush();
         execute();
         enableFlush = false;
-        flushManager.commit();
+        flushManager.commit(this);
         flushManager.clearFlushStack();
     }
 
@@ -817,25 +1226,74 @@ public final class PersistenceDelegator
     }
 
     /**
-     * Executes batch.
+     * Flushes indexes of clients, applying any queued index operations.
      */
-    private void execute()
+    private void flushIndexes()
     {
         if (clientMap != null)
         {
             for (Client client : clientMap.values())
             {
-                if (client instanceof Batcher)
+                IndexManager indexManager = client.getIndexManager();
+                if (indexManager != null)
+                {
+                    indexManager.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes batch.
+     */
+    private void execute()
+    {
+        try
+        {
+            if (clientMap != null)
+            {
+                for (Client client : clientMap.values())
                 {
-                    // if no batch operation performed{may be running in
-                    // transaction?}
-                    if (((Batcher) client).getBatchSize() == 0 || ((Batcher) client).executeBatch() > 0)
+                    if (client instanceof Batcher)
                     {
-                        flushJoinTableData();
+                        // if no batch operation performed{may be running in
+                        // transaction?}
+                        if (((Batcher) client).getBatchSize() == 0 || executeBatch((Batcher) client) > 0)
+                        {
+                            flushJoinTableData();
+                        }
                     }
                 }
             }
         }
+        finally
+        {
+            // results cached while batch was pending may miss its writes,
+            // even partially failed ones.
+            for (Class<?> entityClass : batchedClasses)
+            {
+                kunderaMetadata.getQueryResultCache().invalidate(entityClass);
+            }
+            batchedClasses.clear();
+        }
+    }
+
+    /**
+     * Executes batch of given client, recording its size and duration.
+     */
+    private int executeBatch(Batcher batcher)
+    {
+        MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+        if (!metrics.isEnabled())
+        {
+            return batcher.executeBatch();
+        }
+        long start = System.nanoTime();
+        int executed = batcher.executeBatch();
+        String persistenceUnit = ((Client) batcher).getPersistenceUnit();
+        metrics.recordLatency(Operation.EXECUTE_BATCH, persistenceUnit, null, System.nanoTime() - start);
+        metrics.recordCount(Operation.EXECUTE_BATCH, persistenceUnit, null, executed);
+        return executed;
     }
 
     /**
@@ -890,7 +1348,8 @@ public final class PersistenceDelegator
      */
     Coordinator getCoordinator()
     {
-        coordinator = new Coordinator();
+        coordinator = new Coordinator(kunderaMetadata.isParallelTransaction() ? kunderaMetadata
+                .getTransactionExecutor() : null);
         try
         {
             for (String pu : clientMap.keySet())
@@ -935,25 +1394,21 @@ public final class PersistenceDelegator
     }
 
     /**
-     * If transaction is in progress and user explicitly invokes em.flush()!
+     * Queues node to be written on commit, or on explicit em.flush(), by
+     * transaction resource of its persistence unit.
      * 
      * @param node
      *            data node
      * @param metadata
      *            entity metadata.
+     * @return transaction resource.
      */
-    private void onSynchronization(Node node, EntityMetadata metadata)
+    private DefaultTransactionResource onSynchronization(Node node, EntityMetadata metadata)
     {
         DefaultTransactionResource resource = (DefaultTransactionResource) coordinator.getResource(metadata
                 .getPersistenceUnit());
-        if (enableFlush)
-        {
-            resource.onFlush();
-        }
-        else
-        {
-            resource.syncNode(node);
-        }
+        resource.syncNode(node);
+        return resource;
     }
 
     public KunderaMetadata getKunderaMetadata()
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.generator.HiLoGenerator;
+
+/**
+ * Hands out ids of a table or sequence generator out of blocks reserved in
+ * datastore, see {@link HiLoGenerator}. Ids of current block are handed out
+ * without locking. Once it is used up, next block is reserved by the caller
+ * running dry, with its own client, while other callers wait for it.
+ */
+class PooledIdAllocator
+{
+    private final int allocationSize;
+
+    /** block ids are currently handed out of. */
+    private volatile Block block;
+
+    /**
+     * @param allocationSize
+     *            allocation size of generator, > 1.
+     */
+    PooledIdAllocator(int allocationSize)
+    {
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Returns next id.
+     * 
+     * @param generator
+     *            reserves a block in datastore and returns its first id.
+     * @return id.
+     */
+    long next(Callable<Long> generator)
+    {
+        while (true)
+        {
+            Block current = block;
+            if (current != null)
+            {
+                long id = current.next.getAndIncrement();
+                if (id < current.end)
+                {
+                    return id;
+                }
+            }
+            refill(current, generator);
+        }
+    }
+
+    /**
+     * Replaces exhausted block with next one, unless another caller already
+     * has.
+     */
+    private synchronized void refill(Block exhausted, Callable<Long> generator)
+    {
+        if (block != exhausted)
+        {
+            return;
+        }
+
+        long start;
+        try
+        {
+            start = generator.call();
+        }
+        catch (RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new KunderaException(e);
+        }
+        block = new Block(start, (start / allocationSize + 1) * allocationSize);
+    }
+
+    /**
+     * Range of reserved ids.
+     */
+    private static final class Block
+    {
+        private final AtomicLong next;
+
+        private final long end;
+
+        private Block(long start, long end)
+        {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+/**
+ * Decides what find operations hand out to application, configured via
+ * persistence unit property
+ * {@link com.impetus.kundera.PersistenceProperties#KUNDERA_READ_MODE} and
+ * overridable per find/query through a hint with same name.
+ */
+public enum ReadMode
+{
+    /** A deep copy of managed entity is returned (default). */
+    COPY,
+
+    /**
+     * Managed entity is returned as is, modifications are detected against a
+     * snapshot captured at load time.
+     */
+    DIRECT;
+
+    /**
+     * Resolves read mode out of property or hint value.
+     * 
+     * @param value
+     *            read mode or its name, may be null.
+     * @param defaultMode
+     *            mode to return if value is null.
+     * @return read mode.
+     * @throws IllegalArgumentException
+     *             if value is not a valid read mode.
+     */
+    public static ReadMode getReadMode(Object value, ReadMode defaultMode)
+    {
+        if (value == null)
+        {
+            return defaultMode;
+        }
+        if (value instanceof ReadMode)
+        {
+            return (ReadMode) value;
+        }
+        try
+        {
+            return valueOf(value.toString().trim().toUpperCase());
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("Invalid read mode " + value + ", supported values are "
+                    + COPY.name().toLowerCase() + " and " + DIRECT.name().toLowerCase() + ".");
+        }
+    }
+}
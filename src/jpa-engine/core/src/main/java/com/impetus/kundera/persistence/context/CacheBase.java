@@ -26,13 +26,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.impetus.kundera.cache.NonOperationalCache;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.graph.NodeLink;
 import com.impetus.kundera.graph.ObjectGraph;
 import com.impetus.kundera.graph.ObjectGraphUtils;
 import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.context.EntitySnapshot.SnapshotSource;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.utils.ObjectUtils;
 
@@ -57,15 +62,16 @@ public class CacheBase
     {
         this.headNodes = new HashSet<Node>();
         this.nodeMappings = new ConcurrentHashMap<String, Node>();
-        this.l2Cache = l2Cache;
+        // nothing to disassemble entities for.
+        this.l2Cache = l2Cache instanceof NonOperationalCache ? null : l2Cache;
         this.persistenceCache = pc;
     }
 
-    public Node getNodeFromCache(String nodeId, PersistenceDelegator pd)
+    public Node getNodeFromCache(String nodeId, Class<?> entityClass, PersistenceDelegator pd)
     {
         Node node = nodeMappings.get(nodeId);
         // if not present in first level cache, check from second level cache.
-        return node != null ? node : lookupL2Cache(nodeId, pd);
+        return node != null ? node : lookupL2Cache(nodeId, entityClass, pd);
     }
 
     public Node getNodeFromCache(Object entity, EntityMetadata entityMetadata, PersistenceDelegator pd)
@@ -81,7 +87,7 @@ public class CacheBase
             throw new IllegalArgumentException("Primary key not set into entity");
         }
         String nodeId = ObjectGraphUtils.getNodeId(primaryKey, entity.getClass());
-        return getNodeFromCache(nodeId, pd);
+        return getNodeFromCache(nodeId, entity.getClass(), pd);
     }
 
     public synchronized void addNodeToCache(Node node)
@@ -102,7 +108,7 @@ public class CacheBase
 
         if (l2Cache != null)
         {
-            l2Cache.put(node.getNodeId(), node.getData());
+            putInL2Cache(node, node.getPersistenceDelegator().getKunderaMetadata());
         }
     }
 
@@ -244,12 +250,21 @@ public class CacheBase
         return Collections.synchronizedSet(headNodes);
     }
 
-    private Node lookupL2Cache(String nodeId, PersistenceDelegator pd)
+    private Node lookupL2Cache(String nodeId, Class<?> entityClass, PersistenceDelegator pd)
     {
         Node node = null;
         if (l2Cache != null)
         {
             Object entity = l2Cache.get(nodeId);
+            if (entity instanceof EntitySnapshot)
+            {
+                entity = ((EntitySnapshot) entity).assemble(new L2SnapshotSource());
+            }
+            MetricsRecorder metrics = pd != null ? pd.getKunderaMetadata().getMetricsRecorder() : null;
+            if (metrics != null && metrics.isEnabled())
+            {
+                onL2CacheAccess(metrics, entityClass, pd, entity != null);
+            }
             if (entity != null)
             {
                 node = new Node(nodeId, entity.getClass(), new ManagedState(), this.persistenceCache,
@@ -261,6 +276,36 @@ public class CacheBase
         return node;
     }
 
+    /**
+     * Records second level cache lookup, tagged by entity class.
+     */
+    private void onL2CacheAccess(MetricsRecorder metrics, Class<?> entityClass, PersistenceDelegator pd, boolean hit)
+    {
+        EntityMetadata metadata = entityClass != null ? KunderaMetadataManager.getEntityMetadata(
+                pd.getKunderaMetadata(), entityClass) : null;
+        metrics.recordCacheAccess(MetricsRecorder.SECOND_LEVEL_CACHE, metadata != null ? metadata.getPersistenceUnit()
+                : null, metadata != null ? entityClass : null, hit);
+    }
+
+    /**
+     * Puts disassembled state of node data into second level cache, so that
+     * cached state is not shared with any entity instance. Entities which
+     * can't be disassembled, e.g. having lazy associations not loaded yet, are
+     * evicted instead.
+     */
+    private void putInL2Cache(Node node, KunderaMetadata kunderaMetadata)
+    {
+        EntitySnapshot state = EntitySnapshot.disassemble(node.getData(), kunderaMetadata);
+        if (state != null)
+        {
+            l2Cache.put(node.getNodeId(), state);
+        }
+        else
+        {
+            evictFroml2Cache(node);
+        }
+    }
+
     private void evictFroml2Cache(Node node)
     {
         if (l2Cache != null)
@@ -268,4 +313,18 @@ public class CacheBase
             this.l2Cache.evict(node.getDataClass(), node.getNodeId());
         }
     }
+
+    /**
+     * Looks disassembled states of associated entities up in second level
+     * cache.
+     */
+    private class L2SnapshotSource implements SnapshotSource
+    {
+        @Override
+        public EntitySnapshot get(Class<?> entityClass, Object id)
+        {
+            Object state = l2Cache.get(ObjectGraphUtils.getNodeId(id, entityClass));
+            return state instanceof EntitySnapshot ? (EntitySnapshot) state : null;
+        }
+    }
 }
@@ -0,0 +1,891 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.context;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.EmbeddedId;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import javax.persistence.Transient;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.FieldAccessor;
+import com.impetus.kundera.property.FieldAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.proxy.KunderaProxy;
+import com.impetus.kundera.proxy.ProxyHelper;
+import com.impetus.kundera.utils.DeepEquals;
+
+/**
+ * Compact, field wise snapshot of an entity as loaded from database or last
+ * flushed. Used for dirty checking, to find out which fields of an entity
+ * were modified (so that clients can write only those), and to rebuild its
+ * original state for rollback.
+ * <p>
+ * Column values are copied (mutable ones like dates or byte arrays are
+ * cloned), embedded objects are snapshotted recursively and associations
+ * are captured by reference.
+ * <p>
+ * A disassembled snapshot holds associations as class and id of associated
+ * entities instead. It doesn't refer to any entity instance and is what
+ * second level cache stores.
+ */
+public final class EntitySnapshot implements Serializable
+{
+    private static final long serialVersionUID = 3587432271924393471L;
+
+    /** Marks a value which can't be disassembled. */
+    private static final Object UNRESOLVED = new Object();
+
+    /** Snapshot layout per class. */
+    private static final ConcurrentMap<Class<?>, Column[]> layouts = new ConcurrentHashMap<Class<?>, Column[]>();
+
+    /** Types whose values can't change, captured by reference. */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.asList(new Class<?>[] {
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class }));
+
+    private final Class<?> clazz;
+
+    private final Object[] values;
+
+    /** Class and id of disassembled entity, null for others. */
+    private final EntityRef ref;
+
+    /** Layout values were captured with, looked up again once deserialized. */
+    private transient Column[] layout;
+
+    private EntitySnapshot(Class<?> clazz, Object[] values, EntityRef ref, Column[] columns)
+    {
+        this.clazz = clazz;
+        this.values = values;
+        this.ref = ref;
+        this.layout = columns;
+    }
+
+    /**
+     * Captures snapshot of given entity or embeddable object.
+     * 
+     * @param entity
+     *            entity or embeddable object.
+     * @param kunderaMetadata
+     *            kundera metadata, to read persistent fields of entity with.
+     * @return snapshot, null if entity is null.
+     */
+    public static EntitySnapshot capture(Object entity, KunderaMetadata kunderaMetadata)
+    {
+        if (entity == null)
+        {
+            return null;
+        }
+        Column[] columns = getLayout(entity.getClass(), kunderaMetadata);
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++)
+        {
+            values[i] = columns[i].capture(columns[i].accessor.get(entity), kunderaMetadata);
+        }
+        return new EntitySnapshot(entity.getClass(), values, null, columns);
+    }
+
+    /**
+     * Disassembles given entity, associated entities are held by their class
+     * and id.
+     * 
+     * @param entity
+     *            entity.
+     * @param kunderaMetadata
+     *            kundera metadata, to read ids of entities with.
+     * @return disassembled snapshot, null if entity is null or if any of its
+     *         associations is not loaded yet.
+     */
+    public static EntitySnapshot disassemble(Object entity, KunderaMetadata kunderaMetadata)
+    {
+        EntityRef ref = EntityRef.of(entity, kunderaMetadata);
+        if (ref == null)
+        {
+            return null;
+        }
+        Column[] columns = getLayout(entity.getClass(), kunderaMetadata);
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++)
+        {
+            Object value = columns[i].accessor.get(entity);
+            values[i] = columns[i].kind == Kind.ASSOCIATION ? Column.disassemble(value, kunderaMetadata) : columns[i]
+                    .capture(value, kunderaMetadata);
+            if (values[i] == UNRESOLVED)
+            {
+                return null;
+            }
+        }
+        return new EntitySnapshot(entity.getClass(), values, ref, columns);
+    }
+
+    /**
+     * Checks whether given entity differs from this snapshot.
+     * 
+     * @param entity
+     *            entity or embeddable object.
+     * @return true, if any column, embedded object or association differs.
+     */
+    public boolean isModified(Object entity)
+    {
+        if (entity == null || !clazz.equals(entity.getClass()))
+        {
+            return true;
+        }
+        Column[] columns = getColumns();
+        for (int i = 0; i < columns.length; i++)
+        {
+            if (columns[i].isModified(values[i], columns[i].accessor.get(entity)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns names of fields of given entity which differ from this snapshot.
+     * 
+     * @param entity
+     *            entity or embeddable object.
+     * @return modified field names, empty if entity is not modified or null if
+     *         entity can't be compared against this snapshot.
+     */
+    public Set<String> getModifiedFields(Object entity)
+    {
+        if (entity == null || !clazz.equals(entity.getClass()))
+        {
+            return null;
+        }
+        Set<String> modifiedFields = new HashSet<String>();
+        Column[] columns = getColumns();
+        for (int i = 0; i < columns.length; i++)
+        {
+            if (columns[i].isModified(values[i], columns[i].accessor.get(entity)))
+            {
+                modifiedFields.add(columns[i].name);
+            }
+        }
+        return modifiedFields;
+    }
+
+    /**
+     * Rebuilds object in state captured by this snapshot.
+     * 
+     * @return new instance.
+     */
+    public Object restore()
+    {
+        Object target = FieldAccessorFactory.newInstance(clazz);
+        Column[] columns = getColumns();
+        for (int i = 0; i < columns.length; i++)
+        {
+            columns[i].accessor.set(target, columns[i].restore(values[i]));
+        }
+        return target;
+    }
+
+    /**
+     * Rebuilds entity out of disassembled snapshot, associated entities are
+     * assembled out of their snapshots taken from given source.
+     * 
+     * @param source
+     *            source of snapshots of associated entities.
+     * @return new instance, or null if snapshot of any associated entity is
+     *         not available.
+     */
+    public Object assemble(SnapshotSource source)
+    {
+        return assemble(source, new HashMap<EntityRef, Object>());
+    }
+
+    private Object assemble(SnapshotSource source, Map<EntityRef, Object> assembled)
+    {
+        Object target = FieldAccessorFactory.newInstance(clazz);
+        if (ref != null)
+        {
+            assembled.put(ref, target);
+        }
+        Column[] columns = getColumns();
+        for (int i = 0; i < columns.length; i++)
+        {
+            Object value = columns[i].kind == Kind.ASSOCIATION && ref != null ? Column.assemble(values[i], source,
+                    assembled) : columns[i].restore(values[i]);
+            if (value == UNRESOLVED)
+            {
+                return null;
+            }
+            columns[i].accessor.set(target, value);
+        }
+        return target;
+    }
+
+    /**
+     * Source of disassembled snapshots of entities, e.g. second level cache.
+     */
+    public interface SnapshotSource
+    {
+        /**
+         * @param entityClass
+         *            entity class.
+         * @param id
+         *            entity id.
+         * @return disassembled snapshot of entity, null if not available.
+         */
+        EntitySnapshot get(Class<?> entityClass, Object id);
+    }
+
+    private Column[] getColumns()
+    {
+        if (layout == null)
+        {
+            layout = getLayout(clazz, null);
+        }
+        return layout;
+    }
+
+    /**
+     * Discards snapshot layout of given class, it is built again on next use.
+     * 
+     * @param clazz
+     *            entity or embeddable class.
+     */
+    public static void unregister(Class<?> clazz)
+    {
+        layouts.remove(clazz);
+    }
+
+    /**
+     * Returns snapshot layout of given class, made of attributes of its
+     * managed type. Classes unknown to metamodel (or if there is no metadata
+     * to look it up with) are laid out by their non transient fields.
+     */
+    private static Column[] getLayout(Class<?> clazz, KunderaMetadata kunderaMetadata)
+    {
+        Column[] columns = layouts.get(clazz);
+        if (columns == null)
+        {
+            List<Field> fields = getPersistentFields(clazz, kunderaMetadata);
+            if (fields == null)
+            {
+                fields = new ArrayList<Field>();
+                for (Class<?> c = clazz; c != null && !c.equals(Object.class); c = c.getSuperclass())
+                {
+                    for (Field field : c.getDeclaredFields())
+                    {
+                        int modifiers = field.getModifiers();
+                        if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)
+                                && !field.isAnnotationPresent(Transient.class) && !field.isSynthetic())
+                        {
+                            fields.add(field);
+                        }
+                    }
+                }
+            }
+
+            // attributes come unordered, layout must be same for all
+            // snapshots of a class.
+            Collections.sort(fields, new Comparator<Field>()
+            {
+                @Override
+                public int compare(Field f1, Field f2)
+                {
+                    int result = f1.getDeclaringClass().getName().compareTo(f2.getDeclaringClass().getName());
+                    return result != 0 ? result : f1.getName().compareTo(f2.getName());
+                }
+            });
+
+            List<Column> layout = new ArrayList<Column>(fields.size());
+            for (Field field : fields)
+            {
+                layout.add(new Column(field));
+            }
+            columns = layout.toArray(new Column[layout.size()]);
+            Column[] existing = layouts.putIfAbsent(clazz, columns);
+            if (existing != null)
+            {
+                columns = existing;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * @return fields of attributes of managed type of given class, null if it
+     *         is not an entity or embeddable.
+     */
+    private static List<Field> getPersistentFields(Class<?> clazz, KunderaMetadata kunderaMetadata)
+    {
+        if (kunderaMetadata == null)
+        {
+            return null;
+        }
+        for (Metamodel metamodel : kunderaMetadata.getApplicationMetadata().getMetamodelMap().values())
+        {
+            MetamodelImpl metamodelImpl = (MetamodelImpl) metamodel;
+            ManagedType<?> managedType = null;
+            if (metamodelImpl.getEntityMetadata(clazz) != null)
+            {
+                managedType = metamodelImpl.entity(clazz);
+            }
+            else if (metamodelImpl.isEmbeddable(clazz))
+            {
+                managedType = metamodelImpl.embeddable(clazz);
+            }
+
+            if (managedType != null)
+            {
+                List<Field> fields = new ArrayList<Field>();
+                for (Attribute<?, ?> attribute : managedType.getAttributes())
+                {
+                    if (attribute.getJavaMember() instanceof Field)
+                    {
+                        fields.add((Field) attribute.getJavaMember());
+                    }
+                }
+                return fields;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Kind of column, decides how a value is captured and compared.
+     */
+    private enum Kind
+    {
+        BASIC, EMBEDDED, ELEMENT_COLLECTION, ASSOCIATION
+    }
+
+    /**
+     * Captured collection or map, along with its runtime type.
+     */
+    private static final class CollectionValue implements Serializable
+    {
+        private static final long serialVersionUID = -2306425212329961375L;
+
+        private final Class<?> type;
+
+        private final Object[] keys;
+
+        private final Object[] elements;
+
+        private CollectionValue(Class<?> type, Object[] keys, Object[] elements)
+        {
+            this.type = type;
+            this.keys = keys;
+            this.elements = elements;
+        }
+
+        /**
+         * Creates an empty collection or map of captured type. Types without
+         * a public no-arg constructor, like unmodifiable, singleton or
+         * {@link java.util.Arrays#asList(Object...)} collections, are replaced by a
+         * modifiable one of same interface.
+         */
+        private Object newInstance()
+        {
+            if (Modifier.isPublic(type.getModifiers()) && !Modifier.isAbstract(type.getModifiers()))
+            {
+                try
+                {
+                    if (Modifier.isPublic(type.getConstructor().getModifiers()))
+                    {
+                        return FieldAccessorFactory.newInstance(type);
+                    }
+                }
+                catch (NoSuchMethodException e)
+                {
+                    // falls back on interface.
+                }
+            }
+            if (SortedMap.class.isAssignableFrom(type))
+            {
+                return new TreeMap<Object, Object>();
+            }
+            else if (Map.class.isAssignableFrom(type))
+            {
+                return new LinkedHashMap<Object, Object>();
+            }
+            else if (SortedSet.class.isAssignableFrom(type))
+            {
+                return new TreeSet<Object>();
+            }
+            else if (Set.class.isAssignableFrom(type))
+            {
+                return new LinkedHashSet<Object>();
+            }
+            else if (Queue.class.isAssignableFrom(type))
+            {
+                return new LinkedList<Object>();
+            }
+            return new ArrayList<Object>();
+        }
+    }
+
+    /**
+     * Associated entity of a disassembled snapshot.
+     */
+    private static final class EntityRef implements Serializable
+    {
+        private static final long serialVersionUID = 6196207400497123530L;
+
+        private final Class<?> entityClass;
+
+        private final Object id;
+
+        private EntityRef(Class<?> entityClass, Object id)
+        {
+            this.entityClass = entityClass;
+            this.id = id;
+        }
+
+        /**
+         * @return reference to given entity, null if it is not an entity or
+         *         has no id.
+         */
+        private static EntityRef of(Object entity, KunderaMetadata kunderaMetadata)
+        {
+            if (entity == null || entity instanceof KunderaProxy)
+            {
+                return null;
+            }
+            EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entity.getClass());
+            Object id = metadata != null ? PropertyAccessorHelper.getId(entity, metadata) : null;
+            return id != null ? new EntityRef(entity.getClass(), id) : null;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof EntityRef))
+            {
+                return false;
+            }
+            EntityRef other = (EntityRef) obj;
+            return entityClass.equals(other.entityClass) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * entityClass.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     * A single field of snapshotted class.
+     */
+    private static final class Column
+    {
+        private final String name;
+
+        private final FieldAccessor accessor;
+
+        private final Kind kind;
+
+        private Column(Field field)
+        {
+            this.name = field.getName();
+            this.accessor = FieldAccessorFactory.getFieldAccessor(field);
+            if (field.isAnnotationPresent(Embedded.class) || field.isAnnotationPresent(EmbeddedId.class)
+                    || field.getType().isAnnotationPresent(Embeddable.class))
+            {
+                this.kind = Kind.EMBEDDED;
+            }
+            else if (field.isAnnotationPresent(ElementCollection.class))
+            {
+                this.kind = Kind.ELEMENT_COLLECTION;
+            }
+            else if (field.isAnnotationPresent(OneToOne.class) || field.isAnnotationPresent(OneToMany.class)
+                    || field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(ManyToMany.class))
+            {
+                this.kind = Kind.ASSOCIATION;
+            }
+            else
+            {
+                this.kind = Kind.BASIC;
+            }
+        }
+
+        private Object capture(Object value, KunderaMetadata kunderaMetadata)
+        {
+            if (value == null)
+            {
+                return null;
+            }
+            switch (kind)
+            {
+            case EMBEDDED:
+                return EntitySnapshot.capture(value, kunderaMetadata);
+            case ELEMENT_COLLECTION:
+                return captureCollection(value, false, kunderaMetadata);
+            case ASSOCIATION:
+                // lazy proxies are kept as is, copying them would load them.
+                if (value instanceof KunderaProxy || ProxyHelper.isPersistentCollection(value)
+                        || ProxyHelper.isKunderaProxyCollection(value))
+                {
+                    return value;
+                }
+                return captureCollection(value, true, kunderaMetadata);
+            default:
+                return copy(value);
+            }
+        }
+
+        private boolean isModified(Object captured, Object value)
+        {
+            if (captured == null || value == null)
+            {
+                return captured != value;
+            }
+            switch (kind)
+            {
+            case EMBEDDED:
+                return ((EntitySnapshot) captured).isModified(value);
+            case ELEMENT_COLLECTION:
+                return isCollectionModified(captured, value, false);
+            case ASSOCIATION:
+                return isCollectionModified(captured, value, true);
+            default:
+                return !DeepEquals.deepEquals(captured, value);
+            }
+        }
+
+        private Object restore(Object captured)
+        {
+            if (captured == null)
+            {
+                return null;
+            }
+            switch (kind)
+            {
+            case EMBEDDED:
+                return ((EntitySnapshot) captured).restore();
+            case ELEMENT_COLLECTION:
+                return restoreCollection(captured, false);
+            case ASSOCIATION:
+                return restoreCollection(captured, true);
+            default:
+                return copy(captured);
+            }
+        }
+
+        /**
+         * Disassembles association, associated entities are replaced by their
+         * references.
+         * 
+         * @return disassembled value, or {@link EntitySnapshot#UNRESOLVED} if
+         *         association is not loaded or can't be referred to.
+         */
+        private static Object disassemble(Object value, KunderaMetadata kunderaMetadata)
+        {
+            if (value == null)
+            {
+                return null;
+            }
+            if (value instanceof KunderaProxy || ProxyHelper.isPersistentCollection(value)
+                    || ProxyHelper.isKunderaProxyCollection(value))
+            {
+                return UNRESOLVED;
+            }
+            if (value instanceof Collection)
+            {
+                Collection<?> collection = (Collection<?>) value;
+                Object[] elements = new Object[collection.size()];
+                int i = 0;
+                for (Object element : collection)
+                {
+                    elements[i] = EntityRef.of(element, kunderaMetadata);
+                    if (elements[i++] == null)
+                    {
+                        return UNRESOLVED;
+                    }
+                }
+                return new CollectionValue(value.getClass(), null, elements);
+            }
+            if (value instanceof Map)
+            {
+                Map<?, ?> map = (Map<?, ?>) value;
+                Object[] keys = new Object[map.size()];
+                Object[] elements = new Object[map.size()];
+                int i = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet())
+                {
+                    keys[i] = captureElement(entry.getKey(), kunderaMetadata);
+                    elements[i] = EntityRef.of(entry.getValue(), kunderaMetadata);
+                    if (elements[i++] == null)
+                    {
+                        return UNRESOLVED;
+                    }
+                }
+                return new CollectionValue(value.getClass(), keys, elements);
+            }
+            EntityRef ref = EntityRef.of(value, kunderaMetadata);
+            return ref != null ? ref : UNRESOLVED;
+        }
+
+        /**
+         * Assembles disassembled association.
+         * 
+         * @return association, or {@link EntitySnapshot#UNRESOLVED} if any of
+         *         associated entities is not available.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static Object assemble(Object captured, SnapshotSource source, Map<EntityRef, Object> assembled)
+        {
+            if (captured == null)
+            {
+                return null;
+            }
+            if (captured instanceof EntityRef)
+            {
+                return resolve((EntityRef) captured, source, assembled);
+            }
+
+            CollectionValue collectionValue = (CollectionValue) captured;
+            Object target = collectionValue.newInstance();
+            for (int i = 0; i < collectionValue.elements.length; i++)
+            {
+                Object element = resolve((EntityRef) collectionValue.elements[i], source, assembled);
+                if (element == UNRESOLVED)
+                {
+                    return UNRESOLVED;
+                }
+                if (collectionValue.keys == null)
+                {
+                    ((Collection) target).add(element);
+                }
+                else
+                {
+                    ((Map) target).put(restoreElement(collectionValue.keys[i]), element);
+                }
+            }
+            return target;
+        }
+
+        private static Object resolve(EntityRef ref, SnapshotSource source, Map<EntityRef, Object> assembled)
+        {
+            Object entity = assembled.get(ref);
+            if (entity == null)
+            {
+                EntitySnapshot snapshot = source.get(ref.entityClass, ref.id);
+                entity = snapshot != null ? snapshot.assemble(source, assembled) : null;
+            }
+            return entity != null ? entity : UNRESOLVED;
+        }
+
+        /**
+         * Captures collection or map, elements are captured by reference in
+         * case of association. Any other value is returned as is.
+         */
+        private static Object captureCollection(Object value, boolean byReference, KunderaMetadata kunderaMetadata)
+        {
+            if (value instanceof Collection)
+            {
+                Collection<?> collection = (Collection<?>) value;
+                Object[] elements = new Object[collection.size()];
+                int i = 0;
+                for (Object element : collection)
+                {
+                    elements[i++] = byReference ? element : captureElement(element, kunderaMetadata);
+                }
+                return new CollectionValue(value.getClass(), null, elements);
+            }
+            else if (value instanceof Map)
+            {
+                Map<?, ?> map = (Map<?, ?>) value;
+                Object[] keys = new Object[map.size()];
+                Object[] elements = new Object[map.size()];
+                int i = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet())
+                {
+                    keys[i] = byReference ? entry.getKey() : captureElement(entry.getKey(), kunderaMetadata);
+                    elements[i++] = byReference ? entry.getValue() : captureElement(entry.getValue(),
+                            kunderaMetadata);
+                }
+                return new CollectionValue(value.getClass(), keys, elements);
+            }
+            return value;
+        }
+
+        private static boolean isCollectionModified(Object captured, Object value, boolean byReference)
+        {
+            if (!(captured instanceof CollectionValue))
+            {
+                return isElementModified(captured, value, byReference);
+            }
+
+            CollectionValue collectionValue = (CollectionValue) captured;
+            if (!collectionValue.type.equals(value.getClass()))
+            {
+                return true;
+            }
+
+            Iterator<?> iterator;
+            if (collectionValue.keys == null)
+            {
+                Collection<?> collection = (Collection<?>) value;
+                if (collection.size() != collectionValue.elements.length)
+                {
+                    return true;
+                }
+                iterator = collection.iterator();
+            }
+            else
+            {
+                Map<?, ?> map = (Map<?, ?>) value;
+                if (map.size() != collectionValue.elements.length)
+                {
+                    return true;
+                }
+                iterator = map.entrySet().iterator();
+            }
+
+            for (int i = 0; i < collectionValue.elements.length; i++)
+            {
+                Object element = iterator.next();
+                if (collectionValue.keys != null)
+                {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+                    if (isElementModified(collectionValue.keys[i], entry.getKey(), byReference))
+                    {
+                        return true;
+                    }
+                    element = entry.getValue();
+                }
+                if (isElementModified(collectionValue.elements[i], element, byReference))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static Object restoreCollection(Object captured, boolean byReference)
+        {
+            if (!(captured instanceof CollectionValue))
+            {
+                return byReference ? captured : copy(captured);
+            }
+
+            CollectionValue collectionValue = (CollectionValue) captured;
+            Object target = collectionValue.newInstance();
+            for (int i = 0; i < collectionValue.elements.length; i++)
+            {
+                Object element = byReference ? collectionValue.elements[i]
+                        : restoreElement(collectionValue.elements[i]);
+                if (collectionValue.keys == null)
+                {
+                    ((Collection) target).add(element);
+                }
+                else
+                {
+                    Object key = byReference ? collectionValue.keys[i] : restoreElement(collectionValue.keys[i]);
+                    ((Map) target).put(key, element);
+                }
+            }
+            return target;
+        }
+
+        private static Object captureElement(Object element, KunderaMetadata kunderaMetadata)
+        {
+            if (element != null && element.getClass().isAnnotationPresent(Embeddable.class))
+            {
+                return EntitySnapshot.capture(element, kunderaMetadata);
+            }
+            return copy(element);
+        }
+
+        private static boolean isElementModified(Object captured, Object element, boolean byReference)
+        {
+            if (byReference)
+            {
+                // same instance, or an equal copy of it as merged back.
+                return captured != element && !DeepEquals.deepEquals(captured, element);
+            }
+            if (captured instanceof EntitySnapshot)
+            {
+                return ((EntitySnapshot) captured).isModified(element);
+            }
+            return !DeepEquals.deepEquals(captured, element);
+        }
+
+        private static Object restoreElement(Object captured)
+        {
+            return captured instanceof EntitySnapshot ? ((EntitySnapshot) captured).restore() : copy(captured);
+        }
+
+        private static Object copy(Object value)
+        {
+            // only mutable values (e.g. dates, arrays) are copied.
+            if (value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass()))
+            {
+                return value;
+            }
+            try
+            {
+                return PropertyAccessorFactory.getPropertyAccessor(value.getClass()).getCopy(value);
+            }
+            catch (RuntimeException e)
+            {
+                // can't be copied, keep it by reference.
+                return value;
+            }
+        }
+    }
+}
@@ -47,6 +47,7 @@ import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.persistence.context.EventLog.EventType;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData.OPERATION;
+import com.impetus.kundera.query.QueryResultCache;
 
 /**
  * Provides utility methods for managing Flush Stack.
@@ -395,22 +396,30 @@ public class FlushManager
     }
 
     /**
-     * Rollback.
+     * Commit, invalidates cached query results of all committed entity
+     * classes.
      * 
      * @param delegator
      *            the delegator
      */
-    public void commit()
+    public void commit(PersistenceDelegator delegator)
     {
-        onCommit(eventLogQueue.getInsertEvents());
-        onCommit(eventLogQueue.getUpdateEvents());
-        onCommit(eventLogQueue.getDeleteEvents());
+        Set<Class<?>> committedClasses = new HashSet<Class<?>>();
+        onCommit(eventLogQueue.getInsertEvents(), committedClasses);
+        onCommit(eventLogQueue.getUpdateEvents(), committedClasses);
+        onCommit(eventLogQueue.getDeleteEvents(), committedClasses);
+
+        QueryResultCache resultCache = delegator.getKunderaMetadata().getQueryResultCache();
+        for (Class<?> entityClass : committedClasses)
+        {
+            resultCache.invalidate(entityClass);
+        }
     }
 
     /**
      * @param deleteEvents
      */
-    private void onCommit(Map<Object, EventLog> eventCol)
+    private void onCommit(Map<Object, EventLog> eventCol, Set<Class<?>> committedClasses)
     {
         if (eventCol != null && !eventCol.isEmpty())
         {
@@ -423,6 +432,7 @@ public class FlushManager
                 {
                     EventLog event = iter.next();
                     Node node = event.getNode();
+                    committedClasses.add(node.getDataClass());
                     if (node.isProcessed())
                     {
                         // One time set as required for rollback.
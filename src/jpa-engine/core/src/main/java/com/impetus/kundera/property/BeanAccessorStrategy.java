@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import net.sf.cglib.reflect.FastClass;
+
+import org.apache.commons.lang.ClassUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.proxy.KunderaProxy;
+
+/**
+ * {@link FieldAccessorStrategy} avoiding reflection on hot path, chosen via
+ * "bean" strategy. Fields are read and written through their public java bean
+ * getter and setter, invoked by index on a cglib generated {@link FastClass},
+ * and instances are created through the same fast class. Fields without a
+ * public getter and setter of field type, lazy proxies, values which need
+ * conversion (e.g. widening of primitives) and classes without a visible
+ * no-arg constructor are delegated to {@link ReflectiveAccessorStrategy}.
+ * <p>
+ * This turns field access into property access: getters and setters of every
+ * mapped field run on each load, dirty check and snapshot. Use it only for
+ * entities whose java bean accessors just read and write their field.
+ */
+public class BeanAccessorStrategy implements FieldAccessorStrategy
+{
+    /** The log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(BeanAccessorStrategy.class);
+
+    private final ReflectiveAccessorStrategy fallback = new ReflectiveAccessorStrategy();
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.property.FieldAccessorStrategy#getFieldAccessor(java
+     * .lang.reflect.Field)
+     */
+    @Override
+    public FieldAccessor getFieldAccessor(Field field)
+    {
+        FieldAccessor reflective = fallback.getFieldAccessor(field);
+        Class<?> owner = field.getDeclaringClass();
+        if (Modifier.isStatic(field.getModifiers()) || !Modifier.isPublic(owner.getModifiers()))
+        {
+            return reflective;
+        }
+
+        String property = StringUtils.capitalize(field.getName());
+        Method getter = findMethod(owner, (field.getType() == boolean.class ? "is" : "get") + property,
+                field.getType());
+        Method setter = findMethod(owner, "set" + property, void.class, field.getType());
+        if (getter == null || setter == null)
+        {
+            return reflective;
+        }
+
+        try
+        {
+            FastClass fastClass = FastClass.create(owner);
+            int getterIndex = fastClass.getIndex(getter.getName(), getter.getParameterTypes());
+            int setterIndex = fastClass.getIndex(setter.getName(), setter.getParameterTypes());
+            if (getterIndex >= 0 && setterIndex >= 0)
+            {
+                return new FastMethodFieldAccessor(field, fastClass, getterIndex, setterIndex, reflective);
+            }
+        }
+        catch (RuntimeException e)
+        {
+            log.debug("Unable to generate fast class for {}, caused by {}. Falling back to reflection.", owner,
+                    e.getMessage());
+        }
+        return reflective;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.property.FieldAccessorStrategy#getInstantiator(java
+     * .lang.Class)
+     */
+    @Override
+    public Instantiator getInstantiator(Class<?> clazz)
+    {
+        if (!clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers()))
+        {
+            try
+            {
+                FastClass fastClass = FastClass.create(clazz);
+                int index = fastClass.getIndex(new Class[0]);
+                if (index >= 0)
+                {
+                    return new FastClassInstantiator(fastClass, index);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                log.debug("Unable to generate fast class for {}, caused by {}. Falling back to reflection.", clazz,
+                        e.getMessage());
+            }
+        }
+        return fallback.getInstantiator(clazz);
+    }
+
+    /**
+     * Returns public, non static method declared by given class, if it
+     * returns given type.
+     */
+    private static Method findMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes)
+    {
+        try
+        {
+            Method method = owner.getDeclaredMethod(name, parameterTypes);
+            int modifiers = method.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                    && method.getReturnType().equals(returnType))
+            {
+                return method;
+            }
+        }
+        catch (NoSuchMethodException e)
+        {
+            // not a java bean property.
+        }
+        return null;
+    }
+
+    /**
+     * Field accessor invoking getter and setter through generated fast class.
+     * Anything it can not handle safely (wrong target or value type, lazy
+     * proxy) is passed on to reflection, which either converts value or fails
+     * the same way as before.
+     */
+    private static final class FastMethodFieldAccessor implements FieldAccessor
+    {
+        private final Class<?> owner;
+
+        private final Class<?> type;
+
+        private final boolean primitive;
+
+        private final FastClass fastClass;
+
+        private final int getterIndex;
+
+        private final int setterIndex;
+
+        private final FieldAccessor reflective;
+
+        FastMethodFieldAccessor(Field field, FastClass fastClass, int getterIndex, int setterIndex,
+                FieldAccessor reflective)
+        {
+            this.owner = field.getDeclaringClass();
+            this.primitive = field.getType().isPrimitive();
+            this.type = primitive ? ClassUtils.primitiveToWrapper(field.getType()) : field.getType();
+            this.fastClass = fastClass;
+            this.getterIndex = getterIndex;
+            this.setterIndex = setterIndex;
+            this.reflective = reflective;
+        }
+
+        @Override
+        public Object get(Object target)
+        {
+            if (!isFastTarget(target))
+            {
+                return reflective.get(target);
+            }
+            return invoke(getterIndex, target, null);
+        }
+
+        @Override
+        public void set(Object target, Object value)
+        {
+            // primitives need exact wrapper, anything else is converted or
+            // rejected by reflection.
+            if (!isFastTarget(target) || (value == null ? primitive : !type.isInstance(value)))
+            {
+                reflective.set(target, value);
+            }
+            else
+            {
+                invoke(setterIndex, target, new Object[] { value });
+            }
+        }
+
+        /**
+         * Getters of lazy proxies would initialize them, those are accessed
+         * directly.
+         */
+        private boolean isFastTarget(Object target)
+        {
+            return owner.isInstance(target) && !(target instanceof KunderaProxy);
+        }
+
+        private Object invoke(int index, Object target, Object[] args)
+        {
+            try
+            {
+                return fastClass.invoke(index, target, args);
+            }
+            catch (InvocationTargetException itex)
+            {
+                throw new PropertyAccessException(itex.getTargetException());
+            }
+        }
+    }
+
+    /**
+     * Instantiator invoking no-arg constructor through generated fast class.
+     */
+    private static final class FastClassInstantiator implements Instantiator
+    {
+        private final FastClass fastClass;
+
+        private final int index;
+
+        FastClassInstantiator(FastClass fastClass, int index)
+        {
+            this.fastClass = fastClass;
+            this.index = index;
+        }
+
+        @Override
+        public Object newInstance()
+        {
+            try
+            {
+                return fastClass.newInstance(index, null);
+            }
+            catch (InvocationTargetException itex)
+            {
+                throw new PropertyAccessException(itex.getTargetException());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+/**
+ * Reads and writes value of a single entity field. Accessors are built once
+ * per field by {@link FieldAccessorStrategy} and cached by
+ * {@link FieldAccessorFactory}.
+ */
+public interface FieldAccessor
+{
+
+    /**
+     * Gets field value.
+     * 
+     * @param target
+     *            object to read from.
+     * @return field value.
+     * @throws PropertyAccessException
+     *             if value can not be read.
+     */
+    Object get(Object target);
+
+    /**
+     * Sets field value.
+     * 
+     * @param target
+     *            object to write into.
+     * @param value
+     *            field value.
+     * @throws PropertyAccessException
+     *             if value can not be written.
+     */
+    void set(Object target, Object value);
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds {@link FieldAccessor}s and {@link Instantiator}s, built once per field
+ * and class by configured {@link FieldAccessorStrategy}. Accessors for entity
+ * classes are built while loading metamodel, anything else is built on first
+ * use. Those of entity classes are discarded once their entity manager factory
+ * is closed, so that classes of a redeployed application are not pinned.
+ * <p>
+ * Strategy can be chosen via system property {@value #STRATEGY_PROPERTY}:
+ * "reflection" (default, direct field access), "bean" (generated calls of java
+ * bean getters and setters, see {@link BeanAccessorStrategy}) or fully
+ * qualified name of a {@link FieldAccessorStrategy} implementation.
+ */
+public final class FieldAccessorFactory
+{
+    /** System property to choose field accessor strategy. */
+    public static final String STRATEGY_PROPERTY = "kundera.property.accessor.strategy";
+
+    /** The log used by this class. */
+    private static Logger log = LoggerFactory.getLogger(FieldAccessorFactory.class);
+
+    private static final ConcurrentMap<Field, FieldAccessor> fieldAccessors = new ConcurrentHashMap<Field, FieldAccessor>();
+
+    private static final ConcurrentMap<Class<?>, Instantiator> instantiators = new ConcurrentHashMap<Class<?>, Instantiator>();
+
+    private static volatile FieldAccessorStrategy strategy = createStrategy(System.getProperty(STRATEGY_PROPERTY));
+
+    private FieldAccessorFactory()
+    {
+    }
+
+    /**
+     * Returns accessor for given field.
+     * 
+     * @param field
+     *            the field
+     * @return field accessor.
+     */
+    public static FieldAccessor getFieldAccessor(Field field)
+    {
+        FieldAccessor accessor = fieldAccessors.get(field);
+        if (accessor == null)
+        {
+            accessor = strategy.getFieldAccessor(field);
+            FieldAccessor existing = fieldAccessors.putIfAbsent(field, accessor);
+            if (existing != null)
+            {
+                accessor = existing;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * Returns instantiator for given class.
+     * 
+     * @param clazz
+     *            the class
+     * @return instantiator.
+     */
+    public static Instantiator getInstantiator(Class<?> clazz)
+    {
+        Instantiator instantiator = instantiators.get(clazz);
+        if (instantiator == null)
+        {
+            instantiator = strategy.getInstantiator(clazz);
+            Instantiator existing = instantiators.putIfAbsent(clazz, instantiator);
+            if (existing != null)
+            {
+                instantiator = existing;
+            }
+        }
+        return instantiator;
+    }
+
+    /**
+     * Creates new instance of given class.
+     * 
+     * @param clazz
+     *            the class
+     * @return new instance.
+     * @throws PropertyAccessException
+     *             if instance can not be created.
+     */
+    public static <T> T newInstance(Class<T> clazz)
+    {
+        return clazz.cast(getInstantiator(clazz).newInstance());
+    }
+
+    /**
+     * Builds accessors for all instance fields of given class (including
+     * super classes) and its instantiator.
+     * 
+     * @param clazz
+     *            entity or embeddable class.
+     */
+    public static void register(Class<?> clazz)
+    {
+        getInstantiator(clazz);
+        for (Class<?> c = clazz; c != null && !c.equals(Object.class); c = c.getSuperclass())
+        {
+            for (Field field : c.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()))
+                {
+                    getFieldAccessor(field);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards accessors of all fields of given class (including super
+     * classes) and its instantiator. They are built again on next use.
+     * 
+     * @param clazz
+     *            entity or embeddable class.
+     */
+    public static void unregister(Class<?> clazz)
+    {
+        instantiators.remove(clazz);
+        for (Class<?> c = clazz; c != null && !c.equals(Object.class); c = c.getSuperclass())
+        {
+            for (Field field : c.getDeclaredFields())
+            {
+                fieldAccessors.remove(field);
+            }
+        }
+    }
+
+    /**
+     * @return configured strategy.
+     */
+    public static FieldAccessorStrategy getStrategy()
+    {
+        return strategy;
+    }
+
+    /**
+     * Replaces accessor strategy, discards all accessors built so far.
+     * 
+     * @param accessorStrategy
+     *            new strategy.
+     */
+    public static synchronized void setStrategy(FieldAccessorStrategy accessorStrategy)
+    {
+        if (accessorStrategy == null)
+        {
+            throw new IllegalArgumentException("Field accessor strategy must not be null");
+        }
+        strategy = accessorStrategy;
+        fieldAccessors.clear();
+        instantiators.clear();
+    }
+
+    private static FieldAccessorStrategy createStrategy(String name)
+    {
+        if (name != null && !"reflection".equalsIgnoreCase(name))
+        {
+            try
+            {
+                return "bean".equalsIgnoreCase(name) ? new BeanAccessorStrategy()
+                        : (FieldAccessorStrategy) Class.forName(name).newInstance();
+            }
+            catch (Exception e)
+            {
+                log.warn("Unable to instantiate field accessor strategy {}, caused by {}. Using default.", name,
+                        e.getMessage());
+            }
+            catch (LinkageError e)
+            {
+                log.warn("Unable to instantiate field accessor strategy {}, caused by {}. Using default.", name,
+                        e.getMessage());
+            }
+        }
+        return new ReflectiveAccessorStrategy();
+    }
+}
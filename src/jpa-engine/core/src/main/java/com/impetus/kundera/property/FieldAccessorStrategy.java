@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+
+/**
+ * Builds {@link FieldAccessor}s and {@link Instantiator}s. Plugged into
+ * {@link FieldAccessorFactory}, either via system property
+ * {@link FieldAccessorFactory#STRATEGY_PROPERTY} or
+ * {@link FieldAccessorFactory#setStrategy(FieldAccessorStrategy)}.
+ */
+public interface FieldAccessorStrategy
+{
+
+    /**
+     * Builds accessor for given field.
+     * 
+     * @param field
+     *            entity field.
+     * @return field accessor.
+     */
+    FieldAccessor getFieldAccessor(Field field);
+
+    /**
+     * Builds instantiator for given class.
+     * 
+     * @param clazz
+     *            entity or embeddable class.
+     * @return instantiator.
+     */
+    Instantiator getInstantiator(Class<?> clazz);
+}
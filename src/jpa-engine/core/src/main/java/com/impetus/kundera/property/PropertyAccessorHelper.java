@@ -97,23 +97,8 @@ public class PropertyAccessorHelper
     {
         if (target != null)
         {
-
-            if (!field.isAccessible())
-            {
-                field.setAccessible(true);
-            }
-            try
-            {
-                field.set(target, value);
-            }
-            catch (IllegalArgumentException iarg)
-            {
-                throw new PropertyAccessException(iarg);
-            }
-            catch (IllegalAccessException iacc)
-            {
-                throw new PropertyAccessException(iacc);
-            }
+            makeAccessible(field);
+            FieldAccessorFactory.getFieldAccessor(field).set(target, value);
         } // ignore if object is null;
     }
 
@@ -132,24 +117,8 @@ public class PropertyAccessorHelper
      */
     public static Object getObject(Object from, Field field)
     {
-
-        if (!field.isAccessible())
-        {
-            field.setAccessible(true);
-        }
-
-        try
-        {
-            return field.get(from);
-        }
-        catch (IllegalArgumentException iarg)
-        {
-            throw new PropertyAccessException(iarg);
-        }
-        catch (IllegalAccessException iacc)
-        {
-            throw new PropertyAccessException(iacc);
-        }
+        makeAccessible(field);
+        return FieldAccessorFactory.getFieldAccessor(field).get(from);
     }
 
     /**
@@ -161,25 +130,24 @@ public class PropertyAccessorHelper
      */
     public static Object getObjectCopy(Object from, Field field)
     {
+        makeAccessible(field);
+        PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor(field);
+        return accessor.getCopy(FieldAccessorFactory.getFieldAccessor(field).get(from));
+    }
 
+    /**
+     * Callers may still use field directly once it has been passed through
+     * this helper, so keep it accessible as before.
+     * 
+     * @param field
+     *            the field
+     */
+    private static void makeAccessible(Field field)
+    {
         if (!field.isAccessible())
         {
             field.setAccessible(true);
         }
-
-        try
-        {
-            PropertyAccessor<?> accessor = PropertyAccessorFactory.getPropertyAccessor(field);
-            return accessor.getCopy(field.get(from));
-        }
-        catch (IllegalArgumentException iarg)
-        {
-            throw new PropertyAccessException(iarg);
-        }
-        catch (IllegalAccessException iacc)
-        {
-            throw new PropertyAccessException(iacc);
-        }
     }
 
     /**
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link FieldAccessorStrategy} based on plain java reflection, fields are made
+ * accessible once and accessed directly. Default strategy, also used as
+ * fallback whenever a faster accessor can not be built for a field or class.
+ */
+public class ReflectiveAccessorStrategy implements FieldAccessorStrategy
+{
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.property.FieldAccessorStrategy#getFieldAccessor(java
+     * .lang.reflect.Field)
+     */
+    @Override
+    public FieldAccessor getFieldAccessor(Field field)
+    {
+        return new ReflectiveFieldAccessor(field);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.property.FieldAccessorStrategy#getInstantiator(java
+     * .lang.Class)
+     */
+    @Override
+    public Instantiator getInstantiator(Class<?> clazz)
+    {
+        return new ReflectiveInstantiator(clazz);
+    }
+
+    /**
+     * Field accessor, makes field accessible once instead of on every call.
+     */
+    private static final class ReflectiveFieldAccessor implements FieldAccessor
+    {
+        private final Field field;
+
+        ReflectiveFieldAccessor(Field field)
+        {
+            if (!field.isAccessible())
+            {
+                field.setAccessible(true);
+            }
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object target)
+        {
+            try
+            {
+                return field.get(target);
+            }
+            catch (IllegalArgumentException iarg)
+            {
+                throw new PropertyAccessException(iarg);
+            }
+            catch (IllegalAccessException iacc)
+            {
+                throw new PropertyAccessException(iacc);
+            }
+        }
+
+        @Override
+        public void set(Object target, Object value)
+        {
+            try
+            {
+                field.set(target, value);
+            }
+            catch (IllegalArgumentException iarg)
+            {
+                throw new PropertyAccessException(iarg);
+            }
+            catch (IllegalAccessException iacc)
+            {
+                throw new PropertyAccessException(iacc);
+            }
+        }
+    }
+
+    /**
+     * Instantiator calling {@link Class#newInstance()}.
+     */
+    private static final class ReflectiveInstantiator implements Instantiator
+    {
+        private final Class<?> clazz;
+
+        ReflectiveInstantiator(Class<?> clazz)
+        {
+            this.clazz = clazz;
+        }
+
+        @Override
+        public Object newInstance()
+        {
+            try
+            {
+                return clazz.newInstance();
+            }
+            catch (InstantiationException iex)
+            {
+                throw new PropertyAccessException(iex);
+            }
+            catch (IllegalAccessException iacc)
+            {
+                throw new PropertyAccessException(iacc);
+            }
+        }
+    }
+}
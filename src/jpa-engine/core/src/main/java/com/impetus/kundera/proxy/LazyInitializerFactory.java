@@ -54,6 +54,15 @@ public interface LazyInitializerFactory
     KunderaProxy getProxy(final String entityName, final Class<?> persistentClass, final Method getIdentifierMethod,
             final Method setIdentifierMethod, final Object id, final PersistenceDelegator pd);
 
+    /**
+     * Generates proxy class of given entity, once while loading metamodel, so
+     * that creating a proxy costs no class generation or lookup.
+     * 
+     * @param entityMetadata
+     *            entity metadata to hold generated proxy class.
+     */
+    void createProxyClass(EntityMetadata entityMetadata);
+
     /**
      * Returns proxy instance for a given entity name, null if none exists
      * 
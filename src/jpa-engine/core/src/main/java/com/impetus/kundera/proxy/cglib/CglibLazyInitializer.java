@@ -23,6 +23,7 @@ import javax.persistence.PersistenceException;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.InvocationHandler;
 import net.sf.cglib.proxy.NoOp;
 
@@ -132,32 +133,89 @@ public final class CglibLazyInitializer implements LazyInitializer, InvocationHa
         final KunderaProxy proxy;
         Class factory = getProxyFactory(persistentClass, interfaces);
 
-        proxy = getProxyInstance(factory, instance);
+        proxy = getProxyInstance(factory, new Callback[] { instance, null });
 
         instance.constructed = true;
         return proxy;
 
     }
 
+    /**
+     * Gets the proxy, out of proxy class generated for entity on metamodel
+     * load. Falls back to generating proxy class if there is none.
+     * 
+     * @param entityName
+     *            the entity name
+     * @param persistentClass
+     *            the persistent class
+     * @param getIdentifierMethod
+     *            the get identifier method
+     * @param setIdentifierMethod
+     *            the set identifier method
+     * @param id
+     *            the id
+     * @param persistenceDelegator
+     *            the persistence delegator
+     * @param prototype
+     *            instance of generated proxy class, may be null
+     * @return the proxy
+     * @throws PersistenceException
+     *             the persistence exception
+     */
+    public static KunderaProxy getProxy(final String entityName, final Class<?> persistentClass,
+            final Method getIdentifierMethod, final Method setIdentifierMethod, final Object id,
+            final PersistenceDelegator pd, final KunderaProxy prototype) throws PersistenceException
+    {
+        if (!(prototype instanceof Factory))
+        {
+            return getProxy(entityName, persistentClass, new Class[] { KunderaProxy.class }, getIdentifierMethod,
+                    setIdentifierMethod, id, pd);
+        }
+
+        final CglibLazyInitializer instance = new CglibLazyInitializer(entityName, persistentClass,
+                new Class[] { KunderaProxy.class }, id, getIdentifierMethod, setIdentifierMethod, pd);
+
+        final KunderaProxy proxy = (KunderaProxy) ((Factory) prototype).newInstance(new Callback[] { instance,
+                NoOp.INSTANCE });
+
+        instance.constructed = true;
+        return proxy;
+    }
+
+    /**
+     * Generates proxy class of an entity and returns an instance of it, to
+     * create proxies with {@link Factory#newInstance(Callback[])}.
+     * 
+     * @param persistentClass
+     *            the persistent class
+     * @return instance of proxy class, not bound to any entity.
+     */
+    public static KunderaProxy createProxyPrototype(Class<?> persistentClass)
+    {
+        Enhancer e = getEnhancer(persistentClass, new Class[] { KunderaProxy.class });
+        e.setUseFactory(true);
+        return getProxyInstance(e.createClass(), new Callback[] { null, NoOp.INSTANCE });
+    }
+
     /**
      * Gets the proxy instance.
      * 
      * @param factory
      *            the factory
-     * @param instance
-     *            the instance
+     * @param callbacks
+     *            the callbacks
      * @return the proxy instance
      * @throws InstantiationException
      *             the instantiation exception
      * @throws IllegalAccessException
      *             the illegal access exception
      */
-    private static KunderaProxy getProxyInstance(Class factory, CglibLazyInitializer instance)
+    private static KunderaProxy getProxyInstance(Class factory, Callback[] callbacks)
     {
         KunderaProxy proxy;
         try
         {
-            Enhancer.registerCallbacks(factory, new Callback[] { instance, null });
+            Enhancer.registerCallbacks(factory, callbacks);
             proxy = (KunderaProxy) factory.newInstance();
         }
         catch (IllegalAccessException e)
@@ -187,15 +245,21 @@ public final class CglibLazyInitializer implements LazyInitializer, InvocationHa
      *             the persistence exception
      */
     public static Class getProxyFactory(Class persistentClass, Class[] interfaces) throws PersistenceException
+    {
+        Enhancer e = getEnhancer(persistentClass, interfaces);
+        e.setUseFactory(false);
+        return e.createClass();
+    }
+
+    private static Enhancer getEnhancer(Class persistentClass, Class[] interfaces)
     {
         Enhancer e = new Enhancer();
         e.setSuperclass(interfaces.length == 1 ? persistentClass : null);
         e.setInterfaces(interfaces);
         e.setCallbackTypes(new Class[] { InvocationHandler.class, NoOp.class, });
         e.setCallbackFilter(FINALIZE_FILTER);
-        e.setUseFactory(false);
         e.setInterceptDuringConstruction(false);
-        return e.createClass();
+        return e;
     }
 
     /**
@@ -397,7 +461,7 @@ public final class CglibLazyInitializer implements LazyInitializer, InvocationHa
                 // TODO: consider not calling em.find from here. Not sure 'why',
                 // but something
                 // doesn't feel right.
-                target = persistenceDelegator.findById(persistentClass, id);
+                target = persistenceDelegator.initializeProxy(persistentClass, id);
                 initialized = true;
             }
         }
@@ -36,6 +36,10 @@ import java.util.Map;
 
 import javax.persistence.Entity;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.persistence.PersistenceDelegator;
@@ -50,6 +54,8 @@ import com.impetus.kundera.proxy.LazyInitializerFactory;
  */
 public class CglibLazyInitializerFactory implements LazyInitializerFactory
 {
+    /** log for this class. */
+    private static Logger log = LoggerFactory.getLogger(CglibLazyInitializerFactory.class);
 
     Map<String, KunderaProxy> proxies = new HashMap<String, KunderaProxy>();
 
@@ -57,13 +63,35 @@ public class CglibLazyInitializerFactory implements LazyInitializerFactory
     public KunderaProxy getProxy(String entityName, Class<?> persistentClass, Method getIdentifierMethod,
             Method setIdentifierMethod, Object id, PersistenceDelegator pd)
     {
-        KunderaProxy kunderaProxy = (KunderaProxy) CglibLazyInitializer.getProxy(entityName, persistentClass,
-                new Class[] { KunderaProxy.class }, getIdentifierMethod, setIdentifierMethod, id, pd);
+        EntityMetadata m = pd != null ? KunderaMetadataManager.getEntityMetadata(pd.getKunderaMetadata(),
+                persistentClass) : null;
+        KunderaProxy kunderaProxy = CglibLazyInitializer.getProxy(entityName, persistentClass, getIdentifierMethod,
+                setIdentifierMethod, id, pd, m != null ? m.getProxyPrototype() : null);
         proxies.put(entityName, kunderaProxy);
+        if (pd != null)
+        {
+            pd.addPendingProxy(persistentClass, id);
+        }
 
         return kunderaProxy;
     }
 
+    @Override
+    public void createProxyClass(EntityMetadata entityMetadata)
+    {
+        try
+        {
+            entityMetadata.setProxyPrototype(CglibLazyInitializer.createProxyPrototype(entityMetadata
+                    .getEntityClazz()));
+        }
+        catch (RuntimeException e)
+        {
+            // e.g. final entity class, proxies will fail on creation as well.
+            log.warn("Unable to generate proxy class for " + entityMetadata.getEntityClazz() + ", Caused by: "
+                    + e.getMessage());
+        }
+    }
+
     @Override
     public KunderaProxy getProxy(String entityName)
     {
@@ -36,4 +36,11 @@ public interface IResultIterator<E> extends Iterator<E>
      * @return collection of E entity.
      */
     List<E> next(int chunkSize);
+
+    /**
+     * Releases resources (e.g. database cursors) held by this iterator. Once
+     * closed, iterator has no next element. Calling it more than once has no
+     * effect.
+     */
+    void close();
 }
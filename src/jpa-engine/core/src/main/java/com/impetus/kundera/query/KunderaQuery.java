@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -878,6 +879,20 @@ public class KunderaQuery
             this.value = valObjects;
         }
 
+        /**
+         * Copies this clause into given query.
+         * 
+         * @param owner
+         *            query owning the copy.
+         * @return copied clause.
+         */
+        private FilterClause copy(KunderaQuery owner)
+        {
+            FilterClause clause = owner.new FilterClause(property, condition, null);
+            clause.value = new ArrayList<Object>(value);
+            return clause;
+        }
+
         /* @see java.lang.Object#toString() */
         /*
          * (non-Javadoc)
@@ -936,6 +951,20 @@ public class KunderaQuery
             this.value = KunderaQuery.getValue(value);
         }
 
+        /**
+         * Copies this clause into given query.
+         * 
+         * @param owner
+         *            query owning the copy.
+         * @return copied clause.
+         */
+        private UpdateClause copy(KunderaQuery owner)
+        {
+            UpdateClause clause = owner.new UpdateClause(property, null);
+            clause.value = value;
+            return clause;
+        }
+
     }
 
     /* @see java.lang.Object#clone() */
@@ -1161,6 +1190,59 @@ public class KunderaQuery
         return this.jpaQuery;
     }
 
+    /**
+     * Returns a copy of this query for parameter binding. Parsed state (entity
+     * class, result, from and ordering) is shared, whereas filter and update
+     * clauses are copied so that values bound on the copy never leak back into
+     * this instance.
+     * 
+     * @return copy of this query.
+     */
+    KunderaQuery copy()
+    {
+        KunderaQuery copy = new KunderaQuery(jpaQuery, kunderaMetadata);
+        copy.result = result;
+        copy.from = from;
+        copy.filter = filter;
+        copy.ordering = ordering;
+        copy.sortOrders = sortOrders;
+        copy.entityName = entityName;
+        copy.entityAlias = entityAlias;
+        copy.entityClass = entityClass;
+        copy.persistenceUnit = persistenceUnit;
+        copy.isDeleteUpdate = isDeleteUpdate;
+        copy.isNativeQuery = isNativeQuery;
+
+        // original clause -> copied clause, to re-wire typed parameters.
+        Map<Object, Object> clauses = new IdentityHashMap<Object, Object>();
+        for (Object object : filtersQueue)
+        {
+            if (object instanceof FilterClause)
+            {
+                FilterClause clause = ((FilterClause) object).copy(copy);
+                clauses.put(object, clause);
+                copy.filtersQueue.add(clause);
+            }
+            else
+            {
+                copy.filtersQueue.add(object);
+            }
+        }
+
+        for (UpdateClause updateClause : updateClauseQueue)
+        {
+            UpdateClause clause = updateClause.copy(copy);
+            clauses.put(updateClause, clause);
+            copy.updateClauseQueue.add(clause);
+        }
+
+        if (typedParameter != null)
+        {
+            copy.typedParameter = typedParameter.copy(copy, clauses);
+        }
+        return copy;
+    }
+
     /**
      * Return parsed token string.
      * 
@@ -1265,6 +1347,39 @@ public class KunderaQuery
         {
             jpaParameters.add(param);
         }
+
+        /**
+         * Copies typed parameters into given query, pointing them to copied
+         * clauses.
+         * 
+         * @param owner
+         *            query owning the copy.
+         * @param clauses
+         *            original clause to copied clause mapping.
+         * @return copied typed parameter.
+         */
+        TypedParameter copy(KunderaQuery owner, Map<Object, Object> clauses)
+        {
+            TypedParameter copy = owner.new TypedParameter(type);
+            copy.jpaParameters.addAll(jpaParameters);
+            if (parameters != null)
+            {
+                for (Map.Entry<String, FilterClause> entry : parameters.entrySet())
+                {
+                    FilterClause clause = (FilterClause) clauses.get(entry.getValue());
+                    copy.addParameters(entry.getKey(), clause != null ? clause : entry.getValue().copy(owner));
+                }
+            }
+            if (updateParameters != null)
+            {
+                for (Map.Entry<String, UpdateClause> entry : updateParameters.entrySet())
+                {
+                    UpdateClause clause = (UpdateClause) clauses.get(entry.getValue());
+                    copy.addParameters(entry.getKey(), clause != null ? clause : entry.getValue().copy(owner));
+                }
+            }
+            return copy;
+        }
     }
 
     private enum Type
@@ -1394,4 +1509,4 @@ public class KunderaQuery
         return value;
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
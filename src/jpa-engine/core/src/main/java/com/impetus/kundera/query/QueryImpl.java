@@ -43,6 +43,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.Constants;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.metadata.model.ApplicationMetadata;
@@ -50,9 +51,12 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.DefaultEntityType;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.ReadMode;
 import com.impetus.kundera.persistence.context.PersistenceCacheManager;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.query.KunderaQuery.UpdateClause;
@@ -132,7 +136,16 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
     @Override
     public int executeUpdate()
     {
-        return onExecuteUpdate();
+        int updated = onExecuteUpdate();
+
+        // native or bulk updates may bypass flush, cached results are
+        // outdated either way.
+        EntityMetadata m = getEntityMetadata();
+        if (m != null)
+        {
+            kunderaMetadata.getQueryResultCache().invalidate(m.getEntityClazz());
+        }
+        return updated;
     }
 
     @Override
@@ -154,13 +167,99 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         }
         else
         {
-            results = fetch();
+            MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            results = isResultCacheable() ? fetchCached() : fetch();
             assignReferenceToProxy(results);
+            if (metrics.isEnabled())
+            {
+                EntityMetadata m = getEntityMetadata();
+                String persistenceUnit = m != null ? m.getPersistenceUnit() : null;
+                Class<?> entityClass = m != null ? m.getEntityClazz() : null;
+                metrics.recordLatency(Operation.QUERY, persistenceUnit, entityClass, System.nanoTime() - start);
+                metrics.recordCount(Operation.QUERY, persistenceUnit, entityClass, results != null ? results.size()
+                        : 0);
+            }
         }
 
         return results != null ? results : new ArrayList();
     }
 
+    /**
+     * Returns true, if query result may be served from and put into
+     * {@link QueryResultCache}, i.e. query selects entities and either
+     * entity is {@link javax.persistence.Cacheable}, query is hinted with
+     * {@link PersistenceProperties#KUNDERA_QUERY_CACHE} or query cache is
+     * enabled for persistence unit. Hint "false" turns caching off.
+     * 
+     * @return true, if query result is cacheable.
+     */
+    private boolean isResultCacheable()
+    {
+        if (!kunderaQuery.isAliasOnly())
+        {
+            return false;
+        }
+        Object hint = hints.get(PersistenceProperties.KUNDERA_QUERY_CACHE);
+        if (hint != null)
+        {
+            return Boolean.parseBoolean(hint.toString().trim());
+        }
+        return kunderaMetadata.isQueryCacheEnabled() || getEntityMetadata().isCacheable();
+    }
+
+    /**
+     * Resolves cached primary keys of query result through persistence
+     * context and second level cache, or else fetches result and caches its
+     * primary keys.
+     * 
+     * @return query result.
+     */
+    private List fetchCached()
+    {
+        QueryResultCache resultCache = kunderaMetadata.getQueryResultCache();
+        EntityMetadata m = getEntityMetadata();
+        Class entityClass = m.getEntityClazz();
+
+        List<Object> primaryKeys = resultCache.get(kunderaQuery, maxResult);
+        MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+        if (metrics.isEnabled())
+        {
+            metrics.recordCacheAccess(MetricsRecorder.QUERY_RESULT_CACHE, m.getPersistenceUnit(), entityClass,
+                    primaryKeys != null);
+        }
+        if (primaryKeys != null)
+        {
+            List results = persistenceDelegeator.find(entityClass, primaryKeys.toArray(),
+                    ReadMode.getReadMode(hints.get(PersistenceProperties.KUNDERA_READ_MODE), null));
+
+            // fall back to query, if any of entities is gone meanwhile.
+            if (results.size() == primaryKeys.size())
+            {
+                return results;
+            }
+        }
+
+        // generation is read before query, so that a concurrent write
+        // prevents caching of outdated result.
+        long generation = resultCache.getGeneration(entityClass);
+        List results = fetch();
+        if (results != null)
+        {
+            primaryKeys = new ArrayList<Object>(results.size());
+            for (Object result : results)
+            {
+                if (result == null || !entityClass.isInstance(result))
+                {
+                    return results;
+                }
+                primaryKeys.add(PropertyAccessorHelper.getId(result, m));
+            }
+            resultCache.put(kunderaQuery, maxResult, generation, primaryKeys);
+        }
+        return results;
+    }
+
     protected List<Object> setRelationEntities(List enhanceEntities, Client client, EntityMetadata m)
     {
         // Enhance entities can contain or may not contain relation.
@@ -169,15 +268,24 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         List<Object> result = new ArrayList<Object>();
         if (enhanceEntities != null)
         {
+            List<EnhanceEntity> ls = new ArrayList<EnhanceEntity>(enhanceEntities.size());
             for (Object e : enhanceEntities)
             {
                 if (!(e instanceof EnhanceEntity))
                 {
                     e = new EnhanceEntity(e, PropertyAccessorHelper.getId(e, m), null);
                 }
-                EnhanceEntity ee = (EnhanceEntity) e;
-                result.add(getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
-                        persistenceDelegeator, false));
+                ls.add((EnhanceEntity) e);
+            }
+
+            // relations of all entities are fetched together.
+            MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            result.addAll(getReader().recursivelyFindEntities(ls, m, persistenceDelegeator, false));
+            if (metrics.isEnabled())
+            {
+                metrics.recordLatency(Operation.RELATION_FETCH, m.getPersistenceUnit(), m.getEntityClazz(),
+                        System.nanoTime() - start);
             }
         }
 
@@ -213,7 +321,8 @@ public abstract class QueryImpl<E> implements Query, com.impetus.kundera.query.Q
         }
         else
         {
-            return (List<Object>) persistenceDelegeator.find(m.getEntityClazz(), uniquePKs.toArray());
+            return (List<Object>) persistenceDelegeator.find(m.getEntityClazz(), uniquePKs.toArray(),
+                    ReadMode.getReadMode(hints.get(PersistenceProperties.KUNDERA_READ_MODE), null));
         }
         return result;
     }
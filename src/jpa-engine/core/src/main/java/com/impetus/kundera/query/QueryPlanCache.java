@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded, thread safe cache of parsed {@link KunderaQuery} plans, one per
+ * entity manager factory. Cached plans are never handed out directly, every
+ * lookup returns a {@link KunderaQuery#copy()} ready for parameter binding.
+ */
+public class QueryPlanCache
+{
+    /** Default number of query plans held by cache. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Parsed query plans. */
+    private final Cache<PlanKey, KunderaQuery> plans;
+
+    /**
+     * Instantiates a new query plan cache.
+     *
+     * @param maxSize
+     *            maximum number of plans to hold, 0 disables caching.
+     */
+    public QueryPlanCache(int maxSize)
+    {
+        if (maxSize < 0)
+        {
+            throw new IllegalArgumentException("Query plan cache size must be >= 0");
+        }
+        this.plans = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * Returns copy of cached plan for given query, null if not cached.
+     *
+     * @param query
+     *            jpa query or named query name.
+     * @param isNative
+     *            true, if native query.
+     * @param mappedClass
+     *            mapped class, in case of native query.
+     * @return copy of cached plan or null.
+     */
+    KunderaQuery get(String query, boolean isNative, Class mappedClass)
+    {
+        KunderaQuery plan = plans.getIfPresent(new PlanKey(query, isNative, mappedClass));
+        return plan != null ? plan.copy() : null;
+    }
+
+    /**
+     * Caches parsed plan for given query. Plan must not be modified afterwards.
+     *
+     * @param query
+     *            jpa query or named query name.
+     * @param isNative
+     *            true, if native query.
+     * @param mappedClass
+     *            mapped class, in case of native query.
+     * @param plan
+     *            parsed query.
+     */
+    void put(String query, boolean isNative, Class mappedClass, KunderaQuery plan)
+    {
+        plans.put(new PlanKey(query, isNative, mappedClass), plan);
+    }
+
+    /**
+     * Discards all cached plans.
+     */
+    public void clear()
+    {
+        plans.invalidateAll();
+    }
+
+    /**
+     * @return number of cached plans.
+     */
+    public long size()
+    {
+        return plans.size();
+    }
+
+    /**
+     * @return number of lookups served from cache.
+     */
+    public long getHitCount()
+    {
+        return plans.stats().hitCount();
+    }
+
+    /**
+     * @return number of lookups which required query parsing.
+     */
+    public long getMissCount()
+    {
+        return plans.stats().missCount();
+    }
+
+    /**
+     * @return number of plans evicted because of size bound.
+     */
+    public long getEvictionCount()
+    {
+        return plans.stats().evictionCount();
+    }
+
+    @Override
+    public String toString()
+    {
+        CacheStats stats = plans.stats();
+        StringBuilder builder = new StringBuilder();
+        builder.append("QueryPlanCache [size=");
+        builder.append(plans.size());
+        builder.append(", hits=");
+        builder.append(stats.hitCount());
+        builder.append(", misses=");
+        builder.append(stats.missCount());
+        builder.append(", evictions=");
+        builder.append(stats.evictionCount());
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * Cache key, query string along with native flag and mapped class.
+     */
+    private static final class PlanKey
+    {
+        private final String query;
+
+        private final boolean isNative;
+
+        private final Class mappedClass;
+
+        PlanKey(String query, boolean isNative, Class mappedClass)
+        {
+            this.query = query;
+            this.isNative = isNative;
+            // mapped class is only meaningful for native queries.
+            this.mappedClass = isNative ? mappedClass : null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return new HashCodeBuilder().append(query).append(isNative).append(mappedClass).toHashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof PlanKey))
+            {
+                return false;
+            }
+            PlanKey other = (PlanKey) obj;
+            return new EqualsBuilder().append(query, other.query).append(isNative, other.isNative)
+                    .append(mappedClass, other.mappedClass).isEquals();
+        }
+    }
+}
@@ -61,13 +61,91 @@ public class QueryResolver
             throw new QueryHandlerException("Query String should not be null ");
         }
 
-        KunderaQuery kunderaQuery = null;
         ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
         String mappedQuery = appMetadata.getQuery(jpaQuery);
 
         isNative = mappedQuery != null ? appMetadata.isNative(jpaQuery) : isNative;
 
-        EntityMetadata m = null;
+        // Means if it is a namedNativeQuery.
+        if (isNative && appMetadata.isNative(jpaQuery))
+        {
+            mappedClass = appMetadata.getMappedClass(jpaQuery);
+        }
+
+        QueryPlanCache planCache = kunderaMetadata.getQueryPlanCache();
+        KunderaQuery kunderaQuery = planCache.get(jpaQuery, isNative, mappedClass);
+
+        if (kunderaQuery == null)
+        {
+            kunderaQuery = compile(jpaQuery, mappedQuery, mappedClass, isNative, kunderaMetadata);
+            planCache.put(jpaQuery, isNative, mappedClass, kunderaQuery.copy());
+        }
+
+        EntityMetadata m = isNative ? KunderaMetadataManager.getEntityMetadata(kunderaMetadata, mappedClass)
+                : kunderaQuery.getEntityMetadata();
+
+        Query query = null;
+
+        try
+        {
+            query = getQuery(jpaQuery, persistenceDelegator, m, kunderaQuery, kunderaMetadata);
+        }
+        catch (Exception e)
+        {
+            log.error(e.getMessage());
+            throw new QueryHandlerException(e);
+        }
+        return query;
+    }
+
+    /**
+     * Parses all named and named native queries of application and caches
+     * their plans, so that first execution of a named query does not pay for
+     * parsing. Invalid queries are logged and left to fail on execution.
+     * 
+     * @param kunderaMetadata
+     *            kundera metadata.
+     */
+    public void compileNamedQueries(final KunderaMetadata kunderaMetadata)
+    {
+        ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
+        QueryPlanCache planCache = kunderaMetadata.getQueryPlanCache();
+
+        for (String name : appMetadata.getQueryNames())
+        {
+            boolean isNative = appMetadata.isNative(name);
+            Class mappedClass = isNative ? appMetadata.getMappedClass(name) : null;
+            try
+            {
+                planCache.put(name, isNative, mappedClass,
+                        compile(name, appMetadata.getQuery(name), mappedClass, isNative, kunderaMetadata));
+            }
+            catch (Exception e)
+            {
+                log.warn("Unable to compile named query {}, caused by: {}.", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses given query into a {@link KunderaQuery}.
+     * 
+     * @param jpaQuery
+     *            the jpa query or named query name.
+     * @param mappedQuery
+     *            query mapped to given name, if it is a named query.
+     * @param mappedClass
+     *            mapped class, in case of native query.
+     * @param isNative
+     *            true, if native query.
+     * @param kunderaMetadata
+     *            kundera metadata.
+     * @return parsed kundera query.
+     */
+    private KunderaQuery compile(String jpaQuery, String mappedQuery, Class mappedClass, boolean isNative,
+            final KunderaMetadata kunderaMetadata)
+    {
+        KunderaQuery kunderaQuery = null;
 
         // In case of named native query
         if (!isNative)
@@ -78,52 +156,43 @@ public class QueryResolver
             parser.parse();
 
             kunderaQuery.postParsingInit();
-            m = kunderaQuery.getEntityMetadata();
         }
         else
         {
-            // Means if it is a namedNativeQuery.
-            if (appMetadata.isNative(jpaQuery))
-            {
-                mappedClass = appMetadata.getMappedClass(jpaQuery);
-            }
-
             kunderaQuery = new KunderaQuery(jpaQuery, kunderaMetadata);
 
             kunderaQuery.isNativeQuery = true;
 
-            m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, mappedClass);
-
-            Field entityClazzField = null;
-            try
-            {
-                entityClazzField = kunderaQuery.getClass().getDeclaredField("entityClass");
-                if (entityClazzField != null && !entityClazzField.isAccessible())
-                {
-                    entityClazzField.setAccessible(true);
-                }
-
-                entityClazzField.set(kunderaQuery, mappedClass);
-            }
-            catch (Exception e)
-            {
-                log.error(e.getMessage());
-                throw new QueryHandlerException(e);
-            }
+            setEntityClass(kunderaQuery, mappedClass);
         }
+        return kunderaQuery;
+    }
 
-        Query query = null;
-
+    /**
+     * Sets entity class on native query.
+     * 
+     * @param kunderaQuery
+     *            kundera query.
+     * @param entityClass
+     *            entity class.
+     */
+    private void setEntityClass(KunderaQuery kunderaQuery, Class entityClass)
+    {
         try
         {
-            query = getQuery(jpaQuery, persistenceDelegator, m, kunderaQuery, kunderaMetadata);
+            Field entityClazzField = kunderaQuery.getClass().getDeclaredField("entityClass");
+            if (entityClazzField != null && !entityClazzField.isAccessible())
+            {
+                entityClazzField.setAccessible(true);
+            }
+
+            entityClazzField.set(kunderaQuery, entityClass);
         }
         catch (Exception e)
         {
             log.error(e.getMessage());
             throw new QueryHandlerException(e);
         }
-        return query;
     }
 
     /**
@@ -182,21 +251,7 @@ public class QueryResolver
         KunderaQuery kunderaQuery = new KunderaQuery(jpaQuery, persistenceDelegator.getKunderaMetadata());
         kunderaQuery.isNativeQuery = true;
 
-        try
-        {
-            Field entityClazzField = kunderaQuery.getClass().getDeclaredField("entityClass");
-            if (entityClazzField != null && !entityClazzField.isAccessible())
-            {
-                entityClazzField.setAccessible(true);
-            }
-
-            entityClazzField.set(kunderaQuery, metadata.getEntityClazz());
-        }
-        catch (Exception e)
-        {
-            log.error(e.getMessage());
-            throw new QueryHandlerException(e);
-        }
+        setEntityClass(kunderaQuery, metadata.getEntityClazz());
 
         Query query = null;
 
@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.Parameter;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded, thread safe cache of query results, one per entity manager factory.
+ * Holds primary keys of entities returned by a query, keyed by normalized
+ * query string, bound parameter values and max results. Entities themselves
+ * are resolved through persistence context and second level cache.
+ * <p>
+ * Every entity class has a generation, increased once an insert, update or
+ * delete of that class is written. Results cached under an older generation
+ * are ignored.
+ */
+public class QueryResultCache
+{
+    /** Default number of query results held by cache. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Default time to live of query results, in seconds. */
+    public static final long DEFAULT_TTL = 300;
+
+    /** Cached primary keys. */
+    private final Cache<ResultKey, CachedResult> results;
+
+    /** Generation of each entity class. */
+    private final ConcurrentMap<Class<?>, AtomicLong> generations = new ConcurrentHashMap<Class<?>, AtomicLong>();
+
+    /** Lookups served from cache, outdated results are misses. */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Instantiates a new query result cache.
+     *
+     * @param maxSize
+     *            maximum number of results to hold, 0 disables caching.
+     * @param ttl
+     *            time to live of each result, in seconds.
+     */
+    public QueryResultCache(int maxSize, long ttl)
+    {
+        if (maxSize < 0 || ttl <= 0)
+        {
+            throw new IllegalArgumentException("Query result cache size must be >= 0 and time to live > 0");
+        }
+        this.results = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .recordStats().build();
+    }
+
+    /**
+     * Returns cached primary keys for given query, null if not cached or
+     * outdated by a write since.
+     *
+     * @param query
+     *            query with bound parameters.
+     * @param maxResult
+     *            max results of query.
+     * @return primary keys, in order of result.
+     */
+    List<Object> get(KunderaQuery query, int maxResult)
+    {
+        ResultKey key = new ResultKey(query, maxResult);
+        CachedResult result = results.getIfPresent(key);
+        if (result != null && result.generation != getGeneration(query.getEntityClass()))
+        {
+            results.invalidate(key);
+            result = null;
+        }
+        (result != null ? hitCount : missCount).incrementAndGet();
+        return result != null ? result.primaryKeys : null;
+    }
+
+    /**
+     * Caches primary keys of given query result.
+     *
+     * @param query
+     *            query with bound parameters.
+     * @param maxResult
+     *            max results of query.
+     * @param generation
+     *            generation of entity class read before query was executed.
+     * @param primaryKeys
+     *            primary keys, in order of result.
+     */
+    void put(KunderaQuery query, int maxResult, long generation, List<Object> primaryKeys)
+    {
+        if (generation == getGeneration(query.getEntityClass()))
+        {
+            results.put(new ResultKey(query, maxResult), new CachedResult(generation, primaryKeys));
+        }
+    }
+
+    /**
+     * @param entityClass
+     *            entity class.
+     * @return current generation of entity class.
+     */
+    long getGeneration(Class<?> entityClass)
+    {
+        AtomicLong generation = generations.get(entityClass);
+        return generation != null ? generation.get() : 0;
+    }
+
+    /**
+     * Invalidates cached results of given entity class and its super classes,
+     * as queries on those may return it too.
+     *
+     * @param entityClass
+     *            written entity class.
+     */
+    public void invalidate(Class<?> entityClass)
+    {
+        for (Class<?> clazz = entityClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+        {
+            AtomicLong generation = generations.get(clazz);
+            if (generation == null)
+            {
+                AtomicLong existing = generations.putIfAbsent(clazz, generation = new AtomicLong());
+                generation = existing != null ? existing : generation;
+            }
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void clear()
+    {
+        results.invalidateAll();
+    }
+
+    /**
+     * @return number of cached results.
+     */
+    public long size()
+    {
+        return results.size();
+    }
+
+    /**
+     * @return number of lookups served from cache.
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of lookups which required query execution.
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("QueryResultCache [size=");
+        builder.append(results.size());
+        builder.append(", hits=");
+        builder.append(hitCount.get());
+        builder.append(", misses=");
+        builder.append(missCount.get());
+        builder.append(", evictions=");
+        builder.append(results.stats().evictionCount());
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * Cached primary keys, along with generation of entity class they were
+     * read at.
+     */
+    private static final class CachedResult
+    {
+        private final long generation;
+
+        private final List<Object> primaryKeys;
+
+        CachedResult(long generation, List<Object> primaryKeys)
+        {
+            this.generation = generation;
+            this.primaryKeys = Collections.unmodifiableList(new ArrayList<Object>(primaryKeys));
+        }
+    }
+
+    /**
+     * Cache key, query string with whitespace collapsed, along with parameter
+     * values and max results.
+     */
+    private static final class ResultKey
+    {
+        private final String query;
+
+        private final Map<String, List<Object>> parameters = new TreeMap<String, List<Object>>();
+
+        private final int maxResult;
+
+        ResultKey(KunderaQuery kunderaQuery, int maxResult)
+        {
+            this.query = normalize(kunderaQuery.getJPAQuery());
+            this.maxResult = maxResult;
+            Set<Parameter<?>> jpaParameters = kunderaQuery.getParameters();
+            if (jpaParameters != null)
+            {
+                for (Parameter<?> parameter : jpaParameters)
+                {
+                    String name = parameter.getName() != null ? parameter.getName() : "?"
+                            + parameter.getPosition();
+                    parameters.put(name, kunderaQuery.getClauseValue(parameter));
+                }
+            }
+        }
+
+        /**
+         * Collapses runs of whitespace outside of quoted literals.
+         */
+        private static String normalize(String query)
+        {
+            StringBuilder builder = new StringBuilder(query.length());
+            char quote = 0;
+            boolean space = false;
+            for (char c : query.trim().toCharArray())
+            {
+                if (quote == 0 && Character.isWhitespace(c))
+                {
+                    space = true;
+                    continue;
+                }
+                if (space)
+                {
+                    builder.append(' ');
+                    space = false;
+                }
+                if (c == '\'' || c == '"')
+                {
+                    quote = quote == 0 ? c : (quote == c ? 0 : quote);
+                }
+                builder.append(c);
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return new HashCodeBuilder().append(query).append(parameters).append(maxResult).toHashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof ResultKey))
+            {
+                return false;
+            }
+            ResultKey other = (ResultKey) obj;
+            return new EqualsBuilder().append(query, other.query).append(parameters, other.parameters)
+                    .append(maxResult, other.maxResult).isEquals();
+        }
+    }
+}
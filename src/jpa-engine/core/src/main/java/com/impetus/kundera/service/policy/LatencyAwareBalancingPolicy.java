@@ -0,0 +1,198 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.service.policy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LatencyAwareBalancingPolicy keeps an exponentially decaying average of
+ * operation latency per pool and avoids pools noticeably slower than the
+ * fastest one. Remaining pools are handed to a child policy. Excluded pools
+ * are retried once their latency hasn't been updated for a while, so a
+ * recovered node is picked up again.
+ */
+public class LatencyAwareBalancingPolicy implements LoadBalancingPolicy
+{
+    /** Default ratio to fastest pool above which pool is avoided. */
+    public static final double DEFAULT_EXCLUSION_THRESHOLD = 2.0;
+
+    /** Default weight of a new latency sample. */
+    public static final double DEFAULT_DECAY_FACTOR = 0.25;
+
+    /** Default period after which an excluded pool is retried. */
+    public static final long DEFAULT_RETRY_PERIOD_MILLIS = 10000;
+
+    private final LoadBalancingPolicy childPolicy;
+
+    private final double exclusionThreshold;
+
+    private final double decayFactor;
+
+    private final long retryPeriodNanos;
+
+    private final ConcurrentMap<Object, Latency> latencies = new ConcurrentHashMap<Object, Latency>();
+
+    public LatencyAwareBalancingPolicy(LoadBalancingPolicy childPolicy)
+    {
+        this(childPolicy, DEFAULT_EXCLUSION_THRESHOLD, DEFAULT_DECAY_FACTOR, DEFAULT_RETRY_PERIOD_MILLIS);
+    }
+
+    /**
+     * @param childPolicy
+     *            policy choosing among pools which aren't too slow.
+     * @param exclusionThreshold
+     *            ratio to fastest pool above which pool is avoided, >= 1.
+     * @param decayFactor
+     *            weight of a new latency sample, between 0 and 1.
+     * @param retryPeriodMillis
+     *            period after which an excluded pool is retried.
+     */
+    public LatencyAwareBalancingPolicy(LoadBalancingPolicy childPolicy, double exclusionThreshold,
+            double decayFactor, long retryPeriodMillis)
+    {
+        if (exclusionThreshold < 1 || decayFactor <= 0 || decayFactor > 1)
+        {
+            throw new IllegalArgumentException("Exclusion threshold must be >= 1, decay factor within (0, 1]");
+        }
+        this.childPolicy = childPolicy;
+        this.exclusionThreshold = exclusionThreshold;
+        this.decayFactor = decayFactor;
+        this.retryPeriodNanos = TimeUnit.MILLISECONDS.toNanos(retryPeriodMillis);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.service.policy.LoadBalancingPolicy#getPool(java.util
+     * .Collection)
+     */
+    @Override
+    public Object getPool(Collection<Object> pools)
+    {
+        long now = System.nanoTime();
+        double fastest = Double.MAX_VALUE;
+        for (Object pool : pools)
+        {
+            Latency latency = latencies.get(pool);
+            if (latency != null)
+            {
+                fastest = Math.min(fastest, latency.getAverage());
+            }
+        }
+
+        if (fastest == Double.MAX_VALUE)
+        {
+            return childPolicy.getPool(pools);
+        }
+
+        List<Object> candidates = new ArrayList<Object>(pools.size());
+        for (Object pool : pools)
+        {
+            Latency latency = latencies.get(pool);
+            if (latency == null || latency.getAverage() <= fastest * exclusionThreshold
+                    || now - latency.getLastUpdated() > retryPeriodNanos)
+            {
+                candidates.add(pool);
+            }
+        }
+        return childPolicy.getPool(candidates);
+    }
+
+    /**
+     * Records latency of an operation served by given pool.
+     * 
+     * @param pool
+     *            pool operation was served by.
+     * @param latencyNanos
+     *            latency in nanoseconds.
+     */
+    public void recordLatency(Object pool, long latencyNanos)
+    {
+        Latency latency = latencies.get(pool);
+        if (latency == null)
+        {
+            Latency newLatency = new Latency();
+            latency = latencies.putIfAbsent(pool, newLatency);
+            latency = latency != null ? latency : newLatency;
+        }
+        latency.update(latencyNanos, decayFactor);
+    }
+
+    /**
+     * Discards latency recorded for given pool, e.g. once it is closed.
+     * 
+     * @param pool
+     *            pool.
+     */
+    public void removePool(Object pool)
+    {
+        latencies.remove(pool);
+    }
+
+    /**
+     * @param pool
+     *            pool.
+     * @return average latency of pool in nanoseconds, -1 if unknown.
+     */
+    public double getAverageLatency(Object pool)
+    {
+        Latency latency = latencies.get(pool);
+        return latency != null ? latency.getAverage() : -1;
+    }
+
+    /**
+     * Exponentially decaying latency average, updated lock free.
+     */
+    private static final class Latency
+    {
+        private final AtomicLong average = new AtomicLong(-1);
+
+        private volatile long lastUpdated;
+
+        void update(long sample, double decayFactor)
+        {
+            while (true)
+            {
+                long current = average.get();
+                double previous = current == -1 ? sample : Double.longBitsToDouble(current);
+                double updated = decayFactor * sample + (1 - decayFactor) * previous;
+                if (average.compareAndSet(current, Double.doubleToLongBits(updated)))
+                {
+                    lastUpdated = System.nanoTime();
+                    return;
+                }
+            }
+        }
+
+        double getAverage()
+        {
+            long current = average.get();
+            return current == -1 ? 0 : Double.longBitsToDouble(current);
+        }
+
+        long getLastUpdated()
+        {
+            return lastUpdated;
+        }
+    }
+}
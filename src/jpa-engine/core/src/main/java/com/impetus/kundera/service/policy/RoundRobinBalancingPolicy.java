@@ -16,11 +16,13 @@
 package com.impetus.kundera.service.policy;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Iterables;
 
 /**
- * RoundRobinBalancingPolicy returns pool using round robin algorithm.
+ * RoundRobinBalancingPolicy returns pool using round robin algorithm. Counter
+ * is advanced lock free, so policy can be shared across threads.
  * 
  * @author Kuldeep.Mishra
  * 
@@ -28,11 +30,10 @@ import com.google.common.collect.Iterables;
 public final class RoundRobinBalancingPolicy implements LoadBalancingPolicy
 {
 
-    private int counter;
+    private final AtomicInteger counter = new AtomicInteger();
 
     public RoundRobinBalancingPolicy()
     {
-        counter = 0;
     }
 
     /*
@@ -57,16 +58,7 @@ public final class RoundRobinBalancingPolicy implements LoadBalancingPolicy
 
     private int getAndIncrement(int size)
     {
-        int counterToReturn;
-        synchronized (this)
-        {
-            if (counter >= 16384)
-            {
-                counter = 0;
-            }
-            counterToReturn = counter++;
-        }
-
-        return counterToReturn % size;
+        // masking sign bit keeps index positive once counter overflows.
+        return (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
     }
 }
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link Future} which transforms result of another future once it is
+ * available. Transformation runs on thread first retrieving result and is
+ * applied only once, subsequent calls return same result. Resources held for
+ * wrapped future can be freed in {@link #release()}.
+ * 
+ * @param <I>
+ *            result type of wrapped future.
+ * @param <O>
+ *            result type of this future.
+ */
+public abstract class TransformedFuture<I, O> implements Future<O>
+{
+    /** Wrapped future. */
+    private final Future<I> input;
+
+    /** Transformed result, valid once done. */
+    private O output;
+
+    /** Failure of transformation, if any. */
+    private Throwable failure;
+
+    private boolean transformed;
+
+    private boolean released;
+
+    /**
+     * Instantiates a new transformed future.
+     * 
+     * @param input
+     *            future to transform result of.
+     */
+    protected TransformedFuture(Future<I> input)
+    {
+        this.input = input;
+    }
+
+    /**
+     * Transforms result of wrapped future.
+     * 
+     * @param result
+     *            result of wrapped future.
+     * @return transformed result.
+     * @throws Exception
+     *             if transformation fails.
+     */
+    protected abstract O transform(I result) throws Exception;
+
+    /**
+     * Invoked once, after wrapped future has completed or has been cancelled.
+     * Does nothing by default.
+     */
+    protected void release()
+    {
+        // do nothing.
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+        boolean cancelled = input.cancel(mayInterruptIfRunning);
+        if (cancelled)
+        {
+            onCompletion();
+        }
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled()
+    {
+        return input.isCancelled();
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return input.isDone();
+    }
+
+    @Override
+    public O get() throws InterruptedException, ExecutionException
+    {
+        I result;
+        try
+        {
+            result = input.get();
+        }
+        catch (ExecutionException e)
+        {
+            onCompletion();
+            throw e;
+        }
+        return onResult(result);
+    }
+
+    @Override
+    public O get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        I result;
+        try
+        {
+            result = input.get(timeout, unit);
+        }
+        catch (ExecutionException e)
+        {
+            onCompletion();
+            throw e;
+        }
+        return onResult(result);
+    }
+
+    private synchronized void onCompletion()
+    {
+        if (!released)
+        {
+            released = true;
+            release();
+        }
+    }
+
+    private synchronized O onResult(I result) throws ExecutionException
+    {
+        if (!transformed)
+        {
+            transformed = true;
+            try
+            {
+                output = transform(result);
+            }
+            catch (Throwable t)
+            {
+                failure = t;
+            }
+            finally
+            {
+                onCompletion();
+            }
+        }
+        if (failure != null)
+        {
+            throw new ExecutionException(failure);
+        }
+        return output;
+    }
+}
@@ -230,6 +230,54 @@ public class EntityTransactionTest
         }
     }
 
+    @Test
+    public void testCoalescedCommit()
+    {
+        em.getTransaction().begin();
+
+        Person p1 = prepareData("21", 10);
+        Person p2 = prepareData("22", 20);
+        em.persist(p1);
+        em.persist(p2);
+
+        // queued writes on same entity are coalesced, last state wins.
+        p1.setPersonName("updated");
+        em.merge(p1);
+
+        // persisted and removed within transaction, never written.
+        em.remove(p2);
+
+        em.getTransaction().commit();
+        em.clear();
+
+        Person p = findById(Person.class, "21", em);
+        Assert.assertNotNull(p);
+        Assert.assertEquals("updated", p.getPersonName());
+        Assert.assertNull(findById(Person.class, "22", em));
+    }
+
+    @Test
+    public void testUpdateThenRemoveCommit()
+    {
+        em.getTransaction().begin();
+        em.persist(prepareData("23", 30));
+        em.getTransaction().commit();
+        em.clear();
+
+        em.getTransaction().begin();
+
+        // stored entity queued for update without merge, then removed.
+        Person p = findById(Person.class, "23", em);
+        p.setPersonName("updated");
+        em.persist(p);
+        em.remove(p);
+
+        em.getTransaction().commit();
+        em.clear();
+
+        Assert.assertNull(findById(Person.class, "23", em));
+    }
+
     /**
      * Tear down.
      * 
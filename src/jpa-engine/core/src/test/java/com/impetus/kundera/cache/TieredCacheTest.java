@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * junit for {@link TieredCache} and {@link TieredCacheProvider}.
+ */
+public class TieredCacheTest
+{
+    @Test
+    public void testOffHeapTier()
+    {
+        TieredCache cache = new TieredCache(2, 1024 * 1024, 1);
+        cache.put("a", "value-a");
+        cache.put("b", "value-b");
+        cache.put("c", "value-c");
+
+        // "a" is moved off heap, and back on heap once read.
+        Assert.assertEquals(3, cache.size());
+        Assert.assertTrue(cache.contains(null, "a"));
+        Assert.assertEquals("value-a", cache.get("a"));
+        Assert.assertEquals("value-b", cache.get("b"));
+        Assert.assertEquals("value-c", cache.get("c"));
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(0, cache.getEvictedCount());
+
+        cache.evict(null, "a");
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(2, cache.size());
+
+        cache.evictAll();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void testNonSerializableValue()
+    {
+        TieredCache cache = new TieredCache(1, 1024 * 1024, 1);
+        Object value = new Object();
+        cache.put("a", value);
+        Assert.assertSame(value, cache.get("a"));
+
+        // can't be moved off heap, hence dropped.
+        cache.put("b", "value-b");
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(1, cache.getEvictedCount());
+    }
+
+    @Test
+    public void testOffHeapEviction()
+    {
+        // each value takes ~100 bytes once serialized.
+        TieredCache cache = new TieredCache(1, 512, 1);
+        for (int i = 0; i < 20; i++)
+        {
+            cache.put("key" + i, String.format("%-96d", i));
+        }
+
+        // oldest values are overwritten once arena is full.
+        Assert.assertNull(cache.get("key0"));
+        Assert.assertEquals(String.format("%-96d", 19), cache.get("key19"));
+        Assert.assertEquals(String.format("%-96d", 18), cache.get("key18"));
+        Assert.assertTrue(cache.getEvictedCount() > 0);
+        Assert.assertTrue(cache.size() < 20);
+    }
+
+    @Test
+    public void testEvictClass()
+    {
+        TieredCache cache = new TieredCache(1, 1024 * 1024, 2);
+        cache.put(String.class.getName() + "$1", "one");
+        cache.put(String.class.getName() + "$2", "two");
+        cache.put(Integer.class.getName() + "$1", "three");
+
+        cache.evict(String.class);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals("three", cache.get(Integer.class.getName() + "$1"));
+    }
+
+    @Test
+    public void testProvider()
+    {
+        TieredCacheProvider provider = new TieredCacheProvider();
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(TieredCacheProvider.HEAP_SIZE, "100");
+        props.put(TieredCacheProvider.OFFHEAP_SIZE, "1m");
+        props.put(TieredCacheProvider.OFFHEAP_SEGMENTS, "4");
+        provider.init(props);
+
+        javax.persistence.Cache cache = provider.createCache("person");
+        Assert.assertSame(cache, provider.getCache("person"));
+        ((Cache) cache).put("a", "value-a");
+        Assert.assertEquals("value-a", ((Cache) cache).get("a"));
+
+        provider.shutdown();
+        Assert.assertEquals(0, ((Cache) cache).size());
+
+        props.put(TieredCacheProvider.OFFHEAP_SIZE, "invalid");
+        try
+        {
+            provider.init(props);
+            Assert.fail("Should have failed for invalid off heap size");
+        }
+        catch (CacheException cex)
+        {
+            Assert.assertNotNull(cex.getMessage());
+        }
+    }
+}
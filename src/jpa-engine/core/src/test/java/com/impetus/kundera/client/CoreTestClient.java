@@ -21,7 +21,7 @@ import com.impetus.kundera.query.CoreTestEntityReader;
 import com.impetus.kundera.query.LuceneQuery;
 
 public class CoreTestClient extends ClientBase implements Client<LuceneQuery>, AutoGenerator, TableGenerator,
-        SequenceGenerator, IdentityGenerator, ClientPropertiesSetter
+        SequenceGenerator, IdentityGenerator, ClientPropertiesSetter, MultiGetClient
 {
 
     private static int idCount;
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.entity;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * Entity with an eagerly fetched many to one relation.
+ */
+@Entity
+@Table(name = "book", schema = "KunderaTest@kunderatest")
+public class Book
+{
+    @Id
+    @Column(name = "BOOK_ID")
+    private String bookId;
+
+    @Column(name = "TITLE")
+    private String title;
+
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @JoinColumn(name = "PUBLISHER_ID")
+    private Publisher publisher;
+
+    public Book()
+    {
+    }
+
+    public Book(String bookId, String title)
+    {
+        this.bookId = bookId;
+        this.title = title;
+    }
+
+    public String getBookId()
+    {
+        return bookId;
+    }
+
+    public void setBookId(String bookId)
+    {
+        this.bookId = bookId;
+    }
+
+    public String getTitle()
+    {
+        return title;
+    }
+
+    public void setTitle(String title)
+    {
+        this.title = title;
+    }
+
+    public Publisher getPublisher()
+    {
+        return publisher;
+    }
+
+    public void setPublisher(Publisher publisher)
+    {
+        this.publisher = publisher;
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.entity;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Entity with a compound primary key.
+ */
+@Entity
+@Table(name = "employee", schema = "KunderaTest@kunderatest")
+public class Employee
+{
+    @EmbeddedId
+    private EmployeeKey key;
+
+    @Column(name = "employee_name")
+    private String name;
+
+    public Employee()
+    {
+    }
+
+    public Employee(EmployeeKey key, String name)
+    {
+        this.key = key;
+        this.name = name;
+    }
+
+    public EmployeeKey getKey()
+    {
+        return key;
+    }
+
+    public void setKey(EmployeeKey key)
+    {
+        this.key = key;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+/**
+ * Compound primary key of {@link Employee}.
+ */
+@Embeddable
+public class EmployeeKey
+{
+    @Column(name = "department")
+    private String department;
+
+    @Column(name = "employee_id")
+    private int employeeId;
+
+    public EmployeeKey()
+    {
+    }
+
+    public EmployeeKey(String department, int employeeId)
+    {
+        this.department = department;
+        this.employeeId = employeeId;
+    }
+
+    public String getDepartment()
+    {
+        return department;
+    }
+
+    public int getEmployeeId()
+    {
+        return employeeId;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof EmployeeKey))
+        {
+            return false;
+        }
+        EmployeeKey other = (EmployeeKey) obj;
+        return department.equals(other.department) && employeeId == other.employeeId;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return department.hashCode() * 31 + employeeId;
+    }
+
+    @Override
+    public String toString()
+    {
+        return department + ":" + employeeId;
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Target of {@link Book}'s many to one relation.
+ */
+@Entity
+@Table(name = "publisher", schema = "KunderaTest@kunderatest")
+public class Publisher
+{
+    @Id
+    @Column(name = "PUBLISHER_ID")
+    private String publisherId;
+
+    @Column(name = "PUBLISHER_NAME")
+    private String name;
+
+    public Publisher()
+    {
+    }
+
+    public Publisher(String publisherId, String name)
+    {
+        this.publisherId = publisherId;
+        this.name = name;
+    }
+
+    public String getPublisherId()
+    {
+        return publisherId;
+    }
+
+    public void setPublisherId(String publisherId)
+    {
+        this.publisherId = publisherId;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+}
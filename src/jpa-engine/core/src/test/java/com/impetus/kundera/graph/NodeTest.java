@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.graph;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.lifecycle.states.ManagedState;
+import com.impetus.kundera.persistence.PersonalDetailEmbedded;
+import com.impetus.kundera.persistence.PersonnelEmbedded;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
+import com.impetus.kundera.persistence.context.PersistenceCache;
+
+/**
+ * Test case for dirty checking of {@link Node}.
+ */
+public class NodeTest
+{
+    private PersistenceCache pc;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        pc = new PersistenceCache();
+    }
+
+    @Test
+    public void testLoadedSnapshot()
+    {
+        PersonnelEmbedded person = getPerson();
+        String nodeId = ObjectGraphUtils.getNodeId(1, PersonnelEmbedded.class);
+        Node node = new Node(nodeId, person, new ManagedState(), pc, 1, null);
+        node.setLoadedSnapshot(EntitySnapshot.capture(person, null));
+
+        Assert.assertFalse(node.isModified(person));
+        Assert.assertTrue(node.getModifiedFields().isEmpty());
+
+        person.setAge(31);
+        Assert.assertTrue(node.isModified(person));
+        Assert.assertEquals(1, node.getModifiedFields().size());
+        Assert.assertTrue(node.getModifiedFields().contains("age"));
+
+        // a merged copy is compared against snapshot as well.
+        PersonnelEmbedded copy = getPerson();
+        copy.getPersonalDetail().setAddress("noida");
+        Assert.assertTrue(node.isModified(copy));
+        Assert.assertTrue(node.getModifiedFields().contains("personalDetail"));
+        Assert.assertFalse(node.getModifiedFields().contains("age"));
+
+        // original node is rebuilt out of snapshot.
+        PersonnelEmbedded original = (PersonnelEmbedded) node.getOriginalNode().getData();
+        Assert.assertNotSame(person, original);
+        Assert.assertEquals(30, original.getAge());
+    }
+
+    @Test
+    public void testWithoutLoadedSnapshot()
+    {
+        PersonnelEmbedded person = getPerson();
+        String nodeId = ObjectGraphUtils.getNodeId(1, PersonnelEmbedded.class);
+        Node node = new Node(nodeId, person, new ManagedState(), pc, 1, null);
+
+        Assert.assertFalse(node.isModified(getPerson()));
+        Assert.assertNull(node.getModifiedFields());
+
+        PersonnelEmbedded copy = getPerson();
+        copy.setName("amresh");
+        Assert.assertTrue(node.isModified(copy));
+        Assert.assertNull(node.getModifiedFields());
+
+        // snapshot of a persisted entity, must not be used for rollback.
+        node.setSnapshot(EntitySnapshot.capture(person, null));
+        Assert.assertNull(node.getOriginalNode());
+        Assert.assertTrue(node.isModified(copy));
+        Assert.assertTrue(node.getModifiedFields().contains("name"));
+    }
+
+    private PersonnelEmbedded getPerson()
+    {
+        PersonalDetailEmbedded detail = new PersonalDetailEmbedded();
+        detail.setPhoneNo(1);
+        detail.setEmailId("vivek@impetus.co.in");
+        detail.setAddress("delhi");
+
+        PersonnelEmbedded person = new PersonnelEmbedded();
+        person.setId(1);
+        person.setName("vivek");
+        person.setAge(30);
+        person.setPersonalDetail(detail);
+        return person;
+    }
+}
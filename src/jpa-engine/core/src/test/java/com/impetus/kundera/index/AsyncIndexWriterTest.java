@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * junit for {@link AsyncIndexWriter}.
+ */
+public class AsyncIndexWriterTest
+{
+    private final List<String> applied = Collections.synchronizedList(new ArrayList<String>());
+
+    @Test
+    public void testCoalescing() throws Exception
+    {
+        BulkTestIndexer indexer = new BulkTestIndexer();
+        AsyncIndexWriter writer = new AsyncIndexWriter(indexer, 10, 1);
+
+        // keep worker busy, so that following operations stay queued.
+        CountDownLatch latch = new CountDownLatch(1);
+        writer.submit("block", block(latch));
+
+        writer.submit("a", record("a1"));
+        writer.submit("b", record("b1"));
+        writer.submit("a", record("a2"));
+        Assert.assertEquals(1, writer.getCoalescedCount());
+        Assert.assertTrue(writer.getLag() >= 0);
+
+        latch.countDown();
+        writer.flush();
+
+        // last write wins, and moves behind other pending operations.
+        Assert.assertEquals(2, applied.size());
+        Assert.assertEquals("b1", applied.get(0));
+        Assert.assertEquals("a2", applied.get(1));
+        Assert.assertEquals(0, writer.getPendingCount());
+        Assert.assertEquals(0, writer.getLag());
+        Assert.assertEquals(3, writer.getAppliedCount());
+        Assert.assertEquals(indexer.begin, indexer.end);
+        Assert.assertTrue(indexer.begin >= 1);
+
+        writer.close();
+    }
+
+    @Test
+    public void testBackpressure() throws Exception
+    {
+        final AsyncIndexWriter writer = new AsyncIndexWriter(null, 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        writer.submit("block", block(latch));
+        // returns once worker has taken blocking operation out of queue.
+        writer.submit("a", record("a"));
+
+        final CountDownLatch submitted = new CountDownLatch(1);
+        Thread producer = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                writer.submit("b", record("b"));
+                submitted.countDown();
+            }
+        });
+        producer.start();
+
+        // queue is full, producer must wait.
+        Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+        latch.countDown();
+        Assert.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        writer.flush();
+        Assert.assertEquals(2, applied.size());
+
+        writer.close();
+    }
+
+    @Test
+    public void testFailure()
+    {
+        AsyncIndexWriter writer = new AsyncIndexWriter(null, 10, 10);
+        writer.submit("a", new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                throw new IndexingException("failed");
+            }
+        });
+        writer.submit("b", record("b"));
+
+        try
+        {
+            writer.flush();
+            Assert.fail("Should have failed on flush");
+        }
+        catch (IndexingException iex)
+        {
+            Assert.assertEquals("failed", iex.getCause().getMessage());
+        }
+
+        // later operations are still applied, failure is reported once.
+        Assert.assertEquals(1, applied.size());
+        writer.flush();
+
+        writer.close();
+        try
+        {
+            writer.submit("c", record("c"));
+            Assert.fail("Should have failed on closed writer");
+        }
+        catch (IndexingException iex)
+        {
+            Assert.assertNotNull(iex.getMessage());
+        }
+    }
+
+    private Runnable record(final String value)
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                applied.add(value);
+            }
+        };
+    }
+
+    private Runnable block(final CountDownLatch latch)
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    latch.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static class BulkTestIndexer extends CoreTestIndexer implements BulkIndexer
+    {
+        private volatile int begin;
+
+        private volatile int end;
+
+        @Override
+        public void beginBulk()
+        {
+            begin++;
+        }
+
+        @Override
+        public void endBulk()
+        {
+            end++;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.query.Person;
+
+/**
+ * junit for {@link IndexManager}.
+ */
+public class IndexManagerTest
+{
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory("patest");
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        emf.close();
+    }
+
+    @Test
+    public void testQueuedUpdate() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Map<String, Object>> indexed = Collections.synchronizedList(new ArrayList<Map<String, Object>>());
+        IndexManager manager = new IndexManager(new CoreTestIndexer()
+        {
+            @Override
+            public void index(Class entityClazz, EntityMetadata entityMetadata, Map<String, Object> values,
+                    Object parentId, Class parentClazz)
+            {
+                try
+                {
+                    latch.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                indexed.add(new HashMap<String, Object>(values));
+            }
+        }, kunderaMetadata, 10);
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Person.class);
+        Person first = new Person();
+        first.setPersonId("1");
+        first.setPersonName("vivek");
+        Person second = new Person();
+        second.setPersonId("2");
+        second.setPersonName("kuldeep");
+
+        // worker waits on first one, second stays queued.
+        manager.update(metadata, first, null, Person.class);
+        manager.update(metadata, second, null, Person.class);
+        second.setPersonName("amresh");
+        latch.countDown();
+        manager.flush();
+
+        // indexed as it was when submitted.
+        Assert.assertEquals(2, indexed.size());
+        Assert.assertTrue(indexed.get(1).containsValue("kuldeep"));
+        Assert.assertFalse(indexed.get(1).containsValue("amresh"));
+        Assert.assertTrue(indexed.get(1).containsValue("2"));
+        manager.close();
+    }
+}
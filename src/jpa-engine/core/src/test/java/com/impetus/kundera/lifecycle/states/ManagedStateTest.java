@@ -173,7 +173,7 @@ public class ManagedStateTest
         Assert.assertEquals(ManagedState.class, storeNode.getCurrentNodeState().getClass());
         Assert.assertTrue(storeNode.isUpdate());
         Assert.assertNotNull(storeNode.getPersistenceCache().getMainCache()
-                .getNodeFromCache(storeNode.getNodeId(), null));
+                .getNodeFromCache(storeNode.getNodeId(), storeNode.getDataClass(), null));
 
         // for (Node childNode : storeNode.getChildren().values())
         // {
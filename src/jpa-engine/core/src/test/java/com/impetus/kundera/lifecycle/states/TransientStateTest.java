@@ -111,7 +111,7 @@ public class TransientStateTest
         Assert.assertEquals(ManagedState.class, storeNode.getCurrentNodeState().getClass());
         Assert.assertTrue(storeNode.isDirty());
         Assert.assertNotNull(storeNode.getPersistenceCache().getMainCache()
-                .getNodeFromCache(storeNode.getNodeId(), null));
+                .getNodeFromCache(storeNode.getNodeId(), storeNode.getDataClass(), null));
 
         // for (Node childNode : storeNode.getChildren().values())
         // {
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.index.CoreTestIndexer;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * junit for {@link JmxMetricsRecorder}.
+ */
+public class JmxMetricsRecorderTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (emf != null && emf.isOpen())
+        {
+            em.close();
+            emf.close();
+        }
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testRecordedOperations() throws Exception
+    {
+        init(JmxMetricsRecorder.class.getName());
+        JmxMetricsRecorder recorder = (JmxMetricsRecorder) ((EntityManagerFactoryImpl) emf)
+                .getKunderaMetadataInstance().getMetricsRecorder();
+
+        em.persist(new PersonnelDTO("m1", "vivek", "mishra"));
+        em.clear();
+        Assert.assertNotNull(em.find(PersonnelDTO.class, "m1"));
+        Assert.assertEquals(1, em.createQuery("Select p from PersonnelDTO p where p.personId = 'm1'")
+                .getResultList().size());
+
+        MetricsStats persist = recorder.getStats(Operation.PERSIST, PU, PersonnelDTO.class);
+        Assert.assertNotNull(persist);
+        Assert.assertEquals(1, persist.getOperationCount());
+        Assert.assertEquals(1, persist.getRowCount());
+
+        Assert.assertEquals(1, recorder.getStats(Operation.FIND, PU, PersonnelDTO.class).getOperationCount());
+
+        MetricsStats query = recorder.getStats(Operation.QUERY, PU, PersonnelDTO.class);
+        Assert.assertEquals(1, query.getOperationCount());
+        Assert.assertEquals(1.0, query.getMeanRowCount(), 0.001);
+
+        // stats are registered until factory is closed.
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName names = new ObjectName(JmxMetricsRecorder.DOMAIN + ":type=Metrics,persistenceUnit=\"" + PU
+                + "\",*");
+        Assert.assertFalse(mbeanServer.queryNames(names, null).isEmpty());
+        em.close();
+        emf.close();
+        Assert.assertTrue(mbeanServer.queryNames(names, null).isEmpty());
+    }
+
+    @Test
+    public void testIndexingStats() throws Exception
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_METRICS_RECORDER_CLASS, JmxMetricsRecorder.class.getName());
+        props.put(PersistenceProperties.KUNDERA_INDEXER_CLASS, CoreTestIndexer.class.getName());
+        props.put(PersistenceProperties.KUNDERA_INDEX_ASYNC_QUEUE_SIZE, "10");
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+        JmxMetricsRecorder recorder = (JmxMetricsRecorder) ((EntityManagerFactoryImpl) emf)
+                .getKunderaMetadataInstance().getMetricsRecorder();
+
+        IndexingStats indexing = recorder.getIndexingStats(PU);
+        Assert.assertNotNull(indexing);
+        Assert.assertEquals(0, indexing.getPendingIndexOperations());
+        Assert.assertEquals(0, indexing.getIndexingLagMillis());
+
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(JmxMetricsRecorder.DOMAIN + ":type=Metrics,persistenceUnit=\"" + PU
+                + "\",entity=all,operation=Indexing");
+        Assert.assertTrue(mbeanServer.isRegistered(name));
+        Assert.assertEquals(0, mbeanServer.getAttribute(name, "PendingIndexOperations"));
+        em.close();
+        emf.close();
+        Assert.assertFalse(mbeanServer.isRegistered(name));
+    }
+
+    @Test
+    public void testIndexingStatsInline()
+    {
+        init(JmxMetricsRecorder.class.getName());
+        JmxMetricsRecorder recorder = (JmxMetricsRecorder) ((EntityManagerFactoryImpl) emf)
+                .getKunderaMetadataInstance().getMetricsRecorder();
+        Assert.assertNull(recorder.getIndexingStats(PU));
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        init(null);
+        MetricsRecorder recorder = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()
+                .getMetricsRecorder();
+        Assert.assertSame(NoOpMetricsRecorder.INSTANCE, recorder);
+        Assert.assertFalse(recorder.isEnabled());
+    }
+
+    @Test
+    public void testStats()
+    {
+        JmxMetricsRecorder recorder = new JmxMetricsRecorder();
+        Assert.assertNull(recorder.getStats(Operation.FIND, PU, PersonnelDTO.class));
+
+        for (int i = 1; i <= 100; i++)
+        {
+            recorder.recordLatency(Operation.FIND, PU, PersonnelDTO.class, i * 1000000L);
+        }
+        MetricsStats stats = recorder.getStats(Operation.FIND, PU, PersonnelDTO.class);
+        Assert.assertEquals(100, stats.getOperationCount());
+        Assert.assertEquals(50.5, stats.getMeanLatencyMillis(), 0.001);
+        Assert.assertEquals(100.0, stats.getMaxLatencyMillis(), 0.001);
+
+        // percentiles are bucket bounds, within factor 2.
+        Assert.assertTrue(stats.getLatency50thPercentileMillis() >= 50
+                && stats.getLatency50thPercentileMillis() <= 100);
+        Assert.assertEquals(100.0, stats.getLatency99thPercentileMillis(), 0.001);
+
+        recorder.recordCount(Operation.EXECUTE_BATCH, PU, null, 10);
+        recorder.recordCount(Operation.EXECUTE_BATCH, PU, null, 20);
+        Assert.assertEquals(15.0, recorder.getStats(Operation.EXECUTE_BATCH, PU, null).getMeanRowCount(), 0.001);
+
+        recorder.recordCacheAccess(MetricsRecorder.SECOND_LEVEL_CACHE, PU, PersonnelDTO.class, true);
+        recorder.recordCacheAccess(MetricsRecorder.SECOND_LEVEL_CACHE, PU, PersonnelDTO.class, false);
+        Assert.assertEquals(0.5, recorder.getCacheStats(MetricsRecorder.SECOND_LEVEL_CACHE, PU, PersonnelDTO.class)
+                .getHitRatio(), 0.001);
+
+        recorder.close();
+        Assert.assertNull(recorder.getStats(Operation.FIND, PU, PersonnelDTO.class));
+    }
+
+    private void init(String recorderClass)
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        if (recorderClass != null)
+        {
+            props.put(PersistenceProperties.KUNDERA_METRICS_RECORDER_CLASS, recorderClass);
+        }
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+    }
+}
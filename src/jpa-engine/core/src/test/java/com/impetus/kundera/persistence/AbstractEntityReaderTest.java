@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.client.CoreTestClient;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.entity.Book;
+import com.impetus.kundera.entity.Publisher;
+import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.query.CoreTestEntityReader;
+
+/**
+ * junit for fetching relations of a list of entities in
+ * {@link AbstractEntityReader}.
+ */
+public class AbstractEntityReaderTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private KunderaMetadata kunderaMetadata;
+
+    private PersistenceDelegator pd;
+
+    private CountingClient client;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        em = emf.createEntityManager();
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+
+        em.persist(new Publisher("pub1", "penguin"));
+        em.persist(new Publisher("pub2", "harper"));
+        em.clear();
+
+        pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        client = new CountingClient(new IndexManager(null, kunderaMetadata), PU, kunderaMetadata);
+        pd.loadClient(PU, client);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testSharedTarget()
+    {
+        List<Object> books = find(book("b1", "pub1"), book("b2", "pub1"), book("b3", "pub2"));
+
+        // one multi key find for all distinct publishers.
+        Assert.assertEquals(1, client.findAllCount);
+        Assert.assertEquals(2, client.findAllKeys);
+        Assert.assertEquals(0, client.findCount);
+
+        Assert.assertEquals(3, books.size());
+        Publisher first = assertPublisher(books.get(0), "b1", "pub1", "penguin");
+        Publisher second = assertPublisher(books.get(1), "b2", "pub1", "penguin");
+        assertPublisher(books.get(2), "b3", "pub2", "harper");
+
+        // every owner gets its own instance, as when found one by one.
+        Assert.assertNotSame(first, second);
+    }
+
+    @Test
+    public void testDistinctTargets()
+    {
+        List<Object> books = find(book("b1", "pub1"), book("b2", "pub2"));
+
+        Assert.assertEquals(1, client.findAllCount);
+        Assert.assertEquals(2, client.findAllKeys);
+        Assert.assertEquals(0, client.findCount);
+
+        Assert.assertEquals(2, books.size());
+        Publisher first = assertPublisher(books.get(0), "b1", "pub1", "penguin");
+        Publisher second = assertPublisher(books.get(1), "b2", "pub2", "harper");
+        Assert.assertNotSame(first, second);
+    }
+
+    @Test
+    public void testSingleTarget()
+    {
+        List<Object> books = find(book("b1", "pub1"), book("b2", "pub1"));
+
+        // nothing to save over a single find.
+        Assert.assertEquals(0, client.findAllCount);
+        Assert.assertEquals(2, client.findCount);
+
+        assertPublisher(books.get(0), "b1", "pub1", "penguin");
+        assertPublisher(books.get(1), "b2", "pub1", "penguin");
+    }
+
+    private List<Object> find(EnhanceEntity... books)
+    {
+        List<EnhanceEntity> entities = new ArrayList<EnhanceEntity>();
+        for (EnhanceEntity book : books)
+        {
+            entities.add(book);
+        }
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, Book.class);
+        return new CoreTestEntityReader(kunderaMetadata).recursivelyFindEntities(entities, m, pd, false);
+    }
+
+    private EnhanceEntity book(String bookId, String publisherId)
+    {
+        Map<String, Object> relations = new HashMap<String, Object>();
+        relations.put("PUBLISHER_ID", publisherId);
+        return new EnhanceEntity(new Book(bookId, "title of " + bookId), bookId, relations);
+    }
+
+    private Publisher assertPublisher(Object result, String bookId, String publisherId, String name)
+    {
+        Book book = (Book) result;
+        Assert.assertEquals(bookId, book.getBookId());
+        Assert.assertNotNull(book.getPublisher());
+        Assert.assertEquals(publisherId, book.getPublisher().getPublisherId());
+        Assert.assertEquals(name, book.getPublisher().getName());
+        return book.getPublisher();
+    }
+
+    /**
+     * Counts finds issued by entity reader.
+     */
+    private static class CountingClient extends CoreTestClient
+    {
+        private int findCount;
+
+        private int findAllCount;
+
+        private int findAllKeys;
+
+        private boolean inFindAll;
+
+        private CountingClient(IndexManager indexManager, String persistenceUnit, KunderaMetadata kunderaMetadata)
+        {
+            super(indexManager, persistenceUnit, kunderaMetadata);
+        }
+
+        @Override
+        public Object find(Class entityClass, Object key)
+        {
+            if (!inFindAll)
+            {
+                findCount++;
+            }
+            return super.find(entityClass, key);
+        }
+
+        @Override
+        public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
+        {
+            findAllCount++;
+            findAllKeys += keys.length;
+            inFindAll = true;
+            try
+            {
+                return super.findAll(entityClass, columnsToSelect, keys);
+            }
+            finally
+            {
+                inFindAll = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.AsyncClient;
+import com.impetus.kundera.client.CoreTestClient;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.utils.TransformedFuture;
+
+/**
+ * junit for {@link AsyncEntityManager}.
+ */
+public class AsyncEntityManagerTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private AsyncEntityManager asyncEm;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_ASYNC_POOL_SIZE, "2");
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+        asyncEm = em.unwrap(AsyncEntityManager.class);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testCrud() throws Exception
+    {
+        Future<Void> persisted = asyncEm.persistAsync(new PersonnelDTO("1", "vivek", "mishra"));
+        persisted.get();
+        Assert.assertTrue(persisted.isDone());
+        em.clear();
+
+        PersonnelDTO found = asyncEm.findAsync(PersonnelDTO.class, "1").get();
+        Assert.assertNotNull(found);
+        Assert.assertEquals("vivek", found.getFirstName());
+
+        List<PersonnelDTO> results = asyncEm.<PersonnelDTO> getResultListAsync(
+                em.createQuery("Select p from PersonnelDTO p where p.personId = '1'")).get();
+        Assert.assertEquals(1, results.size());
+
+        asyncEm.removeAsync(found).get();
+        em.clear();
+        Assert.assertNull(asyncEm.findAsync(PersonnelDTO.class, "1").get());
+    }
+
+    @Test
+    public void testFailure() throws Exception
+    {
+        try
+        {
+            asyncEm.findAsync(PersonnelDTO.class, null);
+            Assert.fail("Should have failed for null primary key");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected.
+        }
+
+        try
+        {
+            asyncEm.persistAsync(null).get();
+            Assert.fail("Should have failed for null entity");
+        }
+        catch (ExecutionException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof KunderaException);
+        }
+
+        em.close();
+        try
+        {
+            asyncEm.persistAsync(new PersonnelDTO("2", "vivek", "mishra"));
+            Assert.fail("Should have failed for closed entity manager");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected.
+        }
+        em = emf.createEntityManager();
+    }
+
+    @Test
+    public void testUseWhilePending() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            // holds executor, so that persist stays pending.
+            final CountDownLatch latch = new CountDownLatch(1);
+            executor.submit(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws Exception
+                {
+                    latch.await();
+                    return null;
+                }
+            });
+
+            AsyncEntityManager pendingEm = new AsyncEntityManagerImpl((EntityManagerImpl) em, executor);
+            Future<Void> persisted = pendingEm.persistAsync(new PersonnelDTO("3", "vivek", "mishra"));
+            Future<PersonnelDTO> cancelled = pendingEm.findAsync(PersonnelDTO.class, "3");
+            try
+            {
+                em.find(PersonnelDTO.class, "3");
+                Assert.fail("Should have failed while persist is pending");
+            }
+            catch (IllegalStateException e)
+            {
+                // expected.
+            }
+
+            Assert.assertTrue(cancelled.cancel(false));
+            latch.countDown();
+            persisted.get();
+
+            // usable as soon as outcome of pending operations is known.
+            Assert.assertNotNull(em.find(PersonnelDTO.class, "3"));
+            em.remove(em.find(PersonnelDTO.class, "3"));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNativeFind() throws Exception
+    {
+        em.persist(new PersonnelDTO("4", "vivek", "mishra"));
+        em.clear();
+
+        KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        NativeClient client = new NativeClient(new IndexManager(null, kunderaMetadata), PU, kunderaMetadata);
+        ((EntityManagerImpl) em).getPersistenceDelegator().loadClient(PU, client);
+
+        Future<PersonnelDTO> found = asyncEm.findAsync(PersonnelDTO.class, "4");
+        Assert.assertTrue(client.started.await(10, TimeUnit.SECONDS));
+
+        // native find is pending until driver completes it.
+        try
+        {
+            em.find(PersonnelDTO.class, "4");
+            Assert.fail("Should have failed while native find is pending");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected.
+        }
+        try
+        {
+            em.close();
+            Assert.fail("Should have failed to close while native find is pending");
+        }
+        catch (IllegalStateException e)
+        {
+            Assert.assertTrue(em.isOpen());
+        }
+        Assert.assertFalse(found.isDone());
+
+        client.task.run();
+        Assert.assertEquals("vivek", found.get().getFirstName());
+        Assert.assertTrue(found.isDone());
+
+        // served by persistence cache now.
+        Assert.assertNotNull(asyncEm.findAsync(PersonnelDTO.class, "4").get());
+        Assert.assertEquals(1, client.nativeFinds);
+        em.remove(em.find(PersonnelDTO.class, "4"));
+    }
+
+    @Test
+    public void testTransformedFuture() throws Exception
+    {
+        FutureTask<String> task = new FutureTask<String>(new Callable<String>()
+        {
+            @Override
+            public String call()
+            {
+                return "kundera";
+            }
+        });
+        final int[] counts = new int[2];
+        Future<Integer> future = new TransformedFuture<String, Integer>(task)
+        {
+            @Override
+            protected Integer transform(String result)
+            {
+                counts[0]++;
+                return result.length();
+            }
+
+            @Override
+            protected void release()
+            {
+                counts[1]++;
+            }
+        };
+
+        task.run();
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(Integer.valueOf(7), future.get());
+        Assert.assertEquals(Integer.valueOf(7), future.get());
+        Assert.assertEquals(1, counts[0]);
+        Assert.assertEquals(1, counts[1]);
+    }
+
+    /**
+     * Client serving finds natively, completed once test runs its task.
+     */
+    private static class NativeClient extends CoreTestClient implements AsyncClient
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private volatile FutureTask<Object> task;
+
+        private int nativeFinds;
+
+        private NativeClient(IndexManager indexManager, String persistenceUnit, KunderaMetadata kunderaMetadata)
+        {
+            super(indexManager, persistenceUnit, kunderaMetadata);
+        }
+
+        @Override
+        public Future<Object> findAsync(final Class entityClass, final Object key, final Runnable onCompletion)
+        {
+            nativeFinds++;
+            task = new FutureTask<Object>(new Callable<Object>()
+            {
+                @Override
+                public Object call()
+                {
+                    return find(entityClass, key);
+                }
+            })
+            {
+                @Override
+                protected void done()
+                {
+                    onCompletion.run();
+                }
+            };
+            started.countDown();
+            return task;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.graph.ObjectGraphUtils;
+
+/**
+ * junit for batch initialization of lazy proxies.
+ */
+public class BatchFetchTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testBatchInitialization()
+    {
+        init("2");
+        Assert.assertEquals(2, ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getBatchFetchSize());
+
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        persist("b1", "b2", "b3");
+        pd.addPendingProxy(PersonnelDTO.class, "b1");
+        pd.addPendingProxy(PersonnelDTO.class, "b2");
+        pd.addPendingProxy(PersonnelDTO.class, "b3");
+
+        PersonnelDTO person = pd.initializeProxy(PersonnelDTO.class, "b1");
+        Assert.assertNotNull(person);
+        Assert.assertEquals("b1", person.getPersonId());
+
+        // next pending proxy is loaded along, up to batch fetch size.
+        Assert.assertTrue(isCached(pd, "b2"));
+        Assert.assertFalse(isCached(pd, "b3"));
+
+        Assert.assertNotNull(pd.initializeProxy(PersonnelDTO.class, "b3"));
+        Assert.assertTrue(isCached(pd, "b3"));
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        init(null);
+        Assert.assertEquals(1, ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getBatchFetchSize());
+
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        persist("d1", "d2");
+        pd.addPendingProxy(PersonnelDTO.class, "d1");
+        pd.addPendingProxy(PersonnelDTO.class, "d2");
+
+        Assert.assertNotNull(pd.initializeProxy(PersonnelDTO.class, "d1"));
+        Assert.assertFalse(isCached(pd, "d2"));
+    }
+
+    @Test
+    public void testInvalidBatchFetchSize()
+    {
+        init(null);
+        try
+        {
+            ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().setBatchFetchSize(0);
+            Assert.fail("Should have failed for invalid batch fetch size");
+        }
+        catch (IllegalArgumentException iaex)
+        {
+            Assert.assertTrue(iaex.getMessage().contains(PersistenceProperties.KUNDERA_BATCH_FETCH_SIZE));
+        }
+    }
+
+    private void init(String batchFetchSize)
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        if (batchFetchSize != null)
+        {
+            props.put(PersistenceProperties.KUNDERA_BATCH_FETCH_SIZE, batchFetchSize);
+        }
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+    }
+
+    private void persist(String... ids)
+    {
+        for (String id : ids)
+        {
+            em.persist(new PersonnelDTO(id, "vivek", "mishra"));
+        }
+        em.clear();
+    }
+
+    private boolean isCached(PersistenceDelegator pd, String id)
+    {
+        return pd.getPersistenceCache().getMainCache()
+                .getNodeFromCache(ObjectGraphUtils.getNodeId(id, PersonnelDTO.class), PersonnelDTO.class, pd) != null;
+    }
+}
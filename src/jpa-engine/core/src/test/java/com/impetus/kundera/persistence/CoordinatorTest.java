@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.persistence.KunderaEntityTransaction.TxAction;
+import com.impetus.kundera.persistence.TransactionResource.Response;
+
+/**
+ * junit for {@link Coordinator}.
+ */
+public class CoordinatorTest
+{
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    private final List<String> rolledBack = Collections.synchronizedList(new ArrayList<String>());
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelCommit()
+    {
+        // each commit waits for all others, passes only if run in parallel.
+        CountDownLatch latch = new CountDownLatch(3);
+        Coordinator coordinator = new Coordinator(executor);
+        coordinator.addResource(new TestResource("pu1", latch, false), "pu1");
+        coordinator.addResource(new TestResource("pu2", latch, false), "pu2");
+        coordinator.addResource(new TestResource("pu3", latch, false), "pu3");
+
+        coordinator.coordinate(TxAction.BEGIN);
+        Assert.assertTrue(coordinator.isTransactionActive());
+        Assert.assertEquals(Response.YES, coordinator.coordinate(TxAction.COMMIT));
+        Assert.assertFalse(coordinator.isTransactionActive());
+
+        Map<String, Long> timings = coordinator.getTimings();
+        Assert.assertEquals(3, timings.size());
+        Assert.assertEquals("[pu1, pu2, pu3]", timings.keySet().toString());
+        Assert.assertTrue(rolledBack.isEmpty());
+    }
+
+    @Test
+    public void testPartialFailure()
+    {
+        Coordinator coordinator = new Coordinator(executor);
+        coordinator.addResource(new TestResource("pu1", null, true), "pu1");
+        coordinator.addResource(new TestResource("pu2", null, false), "pu2");
+        coordinator.addResource(new TestResource("pu3", null, true), "pu3");
+        coordinator.addResource(new TestResource("pu4", null, true), "pu4");
+        coordinator.coordinate(TxAction.BEGIN);
+
+        try
+        {
+            coordinator.coordinate(TxAction.COMMIT);
+            Assert.fail("Should have failed on commit");
+        }
+        catch (KunderaTransactionException e)
+        {
+            // reported in order of registration.
+            Assert.assertTrue(e.getMessage().contains("[pu1, pu3, pu4]"));
+            Assert.assertEquals("pu1", e.getCause().getMessage());
+        }
+
+        // all are rolled back, including committed one, in reverse order.
+        Assert.assertEquals("[pu4, pu3, pu2, pu1]", rolledBack.toString());
+        Assert.assertFalse(coordinator.isTransactionActive());
+    }
+
+    @Test
+    public void testSerialCommit()
+    {
+        Coordinator coordinator = new Coordinator();
+        coordinator.addResource(new TestResource("pu1", null, false), "pu1");
+        coordinator.addResource(new TestResource("pu2", null, true), "pu2");
+        coordinator.addResource(new TestResource("pu3", null, false), "pu3");
+        coordinator.coordinate(TxAction.BEGIN);
+
+        try
+        {
+            coordinator.coordinate(TxAction.COMMIT);
+            Assert.fail("Should have failed on commit");
+        }
+        catch (KunderaTransactionException e)
+        {
+            Assert.assertEquals("pu2", e.getMessage());
+        }
+
+        // stops at first failure, leaving transaction to be rolled back.
+        Assert.assertEquals("[pu1, pu2]", coordinator.getTimings().keySet().toString());
+        Assert.assertTrue(coordinator.isTransactionActive());
+        coordinator.coordinate(TxAction.ROLLBACK);
+        Assert.assertFalse(coordinator.isTransactionActive());
+    }
+
+    @Test
+    public void testLinksUpdatedBeforeParallelCommit()
+    {
+        final Thread caller = Thread.currentThread();
+        final List<Thread> updatedOn = Collections.synchronizedList(new ArrayList<Thread>());
+        Coordinator coordinator = new Coordinator(executor);
+        for (String pu : new String[] { "pu1", "pu2", "pu3" })
+        {
+            coordinator.addResource(new DefaultTransactionResource(null)
+            {
+                @Override
+                void updateLinks()
+                {
+                    updatedOn.add(Thread.currentThread());
+                }
+            }, pu);
+        }
+
+        coordinator.coordinate(TxAction.BEGIN);
+        Assert.assertEquals(Response.YES, coordinator.coordinate(TxAction.COMMIT));
+        Assert.assertEquals(Collections.nCopies(3, caller), updatedOn);
+    }
+
+    private class TestResource implements TransactionResource
+    {
+        private final String pu;
+
+        private final CountDownLatch latch;
+
+        private final boolean fail;
+
+        private volatile boolean active;
+
+        private TestResource(String pu, CountDownLatch latch, boolean fail)
+        {
+            this.pu = pu;
+            this.latch = latch;
+            this.fail = fail;
+        }
+
+        @Override
+        public void onBegin()
+        {
+            active = true;
+        }
+
+        @Override
+        public void onCommit()
+        {
+            if (latch != null)
+            {
+                latch.countDown();
+                try
+                {
+                    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail)
+            {
+                throw new KunderaTransactionException(pu);
+            }
+            active = false;
+        }
+
+        @Override
+        public void onRollback()
+        {
+            rolledBack.add(pu);
+            active = false;
+        }
+
+        @Override
+        public void onFlush()
+        {
+        }
+
+        @Override
+        public Response prepare()
+        {
+            return Response.YES;
+        }
+
+        @Override
+        public boolean isActive()
+        {
+            return active;
+        }
+    }
+}
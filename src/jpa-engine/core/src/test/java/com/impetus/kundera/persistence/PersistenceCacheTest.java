@@ -90,7 +90,8 @@ public class PersistenceCacheTest
         
         PersistenceDelegator pd = new PersistenceDelegator(emfImpl.getKunderaMetadataInstance(), pc);
 
-        Node headNode = pc.getMainCache().getNodeFromCache(ObjectGraphUtils.getNodeId("1", Store.class), pd);
+        Node headNode = pc.getMainCache().getNodeFromCache(ObjectGraphUtils.getNodeId("1", Store.class), Store.class,
+                pd);
 
         Assert.assertNotNull(headNode);
         Assert.assertNull(headNode.getParents());
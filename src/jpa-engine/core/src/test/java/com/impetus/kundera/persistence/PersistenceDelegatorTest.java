@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.impetus.kundera.persistence;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,7 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.persistence.Query;
 
 import junit.framework.Assert;
 
@@ -32,14 +34,21 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.CoreTestClient;
 import com.impetus.kundera.configure.CoreEntityAddressUni1To1;
+import com.impetus.kundera.entity.Employee;
+import com.impetus.kundera.entity.EmployeeKey;
 import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.graph.Node;
+import com.impetus.kundera.index.IndexManager;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.entities.AssociationEntity;
 import com.impetus.kundera.metadata.entities.OToOOwnerEntity;
 import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.query.QueryHandlerException;
 
 public class PersistenceDelegatorTest
@@ -181,6 +190,61 @@ public class PersistenceDelegatorTest
         List<PersonnelDTO> persons = pd.find(PersonnelDTO.class, new String[] { "111", "222", "333" });
         Assert.assertNotNull(persons);
         Assert.assertEquals(3, persons.size());
+
+        // fetched from client in one go, in order of keys, duplicates and
+        // missing keys are dropped.
+        em.clear();
+        persons = pd.find(PersonnelDTO.class, new String[] { "333", "111", "444", "333" });
+        Assert.assertEquals(2, persons.size());
+        Assert.assertEquals("333", persons.get(0).getPersonId());
+        Assert.assertEquals("111", persons.get(1).getPersonId());
+    }
+
+    @Test
+    public void testFindForCompoundKeys()
+    {
+        em.persist(new Employee(new EmployeeKey("sales", 1), "vivek"));
+        em.persist(new Employee(new EmployeeKey("sales", 2), "amresh"));
+        em.persist(new PersonnelDTO("555", "kuldeep", "mishra"));
+        em.clear();
+
+        KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        CountingClient client = new CountingClient(new IndexManager(null, kunderaMetadata), kunderaMetadata);
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        pd.loadClient("kunderatest", client);
+
+        // compound keys are read one by one, same as single key find.
+        List<Employee> employees = pd.find(Employee.class, new EmployeeKey("sales", 2), new EmployeeKey("sales", 3),
+                new EmployeeKey("sales", 1));
+        Assert.assertEquals(2, employees.size());
+        Assert.assertEquals("amresh", employees.get(0).getName());
+        Assert.assertEquals(new EmployeeKey("sales", 1), employees.get(1).getKey());
+        Assert.assertEquals("vivek", employees.get(1).getName());
+        Assert.assertEquals(0, client.findAllCalls);
+
+        List<PersonnelDTO> persons = pd.find(PersonnelDTO.class, "555", "666");
+        Assert.assertEquals(1, persons.size());
+        Assert.assertEquals(1, client.findAllCalls);
+    }
+
+    @Test
+    public void testQueryCacheOnBatchExecute()
+    {
+        KunderaMetadata kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+        PersistenceDelegator pd = ((EntityManagerImpl) em).getPersistenceDelegator();
+        Client client = pd.getClient(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, PersonnelDTO.class));
+        pd.loadClient("kunderatest", new BatchClient(client.getIndexManager(), kunderaMetadata));
+
+        // batched, not written before batch is executed.
+        em.persist(new PersonnelDTO("777", "vivek", "mishra"));
+        Query query = em.createQuery("Select p from PersonnelDTO p where p.personId = :id");
+        query.setParameter("id", "777");
+        query.setHint(PersistenceProperties.KUNDERA_QUERY_CACHE, true);
+        Assert.assertTrue(query.getResultList().isEmpty());
+
+        // result cached meanwhile is invalidated once batch is executed.
+        em.flush();
+        Assert.assertEquals(1, query.getResultList().size());
     }
 
     @Test
@@ -478,6 +542,61 @@ public class PersistenceDelegatorTest
         pd.clear();
     }
 
+    private static class CountingClient extends CoreTestClient
+    {
+        private int findAllCalls;
+
+        private CountingClient(IndexManager indexManager, KunderaMetadata kunderaMetadata)
+        {
+            super(indexManager, "kunderatest", kunderaMetadata);
+        }
+
+        @Override
+        public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
+        {
+            findAllCalls++;
+            return super.findAll(entityClass, columnsToSelect, keys);
+        }
+    }
+
+    private static class BatchClient extends CoreTestClient implements Batcher
+    {
+        private final List<Node> batch = new ArrayList<Node>();
+
+        private BatchClient(IndexManager indexManager, KunderaMetadata kunderaMetadata)
+        {
+            super(indexManager, "kunderatest", kunderaMetadata);
+        }
+
+        @Override
+        public void addBatch(Node node)
+        {
+            batch.add(node);
+        }
+
+        @Override
+        public int executeBatch()
+        {
+            for (Node node : batch)
+            {
+                persist(node);
+            }
+            return batch.size();
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return 10;
+        }
+
+        @Override
+        public void clear()
+        {
+            batch.clear();
+        }
+    }
+
     private void applyOperations(PersistenceDelegator pd, OToOOwnerEntity found, AssociationEntity association,
             boolean remove)
     {
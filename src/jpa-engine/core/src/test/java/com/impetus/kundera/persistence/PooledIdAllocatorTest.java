@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * junit for {@link PooledIdAllocator}.
+ */
+public class PooledIdAllocatorTest
+{
+    @Test
+    public void testBlocks()
+    {
+        HiLoCounter counter = new HiLoCounter(1, 10);
+        PooledIdAllocator allocator = new PooledIdAllocator(10);
+
+        // first block starts at initial value, next ones at hi * allocation
+        // size.
+        for (long expected = 1; expected < 30; expected++)
+        {
+            Assert.assertEquals(expected, allocator.next(counter));
+        }
+        Assert.assertEquals(3, counter.calls.get());
+    }
+
+    @Test
+    public void testFailedReservation()
+    {
+        final HiLoCounter counter = new HiLoCounter(1, 4);
+        PooledIdAllocator allocator = new PooledIdAllocator(4);
+        Callable<Long> failing = new Callable<Long>()
+        {
+            @Override
+            public Long call() throws Exception
+            {
+                throw new IllegalStateException("connection closed");
+            }
+        };
+        Assert.assertEquals(1, allocator.next(counter));
+
+        // ids of current block are handed out without datastore call.
+        Assert.assertEquals(2, allocator.next(failing));
+        Assert.assertEquals(3, allocator.next(failing));
+        try
+        {
+            allocator.next(failing);
+            Assert.fail("Should have failed to reserve next block");
+        }
+        catch (IllegalStateException isex)
+        {
+            Assert.assertEquals("connection closed", isex.getMessage());
+        }
+
+        // block is reserved again by next caller.
+        Assert.assertEquals(4, allocator.next(counter));
+        Assert.assertEquals(2, counter.calls.get());
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws Exception
+    {
+        final HiLoCounter counter = new HiLoCounter(1, 50);
+        final PooledIdAllocator allocator = new PooledIdAllocator(50);
+        final Set<Long> ids = Collections.synchronizedSet(new HashSet<Long>());
+        final Set<Long> duplicates = Collections.synchronizedSet(new HashSet<Long>());
+        final int threads = 8;
+        final int idsPerThread = 1000;
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++)
+        {
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (int i = 0; i < idsPerThread; i++)
+                    {
+                        Long id = allocator.next(counter);
+                        if (!ids.add(id))
+                        {
+                            duplicates.add(id);
+                        }
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+
+        Assert.assertTrue(duplicates.isEmpty());
+        Assert.assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    /**
+     * Mimics a hi/lo datastore counter.
+     */
+    private static class HiLoCounter implements Callable<Long>
+    {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final int initialValue;
+
+        private final int allocationSize;
+
+        private HiLoCounter(int initialValue, int allocationSize)
+        {
+            this.initialValue = initialValue;
+            this.allocationSize = allocationSize;
+        }
+
+        @Override
+        public Long call()
+        {
+            int hi = calls.incrementAndGet();
+            return hi == 1 ? (long) initialValue : (long) (hi - 1) * allocationSize;
+        }
+    }
+}
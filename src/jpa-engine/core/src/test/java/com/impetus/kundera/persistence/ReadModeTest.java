@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.entity.PersonnelDTO;
+
+/**
+ * junit for {@link ReadMode}.
+ */
+public class ReadModeTest
+{
+    private static final String PU = "kunderatest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testCopyMode()
+    {
+        init(null);
+        persist("1");
+
+        PersonnelDTO first = em.find(PersonnelDTO.class, "1");
+        PersonnelDTO second = em.find(PersonnelDTO.class, "1");
+        Assert.assertNotNull(first);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getFirstName(), second.getFirstName());
+    }
+
+    @Test
+    public void testDirectModeHint()
+    {
+        init(null);
+        persist("2");
+
+        Map<String, Object> hints = new HashMap<String, Object>();
+        hints.put(PersistenceProperties.KUNDERA_READ_MODE, "direct");
+
+        PersonnelDTO first = em.find(PersonnelDTO.class, "2", hints);
+        PersonnelDTO second = em.find(PersonnelDTO.class, "2", hints);
+        Assert.assertNotNull(first);
+        Assert.assertSame(first, second);
+
+        // default mode of unit still applies without hint.
+        Assert.assertNotSame(first, em.find(PersonnelDTO.class, "2"));
+    }
+
+    @Test
+    public void testDirectMode()
+    {
+        init("direct");
+        Assert.assertEquals(ReadMode.DIRECT, ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()
+                .getReadMode());
+        persist("3");
+
+        PersonnelDTO person = em.find(PersonnelDTO.class, "3");
+        Assert.assertSame(person, em.find(PersonnelDTO.class, "3"));
+
+        // modification on managed entity itself must be detected on merge.
+        person.setFirstName("amresh");
+        em.merge(person);
+        em.clear();
+
+        PersonnelDTO found = em.find(PersonnelDTO.class, "3");
+        Assert.assertEquals("amresh", found.getFirstName());
+    }
+
+    @Test
+    public void testGetReadMode()
+    {
+        init(null);
+        Assert.assertEquals(ReadMode.COPY, ReadMode.getReadMode(null, ReadMode.COPY));
+        Assert.assertNull(ReadMode.getReadMode(null, null));
+        Assert.assertEquals(ReadMode.DIRECT, ReadMode.getReadMode(" Direct ", null));
+        Assert.assertEquals(ReadMode.DIRECT, ReadMode.getReadMode(ReadMode.DIRECT, ReadMode.COPY));
+        try
+        {
+            ReadMode.getReadMode("shared", ReadMode.COPY);
+            Assert.fail("Should have failed for invalid read mode");
+        }
+        catch (IllegalArgumentException iaex)
+        {
+            Assert.assertTrue(iaex.getMessage().contains("shared"));
+        }
+    }
+
+    private void init(String readMode)
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        if (readMode != null)
+        {
+            props.put(PersistenceProperties.KUNDERA_READ_MODE, readMode);
+        }
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        em = emf.createEntityManager();
+    }
+
+    private void persist(String id)
+    {
+        PersonnelDTO person = new PersonnelDTO(id, "vivek", "mishra");
+        em.persist(person);
+        em.clear();
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.cache.Cache;
+import com.impetus.kundera.cache.TieredCacheProvider;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.entity.album.AlbumUni_1_1_1_1;
+import com.impetus.kundera.entity.album.AlbumUni_1_M_1_M;
+import com.impetus.kundera.entity.photographer.PhotographerUni_1_1_1_1;
+import com.impetus.kundera.entity.photographer.PhotographerUni_1_M_1_M;
+import com.impetus.kundera.graph.ObjectGraphUtils;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
+
+/**
+ * junit for second level cache holding disassembled entities.
+ */
+public class SecondLevelCacheTest
+{
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp()
+    {
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_CACHE_PROVIDER_CLASS, TieredCacheProvider.class.getName());
+        emf = Persistence.createEntityManagerFactory("kunderatest", props);
+        em = emf.createEntityManager();
+    }
+
+    @After
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testDisassembledState()
+    {
+        PhotographerUni_1_1_1_1 photographer = new PhotographerUni_1_1_1_1();
+        photographer.setPhotographerId(1);
+        photographer.setPhotographerName("Amresh");
+        photographer.setAlbum(new AlbumUni_1_1_1_1("album_1", "My Phuket Vacation", "Went Phuket with friends"));
+        em.persist(photographer);
+
+        Cache l2Cache = (Cache) ((EntityManagerFactoryImpl) emf).getCache();
+        Object cached = l2Cache.get(ObjectGraphUtils.getNodeId(1, PhotographerUni_1_1_1_1.class));
+        Assert.assertTrue(cached instanceof EntitySnapshot);
+
+        // found from second level cache, rehydrated along with its album.
+        EntityManager em2 = emf.createEntityManager();
+        PhotographerUni_1_1_1_1 found = em2.find(PhotographerUni_1_1_1_1.class, 1);
+        Assert.assertNotNull(found);
+        Assert.assertNotSame(photographer, found);
+        Assert.assertEquals("Amresh", found.getPhotographerName());
+        Assert.assertNotNull(found.getAlbum());
+        Assert.assertEquals("My Phuket Vacation", found.getAlbum().getAlbumName());
+
+        // cached state is not shared with found instances.
+        found.setPhotographerName("Vivek");
+        EntityManager em3 = emf.createEntityManager();
+        Assert.assertEquals("Amresh", em3.find(PhotographerUni_1_1_1_1.class, 1).getPhotographerName());
+
+        // can't be rehydrated without its album, read from database instead.
+        l2Cache.evict(AlbumUni_1_1_1_1.class, ObjectGraphUtils.getNodeId("album_1", AlbumUni_1_1_1_1.class));
+        EntityManager em4 = emf.createEntityManager();
+        Assert.assertNotNull(em4.find(PhotographerUni_1_1_1_1.class, 1));
+
+        // closing an entity manager clears second level cache too, hence at last.
+        em4.close();
+        em3.close();
+        em2.close();
+    }
+
+    @Test
+    public void testUnmodifiableAssociation()
+    {
+        PhotographerUni_1_M_1_M photographer = new PhotographerUni_1_M_1_M();
+        photographer.setPhotographerId(2);
+        photographer.setPhotographerName("Kuldeep");
+        photographer.setAlbums(Collections.singletonList(new AlbumUni_1_M_1_M("album_2", "My Goa Vacation",
+                "Went Goa with friends")));
+        em.persist(photographer);
+
+        // rehydrated into a modifiable list.
+        EntityManager em2 = emf.createEntityManager();
+        PhotographerUni_1_M_1_M found = em2.find(PhotographerUni_1_M_1_M.class, 2);
+        Assert.assertNotNull(found);
+        Assert.assertEquals(1, found.getAlbums().size());
+        Assert.assertEquals("My Goa Vacation", found.getAlbums().get(0).getAlbumName());
+        em2.close();
+    }
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.persistence.context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.metadata.entities.Article;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.PersonalDetailEmbedded;
+import com.impetus.kundera.persistence.PersonnelEmbedded;
+import com.impetus.kundera.query.Person;
+import com.impetus.kundera.query.Person.Day;
+
+/**
+ * junit for {@link EntitySnapshot}.
+ */
+public class EntitySnapshotTest
+{
+    private EntityManagerFactory emf;
+
+    private KunderaMetadata kunderaMetadata;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory("patest");
+        kunderaMetadata = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        emf.close();
+    }
+
+    @Test
+    public void testModification()
+    {
+        PersonnelEmbedded person = getPerson();
+        EntitySnapshot snapshot = EntitySnapshot.capture(person, kunderaMetadata);
+
+        Assert.assertNull(EntitySnapshot.capture(null, kunderaMetadata));
+        Assert.assertFalse(snapshot.isModified(person));
+        Assert.assertFalse(snapshot.isModified(getPerson()));
+        Assert.assertTrue(snapshot.isModified(null));
+
+        person.setAge(31);
+        Assert.assertTrue(snapshot.isModified(person));
+        person.setAge(30);
+        Assert.assertFalse(snapshot.isModified(person));
+
+        // change inside embedded object.
+        person.getPersonalDetail().setAddress("noida");
+        Assert.assertTrue(snapshot.isModified(person));
+        person.getPersonalDetail().setAddress("delhi");
+        Assert.assertFalse(snapshot.isModified(person));
+
+        person.setPersonalDetail(null);
+        Assert.assertTrue(snapshot.isModified(person));
+    }
+
+    @Test
+    public void testModifiedFields()
+    {
+        PersonnelEmbedded person = getPerson();
+        EntitySnapshot snapshot = EntitySnapshot.capture(person, kunderaMetadata);
+
+        Assert.assertNull(snapshot.getModifiedFields(null));
+        Assert.assertTrue(snapshot.getModifiedFields(person).isEmpty());
+
+        person.setName("amresh");
+        person.getPersonalDetail().setPhoneNo(2);
+
+        Set<String> modifiedFields = snapshot.getModifiedFields(person);
+        Assert.assertEquals(2, modifiedFields.size());
+        Assert.assertTrue(modifiedFields.contains("name"));
+        Assert.assertTrue(modifiedFields.contains("personalDetail"));
+    }
+
+    @Test
+    public void testRestore()
+    {
+        PersonnelEmbedded person = getPerson();
+        EntitySnapshot snapshot = EntitySnapshot.capture(person, kunderaMetadata);
+
+        person.setName("amresh");
+        person.getPersonalDetail().setPhoneNo(2);
+
+        PersonnelEmbedded original = (PersonnelEmbedded) snapshot.restore();
+        Assert.assertNotSame(person, original);
+        Assert.assertEquals(1, original.getId());
+        Assert.assertEquals("vivek", original.getName());
+        Assert.assertEquals(30, original.getAge());
+        Assert.assertNotSame(person.getPersonalDetail(), original.getPersonalDetail());
+        Assert.assertEquals(1, original.getPersonalDetail().getPhoneNo());
+        Assert.assertEquals("delhi", original.getPersonalDetail().getAddress());
+        Assert.assertFalse(snapshot.isModified(original));
+    }
+
+    @Test
+    public void testImmutableValuesByReference()
+    {
+        Person person = new Person();
+        person.setPersonId("1");
+        person.setPersonName(new String("vivek"));
+        person.setAge(new Integer(1000));
+        person.setSalary(new Double(10.5));
+        person.setDay(Day.FRIDAY);
+        EntitySnapshot snapshot = EntitySnapshot.capture(person, kunderaMetadata);
+
+        // immutable values are not copied.
+        Person original = (Person) snapshot.restore();
+        Assert.assertNotSame(person, original);
+        Assert.assertSame(person.getPersonName(), original.getPersonName());
+        Assert.assertSame(person.getAge(), original.getAge());
+        Assert.assertSame(person.getSalary(), original.getSalary());
+        Assert.assertSame(person.getDay(), original.getDay());
+
+        person.setPersonName("amresh");
+        Assert.assertTrue(snapshot.isModified(person));
+        Assert.assertEquals("vivek", ((Person) snapshot.restore()).getPersonName());
+    }
+
+    @Test
+    public void testRestoreUnmodifiableCollections()
+    {
+        Map<Integer, String> comments = new HashMap<Integer, String>();
+        comments.put(1, "nice");
+
+        Article article = new Article();
+        article.setPostId(1);
+        article.setTags(Collections.singleton("kundera"));
+        article.setLikedBy(Arrays.asList(1, 2));
+        article.setComments(Collections.unmodifiableMap(comments));
+        EntitySnapshot snapshot = EntitySnapshot.capture(article, kunderaMetadata);
+        Assert.assertFalse(snapshot.isModified(article));
+
+        // no public no-arg constructor, replaced by collection of same
+        // interface.
+        Article original = (Article) snapshot.restore();
+        Assert.assertEquals(LinkedHashSet.class, original.getTags().getClass());
+        Assert.assertEquals(Collections.singleton("kundera"), original.getTags());
+        List<Integer> likedBy = original.getLikedBy();
+        Assert.assertEquals(Arrays.asList(1, 2), likedBy);
+        likedBy.add(3);
+        Assert.assertEquals(LinkedHashMap.class, original.getComments().getClass());
+        Assert.assertEquals(comments, original.getComments());
+
+        article.setLikedBy(Collections.<Integer> emptyList());
+        Assert.assertTrue(snapshot.getModifiedFields(article).contains("likedBy"));
+        Assert.assertEquals(2, ((Article) snapshot.restore()).getLikedBy().size());
+    }
+
+    private PersonnelEmbedded getPerson()
+    {
+        PersonalDetailEmbedded detail = new PersonalDetailEmbedded();
+        detail.setPhoneNo(1);
+        detail.setEmailId("vivek@impetus.co.in");
+        detail.setAddress("delhi");
+
+        PersonnelEmbedded person = new PersonnelEmbedded();
+        person.setId(1);
+        person.setName("vivek");
+        person.setAge(30);
+        person.setPersonalDetail(detail);
+        return person;
+    }
+}
@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Micro benchmark comparing {@link ReflectiveAccessorStrategy} and
+ * {@link BeanAccessorStrategy} on a 30 column entity. Each operation populates
+ * a new instance and reads all columns back, i.e. what a data handler does
+ * for every fetched row. Not run as part of the build, run it with
+ * 
+ * <pre>
+ * java -cp ... com.impetus.kundera.property.FieldAccessorBenchmark [iterations]
+ * </pre>
+ */
+public class FieldAccessorBenchmark
+{
+    private static final Object[] VALUES = new Object[] { "value", 1, 1L, 1d, 1f, true, new Date() };
+
+    public static void main(String[] args) throws Exception
+    {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        FieldAccessorStrategy[] strategies = new FieldAccessorStrategy[] { new ReflectiveAccessorStrategy(),
+                new BeanAccessorStrategy() };
+
+        for (FieldAccessorStrategy strategy : strategies)
+        {
+            Field[] fields = ThirtyColumnEntity.class.getDeclaredFields();
+            FieldAccessor[] accessors = new FieldAccessor[fields.length];
+            Object[] values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++)
+            {
+                accessors[i] = strategy.getFieldAccessor(fields[i]);
+                values[i] = valueFor(fields[i].getType());
+            }
+            Instantiator instantiator = strategy.getInstantiator(ThirtyColumnEntity.class);
+
+            // warm up, lets jit compile both paths before measuring.
+            run(instantiator, accessors, values, iterations / 10);
+            System.gc();
+
+            long start = System.nanoTime();
+            long blackhole = run(instantiator, accessors, values, iterations);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(String.format("%-30s %8.1f ns/op (%d)", strategy.getClass().getSimpleName(),
+                    (double) elapsed / iterations, blackhole));
+        }
+    }
+
+    private static long run(Instantiator instantiator, FieldAccessor[] accessors, Object[] values, int iterations)
+    {
+        long blackhole = 0;
+        for (int n = 0; n < iterations; n++)
+        {
+            Object entity = instantiator.newInstance();
+            for (int i = 0; i < accessors.length; i++)
+            {
+                accessors[i].set(entity, values[i]);
+            }
+            for (int i = 0; i < accessors.length; i++)
+            {
+                if (accessors[i].get(entity) != null)
+                {
+                    blackhole++;
+                }
+            }
+        }
+        return blackhole;
+    }
+
+    private static Object valueFor(Class<?> type)
+    {
+        Class<?> wrapper = type.isPrimitive() ? ClassUtils.primitiveToWrapper(type) : type;
+        for (Object value : VALUES)
+        {
+            if (wrapper.isInstance(value))
+            {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    public static class ThirtyColumnEntity
+    {
+        private String column1;
+
+        private int column2;
+
+        private long column3;
+
+        private double column4;
+
+        private boolean column5;
+
+        private Integer column6;
+
+        private Long column7;
+
+        private Double column8;
+
+        private Date column9;
+
+        private float column10;
+
+        private String column11;
+
+        private int column12;
+
+        private long column13;
+
+        private double column14;
+
+        private boolean column15;
+
+        private Integer column16;
+
+        private Long column17;
+
+        private Double column18;
+
+        private Date column19;
+
+        private float column20;
+
+        private String column21;
+
+        private int column22;
+
+        private long column23;
+
+        private double column24;
+
+        private boolean column25;
+
+        private Integer column26;
+
+        private Long column27;
+
+        private Double column28;
+
+        private Date column29;
+
+        private float column30;
+
+        public String getColumn1()
+        {
+            return column1;
+        }
+
+        public void setColumn1(String column1)
+        {
+            this.column1 = column1;
+        }
+
+        public int getColumn2()
+        {
+            return column2;
+        }
+
+        public void setColumn2(int column2)
+        {
+            this.column2 = column2;
+        }
+
+        public long getColumn3()
+        {
+            return column3;
+        }
+
+        public void setColumn3(long column3)
+        {
+            this.column3 = column3;
+        }
+
+        public double getColumn4()
+        {
+            return column4;
+        }
+
+        public void setColumn4(double column4)
+        {
+            this.column4 = column4;
+        }
+
+        public boolean isColumn5()
+        {
+            return column5;
+        }
+
+        public void setColumn5(boolean column5)
+        {
+            this.column5 = column5;
+        }
+
+        public Integer getColumn6()
+        {
+            return column6;
+        }
+
+        public void setColumn6(Integer column6)
+        {
+            this.column6 = column6;
+        }
+
+        public Long getColumn7()
+        {
+            return column7;
+        }
+
+        public void setColumn7(Long column7)
+        {
+            this.column7 = column7;
+        }
+
+        public Double getColumn8()
+        {
+            return column8;
+        }
+
+        public void setColumn8(Double column8)
+        {
+            this.column8 = column8;
+        }
+
+        public Date getColumn9()
+        {
+            return column9;
+        }
+
+        public void setColumn9(Date column9)
+        {
+            this.column9 = column9;
+        }
+
+        public float getColumn10()
+        {
+            return column10;
+        }
+
+        public void setColumn10(float column10)
+        {
+            this.column10 = column10;
+        }
+
+        public String getColumn11()
+        {
+            return column11;
+        }
+
+        public void setColumn11(String column11)
+        {
+            this.column11 = column11;
+        }
+
+        public int getColumn12()
+        {
+            return column12;
+        }
+
+        public void setColumn12(int column12)
+        {
+            this.column12 = column12;
+        }
+
+        public long getColumn13()
+        {
+            return column13;
+        }
+
+        public void setColumn13(long column13)
+        {
+            this.column13 = column13;
+        }
+
+        public double getColumn14()
+        {
+            return column14;
+        }
+
+        public void setColumn14(double column14)
+        {
+            this.column14 = column14;
+        }
+
+        public boolean isColumn15()
+        {
+            return column15;
+        }
+
+        public void setColumn15(boolean column15)
+        {
+            this.column15 = column15;
+        }
+
+        public Integer getColumn16()
+        {
+            return column16;
+        }
+
+        public void setColumn16(Integer column16)
+        {
+            this.column16 = column16;
+        }
+
+        public Long getColumn17()
+        {
+            return column17;
+        }
+
+        public void setColumn17(Long column17)
+        {
+            this.column17 = column17;
+        }
+
+        public Double getColumn18()
+        {
+            return column18;
+        }
+
+        public void setColumn18(Double column18)
+        {
+            this.column18 = column18;
+        }
+
+        public Date getColumn19()
+        {
+            return column19;
+        }
+
+        public void setColumn19(Date column19)
+        {
+            this.column19 = column19;
+        }
+
+        public float getColumn20()
+        {
+            return column20;
+        }
+
+        public void setColumn20(float column20)
+        {
+            this.column20 = column20;
+        }
+
+        public String getColumn21()
+        {
+            return column21;
+        }
+
+        public void setColumn21(String column21)
+        {
+            this.column21 = column21;
+        }
+
+        public int getColumn22()
+        {
+            return column22;
+        }
+
+        public void setColumn22(int column22)
+        {
+            this.column22 = column22;
+        }
+
+        public long getColumn23()
+        {
+            return column23;
+        }
+
+        public void setColumn23(long column23)
+        {
+            this.column23 = column23;
+        }
+
+        public double getColumn24()
+        {
+            return column24;
+        }
+
+        public void setColumn24(double column24)
+        {
+            this.column24 = column24;
+        }
+
+        public boolean isColumn25()
+        {
+            return column25;
+        }
+
+        public void setColumn25(boolean column25)
+        {
+            this.column25 = column25;
+        }
+
+        public Integer getColumn26()
+        {
+            return column26;
+        }
+
+        public void setColumn26(Integer column26)
+        {
+            this.column26 = column26;
+        }
+
+        public Long getColumn27()
+        {
+            return column27;
+        }
+
+        public void setColumn27(Long column27)
+        {
+            this.column27 = column27;
+        }
+
+        public Double getColumn28()
+        {
+            return column28;
+        }
+
+        public void setColumn28(Double column28)
+        {
+            this.column28 = column28;
+        }
+
+        public Date getColumn29()
+        {
+            return column29;
+        }
+
+        public void setColumn29(Date column29)
+        {
+            this.column29 = column29;
+        }
+
+        public float getColumn30()
+        {
+            return column30;
+        }
+
+        public void setColumn30(float column30)
+        {
+            this.column30 = column30;
+        }
+    }
+}
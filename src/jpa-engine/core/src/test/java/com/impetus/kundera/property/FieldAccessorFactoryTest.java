@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.property;
+
+import java.lang.reflect.Field;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+
+/**
+ * junit for {@link FieldAccessorFactory} and shipped
+ * {@link FieldAccessorStrategy}s.
+ */
+public class FieldAccessorFactoryTest
+{
+    private final FieldAccessorStrategy defaultStrategy = FieldAccessorFactory.getStrategy();
+
+    @After
+    public void tearDown() throws Exception
+    {
+        FieldAccessorFactory.setStrategy(defaultStrategy);
+    }
+
+    @Test
+    public void testBeanStrategy() throws Exception
+    {
+        FieldAccessorFactory.setStrategy(new BeanAccessorStrategy());
+        assertAccessors();
+    }
+
+    @Test
+    public void testDefaultStrategy() throws Exception
+    {
+        Assert.assertEquals(ReflectiveAccessorStrategy.class, defaultStrategy.getClass());
+
+        // fields are accessed directly, java bean accessors are not invoked.
+        Audited audited = new Audited();
+        FieldAccessor name = defaultStrategy.getFieldAccessor(Audited.class.getDeclaredField("name"));
+        name.set(audited, "vivek");
+        Assert.assertEquals("vivek", name.get(audited));
+        Assert.assertEquals(0, audited.calls);
+    }
+
+    @Test
+    public void testGeneratedAccessors() throws Exception
+    {
+        FieldAccessorStrategy fast = new BeanAccessorStrategy();
+        Class<?> reflective = new ReflectiveAccessorStrategy().getFieldAccessor(Sample.class.getDeclaredField("name"))
+                .getClass();
+
+        // java bean properties are accessed through generated fast class.
+        Assert.assertNotSame(reflective, fast.getFieldAccessor(Sample.class.getDeclaredField("name")).getClass());
+        Assert.assertNotSame(reflective, fast.getFieldAccessor(Sample.class.getDeclaredField("age")).getClass());
+        Assert.assertNotSame(reflective, fast.getFieldAccessor(Sample.class.getDeclaredField("active")).getClass());
+
+        // fields without getter and setter fall back to reflection.
+        Assert.assertSame(reflective, fast.getFieldAccessor(Sample.class.getDeclaredField("grade")).getClass());
+        Assert.assertSame(reflective, fast.getFieldAccessor(SampleBase.class.getDeclaredField("id")).getClass());
+    }
+
+    @Test
+    public void testUnregister() throws Exception
+    {
+        Field field = Sample.class.getDeclaredField("name");
+        FieldAccessor accessor = FieldAccessorFactory.getFieldAccessor(field);
+        Instantiator instantiator = FieldAccessorFactory.getInstantiator(Sample.class);
+
+        FieldAccessorFactory.unregister(Sample.class);
+        Assert.assertNotSame(accessor, FieldAccessorFactory.getFieldAccessor(field));
+        Assert.assertNotSame(instantiator, FieldAccessorFactory.getInstantiator(Sample.class));
+    }
+
+    @Test
+    public void testReflectiveStrategy() throws Exception
+    {
+        FieldAccessorFactory.setStrategy(new ReflectiveAccessorStrategy());
+        assertAccessors();
+    }
+
+    @Test
+    public void testRegister() throws Exception
+    {
+        FieldAccessorFactory.register(Sample.class);
+        Field field = Sample.class.getDeclaredField("name");
+        Assert.assertSame(FieldAccessorFactory.getFieldAccessor(field), FieldAccessorFactory.getFieldAccessor(field));
+        Assert.assertSame(FieldAccessorFactory.getInstantiator(Sample.class),
+                FieldAccessorFactory.getInstantiator(Sample.class));
+    }
+
+    @Test
+    public void testPropertyAccessorHelper() throws Exception
+    {
+        PersonnelDTO person = new PersonnelDTO();
+        Field field = PersonnelDTO.class.getDeclaredField("firstName");
+        PropertyAccessorHelper.set(person, field, (Object) "vivek");
+        Assert.assertEquals("vivek", person.getFirstName());
+        Assert.assertEquals("vivek", PropertyAccessorHelper.getObject(person, field));
+        Assert.assertTrue(field.isAccessible());
+    }
+
+    private void assertAccessors() throws Exception
+    {
+        Sample sample = FieldAccessorFactory.newInstance(Sample.class);
+        Assert.assertNotNull(sample);
+
+        FieldAccessor name = FieldAccessorFactory.getFieldAccessor(Sample.class.getDeclaredField("name"));
+        FieldAccessor age = FieldAccessorFactory.getFieldAccessor(Sample.class.getDeclaredField("age"));
+        FieldAccessor salary = FieldAccessorFactory.getFieldAccessor(Sample.class.getDeclaredField("salary"));
+        FieldAccessor active = FieldAccessorFactory.getFieldAccessor(Sample.class.getDeclaredField("active"));
+        FieldAccessor grade = FieldAccessorFactory.getFieldAccessor(Sample.class.getDeclaredField("grade"));
+        FieldAccessor id = FieldAccessorFactory.getFieldAccessor(SampleBase.class.getDeclaredField("id"));
+
+        name.set(sample, "kuldeep");
+        age.set(sample, 30);
+        salary.set(sample, 1000d);
+        active.set(sample, true);
+        grade.set(sample, 'A');
+        id.set(sample, "1");
+
+        Assert.assertEquals("kuldeep", sample.name);
+        Assert.assertEquals(30, sample.age);
+        Assert.assertEquals(1000d, sample.salary);
+        Assert.assertTrue(sample.active);
+        Assert.assertEquals('A', sample.grade);
+        Assert.assertEquals("1", ((SampleBase) sample).id);
+
+        Assert.assertEquals("kuldeep", name.get(sample));
+        Assert.assertEquals(30L, age.get(sample));
+        Assert.assertEquals(1000d, salary.get(sample));
+        Assert.assertEquals(Boolean.TRUE, active.get(sample));
+        Assert.assertEquals('A', grade.get(sample));
+        Assert.assertEquals("1", id.get(sample));
+
+        // widening conversion, same as reflection.
+        age.set(sample, Integer.valueOf(31));
+        Assert.assertEquals(31, sample.age);
+
+        name.set(sample, null);
+        Assert.assertNull(sample.name);
+
+        try
+        {
+            age.set(sample, null);
+            Assert.fail("Should have failed for null value on primitive field");
+        }
+        catch (PropertyAccessException paex)
+        {
+            Assert.assertEquals(31, sample.age);
+        }
+
+        try
+        {
+            name.set(sample, Integer.valueOf(1));
+            Assert.fail("Should have failed for incompatible value");
+        }
+        catch (PropertyAccessException paex)
+        {
+            Assert.assertNull(sample.name);
+        }
+
+        try
+        {
+            name.get(new PersonnelDTO());
+            Assert.fail("Should have failed for incompatible target");
+        }
+        catch (PropertyAccessException paex)
+        {
+            Assert.assertNotNull(paex.getCause());
+        }
+    }
+
+    public static class Audited
+    {
+        private String name;
+
+        private int calls;
+
+        public String getName()
+        {
+            calls++;
+            return name;
+        }
+
+        public void setName(String name)
+        {
+            calls++;
+            this.name = name;
+        }
+    }
+
+    public static class SampleBase
+    {
+        private String id;
+    }
+
+    public static class Sample extends SampleBase
+    {
+        private String name;
+
+        private long age;
+
+        private double salary;
+
+        private boolean active;
+
+        private char grade;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public void setName(String name)
+        {
+            this.name = name;
+        }
+
+        public long getAge()
+        {
+            return age;
+        }
+
+        public void setAge(long age)
+        {
+            this.age = age;
+        }
+
+        public boolean isActive()
+        {
+            return active;
+        }
+
+        public void setActive(boolean active)
+        {
+            this.active = active;
+        }
+    }
+}
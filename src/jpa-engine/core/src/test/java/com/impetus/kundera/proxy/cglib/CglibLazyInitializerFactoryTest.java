@@ -26,9 +26,15 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import net.sf.cglib.proxy.Factory;
+
+import com.impetus.kundera.CoreTestUtilities;
 import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.metadata.KunderaMetadataManager;
+import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.proxy.KunderaProxy;
 import com.impetus.kundera.proxy.LazyInitializer;
 import com.impetus.kundera.proxy.LazyInitializerFactory;
@@ -93,4 +99,27 @@ public class CglibLazyInitializerFactoryTest
 
     }
 
+    @Test
+    public void testGetProxyOutOfGeneratedClass()
+    {
+        EntityMetadata m = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, PersonnelDTO.class);
+        KunderaProxy prototype = m.getProxyPrototype();
+        Assert.assertNotNull(prototype);
+        Assert.assertTrue(prototype instanceof Factory);
+        Assert.assertTrue(prototype instanceof PersonnelDTO);
+
+        PersistenceDelegator delegator = CoreTestUtilities.getDelegator(em);
+        LazyInitializerFactory factory = kunderaMetadata.getCoreMetadata().getLazyInitializerFactory();
+        KunderaProxy first = factory.getProxy("personnel_1#person", PersonnelDTO.class, null, null, "1", delegator);
+        KunderaProxy second = factory.getProxy("personnel_2#person", PersonnelDTO.class, null, null, "2", delegator);
+
+        // proxies share generated class, but not their initializer.
+        Assert.assertSame(prototype.getClass(), first.getClass());
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertNotSame(first.getKunderaLazyInitializer(), second.getKunderaLazyInitializer());
+        Assert.assertEquals("1", first.getKunderaLazyInitializer().getIdentifier());
+        Assert.assertEquals("2", second.getKunderaLazyInitializer().getIdentifier());
+        Assert.assertSame(delegator, second.getKunderaLazyInitializer().getPersistenceDelegator());
+    }
+
 }
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.proxy.cglib;
+
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.proxy.KunderaProxy;
+
+/**
+ * Micro benchmark of lazy proxy creation, comparing proxies created through a
+ * new {@link net.sf.cglib.proxy.Enhancer} per proxy against proxies created
+ * out of proxy class generated once per entity. Not run as part of the build,
+ * run it with
+ * 
+ * <pre>
+ * java -cp ... com.impetus.kundera.proxy.cglib.ProxyCreationBenchmark [iterations]
+ * </pre>
+ */
+public class ProxyCreationBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        KunderaProxy prototype = CglibLazyInitializer.createProxyPrototype(PersonnelDTO.class);
+
+        for (KunderaProxy p : new KunderaProxy[] { null, prototype })
+        {
+            // warm up, lets jit compile both paths before measuring.
+            run(p, iterations / 10);
+            System.gc();
+
+            long start = System.nanoTime();
+            long blackhole = run(p, iterations);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(String.format("%-30s %8.1f ns/op %10.0f ops/s (%d)", p == null ? "Enhancer per proxy"
+                    : "Generated proxy class", (double) elapsed / iterations, iterations * 1e9 / elapsed, blackhole));
+        }
+    }
+
+    private static long run(KunderaProxy prototype, int iterations)
+    {
+        long blackhole = 0;
+        for (int n = 0; n < iterations; n++)
+        {
+            KunderaProxy proxy = CglibLazyInitializer.getProxy("personnel_" + n + "#person", PersonnelDTO.class,
+                    null, null, n, null, prototype);
+            if (proxy.getKunderaLazyInitializer() != null)
+            {
+                blackhole++;
+            }
+        }
+        return blackhole;
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ *  * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * junit for {@link QueryPlanCache}.
+ */
+public class QueryPlanCacheTest
+{
+    private static final String PU = "patest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private QueryPlanCache planCache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PU);
+        planCache = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getQueryPlanCache();
+        em = emf.createEntityManager();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    public void testCachedPlan()
+    {
+        String query = "Select p from Person p where p.personName = :name";
+
+        long misses = planCache.getMissCount();
+        QueryImpl first = (QueryImpl) em.createQuery(query);
+        Assert.assertEquals(misses + 1, planCache.getMissCount());
+
+        long hits = planCache.getHitCount();
+        QueryImpl second = (QueryImpl) em.createQuery(query);
+        Assert.assertEquals(hits + 1, planCache.getHitCount());
+
+        Assert.assertNotSame(first.getKunderaQuery(), second.getKunderaQuery());
+        Assert.assertEquals(Person.class, second.getKunderaQuery().getEntityClass());
+        Assert.assertEquals(1, second.getParameters().size());
+
+        // parameters bound on one query must not leak into other.
+        first.setParameter("name", "vivek");
+        second.setParameter("name", "amresh");
+        Assert.assertEquals("vivek", ((List) first.getParameterValue("name")).get(0));
+        Assert.assertEquals("amresh", ((List) second.getParameterValue("name")).get(0));
+
+        QueryImpl third = (QueryImpl) em.createQuery(query);
+        Assert.assertEquals(":name", ((List) third.getParameterValue("name")).get(0));
+    }
+
+    @Test
+    public void testBoundedCache()
+    {
+        QueryPlanCache cache = new QueryPlanCache(1);
+        KunderaQuery kunderaQuery = new KunderaQuery("Select p from Person p",
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance());
+
+        cache.put("Select p from Person p", false, null, kunderaQuery);
+        Assert.assertNotNull(cache.get("Select p from Person p", false, null));
+        Assert.assertNull(cache.get("Select p from Person p", true, Person.class));
+
+        cache.put("Select p from Person p where p.age = 10", false, null, kunderaQuery);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledCache()
+    {
+        em.close();
+        emf.close();
+
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(PersistenceProperties.KUNDERA_QUERY_PLAN_CACHE_SIZE, "0");
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        planCache = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getQueryPlanCache();
+        em = emf.createEntityManager();
+
+        em.createQuery("Select p from Person p");
+        em.createQuery("Select p from Person p");
+        Assert.assertEquals(0, planCache.size());
+        Assert.assertEquals(0, planCache.getHitCount());
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.Query;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.DummyDatabase;
+import com.impetus.kundera.entity.PersonnelDTO;
+import com.impetus.kundera.persistence.EntityManagerFactoryImpl;
+
+/**
+ * junit for {@link QueryResultCache}.
+ */
+public class QueryResultCacheTest
+{
+    private static final String PU = "kunderatest";
+
+    private static final String QUERY = "Select p from PersonnelDTO p where p.personId = :id";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private QueryResultCache resultCache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        init(new HashMap<String, String>());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.close();
+        emf.close();
+        DummyDatabase.INSTANCE.dropDatabase();
+    }
+
+    @Test
+    public void testCachedResult()
+    {
+        em.persist(new PersonnelDTO("q1", "vivek", "mishra"));
+        em.clear();
+
+        long misses = resultCache.getMissCount();
+        List<PersonnelDTO> results = query(QUERY, "q1", true);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(misses + 1, resultCache.getMissCount());
+        Assert.assertEquals(1, resultCache.size());
+
+        // whitespace is not significant.
+        long hits = resultCache.getHitCount();
+        em.clear();
+        results = query("Select p  from PersonnelDTO p\n where p.personId = :id", "q1", true);
+        Assert.assertEquals(hits + 1, resultCache.getHitCount());
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("vivek", results.get(0).getFirstName());
+
+        // other parameter value is other result.
+        Assert.assertTrue(query(QUERY, "q2", true).isEmpty());
+        Assert.assertEquals(misses + 2, resultCache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidationOnWrite()
+    {
+        em.persist(new PersonnelDTO("q1", "vivek", "mishra"));
+        Assert.assertTrue(query(QUERY, "q2", true).isEmpty());
+
+        // insert outside of transaction invalidates right away.
+        em.persist(new PersonnelDTO("q2", "amresh", "singh"));
+        long hits = resultCache.getHitCount();
+        List<PersonnelDTO> results = query(QUERY, "q2", true);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(hits, resultCache.getHitCount());
+
+        // delete within transaction invalidates on commit.
+        em.getTransaction().begin();
+        em.remove(results.get(0));
+        em.getTransaction().commit();
+        Assert.assertTrue(query(QUERY, "q2", true).isEmpty());
+        Assert.assertEquals(hits, resultCache.getHitCount());
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        em.persist(new PersonnelDTO("q1", "vivek", "mishra"));
+
+        long misses = resultCache.getMissCount();
+        Assert.assertEquals(1, query(QUERY, "q1", null).size());
+        Assert.assertEquals(1, query(QUERY, "q1", false).size());
+        Assert.assertEquals(misses, resultCache.getMissCount());
+        Assert.assertEquals(0, resultCache.size());
+    }
+
+    @Test
+    public void testEnabledForPersistenceUnit()
+    {
+        em.close();
+        emf.close();
+
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_QUERY_CACHE, "true");
+        props.put(PersistenceProperties.KUNDERA_QUERY_CACHE_SIZE, "1");
+        init(props);
+
+        em.persist(new PersonnelDTO("q1", "vivek", "mishra"));
+        em.persist(new PersonnelDTO("q2", "amresh", "singh"));
+        Assert.assertEquals(1, query(QUERY, "q1", null).size());
+        Assert.assertEquals(1, query(QUERY, "q2", null).size());
+        Assert.assertEquals(1, resultCache.size());
+    }
+
+    @Test
+    public void testInvalidConfiguration()
+    {
+        try
+        {
+            new QueryResultCache(10, 0);
+            Assert.fail("Should have failed for invalid time to live");
+        }
+        catch (IllegalArgumentException iaex)
+        {
+            Assert.assertNotNull(iaex.getMessage());
+        }
+    }
+
+    private void init(Map<String, String> props)
+    {
+        emf = Persistence.createEntityManagerFactory(PU, props);
+        resultCache = ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance().getQueryResultCache();
+        em = emf.createEntityManager();
+    }
+
+    private List<PersonnelDTO> query(String jpaQuery, String id, Boolean cacheHint)
+    {
+        Query query = em.createQuery(jpaQuery);
+        query.setParameter("id", id);
+        if (cacheHint != null)
+        {
+            query.setHint(PersistenceProperties.KUNDERA_QUERY_CACHE, cacheHint);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.kundera.service.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * junit for {@link LatencyAwareBalancingPolicy}.
+ */
+public class LatencyAwareBalancingPolicyTest
+{
+    @Test
+    public void testSlowPoolAvoided()
+    {
+        Object fast = "fast";
+        Object slow = "slow";
+        List<Object> pools = new ArrayList<Object>();
+        pools.add(fast);
+        pools.add(slow);
+
+        LatencyAwareBalancingPolicy policy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+
+        // no latency known, all pools are used.
+        boolean slowUsed = false;
+        for (int i = 0; i < 4; i++)
+        {
+            slowUsed |= slow == policy.getPool(pools);
+        }
+        Assert.assertTrue(slowUsed);
+
+        policy.recordLatency(fast, TimeUnit.MILLISECONDS.toNanos(1));
+        policy.recordLatency(slow, TimeUnit.MILLISECONDS.toNanos(10));
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertSame(fast, policy.getPool(pools));
+        }
+
+        // recovering pool is used again once within threshold.
+        for (int i = 0; i < 20; i++)
+        {
+            policy.recordLatency(slow, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        slowUsed = false;
+        for (int i = 0; i < 4; i++)
+        {
+            slowUsed |= slow == policy.getPool(pools);
+        }
+        Assert.assertTrue(slowUsed);
+    }
+
+    @Test
+    public void testDecayingAverage()
+    {
+        LatencyAwareBalancingPolicy policy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy(), 2.0,
+                0.5, 1000);
+        Object pool = new Object();
+        Assert.assertEquals(-1.0, policy.getAverageLatency(pool));
+
+        policy.recordLatency(pool, 100);
+        Assert.assertEquals(100.0, policy.getAverageLatency(pool));
+        policy.recordLatency(pool, 200);
+        Assert.assertEquals(150.0, policy.getAverageLatency(pool));
+
+        policy.removePool(pool);
+        Assert.assertEquals(-1.0, policy.getAverageLatency(pool));
+    }
+
+    @Test
+    public void testRetryExcludedPool() throws Exception
+    {
+        Object fast = "fast";
+        Object slow = "slow";
+        List<Object> pools = new ArrayList<Object>();
+        pools.add(fast);
+        pools.add(slow);
+
+        LatencyAwareBalancingPolicy policy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy(), 2.0,
+                0.25, 10);
+        policy.recordLatency(slow, TimeUnit.MILLISECONDS.toNanos(10));
+        Thread.sleep(50);
+        policy.recordLatency(fast, TimeUnit.MILLISECONDS.toNanos(1));
+
+        boolean slowUsed = false;
+        for (int i = 0; i < 4; i++)
+        {
+            slowUsed |= slow == policy.getPool(pools);
+        }
+        Assert.assertTrue(slowUsed);
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        try
+        {
+            new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy(), 0.5, 0.25, 1000);
+            Assert.fail("Should have failed for threshold < 1");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected.
+        }
+    }
+}
@@ -22,14 +22,16 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.metamodel.EmbeddableType;
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.IndexNotFoundException;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LogDocMergePolicy;
@@ -38,11 +40,10 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
-import org.apache.lucene.store.IOContext;
-import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.util.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,7 +57,10 @@ import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 
 /**
- * Provides indexing functionality using lucene library.
+ * Provides indexing functionality using lucene library. Index is kept in a
+ * memory mapped directory on disk and searched near real time, through
+ * searchers reopened from index writer. Changes are committed on a background
+ * schedule and on flush/close of transaction.
  * 
  * @author amresh.singh
  */
@@ -66,23 +70,26 @@ public class LuceneIndexer extends DocumentIndexer
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(LuceneIndexer.class);
 
+    /** Interval in seconds, between background commits of index writer. */
+    static final long COMMIT_INTERVAL = 5;
+
     /** The w. */
     private static IndexWriter w;
 
-    /** The reader. */
-    private static IndexReader reader;
+    /** Manages searchers reopened from index writer, shared across queries. */
+    private static SearcherManager searcherManager;
+
+    /** Commits pending changes periodically, until indexer is closed. */
+    private volatile ScheduledExecutorService committer;
 
     /** The index. */
     private static Directory index;
 
-    /** The is initialized. */
-    private static boolean isInitialized;
-
     /** The indexer. */
     private static LuceneIndexer indexer;
 
     /** The ready for commit. */
-    private static boolean readyForCommit;
+    private static volatile boolean readyForCommit;
 
     /** The lucene dir path. */
     private static String luceneDirPath;
@@ -100,22 +107,8 @@ public class LuceneIndexer extends DocumentIndexer
         try
         {
             luceneDirPath = lucDirPath;
-            File file = new File(luceneDirPath);
-            if (file.exists())
-            {
-                Directory sourceDir = FSDirectory.open(getIndexDirectory());
+            index = new MMapDirectory(getIndexDirectory());
 
-                // TODO initialize context.
-                index = new RAMDirectory(sourceDir, IOContext.DEFAULT);
-            }
-            else
-            {
-                index = new RAMDirectory();
-            }
-            /*
-             * FSDirectory.open(getIndexDirectory( ))
-             */
-            // isInitialized
             /* writer */
             IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
             LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
@@ -127,6 +120,11 @@ public class LuceneIndexer extends DocumentIndexer
             // w.setMergeFactor(1);
             // w.setMergeFactor(1000);
             w.getConfig().setRAMBufferSizeMB(32);
+
+            // searchers are opened out of writer, so uncommitted changes are
+            // visible to search.
+            searcherManager = new SearcherManager(w, true, null);
+            scheduleCommits();
         }
         catch (Exception e)
         {
@@ -135,6 +133,44 @@ public class LuceneIndexer extends DocumentIndexer
         }
     }
 
+    /**
+     * Schedules commit of pending changes, every {@link #COMMIT_INTERVAL}
+     * seconds, unless already scheduled.
+     */
+    private synchronized void scheduleCommits()
+    {
+        if (committer != null)
+        {
+            return;
+        }
+        committer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable r)
+            {
+                Thread thread = new Thread(r, "kundera-lucene-committer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        committer.scheduleWithFixedDelay(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    commit();
+                }
+                catch (LuceneIndexingException e)
+                {
+                    log.warn("Error while committing Lucene indexes in background, Caused by: ", e);
+                }
+            }
+        }, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+    }
+
     /**
      * Gets the single instance of LuceneIndexer.
      * 
@@ -166,37 +202,42 @@ public class LuceneIndexer extends DocumentIndexer
     }
 
     /**
-     * Returns default index reader.
+     * Returns searcher over latest changes of index writer. Searcher is
+     * reopened only if index has changed since last search, and must be
+     * released after use.
      * 
-     * @return index reader.
+     * @return index searcher.
      */
-    private IndexReader getIndexReader()
+    private IndexSearcher acquireSearcher()
     {
-        flushInternal();
+        try
+        {
+            searcherManager.maybeRefresh();
+            return searcherManager.acquire();
+        }
+        catch (IOException e)
+        {
+            log.error("Error while opening Lucene index searcher, Caused by :.", e);
+            throw new LuceneIndexingException(e);
+        }
+    }
 
-        if (reader == null)
+    /**
+     * Releases searcher acquired for search.
+     * 
+     * @param searcher
+     *            index searcher.
+     */
+    private void releaseSearcher(IndexSearcher searcher)
+    {
+        try
         {
-            try
-            {
-                if (!isInitialized)
-                {
-                    Directory sourceDir = FSDirectory.open(getIndexDirectory());
-                    copy(sourceDir, index);
-                    isInitialized = true;
-                }
-                reader = IndexReader.open(index/* , true */);
-            }
-            catch (IndexNotFoundException infex)
-            {
-                log.warn("No index found in given directory, caused by:", infex.getMessage());
-            }
-            catch (Exception e)
-            {
-                log.error("Error while instantiating LuceneIndexer, Caused by :.", e);
-                throw new LuceneIndexingException(e);
-            }
+            searcherManager.release(searcher);
+        }
+        catch (IOException e)
+        {
+            log.warn("Error while releasing Lucene index searcher, Caused by :.", e);
         }
-        return reader;
     }
 
     /**
@@ -252,20 +293,10 @@ public class LuceneIndexer extends DocumentIndexer
 
             Query q = qp.parse(luceneQuery);
 
+            // deletes are applied on reopen of searcher, commit follows with
+            // flush of indexes.
             w.deleteDocuments(q);
-            w.commit();
-            w.close();
-            IndexWriterConfig indexWriterConfig = new IndexWriterConfig(Version.LUCENE_34, analyzer);
-            LogDocMergePolicy logDocMergePolicy = new LogDocMergePolicy();
-            logDocMergePolicy.setMergeFactor(1000);
-            indexWriterConfig.setMergePolicy(logDocMergePolicy);
-            w = new IndexWriter(index, indexWriterConfig);
-            /* reader = */
-            // w.setMergePolicy(new LogDocMergePolicy());
-            // w.setMergeFactor(1);
-            // w.setMergeFactor(1000);
-            w.getConfig().setRAMBufferSizeMB(32);
-            // flushInternal();
+            onCommit();
         }
         catch (Exception e)
         {
@@ -286,13 +317,9 @@ public class LuceneIndexer extends DocumentIndexer
         updateDocument(metadata, metaModel, entity, parentId, entity.getClass(), true);
     }
 
-    @SuppressWarnings("deprecation")
     @Override
     public final Map<String, Object> search(String luceneQuery, int start, int count, boolean fetchRelation)
     {
-
-        reader = getIndexReader();
-
         if (Constants.INVALID == count)
         {
             count = 100;
@@ -306,14 +333,7 @@ public class LuceneIndexer extends DocumentIndexer
         // Set<String> entityIds = new HashSet<String>();
         Map<String, Object> indexCol = new HashMap<String, Object>();
 
-        if (reader == null)
-        {
-            return indexCol;
-            // throw new
-            // LuceneIndexingException("Index reader is not initialized!");
-        }
-
-        IndexSearcher searcher = new IndexSearcher(reader);
+        IndexSearcher searcher = acquireSearcher();
         QueryParser qp = new QueryParser(Version.LUCENE_34, DEFAULT_SEARCHABLE_FIELD, new StandardAnalyzer(
                 Version.LUCENE_34));
 
@@ -350,8 +370,11 @@ public class LuceneIndexer extends DocumentIndexer
             log.error("Error while parsing Lucene Query {} ", luceneQuery, e);
             throw new LuceneIndexingException(e);
         }
+        finally
+        {
+            releaseSearcher(searcher);
+        }
 
-        reader = null;
         return indexCol;
     }
 
@@ -421,61 +444,59 @@ public class LuceneIndexer extends DocumentIndexer
     }
 
     /**
-     * Flush internal.
+     * Commits pending changes of index writer onto disk.
      */
-    private void flushInternal()
+    private void commit()
     {
         try
         {
             if (w != null && readyForCommit)
             {
-                // w.optimize();
-                w.commit();
-                copy(index, FSDirectory.open(getIndexDirectory()));
                 readyForCommit = false;
-                reader = null;
-                isInitialized = false;
+                w.commit();
             }
         }
-
         catch (Exception e)
         {
+            readyForCommit = true;
             log.error("Error while Flushing Lucene Indexes, Caused by: ", e);
             throw new LuceneIndexingException("Error while Flushing Lucene Indexes", e);
         }
     }
 
     /**
-     * Close of transaction.
+     * Close of transaction, commits pending changes and stops background
+     * commits. These are scheduled again on next change, as indexer instance
+     * is shared.
      */
     public void close()
     {
         try
         {
-            if (w != null && readyForCommit)
-            {
-                w.commit();
-                copy(index, FSDirectory.open(getIndexDirectory()));
-            }
+            commit();
+        }
+        finally
+        {
+            stopCommits();
         }
+    }
 
-        catch (Exception e)
+    /**
+     * Shuts down background committer, if scheduled.
+     */
+    private synchronized void stopCommits()
+    {
+        if (committer != null)
         {
-            log.error("Error while closing lucene indexes, Caused by: ", e);
-            throw new LuceneIndexingException("Error while closing lucene indexes.", e);
+            committer.shutdown();
+            committer = null;
         }
     }
 
     @Override
     public void flush()
     {
-        /*
-         * if (w != null) {
-         * 
-         * try { w.commit(); // w.close(); // index.copy(index,
-         * FSDirectory.open(getIndexDirectory()), false); } catch
-         * (CorruptIndexException e) { } catch (IOException e) { } }
-         */
+        commit();
     }
 
     @Override
@@ -736,23 +757,13 @@ public class LuceneIndexer extends DocumentIndexer
      */
     private void onCommit()
     {
-        // TODO: Sadly this required to keep lucene happy, in case of indexing
-        // and searching with same entityManager.
-        // Other alternative would be to issue flush on each search
-        // try
-        // {
-        // w.commit();
-        isInitialized = true;
+        // changes are searchable right away, commit happens in background or
+        // on flush.
         readyForCommit = true;
-        // }
-        // catch (CorruptIndexException e)
-        // {
-        // throw new IndexingException(e.getMessage());
-        // }
-        // catch (IOException e)
-        // {
-        // throw new IndexingException(e.getMessage());
-        // }
+        if (committer == null)
+        {
+            scheduleCommits();
+        }
     }
 
     @Override
@@ -774,14 +785,6 @@ public class LuceneIndexer extends DocumentIndexer
         throw new UnsupportedOperationException("Method not supported");
     }
 
-    private void copy(Directory src, Directory to) throws IOException
-    {
-        for (String file : src.listAll())
-        {
-            src.copy(to, file, file, IOContext.DEFAULT);
-        }
-    }
-
     /**
      * Updates document.
      * 
@@ -33,6 +33,7 @@ import com.impetus.kundera.entity.EhCacheEntity;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.persistence.context.EntitySnapshot;
 import com.impetus.kundera.query.Person.Day;
 
 /**
@@ -91,11 +92,11 @@ public class EhcacheTest
                                 entity1.getClass()), persistenceDelegator);
 
         // check if it is present in second level cache.
-        EhCacheEntity foundNode1 = (EhCacheEntity) l2Cache.get(node1.getNodeId());
+        EntitySnapshot foundNode1 = (EntitySnapshot) l2Cache.get(node1.getNodeId());
 
         Assert.assertNotNull(foundNode1);
-        Assert.assertEquals(foundNode1, node1.getData()); // should be same
-                                                          // object.
+        Assert.assertFalse(foundNode1.isModified(node1.getData())); // should be
+                                                                    // same state.
 
         // remove entity 1.
         em.remove(entity1);
@@ -110,9 +111,9 @@ public class EhcacheTest
 
         Assert.assertNotNull(l2Cache.get(node2.getNodeId()));
 
-        EhCacheEntity foundNode2 = (EhCacheEntity) l2Cache.get(node2.getNodeId());
-        Assert.assertEquals(foundNode2, node2.getData()); // should be same
-                                                          // object.
+        EntitySnapshot foundNode2 = (EntitySnapshot) l2Cache.get(node2.getNodeId());
+        Assert.assertFalse(foundNode2.isModified(node2.getData())); // should be
+                                                                    // same state.
         Assert.assertNull(l2Cache.get(node1.getNodeId()));
 
         entity1.setAge(99);
@@ -129,14 +130,15 @@ public class EhcacheTest
                                 entity1.getClass()), persistenceDelegator);
 
         // check if it is present in second level cache.
-        foundNode1 = (EhCacheEntity) l2Cache.get(node1.getNodeId());
+        foundNode1 = (EntitySnapshot) l2Cache.get(node1.getNodeId());
 
         Assert.assertNotNull(foundNode1);
-        Assert.assertEquals(foundNode1, node1.getData()); // should be same
-                                                          // object.
+        Assert.assertFalse(foundNode1.isModified(node1.getData())); // should be
+                                                                    // same state.
 
-        Assert.assertEquals(foundNode1.getAge(), new Integer(99));
-        Assert.assertEquals(foundNode1.getAge(), entity1.getAge());
+        EhCacheEntity found = (EhCacheEntity) foundNode1.assemble(null);
+        Assert.assertEquals(found.getAge(), new Integer(99));
+        Assert.assertEquals(found.getAge(), entity1.getAge());
 
         em.clear(); // evict all.
 
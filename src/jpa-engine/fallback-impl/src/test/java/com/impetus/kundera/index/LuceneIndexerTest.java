@@ -15,7 +15,9 @@
  ******************************************************************************/
 package com.impetus.kundera.index;
 
+import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -141,6 +143,71 @@ public class LuceneIndexerTest
         indexer.close();
     }
 
+    @Test
+    public void testNearRealTimeSearch()
+    {
+        LuceneIndexer indexer = LuceneIndexer.getInstance(LUCENE_DIR_PATH);
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), Person.class);
+        Person p = new Person();
+        p.setAge(41);
+        p.setDay(Day.FRIDAY);
+        p.setPersonId("p_nrt");
+        indexer.index(metadata, (MetamodelImpl) ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()
+                .getApplicationMetadata().getMetamodel("patest"), p);
+
+        // searchable without flush.
+        String luceneQuery = "+Person.AGE:41 AND +entity.class:com.impetus.kundera.query.Person";
+        Map<String, Object> results = indexer.search(luceneQuery, 0, 10, false);
+        Assert.assertEquals(1, results.size());
+        Assert.assertTrue(indexer.documentExistsInIndex(metadata, "p_nrt"));
+
+        // deletes are visible without flush too.
+        indexer.unindex(metadata, "p_nrt");
+        Assert.assertTrue(indexer.search(luceneQuery, 0, 10, false).isEmpty());
+        Assert.assertFalse(indexer.documentExistsInIndex(metadata, "p_nrt"));
+
+        indexer.close();
+    }
+
+    @Test
+    public void testCloseStopsCommitter() throws Exception
+    {
+        LuceneIndexer indexer = LuceneIndexer.getInstance(LUCENE_DIR_PATH);
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(
+                ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance(), Person.class);
+        Person p = new Person();
+        p.setAge(42);
+        p.setDay(Day.FRIDAY);
+        p.setPersonId("p_commit");
+        MetamodelImpl metaModel = (MetamodelImpl) ((EntityManagerFactoryImpl) emf).getKunderaMetadataInstance()
+                .getApplicationMetadata().getMetamodel("patest");
+        indexer.index(metadata, metaModel, p);
+
+        ScheduledExecutorService committer = getCommitter(indexer);
+        Assert.assertNotNull(committer);
+
+        indexer.close();
+        Assert.assertTrue(committer.isShutdown());
+        Assert.assertNull(getCommitter(indexer));
+
+        // shared indexer, commits are scheduled again on next change.
+        indexer.unindex(metadata, "p_commit");
+        Assert.assertNotNull(getCommitter(indexer));
+        Assert.assertFalse(getCommitter(indexer).isShutdown());
+
+        indexer.close();
+    }
+
+    private ScheduledExecutorService getCommitter(LuceneIndexer indexer) throws Exception
+    {
+        Field committer = LuceneIndexer.class.getDeclaredField("committer");
+        committer.setAccessible(true);
+        return (ScheduledExecutorService) committer.get(indexer);
+    }
+
     @Test
     public void testOnUnsupportedMethods()
     {
@@ -401,6 +401,47 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
     }
 
+    /**
+     * Removes given columns and super columns out of thrift row, e.g. columns
+     * of unmodified attributes on update.
+     * 
+     * @param tf
+     *            the thrift row
+     * @param columnNames
+     *            names of columns to be removed
+     */
+    protected void removeColumns(ThriftRow tf, Set<String> columnNames)
+    {
+        if (columnNames.isEmpty())
+        {
+            return;
+        }
+
+        if (tf.getColumns() != null)
+        {
+            for (Iterator<Column> iterator = tf.getColumns().iterator(); iterator.hasNext();)
+            {
+                String name = PropertyAccessorFactory.STRING.fromBytes(String.class, iterator.next().getName());
+                if (columnNames.contains(name))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+
+        if (tf.getSuperColumns() != null)
+        {
+            for (Iterator<SuperColumn> iterator = tf.getSuperColumns().iterator(); iterator.hasNext();)
+            {
+                String name = PropertyAccessorFactory.STRING.fromBytes(String.class, iterator.next().getName());
+                if (columnNames.contains(name))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
     /**
      * Adds relation foreign key values as thrift column/ value to thrift row.
      * 
@@ -1470,7 +1511,9 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         Map<Class<?>, Map<ByteBuffer, Map<String, List<Mutation>>>> batchMutationMap = new HashMap<Class<?>, Map<ByteBuffer, Map<String, List<Mutation>>>>();
 
         int recordsExecuted = 0;
-        String batchQuery = CQLTranslator.BATCH_QUERY;
+        // entity rows are written idempotently, so batch log is not needed.
+        // Join table rows are persisted in logged batches of their own.
+        String batchQuery = CQLTranslator.UNLOGGED_BATCH_QUERY;
         batchQuery = StringUtils.replace(batchQuery, CQLTranslator.STATEMENT, "");
         StringBuilder batchQueryBuilder = new StringBuilder(batchQuery);
         try
@@ -1487,6 +1530,7 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
                             node.getDataClass());
                     persistenceUnit = metadata.getPersistenceUnit();
                     isUpdate = node.isUpdate();
+                    modifiedFields = isUpdate ? node.getModifiedFields() : null;
 
                     MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                             metadata.getPersistenceUnit());
@@ -1627,9 +1671,11 @@ public abstract class CassandraClientBase extends ClientBase implements ClientPr
         }
 
         Map<String, List<Mutation>> columnFamilyValues = new HashMap<String, List<Mutation>>();
+        Set<String> unmodifiedColumns = getUnmodifiedColumns(entityMetadata);
 
         for (ThriftRow tf : tfRows)
         {
+            removeColumns(tf, unmodifiedColumns);
             if (tf.getColumnFamilyName().equals(entityMetadata.getTableName()))
             {
                 addRelationsToThriftRow(entityMetadata, tf, relationHolders);
@@ -68,6 +68,7 @@ import com.impetus.kundera.metadata.model.Relation;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
+import com.impetus.kundera.property.FieldAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
@@ -135,7 +136,7 @@ public abstract class CassandraDataHandlerBase
             if (e == null)
             {
                 // Instantiate a new instance
-                e = clazz.newInstance();
+                e = FieldAccessorFactory.newInstance(clazz);
 
                 // Set row-key. Note:
                 PropertyAccessorHelper.setId(e, m, tr.getId());
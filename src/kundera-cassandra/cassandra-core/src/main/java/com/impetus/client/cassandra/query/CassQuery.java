@@ -1029,9 +1029,9 @@ public class CassQuery extends QueryImpl
                 getFetchSize() != null ? getFetchSize() : this.maxResult, kunderaMetadata);
     }
 
-    void setRelationalEntities(List enhanceEntities, Client client, EntityMetadata m)
+    List<Object> setRelationalEntities(List enhanceEntities, Client client, EntityMetadata m)
     {
-        super.setRelationEntities(enhanceEntities, client, m);
+        return super.setRelationEntities(enhanceEntities, client, m);
     }
 
     /**
@@ -18,10 +18,15 @@ package com.impetus.client.cassandra.query;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.Query;
@@ -42,7 +47,6 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.metadata.MetadataUtils;
-import com.impetus.kundera.metadata.model.ApplicationMetadata;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
@@ -56,15 +60,21 @@ import com.impetus.kundera.query.QueryImpl;
 /**
  * @author vivek.mishra .
  * 
- *         Implementation of Cassandra result iteration.
- * 
- *         TODO::: Need to add support for relational entities and a junit for
- *         Composite key test
+ *         Implementation of Cassandra result iteration. Results are
+ *         streamed in pages, scrolling on token(id) for CQL3 and on row key
+ *         ranges otherwise. For entities without relations, next page is
+ *         prefetched in background while current one is being consumed.
+ *         Statement of a page is built out of query on iterating thread, so
+ *         prefetch uses only client of entity manager, which must not be
+ *         used for anything else until iteration is over or closed.
  */
 class ResultIterator<E> implements IResultIterator<E>
 {
     private static Logger log = LoggerFactory.getLogger(ResultIterator.class);
 
+    /** Number of rows fetched per database trip while iterating one by one. */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
     private CassQuery query;
 
     private EntityMetadata entityMetadata;
@@ -73,12 +83,6 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private EntityReader reader;
 
-    private int maxResult = 1;
-
-    private List<E> results;
-
-    private byte[] start;
-
     private static final String MIN_ = "min";
 
     private static final String MAX_ = "max";
@@ -87,13 +91,18 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private int count;
 
-    private boolean scrollComplete;
+    private KunderaMetadata kunderaMetadata;
+
+    /** fetched but not yet returned rows. */
+    private final LinkedList<E> buffer = new LinkedList<E>();
 
-    private Map<String, Object> externalProperties;
+    /** last fetched page, next page is scrolled from it's last row. */
+    private List<E> lastPage;
 
-    private E current;
+    /** next page being fetched in background, if any. */
+    private FutureTask<Page> prefetch;
 
-    private KunderaMetadata kunderaMetadata;
+    private boolean exhausted;
 
     /**
      * Constructor with parameters
@@ -111,7 +120,6 @@ class ResultIterator<E> implements IResultIterator<E>
         this.query = (CassQuery) query;
         this.entityMetadata = m;
         this.reader = reader;
-        this.scrollComplete = false;
         this.fetchSize = fetchSize;
         this.kunderaMetadata = kunderaMetadata;
     }
@@ -119,40 +127,29 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public boolean hasNext()
     {
-        if (checkOnFetchSize())
+        if (count >= fetchSize)
         {
-            onCheckRelation();
-            if (!checkOnEmptyResult())
-            {
-                scrollComplete = true;
-                return false;
-            }
+            return false;
+        }
 
-            return true;
+        if (buffer.isEmpty())
+        {
+            fetchNext(DEFAULT_PAGE_SIZE);
         }
 
-        return false;
+        return !buffer.isEmpty();
     }
 
     @Override
     public E next()
     {
-        if (current != null && checkOnEmptyResult() && current.equals(results.get(results.size() - 1)))
-        {
-            hasNext();
-        }
-
-        if (scrollComplete)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for:" + entityMetadata.getEntityClazz());
         }
 
-        E lastFetchedEntity = getEntity(results.get(results.size() - 1));
-        start = lastFetchedEntity != null ? idValueInByteArr() : null;
-        current = getEntity(results.get(results.size() - 1));
-
-        return current;
-
+        count++;
+        return getEntity(buffer.removeFirst());
     }
 
     @Override
@@ -164,73 +161,160 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public List<E> next(int chunkSize)
     {
-        throw new UnsupportedOperationException("fetch in chunks is not yet supported");
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("Chunk size must be positive, but was:" + chunkSize);
+        }
+
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && count < fetchSize)
+        {
+            if (buffer.isEmpty())
+            {
+                fetchNext(chunkSize);
+                if (buffer.isEmpty())
+                {
+                    break;
+                }
+            }
+
+            chunk.add(getEntity(buffer.removeFirst()));
+            count++;
+        }
+
+        return chunk;
     }
 
-    /**
-     * Check on fetch size. returns true, if count on fetched rows is less than
-     * fetch size.
+    /*
+     * (non-Javadoc)
      * 
-     * @return
+     * @see com.impetus.kundera.query.IResultIterator#close()
      */
-    private boolean checkOnFetchSize()
+    @Override
+    public void close()
     {
-        if (count++ < fetchSize)
+        exhausted = true;
+        buffer.clear();
+        if (prefetch != null)
         {
-            return true;
+            prefetch.cancel(true);
+            prefetch = null;
         }
-        count = 0;
-        scrollComplete = true;
-        return false;
     }
 
     /**
-     * on check relation event, invokes populate entities and set relational
-     * entities, in case relations are present.
+     * Fills buffer with next page, either from already running prefetch or by
+     * fetching it now. Schedules prefetch of following page, if applicable.
+     * 
+     * @param pageSize
+     *            number of rows to fetch.
      */
-    private void onCheckRelation()
+    private void fetchNext(int pageSize)
     {
-        try
+        if (exhausted)
         {
-            results = populateEntities(entityMetadata, client);
+            return;
+        }
 
-            if (entityMetadata.isRelationViaJoinTable()
-                    || (entityMetadata.getRelationNames() != null && !(entityMetadata.getRelationNames().isEmpty())))
+        Page page;
+        try
+        {
+            if (prefetch != null)
+            {
+                // fetches it here, if executor has not started it yet.
+                prefetch.run();
+                page = prefetch.get();
+            }
+            else
             {
-                query.setRelationalEntities(results, client, entityMetadata);
+                page = preparePage(lastPage, Math.min(pageSize, fetchSize - count)).call();
             }
         }
+        catch (ExecutionException e)
+        {
+            throw new PersistenceException("Error while scrolling over results, Caused by :.", e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while scrolling over results.", e);
+        }
         catch (Exception e)
         {
-
             throw new PersistenceException("Error while scrolling over results, Caused by :.", e);
         }
+        finally
+        {
+            prefetch = null;
+        }
 
+        List<E> entities = skipStart(page);
+        exhausted = page.last || isEmpty(entities);
+        if (!isEmpty(entities))
+        {
+            lastPage = entities;
+            if (hasRelations())
+            {
+                entities = (List<E>) query.setRelationalEntities(entities, client, entityMetadata);
+            }
+            buffer.addAll(entities);
+        }
+
+        int remaining = fetchSize - count - buffer.size();
+        if (!exhausted && !hasRelations() && remaining > 0)
+        {
+            // relations are loaded through persistence context, which is not
+            // thread safe. So prefetch only plain entities.
+            prefetch = new FutureTask<Page>(preparePage(lastPage, Math.min(pageSize, remaining)));
+            kunderaMetadata.getAsyncExecutor().execute(prefetch);
+        }
+    }
+
+    /**
+     * Drops first row of a range scanned page, if it is the last row of
+     * previous page.
+     */
+    private List<E> skipStart(Page page)
+    {
+        List<E> entities = page.entities;
+        if (page.start != null && !isEmpty(entities)
+                && Arrays.equals(page.start, idValueInByteArr(entities.subList(0, 1))))
+        {
+            entities = new ArrayList<E>(entities.subList(1, entities.size()));
+        }
+        return entities;
+    }
+
+    /**
+     * Returns true, if entity holds relations.
+     * 
+     * @return true, if relations are present.
+     */
+    private boolean hasRelations()
+    {
+        return entityMetadata.isRelationViaJoinTable()
+                || (entityMetadata.getRelationNames() != null && !(entityMetadata.getRelationNames().isEmpty()));
     }
 
     /**
      * Method parse provided JPQL query into: 1. CQL3 query, in case cql3 is
      * enabled or is a native query. 2. list of index clause, if cql2 is
-     * enabled. Then executes query for given min & max values for scrolling
-     * over results.
+     * enabled. Returned fetch executes it to fetch page of results next to
+     * given page, using client only.
      * 
-     * @param m
-     *            entity metadata
-     * @param client
-     *            client
-     * @return list of database values wrapped into entities.
-     * @throws Exception
-     *             throws exception, in case of run time error.
+     * @param lastPage
+     *            previously fetched page, null for first page.
+     * @param pageSize
+     *            number of rows to fetch.
+     * @return fetch of page of database values wrapped into entities.
      */
-    private List<E> populateEntities(EntityMetadata m, Client client) throws Exception
+    private Callable<Page> preparePage(List<E> lastPage, final int pageSize)
     {
         if (log.isDebugEnabled())
         {
             log.debug("Populating entities for Cassandra query {}.", ((QueryImpl) query).getJPAQuery());
         }
-        List<E> result = new ArrayList<E>();
-        ApplicationMetadata appMetadata = kunderaMetadata.getApplicationMetadata();
-        externalProperties = ((CassandraClientBase) client).getExternalProperties();
+        final EntityMetadata m = entityMetadata;
 
         // if id attribute is embeddable, it is meant for CQL translation.
         // make it independent of embedded stuff and allow even to add non
@@ -239,59 +323,77 @@ class ResultIterator<E> implements IResultIterator<E>
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 m.getPersistenceUnit());
 
-        String queryString = appMetadata.getQuery(((QueryImpl) query).getJPAQuery());
-
-        boolean isNative = ((CassQuery) query).isNative();
+        final boolean isNative = query.isNative();
 
         if (((CassandraClientBase) client).isCql3Enabled(m))
         {
-            String parsedQuery = query.onQueryOverCQL3(m, client, metaModel, null);
+            final String parsedQuery = appendWhereClauseWithScroll(query.onQueryOverCQL3(m, client, metaModel, null),
+                    lastPage, pageSize);
 
-            parsedQuery = appendWhereClauseWithScroll(parsedQuery);
-            results = parsedQuery != null ? ((CassandraClientBase) client).executeQuery(m.getEntityClazz(),
-                    m.getRelationNames(), isNative, parsedQuery) : null;
+            return new Callable<Page>()
+            {
+                @Override
+                public Page call() throws Exception
+                {
+                    if (parsedQuery == null)
+                    {
+                        return new Page(null, true, null);
+                    }
+                    List<E> entities = ((CassandraClientBase) client).executeQuery(m.getEntityClazz(),
+                            m.getRelationNames(), isNative, parsedQuery);
+                    return new Page(entities, entities == null || entities.size() < pageSize, null);
+                }
+            };
         }
         else
         {
             // Index in Inverted Index table if applicable
             boolean useInvertedIndex = CassandraIndexHelper.isInvertedIndexingApplicable(m,
                     MetadataUtils.useSecondryIndex(((ClientBase) client).getClientMetadata()));
-            Map<Boolean, List<IndexClause>> ixClause = query.prepareIndexClause(m, useInvertedIndex);
+            final Map<Boolean, List<IndexClause>> ixClause = query.prepareIndexClause(m, useInvertedIndex);
             if (useInvertedIndex && !((QueryImpl) query).getKunderaQuery().getFilterClauseQueue().isEmpty())
             {
-                result = (List) ((CassandraEntityReader) this.reader).readFromIndexTable(m, client, ixClause);
+                // inverted index lookup is not scrollable, so it's single page.
+                return new Callable<Page>()
+                {
+                    @Override
+                    public Page call() throws Exception
+                    {
+                        return new Page((List) ((CassandraEntityReader) reader).readFromIndexTable(m, client,
+                                ixClause), true, null);
+                    }
+                };
             }
-            else
-            {
-                boolean isRowKeyQuery = ixClause.keySet().iterator().next();
 
-                List<IndexExpression> expressions = !ixClause.get(isRowKeyQuery).isEmpty() ? ixClause
-                        .get(isRowKeyQuery).get(0).getExpressions() : null;
+            boolean isRowKeyQuery = ixClause.keySet().iterator().next();
 
-                Map<String, byte[]> rowKeys = ((CassandraEntityReader) this.reader).getRowKeyValue(expressions,
-                        ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName());
+            final List<IndexExpression> expressions = !ixClause.get(isRowKeyQuery).isEmpty() ? ixClause
+                    .get(isRowKeyQuery).get(0).getExpressions() : null;
 
-                byte[] minValue = start == null ? rowKeys.get(MIN_) : start;
-                byte[] maxVal = rowKeys.get(MAX_);
+            Map<String, byte[]> rowKeys = ((CassandraEntityReader) this.reader).getRowKeyValue(expressions,
+                    ((AbstractAttribute) m.getIdAttribute()).getJPAColumnName());
 
-                results = ((CassandraClientBase) client).findByRange(minValue, maxVal, m, m.getRelationNames() != null
-                        && !m.getRelationNames().isEmpty(), m.getRelationNames(),
-                        query.getColumnList(m, ((QueryImpl) query).getKunderaQuery().getResult(), null), expressions,
-                        maxResult);
+            // range scan is inclusive of start key, so fetch one extra row
+            // and skip last row of previous page.
+            final byte[] start = isEmpty(lastPage) ? null : idValueInByteArr(lastPage);
+            final byte[] minValue = start == null ? rowKeys.get(MIN_) : start;
+            final byte[] maxVal = rowKeys.get(MAX_);
+            final int rowsToFetch = start == null ? pageSize : pageSize + 1;
+            final List<String> columns = query.getColumnList(m, ((QueryImpl) query).getKunderaQuery().getResult(),
+                    null);
 
-                if (maxResult == 1)
-                {
-                    maxResult++;
-                }
-                else if (maxResult > 1 && checkOnEmptyResult() && maxResult != results.size())
+            return new Callable<Page>()
+            {
+                @Override
+                public Page call() throws Exception
                 {
-                    // means iterating over last record only, so need for
-                    // database trip anymore!.
-                    results = null;
+                    List<E> entities = ((CassandraClientBase) client).findByRange(minValue, maxVal, m,
+                            m.getRelationNames() != null && !m.getRelationNames().isEmpty(), m.getRelationNames(),
+                            columns, expressions, rowsToFetch);
+                    return new Page(entities, entities == null || entities.size() < rowsToFetch, start);
                 }
-            }
+            };
         }
-        return results;
     }
 
     /**
@@ -300,10 +402,14 @@ class ResultIterator<E> implements IResultIterator<E>
      * 
      * @param parsedQuery
      *            parsed query.
+     * @param lastPage
+     *            previously fetched page.
+     * @param pageSize
+     *            number of rows to fetch.
      * 
      * @return cql3 query to be executed.
      */
-    private String appendWhereClauseWithScroll(String parsedQuery)
+    private String appendWhereClauseWithScroll(String parsedQuery, List<E> lastPage, int pageSize)
     {
 
         String queryWithoutLimit = parsedQuery.replaceAll(
@@ -311,7 +417,7 @@ class ResultIterator<E> implements IResultIterator<E>
 
         CQLTranslator translator = new CQLTranslator();
 
-        final String tokenCondition = prepareNext(translator, queryWithoutLimit);
+        final String tokenCondition = prepareNext(translator, queryWithoutLimit, lastPage);
 
         StringBuilder builder = new StringBuilder(queryWithoutLimit);
 
@@ -328,13 +434,13 @@ class ResultIterator<E> implements IResultIterator<E>
             builder.append(tokenCondition);
         }
 
-        String replaceQuery = replaceAndAppendLimit(builder.toString());
+        String replaceQuery = replaceAndAppendLimit(builder.toString(), pageSize);
         builder.replace(0, builder.toString().length(), replaceQuery);
         translator.buildFilteringClause(builder);
 
         // in case of fetch by ID, token condition will be null and results will
         // not be empty.
-        return checkOnEmptyResult() && tokenCondition == null ? null : builder.toString();
+        return !isEmpty(lastPage) && tokenCondition == null ? null : builder.toString();
     }
 
     /**
@@ -342,16 +448,18 @@ class ResultIterator<E> implements IResultIterator<E>
      * 
      * @param parsedQuery
      *            parsed cql3 query.
+     * @param limit
+     *            limit to append.
      * 
      * @return cql3 query appended with limit clause.
      */
-    private String replaceAndAppendLimit(String parsedQuery)
+    private String replaceAndAppendLimit(String parsedQuery, int limit)
     {
         // String queryWithoutLimit = parsedQuery.replaceAll(
         // parsedQuery.substring(parsedQuery.lastIndexOf(CQLTranslator.LIMIT),
         // parsedQuery.length()), "");
         StringBuilder builder = new StringBuilder(parsedQuery);
-        onLimit(builder);
+        onLimit(builder, limit);
         parsedQuery = builder.toString();
         return parsedQuery;
     }
@@ -361,11 +469,13 @@ class ResultIterator<E> implements IResultIterator<E>
      * 
      * @param builder
      *            builder instance.
+     * @param limit
+     *            limit to append.
      */
-    private void onLimit(StringBuilder builder)
+    private void onLimit(StringBuilder builder, int limit)
     {
         builder.append(CQLTranslator.LIMIT);
-        builder.append(this.maxResult);
+        builder.append(limit);
     }
 
     /**
@@ -373,12 +483,14 @@ class ResultIterator<E> implements IResultIterator<E>
      * 
      * @param translator
      *            cql translator.
+     * @param lastPage
+     *            previously fetched page.
      * 
      * @return parsed/append cql3 query.
      */
-    private String prepareNext(CQLTranslator translator, String query)
+    private String prepareNext(CQLTranslator translator, String query, List<E> lastPage)
     {
-        if (checkOnEmptyResult())
+        if (!isEmpty(lastPage))
         {
             String idName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
             Map<Boolean, String> filterOnId = getConditionOnIdColumn(idName);
@@ -400,13 +512,13 @@ class ResultIterator<E> implements IResultIterator<E>
                 }
                 else if (condition.endsWith(">") || condition.equals(">="))
                 {
-                    query = replaceAppliedToken(query);
+                    query = replaceAppliedToken(query, lastPage);
                     return query;
                 }
             }
 
             // Means there is an previous entity.
-            Object entity = results.get(results.size() - 1);
+            Object entity = getEntity(lastPage.get(lastPage.size() - 1));
             Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
             Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
             StringBuilder builder = new StringBuilder(CQLTranslator.TOKEN);
@@ -429,7 +541,8 @@ class ResultIterator<E> implements IResultIterator<E>
             }
             else
             {
-                columnName = CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata, externalProperties);
+                columnName = CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata,
+                        ((CassandraClientBase) client).getExternalProperties());
             }
 
             translator.appendColumnName(builder, columnName);
@@ -483,9 +596,16 @@ class ResultIterator<E> implements IResultIterator<E>
         return filterIdResult;
     }
 
-    private byte[] idValueInByteArr()
+    /**
+     * Returns row key bytes of last row of given page.
+     * 
+     * @param page
+     *            fetched page.
+     * @return row key bytes.
+     */
+    private byte[] idValueInByteArr(List<E> page)
     {
-        Object entity = results.get(results.size() - 1);
+        Object entity = getEntity(page.get(page.size() - 1));
         Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
         String idName = ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName();
         Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
@@ -514,15 +634,17 @@ class ResultIterator<E> implements IResultIterator<E>
     }
 
     /**
-     * check if result list is null or empty. Returns true, if it is not empty
-     * or null.
+     * check if result list is null or empty. Returns true, if it is empty or
+     * null.
      * 
+     * @param results
+     *            result list.
      * @return boolean value (true/false).
      * 
      */
-    private boolean checkOnEmptyResult()
+    private boolean isEmpty(List<E> results)
     {
-        return results != null && !results.isEmpty();
+        return results == null || results.isEmpty();
     }
 
     /**
@@ -539,7 +661,7 @@ class ResultIterator<E> implements IResultIterator<E>
                 : entity);
     }
 
-    private String replaceAppliedToken(String query)
+    private String replaceAppliedToken(String query, List<E> lastPage)
     {
         final String tokenRegex = "\\btoken\\(";
         final String pattern = "#TOKENKUNDERA#"; // need to replace with this as
@@ -556,7 +678,7 @@ class ResultIterator<E> implements IResultIterator<E>
 
             String object = query.substring(query.lastIndexOf(pattern) + pattern.length(), closingIndex);
 
-            Object entity = results.get(results.size() - 1);
+            Object entity = getEntity(lastPage.get(lastPage.size() - 1));
             Class idClazz = ((AbstractAttribute) entityMetadata.getIdAttribute()).getBindableJavaType();
             Object id = PropertyAccessorHelper.getId(entity, entityMetadata);
             StringBuilder builder = new StringBuilder();
@@ -569,4 +691,24 @@ class ResultIterator<E> implements IResultIterator<E>
 
         return query;
     }
+
+    /**
+     * Page of fetched rows.
+     */
+    private class Page
+    {
+        private final List<E> entities;
+
+        private final boolean last;
+
+        /** row key range scan started at, null if not scrolled by range. */
+        private final byte[] start;
+
+        private Page(List<E> entities, boolean last, byte[] start)
+        {
+            this.entities = entities;
+            this.last = last;
+            this.start = start;
+        }
+    }
 }
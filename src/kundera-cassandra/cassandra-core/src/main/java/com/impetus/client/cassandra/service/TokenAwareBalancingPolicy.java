@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.dht.Token.TokenFactory;
+import org.apache.cassandra.exceptions.ConfigurationException;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.FBUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.impetus.kundera.service.Host;
+import com.impetus.kundera.service.policy.LoadBalancingPolicy;
+
+/**
+ * TokenAwareBalancingPolicy routes single row operations to a pool of a
+ * replica owning row key, as per ring description of keyspace. Operations
+ * without row key, or whose replicas have no pool, are balanced by child
+ * policy.
+ */
+public class TokenAwareBalancingPolicy implements LoadBalancingPolicy
+{
+    /** The logger. */
+    private static Logger logger = LoggerFactory.getLogger(TokenAwareBalancingPolicy.class);
+
+    private final LoadBalancingPolicy childPolicy;
+
+    /** Partitioner of cluster, null until ring is known. */
+    private volatile IPartitioner partitioner;
+
+    /** Replica endpoints keyed by end token of their range. */
+    private volatile NavigableMap<Token, List<String>> ring;
+
+    /** Resolved addresses of configured hosts. */
+    private final ConcurrentMap<String, String> addresses = new ConcurrentHashMap<String, String>();
+
+    public TokenAwareBalancingPolicy(LoadBalancingPolicy childPolicy)
+    {
+        this.childPolicy = childPolicy;
+    }
+
+    /**
+     * Updates ring description used for routing.
+     * 
+     * @param partitionerClass
+     *            partitioner class name of cluster.
+     * @param tokenRanges
+     *            token ranges of keyspace, as described by cluster.
+     * @throws ConfigurationException
+     *             if partitioner can't be instantiated.
+     */
+    public void updateRing(String partitionerClass, List<TokenRange> tokenRanges) throws ConfigurationException
+    {
+        IPartitioner newPartitioner = FBUtilities.newPartitioner(partitionerClass);
+        TokenFactory tokenFactory = newPartitioner.getTokenFactory();
+
+        NavigableMap<Token, List<String>> newRing = new TreeMap<Token, List<String>>();
+        for (TokenRange range : tokenRanges)
+        {
+            List<String> endpoints = new ArrayList<String>(range.getEndpoints());
+            if (range.getRpc_endpoints() != null)
+            {
+                for (String rpcEndpoint : range.getRpc_endpoints())
+                {
+                    if (!"0.0.0.0".equals(rpcEndpoint) && !endpoints.contains(rpcEndpoint))
+                    {
+                        endpoints.add(rpcEndpoint);
+                    }
+                }
+            }
+            newRing.put(tokenFactory.fromString(range.getEnd_token()), endpoints);
+        }
+
+        this.ring = newRing;
+        this.partitioner = newPartitioner;
+    }
+
+    /**
+     * @return true, if ring description is available for routing.
+     */
+    public boolean isRingKnown()
+    {
+        return partitioner != null && ring != null && !ring.isEmpty();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.service.policy.LoadBalancingPolicy#getPool(java.util
+     * .Collection)
+     */
+    @Override
+    public Object getPool(Collection<Object> pools)
+    {
+        return childPolicy.getPool(pools);
+    }
+
+    /**
+     * Returns pool of a replica owning given row key.
+     * 
+     * @param hostPools
+     *            pools keyed by their host.
+     * @param rowKey
+     *            serialized row key, null if not known.
+     * @return pool of a replica, else pool chosen by child policy.
+     */
+    public Object getPool(Map<? extends Host, Object> hostPools, ByteBuffer rowKey)
+    {
+        List<String> replicas = rowKey != null ? getReplicas(rowKey) : null;
+        if (replicas != null)
+        {
+            List<Object> replicaPools = new ArrayList<Object>(replicas.size());
+            for (Map.Entry<? extends Host, Object> hostPool : hostPools.entrySet())
+            {
+                if (hostPool.getValue() != null && replicas.contains(getAddress(hostPool.getKey())))
+                {
+                    replicaPools.add(hostPool.getValue());
+                }
+            }
+            if (!replicaPools.isEmpty())
+            {
+                return childPolicy.getPool(replicaPools);
+            }
+        }
+        return childPolicy.getPool(new ArrayList<Object>(hostPools.values()));
+    }
+
+    /**
+     * @return endpoints owning given row key, null if ring isn't known.
+     */
+    List<String> getReplicas(ByteBuffer rowKey)
+    {
+        IPartitioner currentPartitioner = partitioner;
+        NavigableMap<Token, List<String>> currentRing = ring;
+        if (currentPartitioner == null || currentRing == null || currentRing.isEmpty())
+        {
+            return null;
+        }
+
+        // a range owns tokens after its start up to and including its end.
+        Map.Entry<Token, List<String>> range = currentRing.ceilingEntry(currentPartitioner.getToken(rowKey
+                .duplicate()));
+        return range != null ? range.getValue() : currentRing.firstEntry().getValue();
+    }
+
+    private String getAddress(Host host)
+    {
+        String address = addresses.get(host.getHost());
+        if (address == null)
+        {
+            try
+            {
+                address = InetAddress.getByName(host.getHost()).getHostAddress();
+            }
+            catch (UnknownHostException e)
+            {
+                logger.warn("Couldn't resolve host {}, Caused by: {}.", host.getHost(), e.getMessage());
+                address = host.getHost();
+            }
+            addresses.put(host.getHost(), address);
+        }
+        return address;
+    }
+}
@@ -112,6 +112,8 @@ public final class CQLTranslator
 
     public static final String BATCH_QUERY = "BEGIN BATCH $STATEMENT ";
 
+    public static final String UNLOGGED_BATCH_QUERY = "BEGIN UNLOGGED BATCH $STATEMENT ";
+
     public static final String STATEMENT = "$STATEMENT";
 
     public static final String APPLY_BATCH = " APPLY BATCH";
@@ -70,6 +70,7 @@ import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.AutoGenerator;
+import com.impetus.kundera.generator.HiLoGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
@@ -95,7 +96,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * @author amresh.singh
  */
 public class ThriftClient extends CassandraClientBase implements Client<CassQuery>, Batcher, TableGenerator,
-        AutoGenerator
+        HiLoGenerator, AutoGenerator
 {
 
     /** log for this class. */
@@ -144,7 +145,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
-        Connection conn = getConnection();
+        Connection conn = getConnection(getRowKey(entityMetadata, id));
         try
         {
             // if entity is embeddable...call cql translator to get cql string!
@@ -707,7 +708,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
         Connection conn = null;
         try
         {
-            conn = getConnection();
+            conn = getConnection(getRowKey(metadata, pKey));
             MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                     metadata.getPersistenceUnit());
 
@@ -1099,6 +1100,33 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
         return connection;
     }
 
+    /**
+     * Returns connection for a single row operation, i.e. to a replica of row
+     * if load balancing policy is token aware.
+     * 
+     * @param rowKey
+     *            serialized row key, null if not known.
+     * @return connection.
+     */
+    protected Connection getConnection(ByteBuffer rowKey)
+    {
+        return clientFactory.getConnection(clientFactory.getPoolUsingPolicy(rowKey, pool));
+    }
+
+    /**
+     * Serializes row key of entity for routing, null for composite keys.
+     */
+    private ByteBuffer getRowKey(EntityMetadata metadata, Object id)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+        if (id == null || metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType()))
+        {
+            return null;
+        }
+        return ByteBuffer.wrap(PropertyAccessorHelper.toBytes(id, metadata.getIdAttribute().getJavaType()));
+    }
+
     /**
      * Return cassandra client instance.
      * 
@@ -1118,7 +1146,7 @@ public class ThriftClient extends CassandraClientBase implements Client<CassQuer
 
     protected void releaseConnection(Object conn)
     {
-        clientFactory.releaseConnection(((Connection) conn).getPool(), ((Connection) conn).getClient());
+        clientFactory.releaseConnection((Connection) conn);
     }
 
     @Override
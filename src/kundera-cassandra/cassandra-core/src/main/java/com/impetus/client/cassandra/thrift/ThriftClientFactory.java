@@ -15,6 +15,7 @@
  */
 package com.impetus.client.cassandra.thrift;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -40,6 +41,7 @@ import com.impetus.client.cassandra.schemamanager.CassandraSchemaManager;
 import com.impetus.client.cassandra.service.CassandraHost;
 import com.impetus.client.cassandra.service.CassandraHostConfiguration;
 import com.impetus.client.cassandra.service.CassandraRetryService;
+import com.impetus.client.cassandra.service.TokenAwareBalancingPolicy;
 import com.impetus.kundera.Constants;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.PersistenceProperties;
@@ -48,8 +50,11 @@ import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
+import com.impetus.kundera.metrics.MetricsRecorder;
+import com.impetus.kundera.metrics.MetricsRecorder.Operation;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.service.HostConfiguration;
+import com.impetus.kundera.service.policy.LatencyAwareBalancingPolicy;
 import com.impetus.kundera.service.policy.LeastActiveBalancingPolicy;
 import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
 
@@ -67,6 +72,9 @@ public class ThriftClientFactory extends GenericClientFactory
 
     protected HostConfiguration configuration;
 
+    /** Latency tracking policy, if configured. */
+    private LatencyAwareBalancingPolicy latencyAwarePolicy;
+
     @Override
     public SchemaManager getSchemaManager(Map<String, Object> externalProperty)
     {
@@ -172,9 +180,42 @@ public class ThriftClientFactory extends GenericClientFactory
                 }
             }
         }
+
+        if (loadBalancingPolicy instanceof TokenAwareBalancingPolicy && !hostPools.isEmpty())
+        {
+            describeRing(keyspace);
+        }
         return null;
     }
 
+    /**
+     * Reads ring description of keyspace for token aware routing. On failure
+     * pools are chosen without regard to row key.
+     * 
+     * @param keyspace
+     *            keyspace.
+     */
+    private void describeRing(String keyspace)
+    {
+        ConnectionPool pool = getPoolUsingPolicy();
+        Cassandra.Client client = null;
+        try
+        {
+            client = pool.getConnection();
+            ((TokenAwareBalancingPolicy) loadBalancingPolicy).updateRing(client.describe_partitioner(),
+                    client.describe_ring(keyspace));
+        }
+        catch (Exception e)
+        {
+            logger.warn("Couldn't describe ring of keyspace {}, token aware routing is disabled, Caused by: {}.",
+                    keyspace, e.getMessage());
+        }
+        finally
+        {
+            releaseConnection(pool, client);
+        }
+    }
+
     @Override
     protected Client instantiateClient(String persistenceUnit)
     {
@@ -195,6 +236,26 @@ public class ThriftClientFactory extends GenericClientFactory
         throw new KunderaException("All hosts are down. please check servers manully.");
     }
 
+    /**
+     * Returns pool of a replica owning given row key if policy is token aware,
+     * else given default pool.
+     * 
+     * @param rowKey
+     *            serialized row key.
+     * @param defaultPool
+     *            pool to use if row key can't be routed.
+     * @return pool.
+     */
+    ConnectionPool getPoolUsingPolicy(ByteBuffer rowKey, ConnectionPool defaultPool)
+    {
+        if (rowKey != null && loadBalancingPolicy instanceof TokenAwareBalancingPolicy
+                && ((TokenAwareBalancingPolicy) loadBalancingPolicy).isRingKnown() && !hostPools.isEmpty())
+        {
+            return (ConnectionPool) ((TokenAwareBalancingPolicy) loadBalancingPolicy).getPool(hostPools, rowKey);
+        }
+        return defaultPool;
+    }
+
     @Override
     public boolean isThreadSafe()
     {
@@ -210,7 +271,11 @@ public class ThriftClientFactory extends GenericClientFactory
     private ConnectionPool getNewPool(String host, int port)
     {
         CassandraHost cassandraHost = ((CassandraHostConfiguration) configuration).getCassandraHost(host, port);
-        hostPools.remove(cassandraHost);
+        Object pool = hostPools.remove(cassandraHost);
+        if (latencyAwarePolicy != null && pool != null)
+        {
+            latencyAwarePolicy.removePool(pool);
+        }
 
         if (cassandraHost.isRetryHost())
         {
@@ -234,12 +299,24 @@ public class ThriftClientFactory extends GenericClientFactory
             case LEASTACTIVE:
                 loadBalancingPolicy = new ThriftLeastActiveBalancingPolcy();
                 break;
+            case LATENCYAWARE:
+                latencyAwarePolicy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+                loadBalancingPolicy = latencyAwarePolicy;
+                break;
+            case TOKENAWARE:
+                // replicas of a row are balanced by their latency.
+                latencyAwarePolicy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+                loadBalancingPolicy = new TokenAwareBalancingPolicy(latencyAwarePolicy);
+                break;
             default:
                 loadBalancingPolicy = new RoundRobinBalancingPolicy();
                 break;
             }
         }
-        loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        else
+        {
+            loadBalancingPolicy = new RoundRobinBalancingPolicy();
+        }
     }
 
     Connection getConnection(ConnectionPool pool)
@@ -251,7 +328,14 @@ public class ThriftClientFactory extends GenericClientFactory
             try
             {
                 success = true;
+                MetricsRecorder metrics = kunderaMetadata.getMetricsRecorder();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0;
                 Cassandra.Client client = connectionPool.getConnection();
+                if (metrics.isEnabled())
+                {
+                    metrics.recordLatency(Operation.CONNECTION_WAIT, getPersistenceUnit(), null, System.nanoTime()
+                            - start);
+                }
 
                 if (logger.isDebugEnabled())
                 {
@@ -281,6 +365,25 @@ public class ThriftClientFactory extends GenericClientFactory
         }
     }
 
+    /**
+     * Releases connection, recording time it was held for as latency of its
+     * pool if policy is latency aware.
+     * 
+     * @param connection
+     *            connection.
+     */
+    void releaseConnection(Connection connection)
+    {
+        if (connection != null)
+        {
+            if (latencyAwarePolicy != null)
+            {
+                latencyAwarePolicy.recordLatency(connection.getPool(), System.nanoTime() - connection.acquiredAt);
+            }
+            releaseConnection(connection.getPool(), connection.getClient());
+        }
+    }
+
     /**
      * Adds a pool in hostPools map for given host.
      * 
@@ -376,6 +479,8 @@ public class ThriftClientFactory extends GenericClientFactory
 
         private ConnectionPool pool;
 
+        private final long acquiredAt = System.nanoTime();
+
         public Connection(org.apache.cassandra.thrift.Cassandra.Client client, ConnectionPool pool)
         {
             this.client = client;
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.cassandra.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.thrift.TokenRange;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.junit.Test;
+
+import com.impetus.kundera.service.Host;
+import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
+
+/**
+ * junit for {@link TokenAwareBalancingPolicy}.
+ */
+public class TokenAwareBalancingPolicyTest
+{
+    @Test
+    public void testRouting() throws Exception
+    {
+        Map<Host, Object> hostPools = new HashMap<Host, Object>();
+        hostPools.put(new CassandraHost("127.0.0.1", 9160), "pool1");
+        hostPools.put(new CassandraHost("127.0.0.2", 9160), "pool2");
+
+        TokenAwareBalancingPolicy policy = new TokenAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+        Assert.assertFalse(policy.isRingKnown());
+
+        // without ring, child policy decides.
+        Assert.assertNotNull(policy.getPool(hostPools, ByteBufferUtil.bytes("kundera")));
+
+        List<TokenRange> ranges = new ArrayList<TokenRange>();
+        ranges.add(new TokenRange("0", String.valueOf(Long.MIN_VALUE), Arrays.asList("127.0.0.1")));
+        ranges.add(new TokenRange(String.valueOf(Long.MIN_VALUE), "0", Arrays.asList("127.0.0.2")));
+        policy.updateRing(Murmur3Partitioner.class.getName(), ranges);
+        Assert.assertTrue(policy.isRingKnown());
+
+        for (int i = 0; i < 20; i++)
+        {
+            ByteBuffer rowKey = ByteBufferUtil.bytes("key" + i);
+            long token = (Long) new Murmur3Partitioner().getToken(rowKey).token;
+            // (min, 0] is owned by second node, wrapping (0, min] by first.
+            Object expected = token > Long.MIN_VALUE && token <= 0 ? "pool2" : "pool1";
+            Assert.assertEquals(expected, policy.getPool(hostPools, rowKey));
+            Assert.assertEquals(expected, policy.getPool(hostPools, rowKey));
+        }
+    }
+
+    @Test
+    public void testReplicaWithoutPool() throws Exception
+    {
+        Map<Host, Object> hostPools = new HashMap<Host, Object>();
+        hostPools.put(new CassandraHost("127.0.0.1", 9160), "pool1");
+
+        TokenAwareBalancingPolicy policy = new TokenAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+        List<TokenRange> ranges = new ArrayList<TokenRange>();
+        ranges.add(new TokenRange("0", "0", Arrays.asList("127.0.0.3")));
+        policy.updateRing(Murmur3Partitioner.class.getName(), ranges);
+
+        Assert.assertEquals("pool1", policy.getPool(hostPools, ByteBufferUtil.bytes("kundera")));
+    }
+}
@@ -16,9 +16,12 @@
 package com.impetus.kundera.query;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -106,6 +109,22 @@ public class ResultIteratorTest extends BaseTest
    
    
 
+    @Test
+    public void testChunkScrollViaCQL3() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_3_0);
+        onChunkScroll();
+        tearDown("KunderaExamples");
+    }
+
+    @Test
+    public void testChunkScrollViaCQL2() throws Exception
+    {
+        setUp(SEC_IDX_CASSANDRA_TEST, "KunderaExamples", CassandraConstants.CQL_VERSION_2_0);
+        onChunkScroll();
+        tearDown("KunderaExamples");
+    }
+
     @Test
     public void testCQL3ScrollAssociation() throws Exception 
     {
@@ -232,6 +251,51 @@ public class ResultIteratorTest extends BaseTest
     }
 
    
+    private void onChunkScroll()
+    {
+        for (int i = 1; i <= 5; i++)
+        {
+            em.persist(prepareData(String.valueOf(i), 10 + i));
+        }
+        em.flush();
+        em.clear();
+
+        Query query = (Query) em.createNamedQuery("Select p from PersonCassandra p where p.personName = vivek",
+                PersonCassandra.class);
+
+        // each chunk is fetched as a page, last one is partial.
+        assertOnChunks(query, null, 2, 2, 2, 1);
+
+        // rows end right at page boundary.
+        assertOnChunks(query, null, 5, 5);
+
+        // more than a chunk available, but fetch size ends within second one.
+        assertOnChunks(query, 3, 2, 2, 1);
+
+        // chunks bigger than default page.
+        assertOnChunks(query, null, 200, 5);
+    }
+
+    private void assertOnChunks(Query query, Integer fetchSize, int chunkSize, int... expectedChunks)
+    {
+        query.setFetchSize(fetchSize);
+        IResultIterator<PersonCassandra> iter = (IResultIterator<PersonCassandra>) query.iterate();
+        Set<String> ids = new HashSet<String>();
+        for (int expected : expectedChunks)
+        {
+            List<PersonCassandra> chunk = iter.next(chunkSize);
+            Assert.assertEquals(expected, chunk.size());
+            for (PersonCassandra person : chunk)
+            {
+                // no row is skipped or repeated across pages.
+                Assert.assertTrue(ids.add(person.getPersonId()));
+            }
+        }
+        Assert.assertTrue(iter.next(chunkSize).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+        iter.close();
+    }
+
     private void assertOnScrollForNativeQuery(final String queryWithoutClause, int expectedCount)
     {
         Query query = (Query) em.createNamedQuery("q",
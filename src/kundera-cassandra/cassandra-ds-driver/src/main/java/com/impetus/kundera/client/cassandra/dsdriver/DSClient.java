@@ -18,12 +18,15 @@ package com.impetus.kundera.client.cassandra.dsdriver;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
@@ -42,13 +45,16 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
@@ -59,8 +65,10 @@ import com.impetus.client.cassandra.datahandler.CassandraDataHandler;
 import com.impetus.client.cassandra.query.CassQuery;
 import com.impetus.client.cassandra.thrift.CQLTranslator;
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.client.AsyncClient;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.client.MultiGetClient;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.AutoGenerator;
@@ -77,6 +85,8 @@ import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessor;
 import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.utils.ReflectUtils;
+import com.impetus.kundera.utils.TransformedFuture;
 
 /**
  * Kundera powered data stax java driver based client.
@@ -84,12 +94,16 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * @author vivek.mishra
  * 
  */
-public class DSClient extends CassandraClientBase implements Client<CassQuery>, Batcher, AutoGenerator
+public class DSClient extends CassandraClientBase implements Client<CassQuery>, Batcher, AutoGenerator, AsyncClient,
+        MultiGetClient
 {
 
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(DSClient.class);
 
+    /** Bind marker of prepared statements. */
+    private static final String BIND_MARKER = "?";
+
     private DSClientFactory factory;
 
     private EntityReader reader;
@@ -107,6 +121,11 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     @Override
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
+        if (entityMetadata.isCounterColumnType() ? updateCounters(entityMetadata, entity, id) : insert(
+                entityMetadata, entity, id, rlHolders))
+        {
+            return;
+        }
 
         // Insert, update, delete is fine
         try
@@ -147,6 +166,178 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
 
     }
 
+    /**
+     * Inserts entity using prepared statement for its table and set of non
+     * null columns.
+     * 
+     * @return false, if entity can't be written with a prepared statement.
+     */
+    private boolean insert(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        Object ttl = getTtlValues().get(entityMetadata.getTableName());
+        if (!factory.getStatementCache().isEnabled() || isCompositeKey(entityMetadata, metaModel)
+                || (ttl != null && !(ttl instanceof Integer && ((Integer) ttl).intValue() == 0)))
+        {
+            return false;
+        }
+
+        CQLTranslator translator = new CQLTranslator();
+        StringBuilder columns = new StringBuilder();
+        List<Object> values = new ArrayList<Object>();
+
+        String idColumnName = CassandraUtilities.getIdColumnName(kunderaMetadata, entityMetadata,
+                getExternalProperties());
+        addBindVariable(translator, columns, values, idColumnName, id);
+
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        Set<String> unmodifiedColumns = getUnmodifiedColumns(entityMetadata);
+        for (Attribute attribute : (Set<Attribute>) entityType.getAttributes())
+        {
+            String columnName = ((AbstractAttribute) attribute).getJPAColumnName();
+            if (attribute.equals(entityMetadata.getIdAttribute()) || attribute.isAssociation()
+                    || ReflectUtils.isTransientOrStatic((Field) attribute.getJavaMember())
+                    || columnName.equals(((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName()))
+            {
+                continue;
+            }
+            if (attribute.isCollection() || ((AbstractAttribute) attribute).getTableName() != null
+                    || metaModel.isEmbeddable(((AbstractAttribute) attribute).getBindableJavaType()))
+            {
+                // collections, embeddables and secondary tables are left to
+                // plain CQL.
+                return false;
+            }
+            Object value = PropertyAccessorHelper.getObject(entity, (Field) attribute.getJavaMember());
+            if (value != null && !unmodifiedColumns.contains(columnName))
+            {
+                addBindVariable(translator, columns, values, columnName, value);
+            }
+        }
+
+        for (RelationHolder rl : rlHolders)
+        {
+            addBindVariable(translator, columns, values, rl.getRelationName(), rl.getRelationValue());
+        }
+
+        String discrColumn = ((AbstractManagedType) entityType).getDiscriminatorColumn();
+        String discrValue = ((AbstractManagedType) entityType).getDiscriminatorValue();
+        if (discrColumn != null && discrValue != null)
+        {
+            addBindVariable(translator, columns, values, discrColumn, discrValue);
+        }
+
+        StringBuilder markers = new StringBuilder(BIND_MARKER);
+        for (int i = 1; i < values.size(); i++)
+        {
+            markers.append(CQLTranslator.COMMA_STR);
+            markers.append(BIND_MARKER);
+        }
+
+        String insertQuery = CQLTranslator.INSERT_QUERY;
+        insertQuery = StringUtils.replace(insertQuery, CQLTranslator.COLUMN_FAMILY,
+                translator.ensureCase(new StringBuilder(), entityMetadata.getTableName(), false).toString());
+        insertQuery = StringUtils.replace(insertQuery, CQLTranslator.COLUMNS, columns.toString());
+        insertQuery = StringUtils.replace(insertQuery, CQLTranslator.COLUMN_VALUES, markers.toString());
+
+        return executePrepared(insertQuery, values.toArray()) != null;
+    }
+
+    /**
+     * Increments counter columns of entity using prepared statement.
+     * 
+     * @return false, if counters can't be updated with a prepared statement.
+     */
+    private boolean updateCounters(EntityMetadata entityMetadata, Object entity, Object id)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        if (!factory.getStatementCache().isEnabled() || isCompositeKey(entityMetadata, metaModel))
+        {
+            return false;
+        }
+
+        CQLTranslator translator = new CQLTranslator();
+        StringBuilder setClause = new StringBuilder();
+        List<Object> values = new ArrayList<Object>();
+
+        EntityType entityType = metaModel.entity(entityMetadata.getEntityClazz());
+        for (Attribute attribute : (Set<Attribute>) entityType.getAttributes())
+        {
+            if (attribute.equals(entityMetadata.getIdAttribute()) || attribute.isAssociation())
+            {
+                continue;
+            }
+            if (((AbstractAttribute) attribute).getTableName() != null
+                    || metaModel.isEmbeddable(((AbstractAttribute) attribute).getBindableJavaType()))
+            {
+                return false;
+            }
+            Object value = PropertyAccessorHelper.getObject(entity, (Field) attribute.getJavaMember());
+            if (value != null)
+            {
+                if (!values.isEmpty())
+                {
+                    setClause.append(CQLTranslator.COMMA_STR);
+                }
+                String columnName = ((AbstractAttribute) attribute).getJPAColumnName();
+                translator.ensureCase(setClause, columnName, false);
+                setClause.append(CQLTranslator.EQ_CLAUSE);
+                translator.ensureCase(setClause, columnName, false);
+                setClause.append(CQLTranslator.INCR_COUNTER);
+                setClause.append(BIND_MARKER);
+                values.add(value);
+            }
+        }
+
+        if (values.isEmpty())
+        {
+            return false;
+        }
+        values.add(id);
+
+        StringBuilder updateQuery = new StringBuilder(StringUtils.replace(CQLTranslator.UPDATE_QUERY,
+                CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(),
+                        entityMetadata.getTableName(), false).toString()));
+        updateQuery.append(CQLTranslator.ADD_SET_CLAUSE);
+        updateQuery.append(setClause);
+        appendIdClause(translator, updateQuery, entityMetadata);
+
+        return executePrepared(updateQuery.toString(), values.toArray()) != null;
+    }
+
+    /**
+     * Appends column name to columns and value to bind values.
+     */
+    private void addBindVariable(CQLTranslator translator, StringBuilder columns, List<Object> values,
+            String columnName, Object value)
+    {
+        if (!values.isEmpty())
+        {
+            columns.append(CQLTranslator.COMMA_STR);
+        }
+        translator.appendColumnName(columns, columnName);
+        values.add(value);
+    }
+
+    /**
+     * Appends where clause on row key with a bind marker.
+     */
+    private void appendIdClause(CQLTranslator translator, StringBuilder builder, EntityMetadata metadata)
+    {
+        builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+        translator.ensureCase(builder,
+                CassandraUtilities.getIdColumnName(kunderaMetadata, metadata, getExternalProperties()), false);
+        builder.append(CQLTranslator.EQ_CLAUSE);
+        builder.append(BIND_MARKER);
+    }
+
+    private boolean isCompositeKey(EntityMetadata metadata, MetamodelImpl metaModel)
+    {
+        return metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType());
+    }
+
     /**
      * Finds an entity from database
      */
@@ -154,12 +345,109 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     public Object find(Class entityClass, Object rowId)
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
-        StringBuilder builder = createSelectQuery(rowId, metadata, metadata.getTableName());
-        ResultSet rSet = this.execute(builder.toString(), null);
+        ResultSet rSet = findById(rowId, metadata, metadata.getTableName());
         List results = iterateAndReturn(rSet, entityClass, metadata);
         return results.isEmpty() ? null : results.get(0);
     }
 
+    /**
+     * Selects row of given table by row key, using prepared statement if
+     * possible.
+     */
+    private ResultSet findById(Object rowId, EntityMetadata metadata, String tableName)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        ResultSet rSet = null;
+        if (factory.getStatementCache().isEnabled() && !isCompositeKey(metadata, metaModel))
+        {
+            rSet = executePrepared(createSelectQuery(metadata, tableName), rowId);
+        }
+
+        if (rSet == null)
+        {
+            rSet = this.execute(createSelectQuery(rowId, metadata, tableName).toString(), null);
+        }
+        return rSet;
+    }
+
+    /**
+     * Creates select query on row key with a bind marker.
+     */
+    private String createSelectQuery(EntityMetadata metadata, String tableName)
+    {
+        CQLTranslator translator = new CQLTranslator();
+        StringBuilder builder = new StringBuilder(StringUtils.replace(CQLTranslator.SELECTALL_QUERY,
+                CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), tableName, false).toString()));
+        appendIdClause(translator, builder, metadata);
+        return builder.toString();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#findAsync(java.lang.Class,
+     * java.lang.Object, java.lang.Runnable)
+     */
+    @Override
+    public Future<Object> findAsync(final Class entityClass, Object rowId, final Runnable onCompletion)
+    {
+        final EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        // session is held until result is retrieved.
+        final Session session = factory.getConnection();
+        try
+        {
+            Query query = null;
+            if (factory.getStatementCache().isEnabled() && !isCompositeKey(metadata, metaModel))
+            {
+                query = DSClientUtilities.bind(
+                        factory.getStatementCache().getStatement(session,
+                                createSelectQuery(metadata, metadata.getTableName())), rowId);
+            }
+            if (query == null)
+            {
+                query = new SimpleStatement(createSelectQuery(rowId, metadata, metadata.getTableName()).toString());
+            }
+            query.setConsistencyLevel(ConsistencyLevel.valueOf(this.consistencyLevel.name()));
+
+            ResultSetFuture future = session.executeAsync(query);
+            future.addListener(onCompletion, new Executor()
+            {
+                @Override
+                public void execute(Runnable command)
+                {
+                    // on driver's thread, completion listeners are cheap.
+                    command.run();
+                }
+            });
+            return new TransformedFuture<ResultSet, Object>(future)
+            {
+                @Override
+                protected Object transform(ResultSet rSet)
+                {
+                    List results = iterateAndReturn(rSet, entityClass, metadata);
+                    return results.isEmpty() ? null : results.get(0);
+                }
+
+                @Override
+                protected void release()
+                {
+                    factory.releaseConnection(session);
+                }
+            };
+        }
+        catch (Exception e)
+        {
+            factory.releaseConnection(session);
+            log.error("Error while finding record asynchronously, Caused by: .", e);
+            throw new KunderaException(e);
+        }
+    }
+
     private StringBuilder createSelectQuery(Object rowId, EntityMetadata metadata, String tableName)
     {
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
@@ -179,10 +467,20 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
     public final <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... rowIds)
     {
         // TODO: need to think about selected column case.
-        // Bring in IN Clause in place of each read.
 
         List results = new ArrayList<E>();
-        if (rowIds != null)
+        if (rowIds == null || rowIds.length == 0)
+        {
+            return results;
+        }
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        // IN clause is only allowed on last partition key column, so compound
+        // keys are still fetched one by one.
+        if (metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType()))
         {
             for (Object rowId : rowIds)
             {
@@ -193,10 +491,55 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
                 }
             }
         }
+        else
+        {
+            StringBuilder builder = createSelectInQuery(metadata, rowIds);
+            ResultSet rSet = this.execute(builder.toString(), null);
+            results = iterateAndReturn(rSet, entityClass, metadata);
+        }
 
         return results;
     }
 
+    /**
+     * Creates select query fetching all given row keys with a single IN
+     * clause.
+     * 
+     * @param metadata
+     *            entity metadata.
+     * @param rowIds
+     *            row keys.
+     * @return select query.
+     */
+    private StringBuilder createSelectInQuery(EntityMetadata metadata, Object... rowIds)
+    {
+        CQLTranslator translator = new CQLTranslator();
+
+        String select_Query = translator.SELECTALL_QUERY;
+        select_Query = StringUtils.replace(select_Query, CQLTranslator.COLUMN_FAMILY,
+                translator.ensureCase(new StringBuilder(), metadata.getTableName(), false).toString());
+        StringBuilder builder = new StringBuilder(select_Query);
+        builder.append(CQLTranslator.ADD_WHERE_CLAUSE);
+        translator.ensureCase(builder,
+                CassandraUtilities.getIdColumnName(kunderaMetadata, metadata, getExternalProperties()), false);
+        builder.append(CQLTranslator.SPACE_STRING);
+        builder.append(CQLTranslator.IN_CLAUSE);
+        builder.append(CQLTranslator.SPACE_STRING);
+        builder.append(CQLTranslator.OPEN_BRACKET);
+
+        Class idClazz = ((AbstractAttribute) metadata.getIdAttribute()).getBindableJavaType();
+        for (int i = 0; i < rowIds.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(CQLTranslator.COMMA_STR);
+            }
+            translator.appendValue(builder, idClazz, rowIds[i], false, false);
+        }
+        builder.append(CQLTranslator.CLOSE_BRACKET);
+        return builder;
+    }
+
     @Override
     public Object generate()
     {
@@ -215,6 +558,44 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
                 "Support for super columns is not available with DS java driver. Either use Thrift or pelops for the same");
     }
 
+    /**
+     * Inserts join table records in one logged batch, using prepared
+     * statement. Batch is prepared once per number of records.
+     * 
+     * @return false, if records can't be written with a prepared statement.
+     */
+    private boolean persistJoinTable(String insertQuery, Map<Object, Set<Object>> joinTableRecords)
+    {
+        String markers = BIND_MARKER + CQLTranslator.COMMA_STR + BIND_MARKER + CQLTranslator.COMMA_STR + BIND_MARKER;
+        String insertStatement = StringUtils.replace(insertQuery, CQLTranslator.COLUMN_VALUES, markers);
+
+        List<Object> values = new ArrayList<Object>();
+        StringBuilder statements = new StringBuilder();
+        for (Object key : joinTableRecords.keySet())
+        {
+            for (Object value : joinTableRecords.get(key))
+            {
+                if (value != null)
+                {
+                    values.add(PropertyAccessorHelper.getString(key) + "\001"
+                            + PropertyAccessorHelper.getString(value));
+                    values.add(key);
+                    values.add(value);
+                    statements.append(insertStatement);
+                    statements.append(" ");
+                }
+            }
+        }
+
+        if (values.isEmpty())
+        {
+            return true;
+        }
+        String batchQuery = StringUtils.replace(CQLTranslator.BATCH_QUERY, CQLTranslator.STATEMENT,
+                statements.toString()) + CQLTranslator.APPLY_BATCH;
+        return executePrepared(batchQuery, Collections.singletonList(values.toArray()));
+    }
+
     @Override
     public void persistJoinTable(JoinTableData joinTableData)
     {
@@ -247,6 +628,11 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
 
         insert_Query = StringUtils.replace(insert_Query, CQLTranslator.COLUMNS, builder.toString());
 
+        if (persistJoinTable(insert_Query, joinTableRecords))
+        {
+            return;
+        }
+
         StringBuilder columnValueBuilder = new StringBuilder();
 
         StringBuilder statements = new StringBuilder();
@@ -486,12 +872,29 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
                 .getSecondaryTablesName();
         secondaryTables.add(m.getTableName());
 
+        boolean prepared = factory.getStatementCache().isEnabled() && !isCompositeKey(m, metaModel);
         for (String tableName : secondaryTables)
         {
-            this.execute(onDeleteQuery(m, tableName, metaModel, pKey), null);
+            if (!prepared || executePrepared(onDeleteQuery(m, tableName), pKey) == null)
+            {
+                this.execute(onDeleteQuery(m, tableName, metaModel, pKey), null);
+            }
         }
     }
 
+    /**
+     * Creates delete query on row key with a bind marker.
+     */
+    private String onDeleteQuery(EntityMetadata metadata, String tableName)
+    {
+        CQLTranslator translator = new CQLTranslator();
+        StringBuilder builder = new StringBuilder(StringUtils.replace(CQLTranslator.DELETE_QUERY,
+                CQLTranslator.COLUMN_FAMILY, translator.ensureCase(new StringBuilder(), tableName, false)
+                        .toString()));
+        appendIdClause(translator, builder, metadata);
+        return builder.toString();
+    }
+
     @Override
     protected Object getConnection()
     {
@@ -532,6 +935,98 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
         }
     }
 
+    /**
+     * Executes query as prepared statement, prepared once per factory and
+     * cached.
+     * 
+     * @param query
+     *            cql query with bind markers.
+     * @param values
+     *            values to bind.
+     * @return result set or null, if statement cache is disabled or values
+     *         can't be bound.
+     */
+    private ResultSet executePrepared(final String query, Object... values)
+    {
+        if (!factory.getStatementCache().isEnabled())
+        {
+            return null;
+        }
+
+        Session session = factory.getConnection();
+        try
+        {
+            PreparedStatement statement = factory.getStatementCache().getStatement(session, query);
+            BoundStatement boundStatement = DSClientUtilities.bind(statement, values);
+            if (boundStatement == null)
+            {
+                return null;
+            }
+            boundStatement.setConsistencyLevel(ConsistencyLevel.valueOf(this.consistencyLevel.name()));
+            return session.execute(boundStatement);
+        }
+        catch (Exception e)
+        {
+            log.error("Error while executing prepared query {}.", query);
+            throw new KunderaException(e);
+        }
+        finally
+        {
+            factory.releaseConnection(session);
+        }
+    }
+
+    /**
+     * Executes prepared query asynchronously once for each row of values and
+     * waits for all of them to complete.
+     * 
+     * @return false, if statement cache is disabled or any row can't be bound.
+     */
+    private boolean executePrepared(final String query, List<Object[]> rows)
+    {
+        if (!factory.getStatementCache().isEnabled())
+        {
+            return false;
+        }
+
+        Session session = factory.getConnection();
+        try
+        {
+            PreparedStatement statement = factory.getStatementCache().getStatement(session, query);
+            List<BoundStatement> boundStatements = new ArrayList<BoundStatement>(rows.size());
+            for (Object[] values : rows)
+            {
+                BoundStatement boundStatement = DSClientUtilities.bind(statement, values);
+                if (boundStatement == null)
+                {
+                    return false;
+                }
+                boundStatement.setConsistencyLevel(ConsistencyLevel.valueOf(this.consistencyLevel.name()));
+                boundStatements.add(boundStatement);
+            }
+
+            List<ResultSetFuture> futures = new ArrayList<ResultSetFuture>(boundStatements.size());
+            for (BoundStatement boundStatement : boundStatements)
+            {
+                futures.add(session.executeAsync(boundStatement));
+            }
+            for (ResultSetFuture future : futures)
+            {
+                future.getUninterruptibly();
+            }
+            return true;
+        }
+        catch (Exception e)
+        {
+            log.error("Error while executing prepared query {}.", query);
+            throw new KunderaException(e);
+        }
+        finally
+        {
+            factory.releaseConnection(session);
+        }
+    }
+
     public int executeUpdateDeleteQuery(String cqlQuery)
     {
         Session session = null;
@@ -564,7 +1059,6 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
         Iterator<Row> rowIter = rSet.iterator();
         List results = new ArrayList();
 
-        Map<String, Object> relationalValues = new HashMap<String, Object>();
         Map<String, Field> compositeColumns = new HashMap<String, Field>();
 
         Object compositeKeyInstance = null;
@@ -586,6 +1080,9 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
         {
             Object entity = null;
             Row row = rowIter.next();
+
+            // relations are held per row, as rows are wrapped separately.
+            Map<String, Object> relationalValues = new HashMap<String, Object>();
             ColumnDefinitions columnDefs = row.getColumnDefinitions();
             Iterator<Definition> columnDefIter = columnDefs.iterator();
 
@@ -646,8 +1143,7 @@ public class DSClient extends CassandraClientBase implements Client<CassQuery>,
 
         for (String tableName : secondaryTables)
         {
-            StringBuilder builder = createSelectQuery(rowId, metadata, tableName);
-            ResultSet rSet = this.execute(builder.toString(), null);
+            ResultSet rSet = findById(rowId, metadata, tableName);
 
             Iterator<Row> rowIter = rSet.iterator();
 
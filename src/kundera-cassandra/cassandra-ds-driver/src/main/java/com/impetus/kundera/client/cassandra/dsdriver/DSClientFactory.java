@@ -70,6 +70,9 @@ public class DSClientFactory extends GenericClientFactory implements CassandraCl
 
     private String keyspace;
 
+    /** Prepared statements, shared by all clients of this factory. */
+    private PreparedStatementCache statementCache;
+
     /*
      * (non-Javadoc)
      * 
@@ -108,6 +111,12 @@ public class DSClientFactory extends GenericClientFactory implements CassandraCl
         schemaManager = null;
         externalProperties = null;
 
+        if (statementCache != null)
+        {
+            logger.info("Closing factory with {}.", statementCache);
+            statementCache.clear();
+        }
+
         ((Cluster) getConnectionPoolOrConnection()).shutdown();
     }
 
@@ -143,6 +152,14 @@ public class DSClientFactory extends GenericClientFactory implements CassandraCl
         configuration = new CassandraHostConfiguration(externalProperties, CassandraPropertyReader.csmd,
                 getPersistenceUnit(), kunderaMetadata);
 
+        int cacheSize = PreparedStatementCache.DEFAULT_MAX_SIZE;
+        Properties connectionProperties = CassandraPropertyReader.csmd.getConnectionProperties();
+        if (connectionProperties != null
+                && !StringUtils.isBlank(connectionProperties.getProperty("prepared.statement.cache.size")))
+        {
+            cacheSize = Integer.parseInt(connectionProperties.getProperty("prepared.statement.cache.size").trim());
+        }
+        statementCache = new PreparedStatementCache(cacheSize);
     }
 
     /*
@@ -281,6 +298,17 @@ public class DSClientFactory extends GenericClientFactory implements CassandraCl
         }
     }
 
+    /**
+     * Returns prepared statement cache of this factory, e.g. to report its
+     * hit rate.
+     * 
+     * @return prepared statement cache.
+     */
+    public PreparedStatementCache getStatementCache()
+    {
+        return statementCache;
+    }
+
     /*
      * (non-Javadoc)
      * 
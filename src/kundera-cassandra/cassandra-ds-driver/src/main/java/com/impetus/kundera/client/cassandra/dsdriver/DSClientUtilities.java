@@ -16,14 +16,22 @@
 package com.impetus.kundera.client.cassandra.dsdriver;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.cassandra.utils.ByteBufferUtil;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.DataType.Name;
 import com.impetus.client.cassandra.common.CassandraUtilities;
@@ -264,4 +272,112 @@ public final class DSClientUtilities
         }
     }
 
+    /**
+     * Binds values to prepared statement, converting them to java types
+     * expected by driver for respective bind variables.
+     * 
+     * @param statement
+     *            prepared statement
+     * @param values
+     *            values, one per bind variable
+     * @return bound statement, null if any value can't be bound.
+     */
+    static BoundStatement bind(PreparedStatement statement, Object... values)
+    {
+        ColumnDefinitions variables = statement.getVariables();
+        if (variables.size() != values.length)
+        {
+            return null;
+        }
+
+        Object[] bindValues = new Object[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            bindValues[i] = toBindValue(values[i], variables.getType(i).getName());
+            if (bindValues[i] == null)
+            {
+                return null;
+            }
+        }
+        return statement.bind(bindValues);
+    }
+
+    /**
+     * Converts value to java type expected by driver for given CQL data type.
+     * 
+     * @param value
+     *            value
+     * @param dataType
+     *            CQL data type
+     * @return converted value, null if value can't be converted.
+     */
+    static Object toBindValue(Object value, Name dataType)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+
+        switch (dataType)
+        {
+        case ASCII:
+        case TEXT:
+        case VARCHAR:
+            if (value instanceof Enum)
+            {
+                return ((Enum) value).name();
+            }
+            return value instanceof String || value instanceof Character ? value.toString() : null;
+
+        case INT:
+            return value instanceof Integer || value instanceof Short || value instanceof Byte ? ((Number) value)
+                    .intValue() : null;
+
+        case BIGINT:
+        case COUNTER:
+            return value instanceof Long || value instanceof Integer || value instanceof Short
+                    || value instanceof Byte ? ((Number) value).longValue() : null;
+
+        case FLOAT:
+            return value instanceof Float ? value : null;
+
+        case DOUBLE:
+            return value instanceof Double || value instanceof Float ? ((Number) value).doubleValue() : null;
+
+        case BOOLEAN:
+            return value instanceof Boolean ? value : null;
+
+        case DECIMAL:
+            return value instanceof BigDecimal ? value : null;
+
+        case VARINT:
+            return value instanceof BigInteger ? value : null;
+
+        case TIMESTAMP:
+            if (value instanceof Calendar)
+            {
+                return ((Calendar) value).getTime();
+            }
+            return value instanceof Date ? value : null;
+
+        case UUID:
+        case TIMEUUID:
+            return value instanceof UUID ? value : null;
+
+        case BLOB:
+            if (value instanceof byte[])
+            {
+                return ByteBuffer.wrap((byte[]) value);
+            }
+            return value instanceof ByteBuffer ? value : null;
+
+        case INET:
+            return value instanceof InetAddress ? value : null;
+
+        default:
+            // collections and custom types are left to plain CQL.
+            return null;
+        }
+    }
+
 }
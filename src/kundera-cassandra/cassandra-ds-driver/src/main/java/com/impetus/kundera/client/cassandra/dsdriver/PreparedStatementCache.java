@@ -0,0 +1,154 @@
+/**
+ * Copyright 2014 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.client.cassandra.dsdriver;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded, thread safe cache of {@link PreparedStatement}s keyed by CQL
+ * statement, one per {@link DSClientFactory}. Statements are prepared once per
+ * entity and operation shape and bound to values afterwards, so that Cassandra
+ * does not need to parse them again on each execution.
+ */
+public class PreparedStatementCache
+{
+    /** Default number of prepared statements held by cache. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Prepared statements. */
+    private final Cache<String, PreparedStatement> statements;
+
+    private final int maxSize;
+
+    /**
+     * Instantiates a new prepared statement cache.
+     * 
+     * @param maxSize
+     *            maximum number of statements to hold, 0 disables prepared
+     *            statements.
+     */
+    public PreparedStatementCache(int maxSize)
+    {
+        if (maxSize < 0)
+        {
+            throw new IllegalArgumentException("Prepared statement cache size must be >= 0");
+        }
+        this.maxSize = maxSize;
+        this.statements = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * @return true, if statements are to be prepared.
+     */
+    public boolean isEnabled()
+    {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns prepared statement for given CQL, preparing it on given session
+     * if not cached yet.
+     * 
+     * @param session
+     *            session to prepare statement on.
+     * @param cql
+     *            CQL statement with bind markers.
+     * @return prepared statement.
+     */
+    PreparedStatement getStatement(Session session, String cql)
+    {
+        PreparedStatement statement = statements.getIfPresent(cql);
+        if (statement == null)
+        {
+            // concurrent misses may prepare same statement twice, which is
+            // harmless.
+            statement = session.prepare(cql);
+            statements.put(cql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Discards all prepared statements.
+     */
+    public void clear()
+    {
+        statements.invalidateAll();
+    }
+
+    /**
+     * @return number of cached statements.
+     */
+    public long size()
+    {
+        return statements.size();
+    }
+
+    /**
+     * @return number of lookups served from cache.
+     */
+    public long getHitCount()
+    {
+        return statements.stats().hitCount();
+    }
+
+    /**
+     * @return number of lookups which required statement preparation.
+     */
+    public long getMissCount()
+    {
+        return statements.stats().missCount();
+    }
+
+    /**
+     * @return ratio of lookups served from cache, 1.0 if there were none.
+     */
+    public double getHitRate()
+    {
+        return statements.stats().hitRate();
+    }
+
+    /**
+     * @return number of statements evicted because of size bound.
+     */
+    public long getEvictionCount()
+    {
+        return statements.stats().evictionCount();
+    }
+
+    @Override
+    public String toString()
+    {
+        CacheStats stats = statements.stats();
+        StringBuilder builder = new StringBuilder();
+        builder.append("PreparedStatementCache [size=");
+        builder.append(statements.size());
+        builder.append(", hits=");
+        builder.append(stats.hitCount());
+        builder.append(", misses=");
+        builder.append(stats.missCount());
+        builder.append(", hitRate=");
+        builder.append(stats.hitRate());
+        builder.append(", evictions=");
+        builder.append(stats.evictionCount());
+        builder.append("]");
+        return builder.toString();
+    }
+}
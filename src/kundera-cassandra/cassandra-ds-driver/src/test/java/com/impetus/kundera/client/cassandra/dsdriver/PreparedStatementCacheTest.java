@@ -0,0 +1,96 @@
+/**
+ * Copyright 2014 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.kundera.client.cassandra.dsdriver;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.UUID;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.DataType.Name;
+
+/**
+ * junit for {@link PreparedStatementCache} and bind value conversion of
+ * {@link DSClientUtilities}.
+ */
+public class PreparedStatementCacheTest
+{
+    private enum Day
+    {
+        MONDAY
+    }
+
+    @Test
+    public void testCacheSize()
+    {
+        PreparedStatementCache cache = new PreparedStatementCache(PreparedStatementCache.DEFAULT_MAX_SIZE);
+        Assert.assertTrue(cache.isEnabled());
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+
+        Assert.assertFalse(new PreparedStatementCache(0).isEnabled());
+
+        try
+        {
+            new PreparedStatementCache(-1);
+            Assert.fail("Should have failed for negative size");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testBindValues()
+    {
+        Assert.assertEquals("kundera", DSClientUtilities.toBindValue("kundera", Name.TEXT));
+        Assert.assertEquals("a", DSClientUtilities.toBindValue('a', Name.VARCHAR));
+        Assert.assertEquals("MONDAY", DSClientUtilities.toBindValue(Day.MONDAY, Name.ASCII));
+
+        Assert.assertEquals(10, DSClientUtilities.toBindValue((short) 10, Name.INT));
+        Assert.assertEquals(10L, DSClientUtilities.toBindValue(10, Name.BIGINT));
+        Assert.assertEquals(10L, DSClientUtilities.toBindValue(10L, Name.COUNTER));
+        Assert.assertEquals(1.5d, DSClientUtilities.toBindValue(1.5f, Name.DOUBLE));
+        Assert.assertEquals(Boolean.TRUE, DSClientUtilities.toBindValue(true, Name.BOOLEAN));
+        Assert.assertEquals(BigInteger.ONE, DSClientUtilities.toBindValue(BigInteger.ONE, Name.VARINT));
+
+        Calendar calendar = Calendar.getInstance();
+        Assert.assertEquals(calendar.getTime(), DSClientUtilities.toBindValue(calendar, Name.TIMESTAMP));
+        Date date = new Date();
+        Assert.assertEquals(date, DSClientUtilities.toBindValue(date, Name.TIMESTAMP));
+
+        UUID uuid = UUID.randomUUID();
+        Assert.assertEquals(uuid, DSClientUtilities.toBindValue(uuid, Name.UUID));
+        Assert.assertEquals(ByteBuffer.wrap(new byte[] { 1 }),
+                DSClientUtilities.toBindValue(new byte[] { 1 }, Name.BLOB));
+    }
+
+    @Test
+    public void testUnconvertibleValues()
+    {
+        Assert.assertNull(DSClientUtilities.toBindValue(10L, Name.INT));
+        Assert.assertNull(DSClientUtilities.toBindValue(1.5d, Name.FLOAT));
+        Assert.assertNull(DSClientUtilities.toBindValue("kundera", Name.UUID));
+        Assert.assertNull(DSClientUtilities.toBindValue(null, Name.TEXT));
+    }
+}
@@ -71,6 +71,7 @@ import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.db.SearchResult;
 import com.impetus.kundera.generator.AutoGenerator;
+import com.impetus.kundera.generator.HiLoGenerator;
 import com.impetus.kundera.generator.TableGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
@@ -96,7 +97,7 @@ import com.impetus.kundera.property.PropertyAccessorHelper;
  * @since 0.1
  */
 public class PelopsClient extends CassandraClientBase implements Client<CassQuery>, Batcher, TableGenerator,
-        AutoGenerator
+        HiLoGenerator, AutoGenerator
 {
     /** log for this class. */
     private static Logger log = LoggerFactory.getLogger(PelopsClient.class);
@@ -543,9 +544,10 @@ public class PelopsClient extends CassandraClientBase implements Client<CassQuer
                 log.error("Error during persist, Caused by: .", e);
                 throw new KunderaException(e);
             }
+            Set<String> unmodifiedColumns = getUnmodifiedColumns(metadata);
             for (ThriftRow tf : tfRows)
             {
-
+                removeColumns(tf, unmodifiedColumns);
                 if (tf.getColumnFamilyName().equals(metadata.getTableName()))
                 {
                     addRelationsToThriftRow(metadata, tf, rlHolders);
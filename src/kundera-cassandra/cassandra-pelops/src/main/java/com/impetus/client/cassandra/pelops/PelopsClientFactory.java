@@ -22,6 +22,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.scale7.cassandra.pelops.Cluster;
 import org.scale7.cassandra.pelops.Cluster.Node;
@@ -57,6 +59,7 @@ import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.service.Host;
 import com.impetus.kundera.service.HostConfiguration;
+import com.impetus.kundera.service.policy.LatencyAwareBalancingPolicy;
 import com.impetus.kundera.service.policy.LeastActiveBalancingPolicy;
 import com.impetus.kundera.service.policy.RoundRobinBalancingPolicy;
 
@@ -70,6 +73,13 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
 
     private HostConfiguration configuration;
 
+    /** Latency tracking policy, if configured. */
+    private LatencyAwareBalancingPolicy latencyAwarePolicy;
+
+    /** Pool and acquisition time of connections in use, if latency aware. */
+    private final ConcurrentMap<IPooledConnection, Acquisition> acquisitions =
+            new ConcurrentHashMap<IPooledConnection, Acquisition>();
+
     @Override
     public void initialize(Map<String, Object> externalProperty)
     {
@@ -213,6 +223,15 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
         case LEASTACTIVE:
             loadBalancingPolicy = new PelopsLeastActiveBalancingPolcy();
             break;
+        case TOKENAWARE:
+            // selectors and mutators of pelops are bound to a pool per
+            // client, row keys are not known at pool selection.
+            logger.warn("Token aware routing is not supported by pelops client, using latency aware policy.");
+            // falls through.
+        case LATENCYAWARE:
+            latencyAwarePolicy = new LatencyAwareBalancingPolicy(new RoundRobinBalancingPolicy());
+            loadBalancingPolicy = latencyAwarePolicy;
+            break;
         default:
             loadBalancingPolicy = new RoundRobinBalancingPolicy();
             break;
@@ -254,7 +273,7 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
                     {
                         // logger.info("Returning connection of {} :{} .",
                         // nodes[0].getAddress(), thriftPort);
-                        return iThriftPool.getConnection();
+                        return onAcquire(iThriftPool, iThriftPool.getConnection());
                     }
                     removePool(iThriftPool);
                 }
@@ -262,7 +281,7 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
                 {
                     // logger.info("Returning connection of {} :{} .",
                     // nodes[0].getAddress(), thriftPort);
-                    return iThriftPool.getConnection();
+                    return onAcquire(iThriftPool, iThriftPool.getConnection());
                 }
                 removePool(iThriftPool);
             }
@@ -385,10 +404,42 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
     {
         if (conn != null)
         {
+            Acquisition acquisition = latencyAwarePolicy != null ? acquisitions.remove(conn) : null;
+            if (acquisition != null)
+            {
+                latencyAwarePolicy.recordLatency(acquisition.pool, System.nanoTime() - acquisition.acquiredAt);
+            }
             conn.release();
         }
     }
 
+    /**
+     * Remembers pool and acquisition time of connection, if latency aware.
+     */
+    private IPooledConnection onAcquire(IThriftPool pool, IPooledConnection conn)
+    {
+        if (latencyAwarePolicy != null && conn != null)
+        {
+            acquisitions.put(conn, new Acquisition(pool));
+        }
+        return conn;
+    }
+
+    /**
+     * Pool and time a connection was acquired at.
+     */
+    private static final class Acquisition
+    {
+        private final IThriftPool pool;
+
+        private final long acquiredAt = System.nanoTime();
+
+        private Acquisition(IThriftPool pool)
+        {
+            this.pool = pool;
+        }
+    }
+
     /**
      * Adds a pool in hostPools map for given host.
      * 
@@ -439,6 +490,10 @@ public class PelopsClientFactory extends GenericClientFactory implements Cassand
         CassandraHost cassandraHost = ((CassandraHostConfiguration) configuration).getCassandraHost(
                 nodes[0].getAddress(), ((CommonsBackedPool) pool).getCluster().getConnectionConfig().getThriftPort());
         hostPools.remove(cassandraHost);
+        if (latencyAwarePolicy != null)
+        {
+            latencyAwarePolicy.removePool(pool);
+        }
     }
 
     /**
@@ -58,6 +58,7 @@ import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.ClientPropertiesSetter;
+import com.impetus.kundera.client.MultiGetClient;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.generator.AutoGenerator;
 import com.impetus.kundera.graph.Node;
@@ -83,7 +84,7 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
  * 
  */
 public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, Batcher, ClientPropertiesSetter,
-        AutoGenerator
+        AutoGenerator, MultiGetClient
 {
     /** the log used by this class. */
     private static Logger log = LoggerFactory.getLogger(CouchDBClient.class);
@@ -100,6 +101,8 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
 
     private int batchSize;
 
+    private int iteratorPageSize = ResultIterator.DEFAULT_PAGE_SIZE;
+
     /** The reader. */
     private EntityReader reader;
 
@@ -113,6 +116,7 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
         this.reader = reader;
         this.clientMetadata = clientMetadata;
         this.setBatchSize(persistenceUnit, externalProperty);
+        this.setIteratorPageSize(externalProperty);
     }
 
     @Override
@@ -124,22 +128,7 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
                 entityMetadata.getPersistenceUnit());
         try
         {
-            if (key instanceof JsonElement)
-            {
-                key = ((JsonElement) key).getAsString();
-            }
-            String _id = null;
-            if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-            {
-                Field field = (Field) entityMetadata.getIdAttribute().getJavaMember();
-                EmbeddableType embeddableType = metaModel.embeddable(entityMetadata.getIdAttribute()
-                        .getBindableJavaType());
-                _id = CouchDBObjectMapper.get_Id(field, key, embeddableType, entityMetadata.getTableName());
-            }
-            else
-            {
-                _id = entityMetadata.getTableName() + PropertyAccessorHelper.getString(key);
-            }
+            String _id = get_Id(entityMetadata, metaModel, key);
 
             URI uri = new URI(CouchDBConstants.PROTOCOL, null, httpHost.getHostName(), httpHost.getPort(),
                     CouchDBConstants.URL_SAPRATOR + entityMetadata.getSchema().toLowerCase()
@@ -177,17 +166,103 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
         List results = new ArrayList();
-        for (Object key : keys)
+        if (keys == null || keys.length == 0)
+        {
+            return results;
+        }
+
+        HttpResponse response = null;
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+        try
         {
-            Object object = find(entityClass, key);
-            if (object != null)
+            JsonArray ids = new JsonArray();
+            for (Object key : keys)
             {
-                results.add(object);
+                ids.add(gson.toJsonTree(get_Id(entityMetadata, metaModel, key)));
             }
+            JsonObject keysObject = new JsonObject();
+            keysObject.add("keys", ids);
+
+            // Fetch all documents with a single request.
+            URI uri = new URI(CouchDBConstants.PROTOCOL, null, httpHost.getHostName(), httpHost.getPort(),
+                    CouchDBConstants.URL_SAPRATOR + entityMetadata.getSchema().toLowerCase()
+                            + CouchDBConstants.URL_SAPRATOR + CouchDBConstants.ALL_DOCS, "include_docs=true", null);
+            HttpPost post = new HttpPost(uri);
+            post.addHeader("Accept", "application/json");
+            StringEntity entity = new StringEntity(gson.toJson(keysObject), "UTF-8");
+            entity.setContentType("application/json");
+            post.setEntity(entity);
+            response = httpClient.execute(httpHost, post, CouchDBUtils.getContext(httpHost));
+
+            Reader reader = new InputStreamReader(response.getEntity().getContent());
+            JsonObject jsonObject = gson.fromJson(reader, JsonObject.class);
+            JsonElement rows = jsonObject.get("rows");
+            if (rows == null || !rows.isJsonArray())
+            {
+                return results;
+            }
+
+            for (JsonElement row : rows.getAsJsonArray())
+            {
+                JsonElement doc = row.getAsJsonObject().get("doc");
+
+                // Missing and deleted documents come without doc.
+                if (doc == null || !doc.isJsonObject()
+                        || doc.getAsJsonObject().get(
+                                ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName()) == null)
+                {
+                    continue;
+                }
+
+                Object result = CouchDBObjectMapper.getEntityFromJson(entityClass, entityMetadata,
+                        doc.getAsJsonObject(), entityMetadata.getRelationNames(), kunderaMetadata);
+                if (result != null)
+                {
+                    results.add(result);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            log.error("Error while finding objects by keys, Caused by {}.", e);
+            throw new KunderaException(e);
+        }
+        finally
+        {
+            closeContent(response);
         }
         return results;
     }
 
+    /**
+     * Returns document id for given primary key.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @param metaModel
+     *            meta model.
+     * @param key
+     *            primary key.
+     * @return document id.
+     */
+    private String get_Id(EntityMetadata entityMetadata, MetamodelImpl metaModel, Object key)
+    {
+        if (key instanceof JsonElement)
+        {
+            key = ((JsonElement) key).getAsString();
+        }
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            Field field = (Field) entityMetadata.getIdAttribute().getJavaMember();
+            EmbeddableType embeddableType = metaModel.embeddable(entityMetadata.getIdAttribute()
+                    .getBindableJavaType());
+            return CouchDBObjectMapper.get_Id(field, key, embeddableType, entityMetadata.getTableName());
+        }
+        return entityMetadata.getTableName() + PropertyAccessorHelper.getString(key);
+    }
+
     @Override
     public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
     {
@@ -772,11 +847,12 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
      * @param _id
      * @param m
      * @param results
+     * @return view rows returned for query, null if none.
      * @throws IOException
      * @throws ClientProtocolException
      * @throws URISyntaxException
      */
-    void executeQuery(StringBuilder q, String _id, EntityMetadata m, List results) throws IOException,
+    JsonArray executeQuery(StringBuilder q, String _id, EntityMetadata m, List results) throws IOException,
             ClientProtocolException, URISyntaxException
     {
         HttpResponse response = null;
@@ -796,7 +872,7 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
 
             if (jsonElement == null)
             {
-                return;
+                return null;
             }
             JsonArray array = jsonElement.getAsJsonArray();
             for (JsonElement element : array)
@@ -808,6 +884,7 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
                     results.add(entityFromJson);
                 }
             }
+            return array;
         }
         finally
         {
@@ -914,4 +991,31 @@ public class CouchDBClient extends ClientBase implements Client<CouchDBQuery>, B
     {
         this.batchSize = batch_Size;
     }
+
+    /**
+     * @param puProperties
+     */
+    private void setIteratorPageSize(Map<String, Object> puProperties)
+    {
+        Object pageSize = puProperties != null ? puProperties.get(CouchDbDBClientProperties.ITERATOR_PAGE_SIZE)
+                : null;
+        if (pageSize != null)
+        {
+            setIteratorPageSize(Integer.valueOf(pageSize.toString()));
+        }
+    }
+
+    void setIteratorPageSize(int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Iterator page size must be positive, but was:" + pageSize);
+        }
+        this.iteratorPageSize = pageSize;
+    }
+
+    int getIteratorPageSize()
+    {
+        return iteratorPageSize;
+    }
 }
\ No newline at end of file
@@ -31,6 +31,8 @@ public interface CouchDBConstants
 
     public static final String VIEW = URL_SAPRATOR + "_view" + URL_SAPRATOR;
 
+    public static final String ALL_DOCS = "_all_docs";
+
     public static final String LANGUAGE = "javascript";
 
     public static final String LINE_SEP = System.getProperty("line.separator");
@@ -34,6 +34,9 @@ public class CouchDbDBClientProperties
 
     public static final String BATCH_SIZE = "batch.size";
 
+    /** number of view rows fetched per request while iterating over query. */
+    public static final String ITERATOR_PAGE_SIZE = "iterator.page.size";
+
     private CouchDBClient couchDBClient;
 
     public void populateClientProperties(Client client, Map<String, Object> properties)
@@ -51,6 +54,10 @@ public class CouchDbDBClientProperties
                     {
                         setBatchSize(value);
                     }
+                    else if (key.equals(ITERATOR_PAGE_SIZE))
+                    {
+                        this.couchDBClient.setIteratorPageSize(Integer.valueOf(value.toString()));
+                    }
                 }
                 // Add more properties as needed
             }
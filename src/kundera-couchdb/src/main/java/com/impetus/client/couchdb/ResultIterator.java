@@ -16,12 +16,15 @@
 package com.impetus.client.couchdb;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.impetus.kundera.KunderaException;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.EnhanceEntity;
@@ -33,7 +36,9 @@ import com.impetus.kundera.query.IResultIterator;
 /**
  * @author kuldeep.mishra .
  * 
- *         Implementation of CouchDB result iteration.
+ *         Implementation of CouchDB result iteration. View rows are fetched
+ *         in pages, each next page continues from last row of previous one
+ *         using startkey/startkey_docid.
  * 
  * @param <E>
  */
@@ -42,6 +47,9 @@ class ResultIterator<E> implements IResultIterator<E>
     /** The logger. */
     private static Logger logger = LoggerFactory.getLogger(ResultIterator.class);
 
+    /** Default number of view rows fetched per request. */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
     private EntityMetadata m;
 
     private CouchDBClient client;
@@ -56,15 +64,17 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private CouchDBQueryInterpreter interpreter;
 
-    private int skipCounter = 0;
+    private int pageSize;
 
     private int count = 0;
 
-    private E currentObject = null;
+    /** last row of previously fetched page, null before first fetch. */
+    private JsonObject lastRow;
 
     private boolean scrollComplete = false;
 
-    private List results = new ArrayList();
+    /** fetched but not yet returned entities. */
+    private LinkedList<E> buffer = new LinkedList<E>();
 
     public ResultIterator(CouchDBClient client, EntityMetadata m, PersistenceDelegator pd,
             CouchDBQueryInterpreter interpreter, Integer fetchSize)
@@ -74,6 +84,7 @@ class ResultIterator<E> implements IResultIterator<E>
         this.fetchSize = fetchSize;
         this.persistenceDelegator = pd;
         this.interpreter = interpreter;
+        this.pageSize = client.getIteratorPageSize();
         onQuery();
     }
 
@@ -84,84 +95,138 @@ class ResultIterator<E> implements IResultIterator<E>
             _id = CouchDBConstants.URL_SAPRATOR + m.getSchema() + CouchDBConstants.URL_SAPRATOR + "_design/"
                     + m.getTableName() + "/_view/";
             _id = client.createQuery(interpreter, m, q, _id);
-
-            if (!q.toString().isEmpty())
-            {
-                q.append("&");
-            }
-            q.append("limit=" + 1);
         }
         catch (Exception e)
         {
-            
+            logger.error("Error while creating query, caused by {}.", e);
+            throw new KunderaException("Error while creating query, caused by : " + e);
         }
     }
 
     @Override
     public boolean hasNext()
     {
-        currentObject = fetchObject();
-        if (count < fetchSize && fetchSize > 0 && currentObject != null)
+        if (fetchSize <= 0 || count >= fetchSize)
         {
-            count++;
-            return true;
+            return false;
         }
-        scrollComplete = true;
-        return false;
+        if (buffer.isEmpty())
+        {
+            fetchPage(pageSize);
+        }
+        return !buffer.isEmpty();
     }
 
     @Override
     public E next()
     {
-        if (fetchSize <= 0 || count > fetchSize || scrollComplete)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
         }
-        else
-        {
-            E objectToReturn = currentObject;
-            currentObject = null;
-            return objectToReturn;
-        }
+        count++;
+        return buffer.removeFirst();
     }
 
-    private E fetchObject()
+    /**
+     * Fetches next page of view rows into buffer.
+     * 
+     * @param size
+     *            number of rows to fetch.
+     */
+    private void fetchPage(int size)
     {
+        if (scrollComplete)
+        {
+            return;
+        }
+
+        int limit = Math.min(size, fetchSize - count);
+        List results = new ArrayList();
+        JsonArray rows;
         try
         {
-            String previousSkip = "&skip=" + (skipCounter - 1);
-            String currentSkip = "&skip=" + skipCounter;
-            int indexOf = q.indexOf(previousSkip);
-            if (indexOf > 0)
-            {
-                q.replace(indexOf, indexOf + previousSkip.length(), currentSkip);
-            }
-            else if (skipCounter > 0)
-            {
-                q.append(currentSkip);
-            }
-            client.executeQuery(q, _id, m, results);
-            skipCounter++;
+            rows = client.executeQuery(new StringBuilder(pageQuery(q.toString(), lastRow, limit)), _id, m, results);
         }
         catch (Exception e)
         {
             logger.error("Error while executing query, caused by {}.", e);
             throw new KunderaException("Error while executing query, caused by : " + e);
         }
-        if (results != null && !results.isEmpty())
+
+        if (rows == null || rows.size() < limit)
+        {
+            scrollComplete = true;
+        }
+        if (rows != null && rows.size() > 0)
+        {
+            lastRow = rows.get(rows.size() - 1).getAsJsonObject();
+        }
+
+        boolean hasRelations = m.isRelationViaJoinTable()
+                || (m.getRelationNames() != null && !(m.getRelationNames().isEmpty()));
+        for (Object object : results)
+        {
+            buffer.add(hasRelations ? setRelationEntities(object, client, m) : (E) object);
+        }
+    }
+
+    /**
+     * Returns view query for a page of given size, continuing after last row
+     * of previous page if any.
+     * 
+     * @param query
+     *            view query built from JPA query.
+     * @param lastRow
+     *            last row of previous page, null for first page.
+     * @param limit
+     *            number of rows to fetch.
+     * @return view query for page.
+     */
+    static String pageQuery(String query, JsonObject lastRow, int limit)
+    {
+        StringBuilder builder = new StringBuilder();
+        if (lastRow == null)
+        {
+            builder.append(query);
+        }
+        else
         {
-            Object object = results.get(0);
-            results = new ArrayList();
-            if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+            // startkey is replaced with key of last row, and an exact key is
+            // turned into a range ending at it.
+            String key = null;
+            boolean hasEndKey = false;
+            for (String param : query.split("&"))
             {
-                return (E) object;
+                if (param.startsWith("key="))
+                {
+                    key = param.substring("key=".length());
+                }
+                else if (!param.isEmpty() && !param.startsWith("startkey="))
+                {
+                    hasEndKey = hasEndKey || param.startsWith("endkey=");
+                    appendParam(builder, param);
+                }
             }
-            else
+            if (key != null && !hasEndKey)
             {
-                return setRelationEntities(object, client, m);
+                appendParam(builder, "endkey=" + key);
             }
+            appendParam(builder, "startkey=" + lastRow.get("key"));
+            appendParam(builder, "startkey_docid=" + lastRow.get("id").getAsString());
+            appendParam(builder, "skip=1");
         }
-        return null;
+        appendParam(builder, "limit=" + limit);
+        return builder.toString();
+    }
+
+    private static void appendParam(StringBuilder builder, String param)
+    {
+        if (builder.length() > 0)
+        {
+            builder.append("&");
+        }
+        builder.append(param);
     }
 
     @Override
@@ -173,7 +238,38 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public List<E> next(int chunkSize)
     {
-        throw new UnsupportedOperationException("fetch in chunks is not yet supported");
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("Chunk size must be positive, but was:" + chunkSize);
+        }
+
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && fetchSize > 0 && count < fetchSize)
+        {
+            if (buffer.isEmpty())
+            {
+                fetchPage(Math.max(chunkSize - chunk.size(), pageSize));
+                if (buffer.isEmpty())
+                {
+                    break;
+                }
+            }
+            chunk.add(buffer.removeFirst());
+            count++;
+        }
+        return chunk;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        scrollComplete = true;
+        buffer.clear();
     }
 
     private E setRelationEntities(Object enhanceEntity, Client client, EntityMetadata m)
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.couchdb;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+/**
+ * junit for view query paging of {@link ResultIterator}.
+ */
+public class ResultIteratorPageQueryTest
+{
+    @Test
+    public void testFirstPage()
+    {
+        Assert.assertEquals("limit=10", ResultIterator.pageQuery("", null, 10));
+        Assert.assertEquals("key=\"vivek\"&limit=10", ResultIterator.pageQuery("key=\"vivek\"", null, 10));
+    }
+
+    @Test
+    public void testNextPage()
+    {
+        JsonObject lastRow = new JsonObject();
+        lastRow.addProperty("id", "person_2");
+        lastRow.addProperty("key", "vivek");
+
+        Assert.assertEquals("startkey=\"vivek\"&startkey_docid=person_2&skip=1&limit=10",
+                ResultIterator.pageQuery("", lastRow, 10));
+
+        // exact key becomes range ending at it.
+        Assert.assertEquals("endkey=\"vivek\"&startkey=\"vivek\"&startkey_docid=person_2&skip=1&limit=10",
+                ResultIterator.pageQuery("key=\"vivek\"", lastRow, 10));
+
+        // range query keeps it's end key.
+        Assert.assertEquals(
+                "endkey=\"z\"&inclusive_end=true&startkey=\"vivek\"&startkey_docid=person_2&skip=1&limit=10",
+                ResultIterator.pageQuery("startkey=\"a\"&endkey=\"z\"&inclusive_end=true", lastRow, 10));
+    }
+}
@@ -15,8 +15,11 @@
  */
 package com.impetus.client.couchdb.query;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -26,6 +29,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.impetus.client.couchdb.CouchDbDBClientProperties;
 import com.impetus.client.couchdb.datatypes.tests.CouchDBBase;
 import com.impetus.client.couchdb.entities.CouchDBToken;
 import com.impetus.client.couchdb.entities.CouchDBTokenClient;
@@ -74,6 +78,48 @@ public class ResultIteratorTest extends CouchDBBase
         assertOnTokenScroll();
     }
 
+    @Test
+    public void testScrollInChunks() throws Exception
+    {
+        for (int i = 1; i <= 5; i++)
+        {
+            PersonCouchDB p = new PersonCouchDB();
+            p.setPersonId("chunk" + i);
+            p.setPersonName("kuldeep");
+            p.setAge(10 * i);
+            p.setDay(Day.THURSDAY);
+            p.setMonth(Month.APRIL);
+            em.persist(p);
+        }
+        em.clear();
+
+        // fetch one row per request to verify continuation between pages.
+        em.setProperty(CouchDbDBClientProperties.ITERATOR_PAGE_SIZE, "1");
+
+        Query query = (Query) em.createQuery("Select p from PersonCouchDB p where p.personName = kuldeep",
+                PersonCouchDB.class);
+        IResultIterator<PersonCouchDB> iter = (IResultIterator<PersonCouchDB>) query.iterate();
+
+        Set<String> ids = new HashSet<String>();
+        List<PersonCouchDB> chunk = iter.next(2);
+        Assert.assertEquals(2, chunk.size());
+        for (PersonCouchDB p : chunk)
+        {
+            ids.add(p.getPersonId());
+        }
+        Assert.assertTrue(iter.hasNext());
+        ids.add(iter.next().getPersonId());
+        chunk = iter.next(5);
+        Assert.assertEquals(2, chunk.size());
+        for (PersonCouchDB p : chunk)
+        {
+            ids.add(p.getPersonId());
+        }
+        Assert.assertEquals(5, ids.size());
+        Assert.assertTrue(iter.next(2).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+    }
+
     private void assertOnTokenScroll()
     {
         CouchDBToken token1 = new CouchDBToken();
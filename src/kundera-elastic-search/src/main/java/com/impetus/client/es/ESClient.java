@@ -25,17 +25,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ListenableActionFuture;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
+import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchResponse;
@@ -52,10 +59,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.AsyncClient;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.client.MultiGetClient;
 import com.impetus.kundera.db.RelationHolder;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.lifecycle.states.RemovedState;
@@ -73,12 +82,14 @@ import com.impetus.kundera.property.PropertyAccessorFactory;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.impetus.kundera.property.accessor.EnumAccessor;
 import com.impetus.kundera.utils.KunderaCoreUtils;
+import com.impetus.kundera.utils.TransformedFuture;
 
 /**
  * @author vivek.mishra Elastic search client implementation on {@link Client}
  * 
  */
-public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, ClientPropertiesSetter
+public class ESClient extends ClientBase implements Client<ESQuery>, AsyncClient, Batcher, ClientPropertiesSetter,
+        MultiGetClient
 {
 
     private ESClientFactory factory;
@@ -190,18 +201,9 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     {
         EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
         GetResponse get = null;
-
-        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                metadata.getPersistenceUnit());
-
-        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
-
-        String keyAsString = getKeyAsString(key, metadata, metaModel);
         try
         {
-            get = txClient
-                    .prepareGet(metadata.getSchema().toLowerCase(), metadata.getTableName(),
-                            keyAsString).setOperationThreaded(false).execute().get();
+            get = prepareGet(metadata, key).execute().get();
         }
         catch (InterruptedException iex)
         {
@@ -214,6 +216,64 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
             throw new PersistenceException(eex);
         }
 
+        return onGet(entityClass, key, metadata, get);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.client.AsyncClient#findAsync(java.lang.Class,
+     * java.lang.Object, java.lang.Runnable)
+     */
+    @Override
+    public Future<Object> findAsync(final Class entityClass, final Object key, final Runnable onCompletion)
+    {
+        final EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+        ListenableActionFuture<GetResponse> future = prepareGet(metadata, key).execute();
+        future.addListener(new ActionListener<GetResponse>()
+        {
+            @Override
+            public void onResponse(GetResponse response)
+            {
+                onCompletion.run();
+            }
+
+            @Override
+            public void onFailure(Throwable e)
+            {
+                onCompletion.run();
+            }
+        });
+        return new TransformedFuture<GetResponse, Object>(future)
+        {
+            @Override
+            protected Object transform(GetResponse get)
+            {
+                return onGet(entityClass, key, metadata, get);
+            }
+        };
+    }
+
+    private GetRequestBuilder prepareGet(EntityMetadata metadata, Object key)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        String keyAsString = getKeyAsString(key, metadata, metaModel);
+        return txClient.prepareGet(metadata.getSchema().toLowerCase(), metadata.getTableName(), keyAsString)
+                .setOperationThreaded(false);
+    }
+
+    /**
+     * Returns entity out of fetched document, null if there is none.
+     */
+    private Object onGet(Class entityClass, Object key, EntityMetadata metadata, GetResponse get)
+    {
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+
         Map<String, Object> results = get.getSource();
 
         Object result = null;
@@ -319,7 +379,63 @@ public class ESClient extends ClientBase implements Client<ESQuery>, Batcher, Cl
     @Override
     public <E> List<E> findAll(Class<E> entityClass, String[] columnsToSelect, Object... keys)
     {
-        return null;
+        List results = new ArrayList();
+        if (keys == null || keys.length == 0)
+        {
+            return results;
+        }
+
+        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass);
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                metadata.getPersistenceUnit());
+
+        EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+
+        MultiGetRequestBuilder multiGet = txClient.prepareMultiGet();
+        for (Object key : keys)
+        {
+            multiGet.add(metadata.getSchema().toLowerCase(), metadata.getTableName(),
+                    getKeyAsString(key, metadata, metaModel));
+        }
+
+        MultiGetResponse response = null;
+        try
+        {
+            response = multiGet.execute().get();
+        }
+        catch (InterruptedException iex)
+        {
+            log.error("Error while find records of {}, Caused by :.", entityClass.getSimpleName(), iex);
+            throw new PersistenceException(iex);
+        }
+        catch (ExecutionException eex)
+        {
+            log.error("Error while find records of {}, Caused by :.", entityClass.getSimpleName(), eex);
+            throw new PersistenceException(eex);
+        }
+
+        // responses are in same order as requested keys.
+        MultiGetItemResponse[] items = response.getResponses();
+        for (int i = 0; i < items.length; i++)
+        {
+            if (items[i].isFailed())
+            {
+                log.warn("Error while find record of {} for key {}, Caused by :{}.", new Object[] {
+                        entityClass.getSimpleName(), keys[i], items[i].getFailure().getMessage() });
+                continue;
+            }
+
+            GetResponse get = items[i].getResponse();
+            if (get.isExists())
+            {
+                Object result = getInstance(entityClass, null);
+                PropertyAccessorHelper.setId(result, metadata, keys[i]);
+                results.add(wrap(get.getSource(), entityType, result, metadata, true));
+            }
+        }
+
+        return results;
     }
 
     @Override
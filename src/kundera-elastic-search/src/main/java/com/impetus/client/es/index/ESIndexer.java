@@ -11,7 +11,11 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.elasticsearch.action.ListenableActionFuture;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
@@ -24,6 +28,7 @@ import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.impetus.kundera.KunderaException;
+import com.impetus.kundera.index.BulkIndexer;
 import com.impetus.kundera.index.Indexer;
 import com.impetus.kundera.index.IndexerProperties;
 import com.impetus.kundera.index.IndexerProperties.Node;
@@ -38,10 +43,13 @@ import com.thoughtworks.xstream.XStream;
  * @author vivek.mishra
  * 
  */
-public class ESIndexer implements Indexer
+public class ESIndexer implements Indexer, BulkIndexer
 {
     private Client client;
 
+    /** Bulk request being collected by calling thread, if any. */
+    private final ThreadLocal<BulkRequestBuilder> bulk = new ThreadLocal<BulkRequestBuilder>();
+
     /** The Constant UUID. */
     private static final long UUID = 6077004083174677888L;
 
@@ -89,9 +97,15 @@ public class ESIndexer implements Indexer
             Object id = PropertyAccessorHelper.fromSourceToTargetClass(String.class,
                     ((AbstractAttribute) metadata.getIdAttribute()).getBindableJavaType(), values.get(idColumnName));
 
-            ListenableActionFuture<IndexResponse> listenableActionFuture = client
+            IndexRequestBuilder request = client
                     .prepareIndex(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
-                    .setSource(json).execute();
+                    .setSource(json);
+            if (bulk.get() != null)
+            {
+                bulk.get().add(request);
+                return;
+            }
+            ListenableActionFuture<IndexResponse> listenableActionFuture = request.execute();
             IndexResponse response = listenableActionFuture.actionGet();
         }
         catch (JsonGenerationException e)
@@ -143,9 +157,36 @@ public class ESIndexer implements Indexer
     public void unIndex(Class entityClazz, Object entity, EntityMetadata metadata, MetamodelImpl metamodelImpl)
     {
         Object id = PropertyAccessorHelper.getId(entity, metadata);
-        DeleteResponse response = client
-                .prepareDelete(metadata.getSchema().toLowerCase(), entityClazz.getSimpleName(), id.toString())
-                .execute().actionGet();
+        DeleteRequestBuilder request = client.prepareDelete(metadata.getSchema().toLowerCase(),
+                entityClazz.getSimpleName(), id.toString());
+        if (bulk.get() != null)
+        {
+            bulk.get().add(request);
+            return;
+        }
+        DeleteResponse response = request.execute().actionGet();
+    }
+
+    @Override
+    public void beginBulk()
+    {
+        bulk.set(client.prepareBulk());
+    }
+
+    @Override
+    public void endBulk()
+    {
+        BulkRequestBuilder request = bulk.get();
+        bulk.remove();
+        if (request != null && request.numberOfActions() > 0)
+        {
+            BulkResponse response = request.execute().actionGet();
+            if (response.hasFailures())
+            {
+                log.error("Error while executing bulk index request, Caused by: " + response.buildFailureMessage());
+                throw new IndexingException(response.buildFailureMessage());
+            }
+        }
     }
 
     @Override
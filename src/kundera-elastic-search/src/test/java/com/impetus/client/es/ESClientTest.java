@@ -23,6 +23,10 @@ import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
@@ -66,7 +70,8 @@ public class ESClientTest
 
     @Test
     public void test() throws NoSuchFieldException, SecurityException, IllegalArgumentException,
-            IllegalAccessException, InterruptedException, InvocationTargetException, NoSuchMethodException
+            IllegalAccessException, InterruptedException, InvocationTargetException, NoSuchMethodException,
+            ExecutionException
     {
         ESClientFactory esFactory = new ESClientFactory();
         Map<String, Object> props = new HashMap<String, Object>();
@@ -106,6 +111,31 @@ public class ESClientTest
         PersonES result = (PersonES) client.find(PersonES.class, "1");
         Assert.assertNotNull(result);
 
+        // native asynchronous find.
+        final CountDownLatch completed = new CountDownLatch(1);
+        Future<Object> future = client.findAsync(PersonES.class, "1", new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                completed.countDown();
+            }
+        });
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals("vivek", ((PersonES) future.get()).getPersonName());
+
+        final CountDownLatch notFound = new CountDownLatch(1);
+        future = client.findAsync(PersonES.class, "2_p", new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                notFound.countDown();
+            }
+        });
+        Assert.assertNull(future.get());
+        Assert.assertTrue(notFound.await(10, TimeUnit.SECONDS));
+
         PersonES invalidResult = (PersonES) client.find(PersonES.class, "2_p");
         Assert.assertNull(invalidResult);
 
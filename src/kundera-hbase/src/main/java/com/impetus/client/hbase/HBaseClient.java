@@ -488,7 +488,7 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
         try
         {
             // Write data to HBase
-            handler.writeData(tableName, entityMetadata, entity, id, relations);
+            handler.writeData(tableName, entityMetadata, entity, id, relations, getUnmodifiedColumns(entityMetadata));
         }
         catch (IOException e)
         {
@@ -789,7 +789,7 @@ public class HBaseClient extends ClientBase implements Client<HBaseQuery>, Batch
                         List<HBaseDataWrapper> dataSet = null;
                         if (data.containsKey(hTable))
                         {
-                            dataSet = data.get(metadata.getTableName());
+                            dataSet = data.get(hTable);
                             addRecords(columnWrapper, embeddableData, dataSet);
                         }
                         else
@@ -342,11 +342,11 @@ public class HBaseDataHandler implements DataHandler
      * @see
      * com.impetus.client.hbase.admin.DataHandler#writeData(java.lang.String,
      * com.impetus.kundera.metadata.model.EntityMetadata, java.lang.Object,
-     * java.lang.String, java.util.List)
+     * java.lang.String, java.util.List, java.util.Set)
      */
     @Override
     public void writeData(String tableName, EntityMetadata m, Object entity, Object rowId,
-            List<RelationHolder> relations) throws IOException
+            List<RelationHolder> relations, Set<String> unmodifiedColumns) throws IOException
     {
         HTableInterface hTable = gethTable(tableName);
 
@@ -364,7 +364,7 @@ public class HBaseDataHandler implements DataHandler
         Map<String, HBaseDataWrapper> columnWrappers = preparePersistentData(tableName, m.getTableName(), entity,
                 rowId, metaModel, attributes, columnWrapper, persistentData);
 
-        writeColumnData(hTable, entity, columnWrappers);
+        writeColumnData(hTable, entity, columnWrappers, unmodifiedColumns);
 
         for (HBaseDataWrapper wrapper : persistentData)
         {
@@ -397,14 +397,20 @@ public class HBaseDataHandler implements DataHandler
         puthTable(hTable);
     }
 
-    private void writeColumnData(HTableInterface hTable, Object entity, Map<String, HBaseDataWrapper> columnWrappers)
-            throws IOException
+    private void writeColumnData(HTableInterface hTable, Object entity, Map<String, HBaseDataWrapper> columnWrappers,
+            Set<String> unmodifiedColumns) throws IOException
     {
 
         for (HBaseDataWrapper wrapper : columnWrappers.values())
         {
-            hbaseWriter.writeColumns(hTable, wrapper.getRowKey(), wrapper.getColumns(), entity,
-                    wrapper.getColumnFamily());
+            Map<String, Attribute> columns = wrapper.getColumns();
+            if (!unmodifiedColumns.isEmpty())
+            {
+                // write only modified columns on update.
+                columns = new HashMap<String, Attribute>(columns);
+                columns.keySet().removeAll(unmodifiedColumns);
+            }
+            hbaseWriter.writeColumns(hTable, wrapper.getRowKey(), columns, entity, wrapper.getColumnFamily());
         }
 
     }
@@ -86,6 +86,10 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public boolean hasNext()
     {
+        if (scrollComplete)
+        {
+            return false;
+        }
 
         boolean available = handler.hasNext();
         if (!available || fetchSize == 0)
@@ -117,6 +121,21 @@ class ResultIterator<E> implements IResultIterator<E>
         }
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        if (!scrollComplete)
+        {
+            scrollComplete = true;
+            handler.reset();
+        }
+    }
+
     @Override
     public void remove()
     {
@@ -116,6 +116,30 @@ public class HBaseBatchProcessorTest
         Assert.assertEquals(10, results.size());
     }
 
+    /**
+     * Test case for writes queued by a transaction, executed as one batch on
+     * commit.
+     */
+    @Test
+    public void onTransactionalBatch()
+    {
+        rows = prepareData(3);
+        em.getTransaction().begin();
+        for (PersonBatchHBaseEntity entity : rows)
+        {
+            em.persist(entity);
+        }
+        em.getTransaction().commit();
+        em.clear();
+
+        for (PersonBatchHBaseEntity entity : rows)
+        {
+            PersonBatchHBaseEntity found = em.find(PersonBatchHBaseEntity.class, entity.getPersonId());
+            Assert.assertNotNull(found);
+            Assert.assertEquals(entity.getPersonName(), found.getPersonName());
+        }
+    }
+
     /**
      * @throws java.lang.Exception
      */
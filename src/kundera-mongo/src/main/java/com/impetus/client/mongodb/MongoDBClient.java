@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.commons.lang.NotImplementedException;
@@ -47,11 +48,14 @@ import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
 import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 import com.impetus.kundera.metadata.model.annotation.DefaultEntityAnnotationProcessor;
+import com.impetus.kundera.metadata.model.attributes.AbstractAttribute;
 import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
+import com.impetus.kundera.property.FieldAccessorFactory;
+import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessorHelper;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
@@ -61,6 +65,7 @@ import com.mongodb.DBEncoder;
 import com.mongodb.DBObject;
 import com.mongodb.DefaultDBEncoder;
 import com.mongodb.WriteConcern;
+import com.mongodb.WriteResult;
 
 /**
  * Client class for MongoDB database.
@@ -312,15 +317,11 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
         {
             if (entity == null)
             {
-                return entityClass.newInstance();
+                return FieldAccessorFactory.newInstance(entityClass);
             }
             return entity;
         }
-        catch (InstantiationException e)
-        {
-            log.error("Error while instantiating " + entityClass + ", Caused by: ", e);
-        }
-        catch (IllegalAccessException e)
+        catch (PropertyAccessException e)
         {
             log.error("Error while instantiating " + entityClass + ", Caused by: ", e);
         }
@@ -637,8 +638,11 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
     protected void onPersist(EntityMetadata entityMetadata, Object entity, Object id, List<RelationHolder> rlHolders)
     {
         Map<String, List<DBObject>> collections = new HashMap<String, List<DBObject>>();
-        collections = onPersist(collections, entity, id, entityMetadata, rlHolders, isUpdate);
+        Map<String, List<DBObject>> updates = new HashMap<String, List<DBObject>>();
+        collections = onPersist(collections, updates, entity, id, entityMetadata, rlHolders, isUpdate,
+                getUnmodifiedColumns(entityMetadata));
         onFlushCollection(collections);
+        onFlushUpdates(updates);
     }
 
     /*
@@ -692,6 +696,8 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
     public int executeBatch()
     {
         Map<String, List<DBObject>> collections = new HashMap<String, List<DBObject>>();
+        Map<String, List<DBObject>> updates = new HashMap<String, List<DBObject>>();
+        int executed = 0;
         for (Node node : nodes)
         {
             if (node.isDirty())
@@ -700,6 +706,9 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
                 // delete can not be executed in batch
                 if (node.isInState(RemovedState.class))
                 {
+                    // flush statements batched so far, else an update of
+                    // same document would save it back.
+                    executed += onFlush(collections, updates);
                     delete(node.getData(), node.getEntityId());
                 }
                 else
@@ -707,18 +716,41 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
                     List<RelationHolder> relationHolders = getRelationHolders(node);
                     EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
                             node.getDataClass());
-                    collections = onPersist(collections, node.getData(), node.getEntityId(), metadata, relationHolders,
-                            node.isUpdate());
+                    isUpdate = node.isUpdate();
+                    modifiedFields = isUpdate ? node.getModifiedFields() : null;
+                    collections = onPersist(collections, updates, node.getData(), node.getEntityId(), metadata,
+                            relationHolders, isUpdate, getUnmodifiedColumns(metadata));
                     indexNode(node, metadata);
                 }
                 node.handlePostEvent();
             }
         }
+        return executed + onFlush(collections, updates);
+    }
+
+    /**
+     * Flushes batched inserts and updates and clears them.
+     * 
+     * @param collections
+     *            collection containing records to be inserted in mongo db.
+     * @param updates
+     *            collection containing update statements.
+     * @return number of collections written.
+     */
+    private int onFlush(Map<String, List<DBObject>> collections, Map<String, List<DBObject>> updates)
+    {
+        int executed = collections.size() + updates.size();
         if (!collections.isEmpty())
         {
             onFlushCollection(collections);
+            collections.clear();
+        }
+        if (!updates.isEmpty())
+        {
+            onFlushUpdates(updates);
+            updates.clear();
         }
-        return collections.size();
+        return executed;
     }
 
     /**
@@ -736,11 +768,41 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
         }
     }
 
+    /**
+     * On updates flush, updates are grouped per collection and issued back
+     * to back on it. A partial update of a document which does not exist (e.g.
+     * removed by someone else) would create it with modified fields only, so
+     * whole document is saved instead.
+     * 
+     * @param updates
+     *            collection containing update statements, each holding query,
+     *            update document and whole document.
+     */
+    private void onFlushUpdates(Map<String, List<DBObject>> updates)
+    {
+        for (String tableName : updates.keySet())
+        {
+            DBCollection dbCollection = mongoDb.getCollection(tableName);
+            for (DBObject update : updates.get(tableName))
+            {
+                DBObject query = (DBObject) update.get("q");
+                WriteResult result = dbCollection.update(query, (DBObject) update.get("u"), false, false,
+                        getWriteConcern(), encoder);
+                if (result.getN() == 0)
+                {
+                    dbCollection.update(query, (DBObject) update.get("d"), true, false, getWriteConcern(), encoder);
+                }
+            }
+        }
+    }
+
     /**
      * Executes on list of entities to be persisted.
      * 
      * @param collections
      *            collection containing list of db objects.
+     * @param updates
+     *            collection containing list of update statements.
      * @param entity
      *            entity in question.
      * @param id
@@ -751,10 +813,13 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
      *            relation holders.
      * @param isUpdate
      *            if it is an update
+     * @param unmodifiedColumns
+     *            columns which need not be written, in case of update
      * @return collection of DB objects.
      */
-    private Map<String, List<DBObject>> onPersist(Map<String, List<DBObject>> collections, Object entity, Object id,
-            EntityMetadata metadata, List<RelationHolder> relationHolders, boolean isUpdate)
+    private Map<String, List<DBObject>> onPersist(Map<String, List<DBObject>> collections,
+            Map<String, List<DBObject>> updates, Object entity, Object id, EntityMetadata metadata,
+            List<RelationHolder> relationHolders, boolean isUpdate, Set<String> unmodifiedColumns)
     {
         persistenceUnit = metadata.getPersistenceUnit();
         // String documentName = metadata.getTableName();
@@ -762,13 +827,13 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
                 kunderaMetadata);
         if (isUpdate)
         {
+            MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                    metadata.getPersistenceUnit());
+
             for (String documentName : documents.keySet())
             {
                 BasicDBObject query = new BasicDBObject();
 
-                MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
-                        metadata.getPersistenceUnit());
-
                 if (metaModel.isEmbeddable(metadata.getIdAttribute().getBindableJavaType()))
                 {
                     MongoDBUtils.populateCompoundKey(query, metadata, metaModel, id);
@@ -777,18 +842,15 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
                 {
                     query.put("_id", MongoDBUtils.populateValue(id, id.getClass()));
                 }
-                DBCollection dbCollection = mongoDb.getCollection(documentName);
-
-                DBObject obj = dbCollection.findOne(query);
-                if (obj != null)
-                {
-                    obj.putAll(documents.get(documentName));
 
-                    dbCollection.save(obj);
-                }
-                else
+                // in place update, no need to read and rewrite whole
+                // document.
+                DBObject update = getUpdateDocument(metadata, metaModel, documentName, documents.get(documentName),
+                        unmodifiedColumns);
+                if (!update.keySet().isEmpty())
                 {
-                    dbCollection.save(documents.get(documentName));
+                    addStatement(updates, documentName, new BasicDBObject("q", query).append("u", update).append(
+                            "d", documents.get(documentName)));
                 }
             }
         }
@@ -798,21 +860,90 @@ public class MongoDBClient extends ClientBase implements Client<MongoDBQuery>, B
             {
                 // a db collection can have multiple records..
                 // and we can have a collection of records as well.
-                List<DBObject> dbStatements = null;
-                if (collections.containsKey(documentName))
-                {
-                    dbStatements = collections.get(documentName);
-                    dbStatements.add(documents.get(documentName));
-                }
-                else
+                addStatement(collections, documentName, documents.get(documentName));
+            }
+        }
+        return collections;
+    }
+
+    /**
+     * Adds statement to list of statements for given collection.
+     * 
+     * @param statements
+     *            statements per collection.
+     * @param documentName
+     *            collection name.
+     * @param statement
+     *            document or update statement.
+     */
+    private void addStatement(Map<String, List<DBObject>> statements, String documentName, DBObject statement)
+    {
+        List<DBObject> dbStatements = statements.get(documentName);
+        if (dbStatements == null)
+        {
+            dbStatements = new ArrayList<DBObject>();
+            statements.put(documentName, dbStatements);
+        }
+        dbStatements.add(statement);
+    }
+
+    /**
+     * Returns update document for given document, $set of columns present in
+     * document and $unset of modified columns which are not, i.e. which are
+     * null now.
+     * 
+     * @param metadata
+     *            entity metadata.
+     * @param metaModel
+     *            meta model.
+     * @param documentName
+     *            collection name.
+     * @param document
+     *            document prepared out of entity.
+     * @param unmodifiedColumns
+     *            columns which need not be written.
+     * @return update document, empty if there is nothing to update.
+     */
+    private DBObject getUpdateDocument(EntityMetadata metadata, MetamodelImpl metaModel, String documentName,
+            DBObject document, Set<String> unmodifiedColumns)
+    {
+        BasicDBObject set = new BasicDBObject();
+        for (String column : document.keySet())
+        {
+            if (!"_id".equals(column) && !unmodifiedColumns.contains(column))
+            {
+                set.put(column, document.get(column));
+            }
+        }
+
+        BasicDBObject unset = new BasicDBObject();
+        if (modifiedFields != null)
+        {
+            EntityType entityType = metaModel.entity(metadata.getEntityClazz());
+            for (Attribute attribute : (Set<Attribute>) entityType.getAttributes())
+            {
+                String column = ((AbstractAttribute) attribute).getJPAColumnName();
+                String tableName = ((AbstractAttribute) attribute).getTableName() != null ? ((AbstractAttribute) attribute)
+                        .getTableName() : metadata.getTableName();
+                if (modifiedFields.contains(attribute.getName()) && !attribute.isAssociation()
+                        && !attribute.equals(metadata.getIdAttribute()) && tableName.equals(documentName)
+                        && !document.containsField(column))
                 {
-                    dbStatements = new ArrayList<DBObject>();
-                    dbStatements.add(documents.get(documentName));
-                    collections.put(documentName, dbStatements);
+                    unset.put(column, 1);
                 }
             }
         }
-        return collections;
+
+        BasicDBObject update = new BasicDBObject();
+        if (!set.isEmpty())
+        {
+            update.put("$set", set);
+        }
+        if (!unset.isEmpty())
+        {
+            update.put("$unset", unset);
+        }
+        return update;
     }
 
     /**
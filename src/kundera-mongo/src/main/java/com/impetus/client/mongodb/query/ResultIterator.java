@@ -79,7 +79,7 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public E next()
     {
-        if (!cursor.hasNext() || fetchSize == 0)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
         }
@@ -138,6 +138,21 @@ class ResultIterator<E> implements IResultIterator<E>
         }
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        if (cursor != null)
+        {
+            cursor.close();
+            cursor = null;
+        }
+    }
+
     @Override
     public void remove()
     {
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.crud;
+
+import java.util.Arrays;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.crud.entities.PersonBatchMongoEntity;
+import com.impetus.client.utils.MongoUtils;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * junit for partial document updates of {@link com.impetus.client.mongodb.MongoDBClient}.
+ */
+public class MongoPartialUpdateTest
+{
+
+    /**
+     * persistence unit.
+     */
+    private static final String PERSISTENCE_UNIT = "MongoBatchTest";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private DBCollection collection;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        em = emf.createEntityManager();
+        collection = MongoUtils.getDB(emf, PERSISTENCE_UNIT).getCollection("PERSON_BATCH");
+
+        PersonBatchMongoEntity person = new PersonBatchMongoEntity();
+        person.setPersonId("1");
+        person.setPersonName("vivek");
+        person.setAge(10);
+        person.setA(new byte[] { 1, 2 });
+        em.persist(person);
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * Update of a single field must not rewrite the others.
+     */
+    @Test
+    public void testPartialUpdate()
+    {
+        PersonBatchMongoEntity person = em.find(PersonBatchMongoEntity.class, "1");
+
+        // changed behind entity manager, must survive the update.
+        collection.update(new BasicDBObject("_id", "1"), new BasicDBObject("$set", new BasicDBObject("PERSON_NAME",
+                "amresh")));
+
+        person.setAge(20);
+        em.merge(person);
+        em.flush();
+
+        DBObject document = collection.findOne(new BasicDBObject("_id", "1"));
+        Assert.assertEquals("amresh", document.get("PERSON_NAME"));
+        Assert.assertEquals(20, document.get("AGE"));
+    }
+
+    /**
+     * Field set to null must be removed from document.
+     */
+    @Test
+    public void testUnsetNullField()
+    {
+        PersonBatchMongoEntity person = em.find(PersonBatchMongoEntity.class, "1");
+        person.setPersonName(null);
+        em.merge(person);
+        em.flush();
+
+        DBObject document = collection.findOne(new BasicDBObject("_id", "1"));
+        Assert.assertFalse(document.containsField("PERSON_NAME"));
+        Assert.assertEquals(10, document.get("AGE"));
+
+        em.clear();
+        person = em.find(PersonBatchMongoEntity.class, "1");
+        Assert.assertNull(person.getPersonName());
+        Assert.assertEquals(10, person.getAge());
+    }
+
+    /**
+     * Update of a document missing in database must save whole entity, not
+     * modified fields only.
+     */
+    @Test
+    public void testUpsertMissingDocument()
+    {
+        PersonBatchMongoEntity person = em.find(PersonBatchMongoEntity.class, "1");
+
+        // removed behind entity manager.
+        collection.remove(new BasicDBObject("_id", "1"));
+
+        person.setAge(20);
+        em.merge(person);
+        em.flush();
+
+        DBObject document = collection.findOne(new BasicDBObject("_id", "1"));
+        Assert.assertNotNull(document);
+        Assert.assertEquals("1", document.get("_id"));
+        Assert.assertEquals("vivek", document.get("PERSON_NAME"));
+        Assert.assertEquals(20, document.get("AGE"));
+        Assert.assertTrue(Arrays.equals(new byte[] { 1, 2 }, (byte[]) document.get("AGEss")));
+
+        em.clear();
+        person = em.find(PersonBatchMongoEntity.class, "1");
+        Assert.assertEquals("vivek", person.getPersonName());
+        Assert.assertEquals(20, person.getAge());
+        Assert.assertTrue(Arrays.equals(new byte[] { 1, 2 }, person.getA()));
+    }
+
+    /**
+     * Delete batched after an update of same document must win.
+     */
+    @Test
+    public void testUpdateAndDeleteInBatch()
+    {
+        PersonBatchMongoEntity person = em.find(PersonBatchMongoEntity.class, "1");
+        person.setAge(20);
+        em.merge(person);
+        em.remove(person);
+        em.flush();
+
+        Assert.assertNull(collection.findOne(new BasicDBObject("_id", "1")));
+        em.clear();
+        Assert.assertNull(em.find(PersonBatchMongoEntity.class, "1"));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception
+    {
+        MongoUtils.dropDatabase(emf, PERSISTENCE_UNIT);
+        em.close();
+        emf.close();
+    }
+}
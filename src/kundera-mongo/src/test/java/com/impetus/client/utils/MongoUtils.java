@@ -41,6 +41,18 @@ public class MongoUtils
      * 
      */
     public static void dropDatabase(EntityManagerFactory emf, String pu)
+    {
+        DB mongoDB = getDB(emf, pu);
+        if (mongoDB != null)
+        {
+            mongoDB.dropDatabase();
+        }
+    }
+
+    /**
+     * Returns mongo db handle of client for given persistence unit.
+     */
+    public static DB getDB(EntityManagerFactory emf, String pu)
     {
         EntityManager em = null;
         Map<String, Client> clients = null;
@@ -61,27 +73,26 @@ public class MongoUtils
                 {
                     db.setAccessible(true);
                 }
-                DB mongoDB = (DB) db.get(client);
-                mongoDB.dropDatabase();
+                return (DB) db.get(client);
             }
             catch (SecurityException e)
             {
-                logger.error("Error while truncating db",e);
+                logger.error("Error while getting db",e);
             }
 
             catch (NoSuchFieldException e)
             {
-                logger.error("Error while truncating db",e);
+                logger.error("Error while getting db",e);
             }
             catch (IllegalArgumentException e)
             {
-                logger.error("Error while truncating db",e);
+                logger.error("Error while getting db",e);
             }
             catch (IllegalAccessException e)
             {
-                logger.error("Error while truncating db",e);
+                logger.error("Error while getting db",e);
             }
         }
-
+        return null;
     }
 }
@@ -713,25 +713,35 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     {
         log.info("Executing Lucene Query on Neo4J:" + luceneQuery);
 
-        GraphDatabaseService graphDb = getConnection();
         List<Object> entities = new ArrayList<Object>();
+        addEntityFromIndexHits(m, entities, getIndexHits(m, luceneQuery));
+        return entities;
+    }
+
+    /**
+     * Runs given lucene query over node index of entity. Returned hits are
+     * lazily loaded, so caller must close them once done.
+     * 
+     * @param m
+     *            entity metadata
+     * @param luceneQuery
+     *            lucene query
+     * @return index hits
+     */
+    public IndexHits<Node> getIndexHits(EntityMetadata m, String luceneQuery)
+    {
+        GraphDatabaseService graphDb = getConnection();
 
         if (!indexer.isNodeAutoIndexingEnabled(graphDb) && m.isIndexable())
         {
             Index<Node> nodeIndex = graphDb.index().forNodes(m.getIndexName());
-
-            IndexHits<Node> hits = nodeIndex.query(luceneQuery);
-            addEntityFromIndexHits(m, entities, hits);
+            return nodeIndex.query(luceneQuery);
         }
         else
         {
-
             ReadableIndex<Node> autoNodeIndex = graphDb.index().getNodeAutoIndexer().getAutoIndex();
-            IndexHits<Node> hits = autoNodeIndex.query(luceneQuery);
-            addEntityFromIndexHits(m, entities, hits);
-
+            return autoNodeIndex.query(luceneQuery);
         }
-        return entities;
     }
 
     /**
@@ -757,11 +767,16 @@ public class Neo4JClient extends Neo4JClientBase implements Client<Neo4JQuery>,
     }
 
     /**
+     * Returns entity populated from given node, wrapped into
+     * {@link EnhanceEntity} if node holds relationships.
+     * 
      * @param m
-     * @param entities
+     *            entity metadata
      * @param node
+     *            graph node
+     * @return entity
      */
-    private Object getEntityWithAssociationFromNode(EntityMetadata m, Node node)
+    public Object getEntityWithAssociationFromNode(EntityMetadata m, Node node)
     {
         Map<String, Object> relationMap = new HashMap<String, Object>();
 
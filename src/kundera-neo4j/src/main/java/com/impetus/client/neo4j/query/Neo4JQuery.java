@@ -32,6 +32,7 @@ import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.PersistenceDelegator;
 import com.impetus.kundera.query.KunderaQuery;
 import com.impetus.kundera.query.KunderaQuery.FilterClause;
+import com.impetus.kundera.query.QueryHandlerException;
 import com.impetus.kundera.query.QueryImpl;
 
 /**
@@ -207,8 +208,25 @@ public class Neo4JQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        String luceneQuery;
+        if (kunderaQuery.isNative())
+        {
+            if (!Neo4JQueryType.LUCENE.equals(queryType))
+            {
+                throw new QueryHandlerException("Iteration is supported only over lucene queries for Neo4J, but was:"
+                        + queryType);
+            }
+            String query = kunderaMetadata.getApplicationMetadata().getQuery(getJPAQuery());
+            luceneQuery = query != null ? query : getJPAQuery();
+        }
+        else
+        {
+            luceneQuery = getLuceneQuery(kunderaQuery);
+        }
+
+        return new ResultIterator((Neo4JClient) persistenceDelegeator.getClient(m), m, persistenceDelegeator,
+                luceneQuery, getFetchSize() != null ? getFetchSize() : this.maxResult);
     }
 
 
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.neo4j.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.IndexHits;
+
+import com.impetus.client.neo4j.Neo4JClient;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Neo4J result iteration. Lucene index hits are lazily
+ * loaded, so nodes are read and mapped to entities one by one as iteration
+ * proceeds.
+ * 
+ * @param <E>
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    private Neo4JClient client;
+
+    private EntityMetadata m;
+
+    private PersistenceDelegator persistenceDelegator;
+
+    private IndexHits<Node> hits;
+
+    private int fetchSize;
+
+    private int count;
+
+    /** next entity to be returned, read ahead by hasNext(). */
+    private E current;
+
+    ResultIterator(Neo4JClient client, EntityMetadata m, PersistenceDelegator pd, String luceneQuery, int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.persistenceDelegator = pd;
+        this.fetchSize = fetchSize;
+        this.hits = client.getIndexHits(m, luceneQuery);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (count >= fetchSize)
+        {
+            close();
+            return false;
+        }
+
+        while (current == null && hits != null && hits.hasNext())
+        {
+            Node node = hits.next();
+            if (node != null)
+            {
+                current = toEntity(client.getEntityWithAssociationFromNode(m, node));
+            }
+        }
+
+        if (current == null)
+        {
+            close();
+        }
+        return current != null;
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        E entity = current;
+        current = null;
+        count++;
+        return entity;
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && hasNext())
+        {
+            chunk.add(next());
+        }
+        return chunk;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("remove method is not supported over pagination");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        current = null;
+        if (hits != null)
+        {
+            hits.close();
+            hits = null;
+        }
+    }
+
+    private E toEntity(Object entity)
+    {
+        if (entity == null)
+        {
+            return null;
+        }
+        if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
+        {
+            return (E) (entity instanceof EnhanceEntity ? ((EnhanceEntity) entity).getEntity() : entity);
+        }
+        return setRelationEntities(entity, client, m);
+    }
+
+    private E setRelationEntities(Object enhanceEntity, Client client, EntityMetadata m)
+    {
+        // Enhance entities can contain or may not contain relation.
+        // if it contain a relation means it is a child
+        // if it does not then it means it is a parent.
+        E result = null;
+        if (enhanceEntity != null)
+        {
+            if (!(enhanceEntity instanceof EnhanceEntity))
+            {
+                enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+            }
+            EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+            result = (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                    persistenceDelegator, false);
+        }
+        return result;
+    }
+}
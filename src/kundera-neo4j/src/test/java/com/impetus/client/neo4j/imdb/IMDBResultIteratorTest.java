@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.neo4j.imdb;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.kundera.query.IResultIterator;
+import com.impetus.kundera.query.Query;
+
+/**
+ * junit for Neo4J {@link IResultIterator}.
+ */
+public class IMDBResultIteratorTest extends IMDBTestBase
+{
+    @Before
+    public void setUp() throws Exception
+    {
+        init();
+
+        populateActors();
+        em.getTransaction().begin();
+        em.persist(actor1);
+        em.persist(actor2);
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        Actor actor1 = em.find(Actor.class, 1);
+        Actor actor2 = em.find(Actor.class, 2);
+
+        if (actor1 != null && actor2 != null)
+        {
+            em.getTransaction().begin();
+            em.remove(actor1);
+            em.remove(actor2);
+            em.getTransaction().commit();
+        }
+
+        clean();
+    }
+
+    @Test
+    public void testIterate()
+    {
+        assertOnFetch((Query) em.createQuery("Select a from Actor a"), null, 2);
+        assertOnFetch((Query) em.createNativeQuery("ACTOR_ID:*", Actor.class), null, 2);
+        assertOnFetch((Query) em.createNativeQuery("ACTOR_ID:*", Actor.class), 1, 1);
+        assertOnFetch((Query) em.createNativeQuery("ACTOR_ID:*", Actor.class), 3, 2);
+
+        Query query = (Query) em.createNativeQuery("ACTOR_NAME:\"Tom Cruise\"", Actor.class);
+        Iterator<Actor> iter = query.iterate();
+        Assert.assertTrue(iter.hasNext());
+        Actor actor = iter.next();
+        assertActor1(actor);
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testNextChunk()
+    {
+        Query query = (Query) em.createNativeQuery("ACTOR_ID:*", Actor.class);
+        IResultIterator<Actor> iter = (IResultIterator<Actor>) query.iterate();
+
+        List<Actor> chunk = iter.next(1);
+        Assert.assertEquals(1, chunk.size());
+        Assert.assertNotNull(chunk.get(0).getName());
+        Assert.assertEquals(1, iter.next(5).size());
+
+        // exhausted.
+        Assert.assertTrue(iter.next(5).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testClose() throws Exception
+    {
+        Query query = (Query) em.createNativeQuery("ACTOR_ID:*", Actor.class);
+        IResultIterator<Actor> iter = (IResultIterator<Actor>) query.iterate();
+        Assert.assertTrue(iter.hasNext());
+        Assert.assertNotNull(getHits(iter));
+
+        // index hits are released.
+        iter.close();
+        Assert.assertNull(getHits(iter));
+        Assert.assertFalse(iter.hasNext());
+        try
+        {
+            iter.next();
+            Assert.fail("Should have failed on closed iterator");
+        }
+        catch (NoSuchElementException nsex)
+        {
+            Assert.assertNotNull(nsex.getMessage());
+        }
+    }
+
+    private void assertOnFetch(Query query, Integer fetchSize, int expected)
+    {
+        query.setFetchSize(fetchSize);
+        Iterator<Actor> iter = query.iterate();
+        int count = 0;
+        while (iter.hasNext())
+        {
+            Assert.assertNotNull(iter.next());
+            count++;
+        }
+        Assert.assertEquals(expected, count);
+
+        try
+        {
+            iter.next();
+            Assert.fail("Should have failed on exhausted iterator");
+        }
+        catch (NoSuchElementException nsex)
+        {
+            Assert.assertNotNull(nsex.getMessage());
+        }
+    }
+
+    private Object getHits(IResultIterator<Actor> iter) throws Exception
+    {
+        Field hits = iter.getClass().getDeclaredField("hits");
+        hits.setAccessible(true);
+        return hits.get(iter);
+    }
+}
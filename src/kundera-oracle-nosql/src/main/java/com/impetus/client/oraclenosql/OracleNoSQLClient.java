@@ -685,8 +685,7 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         {
             // Select Query with where clause (requires search within inverted
             // index)
-            primaryKeys.addAll(((OracleNoSQLInvertedIndexer) getIndexManager().getIndexer()).executeQuery(interpreter,
-                    entityClass, KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass)));
+            primaryKeys.addAll(findPrimaryKeys(entityClass, interpreter));
 
         }
         else
@@ -718,6 +717,40 @@ public class OracleNoSQLClient extends ClientBase implements Client<OracleNoSQLQ
         return results;
     }
 
+    /**
+     * Returns primary keys of records matching where clause of given query,
+     * searched within inverted index.
+     * 
+     * @param entityClass
+     *            entity class
+     * @param interpreter
+     *            query interpreter
+     * @return primary keys
+     */
+    public Set<Object> findPrimaryKeys(Class entityClass, OracleNoSQLQueryInterpreter interpreter)
+    {
+        return ((OracleNoSQLInvertedIndexer) getIndexManager().getIndexer()).executeQuery(interpreter, entityClass,
+                KunderaMetadataManager.getEntityMetadata(kunderaMetadata, entityClass));
+    }
+
+    /**
+     * Returns iterator over keys of all records stored for given entity. Keys
+     * are fetched from store lazily, in batches of given size.
+     * 
+     * @param m
+     *            entity metadata
+     * @param batchSize
+     *            number of keys fetched per round trip, 0 for store default.
+     * @return key iterator
+     */
+    public Iterator<Key> getKeys(EntityMetadata m, int batchSize)
+    {
+        ArrayList<String> majorComponents = new ArrayList<String>();
+        majorComponents.add(m.getTableName());
+
+        return kvStore.storeKeysIterator(Direction.UNORDERED, batchSize, Key.createKey(majorComponents), null, null);
+    }
+
     @Override
     public <E> List<E> find(Class<E> entityClass, Map<String, String> embeddedColumnMap)
     {
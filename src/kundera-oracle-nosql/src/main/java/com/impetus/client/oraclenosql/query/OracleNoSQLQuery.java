@@ -183,7 +183,29 @@ public class OracleNoSQLQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        OracleNoSQLClient client = (OracleNoSQLClient) persistenceDelegeator.getClient(m);
+        OracleNoSQLQueryInterpreter interpreter = translateQuery(getKunderaQuery().getFilterClauseQueue(), m);
+        int fetchSize = getFetchSize() != null ? getFetchSize() : this.maxResult;
+
+        ClientMetadata clientMetadata = client.getClientMetadata();
+        boolean useInvertedIndex = MetadataUtils.useSecondryIndex(clientMetadata)
+                || (clientMetadata.getIndexImplementor() != null && clientMetadata.getIndexImplementor().equals(
+                        OracleNoSQLInvertedIndexer.class.getName()));
+
+        if (interpreter.getClauseQueue().isEmpty())
+        {
+            // Select all query, stream keys out of store.
+            return new ResultIterator(client, m, persistenceDelegeator, interpreter.getSelectColumns(),
+                    client.getKeys(m, ResultIterator.DEFAULT_PAGE_SIZE), fetchSize);
+        }
+        else if (useInvertedIndex && !interpreter.isFindById())
+        {
+            return new ResultIterator(client, m, persistenceDelegeator, interpreter.getSelectColumns(), client
+                    .findPrimaryKeys(m.getEntityClazz(), interpreter).iterator(), fetchSize);
+        }
+
+        // Lucene and find by id queries are populated at once.
+        return new ResultIterator(client, m, persistenceDelegeator, populateEntities(m, client), fetchSize);
     }
 }
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.oraclenosql.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import oracle.kv.Key;
+
+import com.impetus.client.oraclenosql.OracleNoSQLClient;
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Oracle NoSQL result iteration. Primary keys are streamed
+ * either out of store (select all) or out of inverted index, and entities are
+ * looked up a window at a time while scrolling.
+ *
+ * @param <E>
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** Number of entities looked up per window. */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private OracleNoSQLClient client;
+
+    private EntityMetadata m;
+
+    private PersistenceDelegator persistenceDelegator;
+
+    private String[] selectColumns;
+
+    private int fetchSize;
+
+    private int count;
+
+    /**
+     * primary keys to scroll over, either {@link Key}s of stored records or
+     * primary key values.
+     */
+    private Iterator<?> keys;
+
+    /** last primary key read out of store. */
+    private String lastKey;
+
+    private LinkedList<E> buffer = new LinkedList<E>();
+
+    /**
+     * Iterates over entities of given primary keys.
+     */
+    ResultIterator(OracleNoSQLClient client, EntityMetadata m, PersistenceDelegator pd, String[] selectColumns,
+            Iterator<?> keys, int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.persistenceDelegator = pd;
+        this.selectColumns = selectColumns;
+        this.keys = keys;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Iterates over already populated entities.
+     */
+    ResultIterator(OracleNoSQLClient client, EntityMetadata m, PersistenceDelegator pd, List<Object> results,
+            int fetchSize)
+    {
+        this(client, m, pd, null, null, fetchSize);
+        onResults(results);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (count >= fetchSize)
+        {
+            close();
+            return false;
+        }
+        if (buffer.isEmpty())
+        {
+            fetchPage(DEFAULT_PAGE_SIZE);
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        count++;
+        return buffer.removeFirst();
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && count < fetchSize)
+        {
+            if (buffer.isEmpty())
+            {
+                fetchPage(Math.max(chunkSize - chunk.size(), DEFAULT_PAGE_SIZE));
+                if (buffer.isEmpty())
+                {
+                    break;
+                }
+            }
+            chunk.add(buffer.removeFirst());
+            count++;
+        }
+        return chunk;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("remove method is not supported over pagination");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        buffer.clear();
+        keys = null;
+    }
+
+    /**
+     * Looks up next window of entities into buffer.
+     *
+     * @param size
+     *            number of primary keys to read.
+     */
+    private void fetchPage(int size)
+    {
+        while (keys != null && buffer.isEmpty())
+        {
+            int limit = Math.min(size, fetchSize - count);
+            List<Object> primaryKeys = new ArrayList<Object>(limit);
+            while (primaryKeys.size() < limit && keys.hasNext())
+            {
+                Object key = keys.next();
+                if (key instanceof Key)
+                {
+                    // records of one entity share major path and are
+                    // returned one after another.
+                    String id = ((Key) key).getMajorPath().get(1);
+                    if (id.equals(lastKey))
+                    {
+                        continue;
+                    }
+                    lastKey = id;
+                    key = id;
+                }
+                primaryKeys.add(key);
+            }
+            if (!keys.hasNext())
+            {
+                keys = null;
+            }
+            if (!primaryKeys.isEmpty())
+            {
+                onResults(client.findAll(m.getEntityClazz(), selectColumns, primaryKeys.toArray()));
+            }
+        }
+    }
+
+    private void onResults(List results)
+    {
+        boolean hasRelations = m.isRelationViaJoinTable()
+                || (m.getRelationNames() != null && !(m.getRelationNames().isEmpty()));
+        for (Object result : results)
+        {
+            if (result != null)
+            {
+                buffer.add(hasRelations ? setRelationEntities(result, client, m) : (E) result);
+            }
+        }
+    }
+
+    private E setRelationEntities(Object enhanceEntity, Client client, EntityMetadata m)
+    {
+        // Enhance entities can contain or may not contain relation.
+        // if it contain a relation means it is a child
+        // if it does not then it means it is a parent.
+        E result = null;
+        if (enhanceEntity != null)
+        {
+            if (!(enhanceEntity instanceof EnhanceEntity))
+            {
+                enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+            }
+            EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+            result = (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                    persistenceDelegator, false);
+        }
+        return result;
+    }
+}
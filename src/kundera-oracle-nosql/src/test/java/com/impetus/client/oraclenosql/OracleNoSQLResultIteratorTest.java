@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.oraclenosql;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.oraclenosql.entities.PersonKVStore;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * junit for Oracle NoSQL {@link IResultIterator}.
+ */
+public class OracleNoSQLResultIteratorTest extends OracleNoSQLTestBase
+{
+    private static final String FIND_ALL = "Select p from PersonKVStore p";
+
+    private static final String FIND_BY_NAME = "Select p from PersonKVStore p where p.personName=:personName";
+
+    @Before
+    public void setUp() throws Exception
+    {
+        super.setUp();
+        persist(preparePerson("1", 10, "person1"));
+        persist(preparePerson("2", 20, "person2"));
+        persist(preparePerson("3", 30, "person1"));
+        clearEm();
+    }
+
+    @After
+    public void tearDown()
+    {
+        executeDMLQuery("Delete from PersonKVStore p");
+        super.tearDown();
+    }
+
+    @Test
+    public void testIterate()
+    {
+        // keys streamed out of store.
+        assertOnFetch(FIND_ALL, null, null, 3);
+        assertOnFetch(FIND_ALL, null, 2, 2);
+        assertOnFetch(FIND_ALL, null, 4, 3);
+
+        // primary keys streamed out of inverted index.
+        Map<Object, Object> params = new HashMap<Object, Object>();
+        params.put("personName", "person1");
+        assertOnFetch(FIND_BY_NAME, params, null, 2);
+        assertOnFetch(FIND_BY_NAME, params, 1, 1);
+    }
+
+    @Test
+    public void testNextChunk()
+    {
+        IResultIterator<PersonKVStore> iter = (IResultIterator<PersonKVStore>) iterate(FIND_ALL, null, null);
+
+        List<PersonKVStore> chunk = iter.next(2);
+        Assert.assertEquals(2, chunk.size());
+        Assert.assertNotNull(chunk.get(0).getPersonName());
+        Assert.assertEquals(1, iter.next(2).size());
+
+        // exhausted.
+        Assert.assertTrue(iter.next(2).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testClose() throws Exception
+    {
+        IResultIterator<PersonKVStore> iter = (IResultIterator<PersonKVStore>) iterate(FIND_ALL, null, null);
+        Assert.assertNotNull(iter.next());
+
+        // remaining keys are released.
+        iter.close();
+        Field keys = iter.getClass().getDeclaredField("keys");
+        keys.setAccessible(true);
+        Assert.assertNull(keys.get(iter));
+        Assert.assertFalse(iter.hasNext());
+        Assert.assertTrue(iter.next(2).isEmpty());
+    }
+
+    private PersonKVStore preparePerson(String rowKey, int age, String name)
+    {
+        PersonKVStore person = new PersonKVStore();
+        person.setPersonId(rowKey);
+        person.setPersonName(name);
+        person.setAge(age);
+        return person;
+    }
+
+    private void assertOnFetch(String jpaQuery, Map<Object, Object> params, Integer fetchSize, int expected)
+    {
+        Iterator<PersonKVStore> iter = iterate(jpaQuery, params, fetchSize);
+        int count = 0;
+        while (iter.hasNext())
+        {
+            Assert.assertNotNull(iter.next());
+            count++;
+        }
+        Assert.assertEquals(expected, count);
+
+        try
+        {
+            iter.next();
+            Assert.fail("Should have failed on exhausted iterator");
+        }
+        catch (NoSuchElementException nsex)
+        {
+            Assert.assertNotNull(nsex.getMessage());
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.impetus.client.oraclenosql;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -101,6 +102,15 @@ public class OracleNoSQLTestBase
         return query.getResultList();
     }
 
+    protected Iterator iterate(String jpaQuery, Map<Object, Object> params, Integer fetchSize)
+    {
+        Query query = em.createQuery(jpaQuery);
+        setParams(params, query);
+        com.impetus.kundera.query.Query kunderaQuery = (com.impetus.kundera.query.Query) query;
+        kunderaQuery.setFetchSize(fetchSize);
+        return kunderaQuery.iterate();
+    }
+
     protected int executeDMLQuery(String jpaQuery)
     {
         Query query = em.createQuery(jpaQuery);
@@ -21,6 +21,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +40,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.Query;
 import org.hibernate.SQLQuery;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.criterion.Restrictions;
@@ -53,7 +55,9 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.EnhanceEntity;
 import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.IndexManager;
+import com.impetus.kundera.lifecycle.states.RemovedState;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.MetadataUtils;
 import com.impetus.kundera.metadata.model.ClientMetadata;
@@ -65,6 +69,7 @@ import com.impetus.kundera.metadata.model.type.AbstractManagedType;
 import com.impetus.kundera.persistence.EntityManagerFactoryImpl.KunderaMetadata;
 import com.impetus.kundera.persistence.EntityReader;
 import com.impetus.kundera.persistence.EntityReaderException;
+import com.impetus.kundera.persistence.api.Batcher;
 import com.impetus.kundera.persistence.context.jointable.JoinTableData;
 import com.impetus.kundera.property.PropertyAccessException;
 import com.impetus.kundera.property.PropertyAccessor;
@@ -77,7 +82,7 @@ import com.impetus.kundera.proxy.ProxyHelper;
  * 
  * @author vivek.mishra
  */
-public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
+public class HibernateClient extends ClientBase implements Client<RDBMSQuery>, Batcher
 {
     private RDBMSClientFactory clientFactory;
 
@@ -89,6 +94,10 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
 
     private Map<String, Object> puProperties;
 
+    private List<Node> nodes = new ArrayList<Node>();
+
+    private int batchSize;
+
     /** The Constant log. */
     private static final Logger log = LoggerFactory.getLogger(HibernateClient.class);
 
@@ -117,6 +126,7 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
         this.reader = reader;
         this.puProperties = puProperties;
         this.clientMetadata = clientMetadata;
+        this.batchSize = clientFactory.getBatchSize();
     }
 
     /*
@@ -912,4 +922,255 @@ public class HibernateClient extends ClientBase implements Client<RDBMSQuery>
         }
     }
 
-}
\ No newline at end of file
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * com.impetus.kundera.persistence.api.Batcher#addBatch(com.impetus.kundera
+     * .graph.Node)
+     */
+    @Override
+    public void addBatch(Node node)
+    {
+        if (node != null)
+        {
+            nodes.add(node);
+        }
+        onBatchLimit();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#executeBatch()
+     */
+    @Override
+    public int executeBatch()
+    {
+        // group nodes per entity class, so that consecutive statements share
+        // same JDBC batch.
+        Map<Class<?>, List<Node>> batches = new LinkedHashMap<Class<?>, List<Node>>();
+        for (Node node : nodes)
+        {
+            if (node.isDirty())
+            {
+                List<Node> batch = batches.get(node.getDataClass());
+                if (batch == null)
+                {
+                    batch = new ArrayList<Node>();
+                    batches.put(node.getDataClass(), batch);
+                }
+                batch.add(node);
+            }
+        }
+
+        if (batches.isEmpty())
+        {
+            clear();
+            return 0;
+        }
+
+        s = getStatelessSession();
+        Transaction tx = s.getTransaction();
+        boolean begun = !tx.isActive();
+        if (begun)
+        {
+            tx = s.beginTransaction();
+        }
+
+        int count = 0;
+        Map<Node, List<RelationHolder>> foreignKeys = new LinkedHashMap<Node, List<RelationHolder>>();
+        try
+        {
+            for (List<Node> batch : batches.values())
+            {
+                for (Node node : batch)
+                {
+                    node.handlePreEvent();
+                    if (!node.isInState(RemovedState.class))
+                    {
+                        EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                                node.getDataClass());
+                        List<RelationHolder> relationHolders = getRelationHolders(node);
+                        boolean proxyRemoved = removeKunderaProxies(metadata, node.getData(), relationHolders);
+                        if (!node.isUpdate() || proxyRemoved)
+                        {
+                            foreignKeys.put(node, relationHolders);
+                        }
+                    }
+                }
+
+                try
+                {
+                    writeBatch(batch, false);
+                }
+                // TODO: same as on persist, currently necessary for handling
+                // many to one case. Failing row is not known out of JDBC
+                // batch, so batch is written again row by row.
+                catch (org.hibernate.exception.ConstraintViolationException e)
+                {
+                    log.info(e.getMessage());
+                    ((StatelessSessionImpl) s).getTransactionCoordinator().getJdbcCoordinator().abortBatch();
+                    writeBatch(batch, true);
+                }
+                count += batch.size();
+            }
+
+            // foreign keys are updated via native queries, so rows pending in
+            // JDBC batch have reached database already.
+            for (Node node : foreignKeys.keySet())
+            {
+                updateForeignKeys(KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass()),
+                        node.getEntityId(), foreignKeys.get(node));
+            }
+
+            if (begun)
+            {
+                tx.commit();
+            }
+        }
+        catch (HibernateException e)
+        {
+            log.error("Error while executing batch, Caused by {}.", e);
+            if (begun && tx.isActive())
+            {
+                tx.rollback();
+            }
+            throw new PersistenceException(e);
+        }
+
+        for (List<Node> batch : batches.values())
+        {
+            for (Node node : batch)
+            {
+                EntityMetadata metadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata,
+                        node.getDataClass());
+                if (node.isInState(RemovedState.class))
+                {
+                    if (!MetadataUtils.useSecondryIndex(getClientMetadata()))
+                    {
+                        getIndexManager().remove(metadata, node.getData(), node.getEntityId().toString());
+                    }
+                }
+                else
+                {
+                    indexNode(node, metadata);
+                }
+                node.handlePostEvent();
+            }
+        }
+
+        // executed nodes must not be written again on next flush.
+        clear();
+        return count;
+    }
+
+    /**
+     * Writes nodes of one entity class and executes JDBC batch.
+     * 
+     * @param batch
+     *            nodes to write.
+     * @param rowByRow
+     *            true to execute each row on its own, updating rows violating
+     *            constraints on insert and skipping rows deleted already.
+     */
+    private void writeBatch(List<Node> batch, boolean rowByRow)
+    {
+        for (Node node : batch)
+        {
+            if (node.isInState(RemovedState.class))
+            {
+                s.delete(node.getData());
+                if (rowByRow)
+                {
+                    try
+                    {
+                        executeJdbcBatch();
+                    }
+                    catch (StaleStateException e)
+                    {
+                        log.info(e.getMessage());
+                    }
+                }
+            }
+            else if (!node.isUpdate())
+            {
+                if (rowByRow)
+                {
+                    try
+                    {
+                        s.insert(node.getData());
+                        executeJdbcBatch();
+                    }
+                    catch (org.hibernate.exception.ConstraintViolationException e)
+                    {
+                        log.info(e.getMessage());
+                        ((StatelessSessionImpl) s).getTransactionCoordinator().getJdbcCoordinator().abortBatch();
+                        s.update(node.getData());
+                        executeJdbcBatch();
+                    }
+                }
+                else
+                {
+                    s.insert(node.getData());
+                }
+                node.setEntityId(PropertyAccessorHelper.getId(node.getData(),
+                        KunderaMetadataManager.getEntityMetadata(kunderaMetadata, node.getDataClass())));
+            }
+            else
+            {
+                s.update(node.getData());
+                if (rowByRow)
+                {
+                    executeJdbcBatch();
+                }
+            }
+        }
+        executeJdbcBatch();
+    }
+
+    /**
+     * Executes statements pending in JDBC batch.
+     */
+    private void executeJdbcBatch()
+    {
+        ((StatelessSessionImpl) s).getTransactionCoordinator().getJdbcCoordinator().executeBatch();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#getBatchSize()
+     */
+    @Override
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.persistence.api.Batcher#clear()
+     */
+    @Override
+    public void clear()
+    {
+        if (nodes != null)
+        {
+            nodes.clear();
+            nodes = new ArrayList<Node>();
+        }
+    }
+
+    /**
+     * Check on batch limit.
+     */
+    private void onBatchLimit()
+    {
+        if (batchSize > 0 && batchSize == nodes.size())
+        {
+            executeBatch();
+        }
+    }
+}
@@ -33,12 +33,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.impetus.client.rdbms.query.RDBMSEntityReader;
+import com.impetus.kundera.PersistenceProperties;
 import com.impetus.kundera.client.Client;
 import com.impetus.kundera.configure.schema.api.SchemaManager;
 import com.impetus.kundera.loader.GenericClientFactory;
 import com.impetus.kundera.metadata.KunderaMetadataManager;
 import com.impetus.kundera.metadata.model.EntityMetadata;
 import com.impetus.kundera.metadata.model.MetamodelImpl;
+import com.impetus.kundera.metadata.model.PersistenceUnitMetadata;
 
 /**
  * A factory for creating RDBMSClient objects.
@@ -59,6 +61,8 @@ public class RDBMSClientFactory extends GenericClientFactory
 
     private ServiceRegistry serviceRegistry;
 
+    private int batchSize;
+
     @Override
     public void destroy()
     {
@@ -112,6 +116,8 @@ public class RDBMSClientFactory extends GenericClientFactory
             }
         }
 
+        onBatchSize();
+
         serviceRegistry = new ServiceRegistryBuilder().applySettings(conf.getProperties()).buildServiceRegistry();
 
         Iterator<Collection<Class<?>>> iter = classes.values().iterator();
@@ -178,6 +184,48 @@ public class RDBMSClientFactory extends GenericClientFactory
                 + this.getClass().getSimpleName());
     }
 
+    /**
+     * Reads kundera.batch.size and enables JDBC batching of same size, unless
+     * hibernate.jdbc.batch_size is configured explicitly.
+     */
+    private void onBatchSize()
+    {
+        String batch_Size = externalProperties != null ? (String) externalProperties
+                .get(PersistenceProperties.KUNDERA_BATCH_SIZE) : null;
+        if (batch_Size != null)
+        {
+            batchSize = Integer.valueOf(batch_Size);
+            if (batchSize == 0)
+            {
+                throw new IllegalArgumentException("kundera.batch.size property must be numeric and > 0");
+            }
+        }
+        else
+        {
+            PersistenceUnitMetadata puMetadata = KunderaMetadataManager.getPersistenceUnitMetadata(kunderaMetadata,
+                    getPersistenceUnit());
+            batchSize = puMetadata.getBatchSize();
+        }
+
+        if (batchSize > 0 && conf.getProperty("hibernate.jdbc.batch_size") == null)
+        {
+            conf.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+            conf.setProperty("hibernate.order_inserts", "true");
+            conf.setProperty("hibernate.order_updates", "true");
+        }
+    }
+
+    /**
+     * Returns batch size configured for persistence unit, 0 if batching is
+     * not enabled.
+     * 
+     * @return batch size.
+     */
+    int getBatchSize()
+    {
+        return batchSize;
+    }
+
     /**
      * Returns configuration object.
      */
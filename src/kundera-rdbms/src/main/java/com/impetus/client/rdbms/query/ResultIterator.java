@@ -21,9 +21,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
-import javax.persistence.PersistenceException;
-
 import org.hibernate.SQLQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 
 import com.impetus.client.rdbms.HibernateClient;
 import com.impetus.kundera.client.Client;
@@ -36,12 +36,17 @@ import com.impetus.kundera.query.IResultIterator;
 /**
  * @author kuldeep.mishra .
  * 
- *         Implementation of RDBMS result iteration.
+ *         Implementation of RDBMS result iteration. Rows are streamed
+ *         from a single forward only JDBC cursor, which is released once
+ *         iteration is complete or on {@link #close()}.
  * 
  * @param <E>
  */
 class ResultIterator<E> implements IResultIterator<E>
 {
+    /** Max number of rows fetched per JDBC round trip. */
+    static final int DEFAULT_JDBC_FETCH_SIZE = 100;
+
     private EntityMetadata m;
 
     private HibernateClient client;
@@ -52,18 +57,20 @@ class ResultIterator<E> implements IResultIterator<E>
 
     private SQLQuery sqlQuery;
 
-    private List result;
+    private ScrollableResults results;
+
+    private int count;
 
-    private int firstResultIndex;
+    /** true, if cursor is already moved to row to be returned by next(). */
+    private boolean rowAvailable;
 
-    private int maxResultIndex;
+    private boolean closed;
 
     ResultIterator(HibernateClient client, EntityMetadata m, PersistenceDelegator pd, int fetchSize, String query)
     {
         this.m = m;
         this.client = client;
         this.fetchSize = fetchSize;
-        this.maxResultIndex = fetchSize;
         this.persistenceDelegator = pd;
         this.sqlQuery = client.getQueryInstance(query, m);
     }
@@ -71,48 +78,49 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public boolean hasNext()
     {
-        if (firstResultIndex < maxResultIndex)
+        if (closed)
         {
-            // TODO:namedquery, JPQL, HQL => iterate, native => then don't
+            return false;
+        }
 
-            result = sqlQuery.setFirstResult(firstResultIndex++).setMaxResults(1).list();
+        if (count >= fetchSize)
+        {
+            close();
+            return false;
         }
 
-        return result != null && !result.isEmpty() && fetchSize != 0;
+        if (!rowAvailable)
+        {
+            // TODO:namedquery, JPQL, HQL => iterate, native => then don't
+            rowAvailable = scroll().next();
+            if (!rowAvailable)
+            {
+                close();
+            }
+        }
+
+        return rowAvailable;
     }
 
     @Override
     public E next()
     {
-        if (result == null || result.isEmpty() || fetchSize == 0)
+        if (!hasNext())
         {
             throw new NoSuchElementException("Nothing to scroll further for: " + m.getEntityClazz());
         }
 
-        fetchSize--;
-
-        Object nextResult = result.get(0);
+        rowAvailable = false;
+        count++;
 
-        result = null;
+        Object[] row = results.get();
 
-        Class clazz = m.getEntityClazz();
-        E entity = null;
-        entity = instantiateEntity(clazz, entity);
-
-        boolean noRelationFound = true;
-        if (!nextResult.getClass().isAssignableFrom(clazz))
-        {
-            entity = (E) ((Object[]) nextResult)[0];
-            noRelationFound = false;
-        }
-        else
-        {
-            entity = (E) nextResult;
-        }
+        E entity = (E) row[0];
+        boolean noRelationFound = row.length == 1;
 
         Object id = PropertyAccessorHelper.getId(entity, m);
         entity = (E) new EnhanceEntity(entity, id, noRelationFound ? null : populateRelations(m.getRelationNames(),
-                (Object[]) nextResult));
+                row));
 
         if (!m.isRelationViaJoinTable() && (m.getRelationNames() == null || (m.getRelationNames().isEmpty())))
         {
@@ -127,29 +135,22 @@ class ResultIterator<E> implements IResultIterator<E>
     }
 
     /**
+     * Opens forward only cursor over query results, if not opened yet.
      * 
-     * @param entityClazz
-     * @param entity
-     * @return
+     * @return scrollable results.
      */
-    private E instantiateEntity(Class<?> entityClazz, Object entity)
+    private ScrollableResults scroll()
     {
-        try
+        if (results == null)
         {
-            if (entity == null)
+            sqlQuery.setFetchSize(Math.min(fetchSize, DEFAULT_JDBC_FETCH_SIZE));
+            if (fetchSize < Integer.MAX_VALUE)
             {
-                return (E) entityClazz.newInstance();
+                sqlQuery.setMaxResults(fetchSize);
             }
-            return (E) entity;
-        }
-        catch (InstantiationException e)
-        {
-            throw new PersistenceException("Error while instantiating entity " + entityClazz + ".", e);
-        }
-        catch (IllegalAccessException e)
-        {
-            throw new PersistenceException("Error while instantiating entity " + entityClazz + ".", e);
+            results = sqlQuery.scroll(ScrollMode.FORWARD_ONLY);
         }
+        return results;
     }
 
     @Override
@@ -161,7 +162,29 @@ class ResultIterator<E> implements IResultIterator<E>
     @Override
     public List<E> next(int chunkSize)
     {
-        throw new UnsupportedOperationException("Fetch in chunks is not yet supported");
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && hasNext())
+        {
+            chunk.add(next());
+        }
+        return chunk;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        rowAvailable = false;
+        if (results != null)
+        {
+            results.close();
+            results = null;
+        }
     }
 
     /**
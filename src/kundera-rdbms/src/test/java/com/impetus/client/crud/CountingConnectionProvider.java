@@ -0,0 +1,118 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.crud;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.service.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+/**
+ * Connection provider counting statements executed on their own and JDBC
+ * batches executed, on prepared statements of its connections.
+ */
+public class CountingConnectionProvider extends DriverManagerConnectionProviderImpl
+{
+    static final AtomicInteger UPDATES = new AtomicInteger();
+
+    static final AtomicInteger BATCHES = new AtomicInteger();
+
+    static void reset()
+    {
+        UPDATES.set(0);
+        BATCHES.set(0);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        final Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] { Connection.class },
+                new Forwarder(connection)
+                {
+                    @Override
+                    Object onResult(Method method, Object result)
+                    {
+                        if (result instanceof PreparedStatement)
+                        {
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class[] { PreparedStatement.class }, new Forwarder(result)
+                                    {
+                                        @Override
+                                        Object onResult(Method method, Object result)
+                                        {
+                                            if (method.getName().equals("executeBatch"))
+                                            {
+                                                BATCHES.incrementAndGet();
+                                            }
+                                            else if (method.getName().equals("executeUpdate"))
+                                            {
+                                                UPDATES.incrementAndGet();
+                                            }
+                                            return result;
+                                        }
+                                    });
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException
+    {
+        // pooled connections are the ones of driver.
+        super.closeConnection(Proxy.isProxyClass(connection.getClass()) ? ((Forwarder) Proxy
+                .getInvocationHandler(connection)).target : connection);
+    }
+
+    /**
+     * Forwards calls to target, handing over results.
+     */
+    private static class Forwarder implements InvocationHandler
+    {
+        private final Object target;
+
+        Forwarder(Object target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            try
+            {
+                return onResult(method, method.invoke(target, args));
+            }
+            catch (InvocationTargetException e)
+            {
+                throw e.getCause();
+            }
+        }
+
+        Object onResult(Method method, Object result)
+        {
+            return result;
+        }
+    }
+}
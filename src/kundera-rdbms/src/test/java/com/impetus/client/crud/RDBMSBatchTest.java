@@ -0,0 +1,137 @@
+/**
+ * Copyright 2013 Impetus Infotech.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.impetus.client.crud;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.impetus.client.crud.entities.PersonRDBMS;
+import com.impetus.client.rdbms.HibernateClient;
+import com.impetus.kundera.PersistenceProperties;
+import com.impetus.kundera.client.Client;
+
+/**
+ * junit for batch writes of {@link HibernateClient}.
+ */
+public class RDBMSBatchTest extends BaseTest
+{
+    private static final String SCHEMA = "testdb";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private RDBMSCli cli;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        try
+        {
+            cli = new RDBMSCli(SCHEMA);
+            cli.createSchema(SCHEMA);
+            cli.update("CREATE MEMORY TABLE TESTDB.PERSON (PERSON_ID VARCHAR(90) PRIMARY KEY, PERSON_NAME VARCHAR(256), AGE INTEGER)");
+        }
+        catch (Exception e)
+        {
+            cli.update("DELETE FROM TESTDB.PERSON");
+        }
+
+        Map<String, String> props = new HashMap<String, String>();
+        props.put(PersistenceProperties.KUNDERA_BATCH_SIZE, "2");
+        props.put("hibernate.connection.provider_class", CountingConnectionProvider.class.getName());
+        emf = Persistence.createEntityManagerFactory("testHibernate", props);
+        em = emf.createEntityManager();
+    }
+
+    @Test
+    public void testBatchInsertAndUpdate()
+    {
+        CountingConnectionProvider.reset();
+        for (int i = 1; i <= 5; i++)
+        {
+            em.persist(prepareRDBMSInstance("" + i, 10 * i));
+        }
+
+        // two full batches are written, each one as one JDBC batch.
+        Assert.assertEquals(2, CountingConnectionProvider.BATCHES.get());
+        Assert.assertEquals(0, CountingConnectionProvider.UPDATES.get());
+
+        Map<String, Client> clients = (Map<String, Client>) em.getDelegate();
+        Assert.assertEquals(2, ((HibernateClient) clients.get("testHibernate")).getBatchSize());
+        em.clear();
+
+        List<PersonRDBMS> persons = em.createQuery("Select p from PersonRDBMS p").getResultList();
+        Assert.assertEquals(5, persons.size());
+
+        PersonRDBMS person = em.find(PersonRDBMS.class, "5");
+        Assert.assertNotNull(person);
+        Assert.assertEquals(50, person.getAge());
+        person.setAge(55);
+        em.merge(person);
+        em.clear();
+
+        Assert.assertEquals(55, em.find(PersonRDBMS.class, "5").getAge());
+
+        em.remove(em.find(PersonRDBMS.class, "1"));
+        em.clear();
+        Assert.assertNull(em.find(PersonRDBMS.class, "1"));
+    }
+
+    @Test
+    public void testBatchInsertOfExistingRow() throws Exception
+    {
+        cli.update("INSERT INTO TESTDB.PERSON (PERSON_ID, PERSON_NAME, AGE) VALUES ('1', 'kuldeep', 10)");
+
+        // insert violating primary key is turned into update.
+        em.persist(prepareRDBMSInstance("1", 11));
+        em.persist(prepareRDBMSInstance("2", 20));
+        em.clear();
+
+        Assert.assertEquals(11, em.find(PersonRDBMS.class, "1").getAge());
+        Assert.assertEquals(20, em.find(PersonRDBMS.class, "2").getAge());
+    }
+
+    @After
+    public void tearDown()
+    {
+        em.close();
+        emf.close();
+        try
+        {
+            cli.update("DELETE FROM TESTDB.PERSON");
+            cli.update("DROP TABLE TESTDB.PERSON");
+            cli.update("DROP SCHEMA TESTDB");
+            cli.closeConnection();
+            cli.shutdown();
+        }
+        catch (Exception e)
+        {
+            // Nothing to do
+        }
+    }
+}
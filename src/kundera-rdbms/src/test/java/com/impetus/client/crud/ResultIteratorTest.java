@@ -76,6 +76,30 @@ public class ResultIteratorTest extends BaseTest
         assertOnTokenScroll();
     }
 
+    @Test
+    public void testScrollInChunks() throws Exception
+    {
+        em.persist(prepareRDBMSInstance("1", 10));
+        em.persist(prepareRDBMSInstance("2", 20));
+        em.persist(prepareRDBMSInstance("3", 15));
+        em.clear();
+
+        Query query = (Query) em.createQuery("Select p from PersonRDBMS p", PersonRDBMS.class);
+        IResultIterator<PersonRDBMS> iter = (IResultIterator<PersonRDBMS>) query.iterate();
+        Assert.assertEquals(2, iter.next(2).size());
+        Assert.assertEquals(1, iter.next(2).size());
+        Assert.assertTrue(iter.next(2).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+
+        // closing before end must release cursor and end iteration.
+        iter = (IResultIterator<PersonRDBMS>) query.iterate();
+        Assert.assertNotNull(iter.next());
+        iter.close();
+        Assert.assertFalse(iter.hasNext());
+        Assert.assertTrue(iter.next(2).isEmpty());
+        iter.close();
+    }
+
     private void assertOnTokenScroll()
     {
         RDBMSTokenClient client = new RDBMSTokenClient();
@@ -49,7 +49,9 @@ import com.impetus.kundera.client.Client;
 import com.impetus.kundera.client.ClientBase;
 import com.impetus.kundera.client.ClientPropertiesSetter;
 import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.client.MultiGetClient;
 import com.impetus.kundera.db.RelationHolder;
+import com.impetus.kundera.generator.HiLoGenerator;
 import com.impetus.kundera.generator.SequenceGenerator;
 import com.impetus.kundera.graph.Node;
 import com.impetus.kundera.index.Indexer;
@@ -79,7 +81,7 @@ import com.impetus.kundera.utils.KunderaCoreUtils;
  * @author vivek.mishra
  */
 public class RedisClient extends ClientBase implements Client<RedisQuery>, Batcher, ClientPropertiesSetter,
-        TransactionBinder, SequenceGenerator
+        TransactionBinder, SequenceGenerator, HiLoGenerator, MultiGetClient
 {
     /**
      * Reference to redis client factory.
@@ -221,22 +223,7 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
                 entityMetadata.getPersistenceUnit());
 
-        String rowKey = null;
-        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
-        {
-            rowKey = KunderaCoreUtils.prepareCompositeKey(entityMetadata, metaModel, key);
-        }
-        else
-        {
-            ObjectAccessor accessor = new ObjectAccessor();
-
-            rowKey = accessor.toString(key);/*
-                                             * PropertyAccessorHelper.getString(key
-                                             * );
-                                             */
-        }
-
-        String hashKey = getHashKey(entityMetadata.getTableName(), rowKey);
+        String hashKey = getHashKey(entityMetadata.getTableName(), getRowKey(entityMetadata, metaModel, key));
 
         try
         {
@@ -289,6 +276,95 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return result;
     }
 
+    /**
+     * Retrieves entity instances of given class for all given row keys. All
+     * HGETALL commands are sent through a single pipeline, so it costs one
+     * round trip instead of one per key.
+     * 
+     * @param clazz
+     *            entity class.
+     * @param connection
+     *            jedis connection.
+     * @param keys
+     *            row keys.
+     * @return found entities.
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    private List fetchAll(Class clazz, Jedis connection, Object... keys) throws InstantiationException,
+            IllegalAccessException
+    {
+        EntityMetadata entityMetadata = KunderaMetadataManager.getEntityMetadata(kunderaMetadata, clazz);
+
+        MetamodelImpl metaModel = (MetamodelImpl) kunderaMetadata.getApplicationMetadata().getMetamodel(
+                entityMetadata.getPersistenceUnit());
+
+        Pipeline pipeLine = connection.pipelined();
+        List<Response> responses = new ArrayList<Response>(keys.length);
+        for (Object key : keys)
+        {
+            String hashKey = getHashKey(entityMetadata.getTableName(), getRowKey(entityMetadata, metaModel, key));
+            responses.add(pipeLine.hgetAll(getEncodedBytes(hashKey)));
+        }
+        pipeLine.sync();
+
+        List results = new ArrayList();
+        for (int i = 0; i < keys.length; i++)
+        {
+            Map<byte[], byte[]> columns = new HashMap<byte[], byte[]>();
+            Map<?, ?> fetched = (Map<?, ?>) responses.get(i).get();
+            if (fetched != null)
+            {
+                for (Map.Entry<?, ?> column : fetched.entrySet())
+                {
+                    columns.put(toBytes(column.getKey()), toBytes(column.getValue()));
+                }
+            }
+
+            Object result = unwrap(entityMetadata, columns, keys[i]);
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns row key for given primary key.
+     * 
+     * @param entityMetadata
+     *            entity metadata.
+     * @param metaModel
+     *            meta model.
+     * @param key
+     *            primary key.
+     * @return row key.
+     */
+    private String getRowKey(EntityMetadata entityMetadata, MetamodelImpl metaModel, Object key)
+    {
+        if (metaModel.isEmbeddable(entityMetadata.getIdAttribute().getBindableJavaType()))
+        {
+            return KunderaCoreUtils.prepareCompositeKey(entityMetadata, metaModel, key);
+        }
+
+        ObjectAccessor accessor = new ObjectAccessor();
+        return accessor.toString(key);
+    }
+
+    /**
+     * Pipeline responses may be decoded as string, converts them back to
+     * bytes.
+     * 
+     * @param value
+     *            response value.
+     * @return value as bytes.
+     */
+    private byte[] toBytes(Object value)
+    {
+        return value instanceof byte[] ? (byte[]) value : getEncodedBytes(value.toString());
+    }
+
     private Map<byte[], byte[]> getColumns(Object connection, String hashKey, Map<byte[], byte[]> columns)
     {
         if (resource != null && resource.isActive())
@@ -328,14 +404,22 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         List results = new ArrayList();
         try
         {
-            for (Object key : keys)
+            if (resource != null && resource.isActive())
             {
-                Object result = fetch(entityClass, key, connection, null);
-                if (result != null)
+                // reads are executed along with transaction.
+                for (Object key : keys)
                 {
-                    results.add(result);
+                    Object result = fetch(entityClass, key, connection, null);
+                    if (result != null)
+                    {
+                        results.add(result);
+                    }
                 }
             }
+            else
+            {
+                results = fetchAll(entityClass, (Jedis) connection, keys);
+            }
         }
         catch (InstantiationException e)
         {
@@ -1607,6 +1691,122 @@ public class RedisClient extends ClientBase implements Client<RedisQuery>, Batch
         return results;
     }
 
+    /**
+     * Prepares sorted set to be scrolled over for given query. For AND/OR
+     * clauses, a temporary store is created out of intersection/union of
+     * index sets, which must be dropped using
+     * {@link #dropIterationStore(String)} once iteration is over.
+     * 
+     * @param queryParameter
+     *            query interpreter.
+     * @param entityMetadata
+     *            entity metadata.
+     * @return key of sorted set holding row keys.
+     */
+    String prepareIterationStore(RedisQueryInterpreter queryParameter, EntityMetadata entityMetadata)
+    {
+        if (queryParameter.getClause() != null && !queryParameter.isByRange())
+        {
+            String destStore = entityMetadata.getEntityClazz().getSimpleName() + System.currentTimeMillis();
+
+            Set<String> keySets = new HashSet<String>();
+            for (String column : queryParameter.getFields().keySet())
+            {
+                String valueAsStr = PropertyAccessorHelper.getString(queryParameter.getFields().get(column));
+                keySets.add(getHashKey(entityMetadata.getTableName(), getHashKey(column, valueAsStr)));
+            }
+
+            Jedis connection = factory.getConnection();
+            try
+            {
+                if (queryParameter.getClause().equals(Clause.INTERSECT))
+                {
+                    connection.zinterstore(destStore, keySets.toArray(new String[] {}));
+                }
+                else
+                {
+                    connection.zunionstore(destStore, keySets.toArray(new String[] {}));
+                }
+            }
+            finally
+            {
+                factory.releaseConnection(connection);
+            }
+            return destStore;
+        }
+        else if (queryParameter.isByRange())
+        {
+            return getHashKey(entityMetadata.getTableName(), queryParameter.getMin().keySet().iterator().next());
+        }
+        else if (queryParameter.getFields() != null)
+        {
+            return getHashKey(entityMetadata.getTableName(), queryParameter.getFields().keySet().iterator().next());
+        }
+
+        return getHashKey(entityMetadata.getTableName(),
+                ((AbstractAttribute) entityMetadata.getIdAttribute()).getJPAColumnName());
+    }
+
+    /**
+     * Returns a window of row keys out of sorted set prepared via
+     * {@link #prepareIterationStore(RedisQueryInterpreter, EntityMetadata)}.
+     * 
+     * @param queryParameter
+     *            query interpreter.
+     * @param store
+     *            key of sorted set.
+     * @param offset
+     *            offset of first row key.
+     * @param count
+     *            max number of row keys.
+     * @return row keys in window.
+     */
+    Set<String> findRowKeys(RedisQueryInterpreter queryParameter, String store, int offset, int count)
+    {
+        double min = Double.NEGATIVE_INFINITY;
+        double max = Double.POSITIVE_INFINITY;
+        if (queryParameter.isByRange())
+        {
+            String column = queryParameter.getMin().keySet().iterator().next();
+            min = queryParameter.getMin().get(column);
+            max = queryParameter.getMax().get(column);
+        }
+        else if (queryParameter.getClause() == null && queryParameter.getFields() != null)
+        {
+            Object value = queryParameter.getFields().values().iterator().next();
+            min = max = getDouble(PropertyAccessorHelper.getString(value));
+        }
+
+        Jedis connection = factory.getConnection();
+        try
+        {
+            return connection.zrangeByScore(store, min, max, offset, count);
+        }
+        finally
+        {
+            factory.releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Drops temporary store created for iteration.
+     * 
+     * @param store
+     *            key of sorted set.
+     */
+    void dropIterationStore(String store)
+    {
+        Jedis connection = factory.getConnection();
+        try
+        {
+            connection.del(store);
+        }
+        finally
+        {
+            factory.releaseConnection(connection);
+        }
+    }
+
     private Object reInitialize(Object connection, Set<String> rowKeys)
     {
         /*
@@ -253,8 +253,10 @@ public class RedisQuery extends QueryImpl
     @Override
     public Iterator iterate()
     {
-        // TODO Auto-generated method stub
-        return null;
+        EntityMetadata m = getEntityMetadata();
+        return new ResultIterator((RedisClient) persistenceDelegeator.getClient(m), m, persistenceDelegeator,
+                onTranslation(getKunderaQuery().getFilterClauseQueue(), m), getFetchSize() != null ? getFetchSize()
+                        : this.maxResult);
     }
 
 }
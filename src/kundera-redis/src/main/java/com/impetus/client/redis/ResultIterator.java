@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client.redis;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.impetus.kundera.client.Client;
+import com.impetus.kundera.client.EnhanceEntity;
+import com.impetus.kundera.metadata.model.EntityMetadata;
+import com.impetus.kundera.persistence.PersistenceDelegator;
+import com.impetus.kundera.property.PropertyAccessorHelper;
+import com.impetus.kundera.query.IResultIterator;
+
+/**
+ * Implementation of Redis result iteration. Row keys are read in windows out
+ * of index sorted set (ZRANGEBYSCORE with offset and count) and entities of
+ * each window are fetched with pipelined HGETALL.
+ * 
+ * @param <E>
+ */
+class ResultIterator<E> implements IResultIterator<E>
+{
+    /** Number of row keys read per window. */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private RedisClient client;
+
+    private EntityMetadata m;
+
+    private PersistenceDelegator persistenceDelegator;
+
+    private RedisQueryInterpreter interpreter;
+
+    private int fetchSize;
+
+    private int count;
+
+    private int offset;
+
+    /** sorted set being scrolled over. */
+    private String store;
+
+    /** true, if store is created for this iteration only. */
+    private boolean temporaryStore;
+
+    private boolean scrollComplete;
+
+    private LinkedList<E> buffer = new LinkedList<E>();
+
+    ResultIterator(RedisClient client, EntityMetadata m, PersistenceDelegator pd, RedisQueryInterpreter interpreter,
+            int fetchSize)
+    {
+        this.client = client;
+        this.m = m;
+        this.persistenceDelegator = pd;
+        this.interpreter = interpreter;
+        this.fetchSize = fetchSize;
+        onQuery();
+    }
+
+    private void onQuery()
+    {
+        if (interpreter.isById())
+        {
+            // single lookup, nothing to scroll over.
+            List results = client.findAll(m.getEntityClazz(), null, interpreter.getFields().values().toArray());
+            onResults(results);
+            scrollComplete = true;
+        }
+        else
+        {
+            temporaryStore = interpreter.getClause() != null && !interpreter.isByRange();
+            store = client.prepareIterationStore(interpreter, m);
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (count >= fetchSize)
+        {
+            close();
+            return false;
+        }
+        if (buffer.isEmpty())
+        {
+            fetchPage(DEFAULT_PAGE_SIZE);
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Nothing to scroll further for:" + m.getEntityClazz());
+        }
+        count++;
+        return buffer.removeFirst();
+    }
+
+    @Override
+    public List<E> next(int chunkSize)
+    {
+        List<E> chunk = new ArrayList<E>();
+        while (chunk.size() < chunkSize && count < fetchSize)
+        {
+            if (buffer.isEmpty())
+            {
+                fetchPage(Math.max(chunkSize - chunk.size(), DEFAULT_PAGE_SIZE));
+                if (buffer.isEmpty())
+                {
+                    break;
+                }
+            }
+            chunk.add(buffer.removeFirst());
+            count++;
+        }
+        return chunk;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("remove method is not supported over pagination");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see com.impetus.kundera.query.IResultIterator#close()
+     */
+    @Override
+    public void close()
+    {
+        buffer.clear();
+        onScrollComplete();
+    }
+
+    /**
+     * Fetches next window of entities into buffer. Windows with no live
+     * entity (e.g. stale index entries) are skipped.
+     * 
+     * @param size
+     *            number of row keys to read.
+     */
+    private void fetchPage(int size)
+    {
+        while (!scrollComplete && buffer.isEmpty())
+        {
+            int limit = Math.min(size, fetchSize - count);
+            Set<String> rowKeys = client.findRowKeys(interpreter, store, offset, limit);
+            offset += rowKeys.size();
+            if (rowKeys.size() < limit)
+            {
+                onScrollComplete();
+            }
+            if (!rowKeys.isEmpty())
+            {
+                onResults(client.findAll(m.getEntityClazz(), null, rowKeys.toArray()));
+            }
+        }
+    }
+
+    private void onResults(List results)
+    {
+        boolean hasRelations = m.isRelationViaJoinTable()
+                || (m.getRelationNames() != null && !(m.getRelationNames().isEmpty()));
+        for (Object result : results)
+        {
+            buffer.add(hasRelations ? setRelationEntities(result, client, m) : (E) result);
+        }
+    }
+
+    private void onScrollComplete()
+    {
+        scrollComplete = true;
+        if (temporaryStore && store != null)
+        {
+            client.dropIterationStore(store);
+            store = null;
+        }
+    }
+
+    private E setRelationEntities(Object enhanceEntity, Client client, EntityMetadata m)
+    {
+        // Enhance entities can contain or may not contain relation.
+        // if it contain a relation means it is a child
+        // if it does not then it means it is a parent.
+        E result = null;
+        if (enhanceEntity != null)
+        {
+            if (!(enhanceEntity instanceof EnhanceEntity))
+            {
+                enhanceEntity = new EnhanceEntity(enhanceEntity, PropertyAccessorHelper.getId(enhanceEntity, m), null);
+            }
+            EnhanceEntity ee = (EnhanceEntity) enhanceEntity;
+
+            result = (E) client.getReader().recursivelyFindEntities(ee.getEntity(), ee.getRelations(), m,
+                    persistenceDelegator, false);
+        }
+        return result;
+    }
+}
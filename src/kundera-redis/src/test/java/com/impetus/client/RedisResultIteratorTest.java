@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * * Copyright 2013 Impetus Infotech.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ ******************************************************************************/
+package com.impetus.client;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.Jedis;
+
+import com.impetus.client.entities.PersonRedis;
+import com.impetus.kundera.query.IResultIterator;
+import com.impetus.kundera.query.Query;
+
+/**
+ * junit for Redis {@link IResultIterator}.
+ */
+public class RedisResultIteratorTest
+{
+    /** The Constant REDIS_PU. */
+    private static final String REDIS_PU = "redis_pu";
+
+    private static final String FIND_ALL = "Select p from PersonRedis p";
+
+    private static final String FIND_BY_ID_OR_AGE = "Select p from PersonRedis p "
+            + "where p.personId=:personId OR p.age=:age";
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        emf = Persistence.createEntityManagerFactory(REDIS_PU);
+        em = emf.createEntityManager();
+        em.persist(prepareData("1", 32));
+        em.persist(prepareData("2", 34));
+        em.persist(prepareData("3", 29));
+        em.clear();
+    }
+
+    @Test
+    public void testIterate()
+    {
+        assertOnFetch(FIND_ALL, null, 3);
+        assertOnFetch(FIND_ALL, 2, 2);
+        assertOnFetch(FIND_ALL, 4, 3);
+
+        Query query = (Query) em.createQuery("Select p from PersonRedis p where p.age between :min AND :max");
+        query.setParameter("min", 30);
+        query.setParameter("max", 35);
+        Iterator<PersonRedis> iter = query.iterate();
+        int count = 0;
+        while (iter.hasNext())
+        {
+            Assert.assertTrue(iter.next().getAge() >= 30);
+            count++;
+        }
+        Assert.assertEquals(2, count);
+    }
+
+    @Test
+    public void testNextChunk()
+    {
+        Query query = (Query) em.createQuery(FIND_ALL);
+        IResultIterator<PersonRedis> iter = (IResultIterator<PersonRedis>) query.iterate();
+
+        List<PersonRedis> chunk = iter.next(2);
+        Assert.assertEquals(2, chunk.size());
+        Assert.assertNotNull(chunk.get(0).getPersonName());
+        Assert.assertEquals(1, iter.next(2).size());
+
+        // exhausted.
+        Assert.assertTrue(iter.next(2).isEmpty());
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testIterationStoreDropped() throws Exception
+    {
+        // exhausted iterator drops temporary store of OR clause.
+        IResultIterator<PersonRedis> iter = iterateByIdOrAge();
+        String store = getStore(iter);
+        Assert.assertNotNull(store);
+        Assert.assertTrue(exists(store));
+        int count = 0;
+        while (iter.hasNext())
+        {
+            iter.next();
+            count++;
+        }
+        Assert.assertEquals(2, count);
+        Assert.assertFalse(exists(store));
+
+        // as does closing it before.
+        iter = iterateByIdOrAge();
+        store = getStore(iter);
+        Assert.assertTrue(iter.hasNext());
+        iter.close();
+        Assert.assertFalse(exists(store));
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        em.createQuery("Delete from PersonRedis p").executeUpdate();
+        em.close();
+        emf.close();
+    }
+
+    private void assertOnFetch(String jpaQuery, Integer fetchSize, int expected)
+    {
+        Query query = (Query) em.createQuery(jpaQuery);
+        query.setFetchSize(fetchSize);
+        Iterator<PersonRedis> iter = query.iterate();
+        int count = 0;
+        while (iter.hasNext())
+        {
+            Assert.assertNotNull(iter.next());
+            count++;
+        }
+        Assert.assertEquals(expected, count);
+
+        try
+        {
+            iter.next();
+            Assert.fail("Should have failed on exhausted iterator");
+        }
+        catch (NoSuchElementException nsex)
+        {
+            Assert.assertNotNull(nsex.getMessage());
+        }
+    }
+
+    private IResultIterator<PersonRedis> iterateByIdOrAge()
+    {
+        Query query = (Query) em.createQuery(FIND_BY_ID_OR_AGE);
+        query.setParameter("personId", "1");
+        query.setParameter("age", 29);
+        return (IResultIterator<PersonRedis>) query.iterate();
+    }
+
+    private String getStore(IResultIterator<PersonRedis> iter) throws Exception
+    {
+        Field store = iter.getClass().getDeclaredField("store");
+        store.setAccessible(true);
+        return (String) store.get(iter);
+    }
+
+    private boolean exists(String store)
+    {
+        Jedis connection = new Jedis("localhost", 6379);
+        try
+        {
+            connection.auth("Kundera@123");
+            return connection.exists(store);
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+    }
+
+    private PersonRedis prepareData(String rowKey, int age)
+    {
+        PersonRedis person = new PersonRedis();
+        person.setPersonId(rowKey);
+        person.setPersonName("vivek");
+        person.setAge(age);
+        return person;
+    }
+}